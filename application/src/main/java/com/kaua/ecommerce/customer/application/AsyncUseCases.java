@@ -0,0 +1,46 @@
+package com.kaua.ecommerce.customer.application;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/*
+ * Execucao assincrona de use cases sem mudar o contrato sincrono de execute.
+ * Chama o execute do objeto recebido (o proxy do bean), entao transacao e demais interceptors continuam valendo.
+ */
+public final class AsyncUseCases {
+
+    private AsyncUseCases() {}
+
+    public static <I, O> CompletionStage<O> execute(
+            final UseCase<I, O> useCase,
+            final I input,
+            final Executor executor
+    ) {
+        return CompletableFuture.supplyAsync(() -> useCase.execute(input), executor);
+    }
+
+    public static <I> CompletionStage<Void> execute(
+            final UnitUseCase<I> useCase,
+            final I input,
+            final Executor executor
+    ) {
+        return CompletableFuture.runAsync(() -> useCase.execute(input), executor);
+    }
+
+    // espera o resultado relancando a excecao original, quem chama continua tratando DomainException, NotFoundException...
+    public static <O> O join(final CompletionStage<O> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException aCause) {
+                throw aCause;
+            }
+            if (ex.getCause() instanceof Error aError) {
+                throw aError;
+            }
+            throw ex;
+        }
+    }
+}
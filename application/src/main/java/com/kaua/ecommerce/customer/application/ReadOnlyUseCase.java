@@ -0,0 +1,4 @@
+package com.kaua.ecommerce.customer.application;
+
+public interface ReadOnlyUseCase {
+}
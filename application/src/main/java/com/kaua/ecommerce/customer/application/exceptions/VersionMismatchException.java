@@ -0,0 +1,22 @@
+package com.kaua.ecommerce.customer.application.exceptions;
+
+import com.kaua.ecommerce.lib.domain.exceptions.NoStacktraceException;
+
+public class VersionMismatchException extends NoStacktraceException {
+
+    public VersionMismatchException(final String aggregateName, final Object id) {
+        super("%s with id %s does not match the expected version, it was updated by another user".formatted(aggregateName, id));
+    }
+
+    // o save grava com "WHERE version = :version" da versao lida, entao conferir aqui condiciona a escrita a versao do cliente
+    public static void check(
+            final Long expectedVersion,
+            final long currentVersion,
+            final Class<?> aggregate,
+            final Object id
+    ) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new VersionMismatchException(aggregate.getSimpleName(), id);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.kaua.ecommerce.customer.application.gateways;
 
+import com.kaua.ecommerce.customer.domain.person.Telephone;
+
 public interface TelephoneGateway {
 
     boolean isValid(String phoneNumber);
@@ -8,9 +10,33 @@ public interface TelephoneGateway {
 
     PhoneNumberInformation formatToLocal(String phoneNumber);
 
+    // faz o parse uma unica vez e devolve validade, E.164 e formato nacional juntos
+    PhoneNumberAnalysis analyze(String phoneNumber);
+
     record PhoneNumberInformation(
             String phoneNumber,
             String countryCode,
             String regionCode
     ) {}
+
+    record PhoneNumberAnalysis(
+            boolean valid,
+            String e164,
+            PhoneNumberInformation local
+    ) {
+
+        private static final PhoneNumberAnalysis UNPARSEABLE = new PhoneNumberAnalysis(false, null, null);
+
+        public static PhoneNumberAnalysis unparseable() {
+            return UNPARSEABLE;
+        }
+
+        public boolean parsed() {
+            return e164 != null;
+        }
+
+        public Telephone toTelephone() {
+            return new Telephone(e164, local.phoneNumber(), local.countryCode(), local.regionCode());
+        }
+    }
 }
@@ -3,24 +3,51 @@ package com.kaua.ecommerce.customer.application.repositories;
 import com.kaua.ecommerce.customer.domain.address.Address;
 import com.kaua.ecommerce.customer.domain.address.AddressId;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
 import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AddressRepository {
 
     Address save(Address address);
 
+    List<Address> saveAll(List<Address> addresses);
+
+    CreateAddressOutcome createIfAllowed(Address address, int maxAddresses);
+
+    Address makeDefault(Address address);
+
     Optional<Address> addressOfId(AddressId addressId);
 
     Optional<Address> addressByCustomerIdAndIsDefaultTrue(CustomerId customerId);
 
+    List<Address> addressesOfCustomer(CustomerId customerId);
+
+    Optional<Long> versionOfId(AddressId addressId);
+
+    Optional<AddressVersion> defaultAddressVersionOfCustomer(CustomerId customerId);
+
     int countByCustomerId(CustomerId customerId);
 
     boolean existsByCustomerIdAndIsDefaultTrue(CustomerId customerId);
 
-    Pagination<Address> addressesByCustomerId(CustomerId customerId, SearchQuery searchQuery);
+    AddressSummary addressSummaryOfCustomer(CustomerId customerId);
+
+    CursorPagination<Address> addressesByCustomerId(CustomerId customerId, SearchQuery searchQuery, String cursor);
 
     void delete(AddressId addressId);
+
+    enum CreateAddressOutcome {
+        CREATED,
+        LIMIT_REACHED,
+        DEFAULT_ALREADY_EXISTS
+    }
+
+    record AddressVersion(AddressId addressId, long version) {
+    }
+
+    record AddressSummary(int count, boolean hasDefault) {
+    }
 }
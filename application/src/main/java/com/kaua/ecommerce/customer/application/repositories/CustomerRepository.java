@@ -4,6 +4,7 @@ import com.kaua.ecommerce.customer.domain.customer.Customer;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
 import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository {
@@ -16,7 +17,13 @@ public interface CustomerRepository {
 
     Customer save(Customer customer);
 
+    List<Customer> saveAll(List<Customer> customers);
+
     Optional<Customer> customerOfId(CustomerId customerId);
 
     Optional<Customer> customerOfUserId(UserId userId);
+
+    Optional<Long> versionOfId(CustomerId customerId);
+
+    Optional<Long> versionOfUserId(UserId userId);
 }
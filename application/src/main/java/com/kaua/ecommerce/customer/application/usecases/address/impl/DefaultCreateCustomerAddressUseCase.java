@@ -16,6 +16,10 @@ import java.util.Objects;
 
 public class DefaultCreateCustomerAddressUseCase extends CreateCustomerAddressUseCase {
 
+    private static final int MAX_ADDRESSES = 5;
+    private static final String LIMIT_REACHED_MESSAGE = "Customer can't have more than 5 addresses";
+    private static final String DEFAULT_ALREADY_EXISTS_MESSAGE = "Customer already has a default address";
+
     private final AddressRepository addressRepository;
     private final AddressGateway addressGateway;
 
@@ -33,22 +37,21 @@ public class DefaultCreateCustomerAddressUseCase extends CreateCustomerAddressUs
 
         final var aCustomerId = new CustomerId(input.customerId());
 
-        if (this.addressRepository.countByCustomerId(aCustomerId) >= 5) {
-            throw DomainException.with("Customer can't have more than 5 addresses");
+        // checagem barata para nao chamar o servico de CEP em toda tentativa recusada, quem decide continua sendo o insert
+        final var aSummary = this.addressRepository.addressSummaryOfCustomer(aCustomerId);
+        if (aSummary.count() >= MAX_ADDRESSES) {
+            throw DomainException.with(LIMIT_REACHED_MESSAGE);
         }
-
-        // check if exists other default address
-        // outra opção seria pegar o default address, desativar e deixar esse como default
-
-        if (input.isDefault() && this.addressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId)) {
-            throw DomainException.with("Customer already has a default address");
+        if (input.isDefault() && aSummary.hasDefault()) {
+            throw DomainException.with(DEFAULT_ALREADY_EXISTS_MESSAGE);
         }
 
+        // titulo invalido falha antes da chamada remota
+        final var aTitle = new Title(input.title());
+
         final var aAddressResponse = this.addressGateway.getAddressByZipCode(input.zipCode())
                 .orElseThrow(NotFoundException.with(Address.class, "zipCode", input.zipCode()));
 
-        final var aTitle = new Title(input.title());
-
         final var aAddress = Address.newAddress(
                 aTitle,
                 aCustomerId,
@@ -63,6 +66,11 @@ public class DefaultCreateCustomerAddressUseCase extends CreateCustomerAddressUs
                 input.isDefault()
         );
 
-        return new CreateCustomerAddressOutput(this.addressRepository.save(aAddress));
+        // limite e default sao verificados no proprio insert, sem janela entre a checagem e a escrita
+        return switch (this.addressRepository.createIfAllowed(aAddress, MAX_ADDRESSES)) {
+            case CREATED -> new CreateCustomerAddressOutput(aAddress);
+            case LIMIT_REACHED -> throw DomainException.with(LIMIT_REACHED_MESSAGE);
+            case DEFAULT_ALREADY_EXISTS -> throw DomainException.with(DEFAULT_ALREADY_EXISTS_MESSAGE);
+        };
     }
 }
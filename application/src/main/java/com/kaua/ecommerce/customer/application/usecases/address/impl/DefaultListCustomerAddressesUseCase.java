@@ -5,7 +5,7 @@ import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.application.usecases.address.ListCustomerAddressesUseCase;
 import com.kaua.ecommerce.customer.application.usecases.address.inputs.ListCustomerAddressesInput;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.ListCustomerAddressesOutput;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
 
 import java.util.Objects;
 
@@ -18,10 +18,10 @@ public class DefaultListCustomerAddressesUseCase extends ListCustomerAddressesUs
     }
 
     @Override
-    public Pagination<ListCustomerAddressesOutput> execute(final ListCustomerAddressesInput input) {
+    public CursorPagination<ListCustomerAddressesOutput> execute(final ListCustomerAddressesInput input) {
         if (input == null) throw new UseCaseInputCannotBeNullException(DefaultListCustomerAddressesUseCase.class.getSimpleName());
 
-        return this.addressRepository.addressesByCustomerId(input.customerId(), input.searchQuery())
+        return this.addressRepository.addressesByCustomerId(input.customerId(), input.searchQuery(), input.cursor())
                 .map(ListCustomerAddressesOutput::new);
     }
 }
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.application.usecases.address.impl;
 
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.application.usecases.address.UpdateAddressIsDefaultUseCase;
 import com.kaua.ecommerce.customer.application.usecases.address.inputs.UpdateAddressIsDefaultInput;
@@ -29,6 +30,8 @@ public class DefaultUpdateAddressIsDefaultUseCase extends UpdateAddressIsDefault
         final var aAddress = this.addressRepository.addressOfId(aAddressId)
                 .orElseThrow(NotFoundException.with(Address.class, aAddressId));
 
+        VersionMismatchException.check(input.expectedVersion(), aAddress.getVersion(), Address.class, aAddressId.value());
+
         if (aAddress.isDefault() && input.isDefault()) {
             return new UpdateAddressIsDefaultOutput(aAddress);
         }
@@ -38,12 +41,8 @@ public class DefaultUpdateAddressIsDefaultUseCase extends UpdateAddressIsDefault
         }
 
         if (input.isDefault()) {
-            this.addressRepository.addressByCustomerIdAndIsDefaultTrue(aAddress.getCustomerId())
-                    .map(it -> it.updateIsDefault(false))
-                    .ifPresent(this.addressRepository::save);
-
-            final var aUpdatedAddress = aAddress.updateIsDefault(true);
-            return new UpdateAddressIsDefaultOutput(this.addressRepository.save(aUpdatedAddress));
+            // desmarca o default atual e marca o novo no mesmo UPDATE
+            return new UpdateAddressIsDefaultOutput(this.addressRepository.makeDefault(aAddress.updateIsDefault(true)));
         }
 
         return new UpdateAddressIsDefaultOutput(this.addressRepository.save(aAddress.updateIsDefault(false)));
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.application.usecases.address.impl;
 
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
 import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.application.usecases.address.UpdateAddressUseCase;
@@ -36,6 +37,8 @@ public class DefaultUpdateAddressUseCase extends UpdateAddressUseCase {
         final var aAddress = this.addressRepository.addressOfId(aAddressId)
                 .orElseThrow(NotFoundException.with(Address.class, aAddressId));
 
+        VersionMismatchException.check(input.expectedVersion(), aAddress.getVersion(), Address.class, aAddressId.value());
+
         final var aTitle = Optional.ofNullable(input.title())
                 .map(Title::new)
                 .orElse(aAddress.getTitle());
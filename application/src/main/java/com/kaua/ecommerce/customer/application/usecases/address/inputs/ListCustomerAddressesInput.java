@@ -5,6 +5,11 @@ import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 
 public record ListCustomerAddressesInput(
         CustomerId customerId,
-        SearchQuery searchQuery
+        SearchQuery searchQuery,
+        String cursor
 ) {
+
+    public ListCustomerAddressesInput(final CustomerId customerId, final SearchQuery searchQuery) {
+        this(customerId, searchQuery, null);
+    }
 }
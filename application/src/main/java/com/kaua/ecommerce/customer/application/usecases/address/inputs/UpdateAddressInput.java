@@ -10,6 +10,7 @@ public record UpdateAddressInput(
         String complement,
         String street,
         String district,
-        String country
+        String country,
+        Long expectedVersion
 ) {
 }
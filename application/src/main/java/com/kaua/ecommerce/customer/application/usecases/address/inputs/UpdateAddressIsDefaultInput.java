@@ -4,6 +4,7 @@ import java.util.UUID;
 
 public record UpdateAddressIsDefaultInput(
         UUID addressId,
-        boolean isDefault
+        boolean isDefault,
+        Long expectedVersion
 ) {
 }
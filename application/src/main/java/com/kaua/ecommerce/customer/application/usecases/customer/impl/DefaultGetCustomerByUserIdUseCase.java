@@ -32,7 +32,10 @@ public class DefaultGetCustomerByUserIdUseCase extends GetCustomerByUserIdUseCas
                 .orElseThrow(NotFoundException.with(Customer.class, input));
 
         final var aTelephone = aCustomer.getTelephone()
-                .map(it -> this.telephoneGateway.formatToLocal(it.value()))
+                .map(it -> it.hasLocalFormat()
+                        ? new TelephoneGateway.PhoneNumberInformation(it.nationalNumber(), it.countryCode(), it.regionCode())
+                        // telefone gravado antes do backfill dos formatos
+                        : this.telephoneGateway.analyze(it.value()).local())
                 .orElse(null);
 
         return new GetCustomerByIdentifierOutput(aCustomer, aTelephone);
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.application.usecases.customer.impl;
 
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.application.usecases.customer.UpdateCustomerDocumentUseCase;
 import com.kaua.ecommerce.customer.application.usecases.customer.inputs.UpdateCustomerDocumentInput;
@@ -35,6 +36,7 @@ public class DefaultUpdateCustomerDocumentUseCase extends UpdateCustomerDocument
         final var aCustomer = this.customerRepository.customerOfId(aCustomerId)
                 .orElseThrow(NotFoundException.with(Customer.class, aCustomerId));
 
+        VersionMismatchException.check(input.expectedVersion(), aCustomer.getVersion(), Customer.class, aCustomerId.value());
 
         final var aCustomerUpdated = aCustomer.updateDocument(aDocument);
 
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.application.usecases.customer.impl;
 
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.application.usecases.customer.UpdateCustomerTelephoneUseCase;
@@ -8,7 +9,6 @@ import com.kaua.ecommerce.customer.application.usecases.customer.inputs.UpdateCu
 import com.kaua.ecommerce.customer.application.usecases.customer.outputs.UpdateCustomerTelephoneOutput;
 import com.kaua.ecommerce.customer.domain.customer.Customer;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
-import com.kaua.ecommerce.customer.domain.person.Telephone;
 import com.kaua.ecommerce.lib.domain.exceptions.NotFoundException;
 import com.kaua.ecommerce.lib.domain.exceptions.ValidationException;
 import com.kaua.ecommerce.lib.domain.validation.Error;
@@ -37,16 +37,18 @@ public class DefaultUpdateCustomerTelephoneUseCase extends UpdateCustomerTelepho
         final var aCustomer = this.customerRepository.customerOfId(aCustomerId)
                 .orElseThrow(NotFoundException.with(Customer.class, aCustomerId));
 
-        if (!this.telephoneGateway.isValid(input.telephone())) {
+        VersionMismatchException.check(input.expectedVersion(), aCustomer.getVersion(), Customer.class, aCustomerId.value());
+
+        final var aTelephone = this.telephoneGateway.analyze(input.telephone());
+
+        if (!aTelephone.valid()) {
             throw ValidationException.with(new Error("Invalid telephone"));
         }
 
-        final var aTelephoneInternational = this.telephoneGateway.format(input.telephone());
-
-        final var aCustomerUpdated = aCustomer.updateTelephone(new Telephone(aTelephoneInternational));
+        final var aCustomerUpdated = aCustomer.updateTelephone(aTelephone.toTelephone());
 
         return new UpdateCustomerTelephoneOutput(this.customerRepository
                 .save(aCustomerUpdated),
-                this.telephoneGateway.formatToLocal(aTelephoneInternational).phoneNumber());
+                aTelephone.local().phoneNumber());
     }
 }
@@ -5,6 +5,7 @@ import java.util.UUID;
 public record UpdateCustomerDocumentInput(
         UUID customerId,
         String documentNumber,
-        String documentType
+        String documentType,
+        Long expectedVersion
 ) {
 }
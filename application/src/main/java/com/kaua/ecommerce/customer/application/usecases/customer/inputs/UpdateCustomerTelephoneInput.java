@@ -4,6 +4,7 @@ import java.util.UUID;
 
 public record UpdateCustomerTelephoneInput(
         UUID customerId,
-        String telephone
+        String telephone,
+        Long expectedVersion
 ) {
 }
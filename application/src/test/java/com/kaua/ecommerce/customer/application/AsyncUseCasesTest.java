@@ -0,0 +1,50 @@
+package com.kaua.ecommerce.customer.application;
+
+import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+class AsyncUseCasesTest extends UseCaseTest {
+
+    @Test
+    void givenAUseCase_whenCallExecuteOnAnExecutor_thenRunOffTheCallerThread() {
+        final var aExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final var aUseCase = new UseCase<String, String>() {
+                @Override
+                public String execute(final String input) {
+                    return input + ":" + Thread.currentThread().getName();
+                }
+            };
+
+            final var aResult = AsyncUseCases.join(AsyncUseCases.execute(aUseCase, "input", aExecutor));
+
+            Assertions.assertTrue(aResult.startsWith("input:"));
+            Assertions.assertNotEquals("input:" + Thread.currentThread().getName(), aResult);
+        } finally {
+            aExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void givenAFailingUnitUseCase_whenCallJoin_thenRethrowTheOriginalException() {
+        final var aExecuted = new AtomicReference<String>();
+        final var aUseCase = new UnitUseCase<String>() {
+            @Override
+            public void execute(final String input) {
+                aExecuted.set(input);
+                throw DomainException.with("Customer can't have more than 5 addresses");
+            }
+        };
+
+        final var aStage = AsyncUseCases.execute(aUseCase, "input", Runnable::run);
+
+        final var aException = Assertions.assertThrows(DomainException.class, () -> AsyncUseCases.join(aStage));
+
+        Assertions.assertEquals("Customer can't have more than 5 addresses", aException.getMessage());
+        Assertions.assertEquals("input", aExecuted.get());
+    }
+}
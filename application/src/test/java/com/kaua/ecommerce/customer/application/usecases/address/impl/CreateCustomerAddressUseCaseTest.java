@@ -8,6 +8,7 @@ import com.kaua.ecommerce.customer.application.usecases.address.inputs.CreateCus
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
 import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
 import com.kaua.ecommerce.lib.domain.exceptions.NotFoundException;
+import com.kaua.ecommerce.lib.domain.exceptions.ValidationException;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -17,8 +18,6 @@ import org.mockito.Mockito;
 
 import java.util.Optional;
 
-import static org.mockito.AdditionalAnswers.returnsFirstArg;
-
 class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
     @Mock
@@ -54,10 +53,7 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
                 aIsDefault
         );
 
-        Mockito.when(addressRepository.countByCustomerId(aCustomerId))
-                .thenReturn(0);
-        Mockito.when(addressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId))
-                .thenReturn(false);
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(0, false));
         Mockito.when(addressGateway.getAddressByZipCode(aZipCode))
                 .thenReturn(Optional.of(new AddressGateway.GetAddressByZipCodeResponse(
                         aZipCode,
@@ -66,17 +62,16 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
                         aDistrict,
                         aState
                 )));
-        Mockito.when(addressRepository.save(Mockito.any())).thenAnswer(returnsFirstArg());
+        Mockito.when(addressRepository.createIfAllowed(Mockito.any(), Mockito.eq(5)))
+                .thenReturn(AddressRepository.CreateAddressOutcome.CREATED);
 
         final var aOutput = Assertions.assertDoesNotThrow(() -> this.createCustomerAddressUseCase.execute(aInput));
 
         Assertions.assertEquals(aCustomerId.value().toString(), aOutput.customerId());
         Assertions.assertNotNull(aOutput.addressId());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).countByCustomerId(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(1)).existsByCustomerIdAndIsDefaultTrue(aCustomerId);
         Mockito.verify(addressGateway, Mockito.times(1)).getAddressByZipCode(aZipCode);
-        Mockito.verify(addressRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.times(1)).createIfAllowed(Mockito.any(), Mockito.eq(5));
     }
 
     @Test
@@ -103,8 +98,7 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
                 aIsDefault
         );
 
-        Mockito.when(addressRepository.countByCustomerId(aCustomerId))
-                .thenReturn(0);
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(0, false));
         Mockito.when(addressGateway.getAddressByZipCode(aZipCode))
                 .thenReturn(Optional.of(new AddressGateway.GetAddressByZipCodeResponse(
                         aZipCode,
@@ -113,17 +107,16 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
                         aDistrict,
                         aState
                 )));
-        Mockito.when(addressRepository.save(Mockito.any())).thenAnswer(returnsFirstArg());
+        Mockito.when(addressRepository.createIfAllowed(Mockito.any(), Mockito.eq(5)))
+                .thenReturn(AddressRepository.CreateAddressOutcome.CREATED);
 
         final var aOutput = Assertions.assertDoesNotThrow(() -> this.createCustomerAddressUseCase.execute(aInput));
 
         Assertions.assertEquals(aCustomerId.value().toString(), aOutput.customerId());
         Assertions.assertNotNull(aOutput.addressId());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).countByCustomerId(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(0)).existsByCustomerIdAndIsDefaultTrue(aCustomerId);
         Mockito.verify(addressGateway, Mockito.times(1)).getAddressByZipCode(aZipCode);
-        Mockito.verify(addressRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.times(1)).createIfAllowed(Mockito.any(), Mockito.eq(5));
     }
 
     @Test
@@ -148,21 +141,80 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
         final var expectedErrorMessage = "Customer can't have more than 5 addresses";
 
-        Mockito.when(addressRepository.countByCustomerId(aCustomerId))
-                .thenReturn(5);
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(4, false));
+        Mockito.when(addressGateway.getAddressByZipCode(aZipCode))
+                .thenReturn(Optional.of(new AddressGateway.GetAddressByZipCodeResponse(
+                        aZipCode,
+                        "São Paulo",
+                        "Rua Teste",
+                        "Centro",
+                        "SP"
+                )));
+        Mockito.when(addressRepository.createIfAllowed(Mockito.any(), Mockito.eq(5)))
+                .thenReturn(AddressRepository.CreateAddressOutcome.LIMIT_REACHED);
 
         final var aException = Assertions.assertThrows(DomainException.class, () -> this.createCustomerAddressUseCase.execute(aInput));
 
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).countByCustomerId(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(0)).existsByCustomerIdAndIsDefaultTrue(aCustomerId);
+        Mockito.verify(addressGateway, Mockito.times(1)).getAddressByZipCode(aZipCode);
+        Mockito.verify(addressRepository, Mockito.times(1)).createIfAllowed(Mockito.any(), Mockito.eq(5));
+    }
+
+    @Test
+    void givenAnCustomerAlreadyAtTheLimit_whenCallCreateCustomerAddress_thenThrowWithoutCallingTheZipCodeService() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aZipCode = "12345678";
+
+        final var aInput = new CreateCustomerAddressInput(
+                aCustomerId.value(),
+                "Home",
+                aZipCode,
+                "123",
+                "Apto 123",
+                "BR",
+                false
+        );
+
+        final var expectedErrorMessage = "Customer can't have more than 5 addresses";
+
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(5, false));
+
+        final var aException = Assertions.assertThrows(DomainException.class, () -> this.createCustomerAddressUseCase.execute(aInput));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+
+        Mockito.verify(addressGateway, Mockito.never()).getAddressByZipCode(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.never()).createIfAllowed(Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    void givenAnInvalidTitle_whenCallCreateCustomerAddress_thenThrowWithoutCallingTheZipCodeService() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aInput = new CreateCustomerAddressInput(
+                aCustomerId.value(),
+                "H",
+                "12345678",
+                "123",
+                "Apto 123",
+                "BR",
+                false
+        );
+
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(0, false));
+
+        final var aException = Assertions.assertThrows(ValidationException.class, () -> this.createCustomerAddressUseCase.execute(aInput));
+
+        Assertions.assertEquals("title", aException.getErrors().get(0).property());
+        Assertions.assertEquals("should have at least 2 characters", aException.getErrors().get(0).message());
+
         Mockito.verify(addressGateway, Mockito.never()).getAddressByZipCode(Mockito.any());
-        Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.never()).createIfAllowed(Mockito.any(), Mockito.anyInt());
     }
 
     @Test
-    void givenAnCustomerAlreadyHaveADefaultAddress_whenCallCreateCustomerAddress_thenShouldThrowDomainException() {
+    void givenAnCustomerAlreadyHaveADefaultAddress_whenCallCreateCustomerAddress_thenThrowWithoutCallingTheZipCodeService() {
         final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
         final var aTitle = "Home";
         final var aZipCode = "12345678";
@@ -183,19 +235,14 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
         final var expectedErrorMessage = "Customer already has a default address";
 
-        Mockito.when(addressRepository.countByCustomerId(aCustomerId))
-                .thenReturn(0);
-        Mockito.when(addressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId))
-                .thenReturn(true);
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(1, true));
 
         final var aException = Assertions.assertThrows(DomainException.class, () -> this.createCustomerAddressUseCase.execute(aInput));
 
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).countByCustomerId(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(1)).existsByCustomerIdAndIsDefaultTrue(aCustomerId);
         Mockito.verify(addressGateway, Mockito.never()).getAddressByZipCode(Mockito.any());
-        Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.never()).createIfAllowed(Mockito.any(), Mockito.anyInt());
     }
 
     @Test
@@ -220,10 +267,7 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
         final var expectedErrorMessage = "Address with zipCode 12345678 was not found";
 
-        Mockito.when(addressRepository.countByCustomerId(aCustomerId))
-                .thenReturn(0);
-        Mockito.when(addressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId))
-                .thenReturn(false);
+        Mockito.when(addressRepository.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(0, false));
         Mockito.when(addressGateway.getAddressByZipCode(aZipCode))
                 .thenReturn(Optional.empty());
 
@@ -231,10 +275,8 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).countByCustomerId(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(1)).existsByCustomerIdAndIsDefaultTrue(aCustomerId);
         Mockito.verify(addressGateway, Mockito.times(1)).getAddressByZipCode(aZipCode);
-        Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.never()).createIfAllowed(Mockito.any(), Mockito.anyInt());
     }
 
     @Test
@@ -245,9 +287,7 @@ class CreateCustomerAddressUseCaseTest extends UseCaseTest {
 
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
-        Mockito.verify(addressRepository, Mockito.never()).countByCustomerId(Mockito.any());
-        Mockito.verify(addressRepository, Mockito.never()).existsByCustomerIdAndIsDefaultTrue(Mockito.any());
         Mockito.verify(addressGateway, Mockito.never()).getAddressByZipCode(Mockito.any());
-        Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.never()).createIfAllowed(Mockito.any(), Mockito.anyInt());
     }
 }
@@ -8,7 +8,7 @@ import com.kaua.ecommerce.customer.application.usecases.address.outputs.ListCust
 import com.kaua.ecommerce.customer.domain.Fixture;
 import com.kaua.ecommerce.customer.domain.address.Address;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
 import com.kaua.ecommerce.lib.domain.pagination.PaginationMetadata;
 import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
@@ -59,22 +59,23 @@ class ListCustomerAddressesUseCaseTest extends UseCaseTest {
         final var aSearchQuery = new SearchQuery(aPage, aPerPage, aTerms, aSort, aDirection);
 
         final var aMetadata = new PaginationMetadata(aPage, aPerPage, aTotalPages, aAddresses.size());
-        final var aPagination = new Pagination<>(aMetadata, aAddresses);
+        final var aPagination = new CursorPagination<>(aMetadata, aAddresses, "next");
 
         final var aItemsCount = 2;
         final var aResult = aPagination.map(ListCustomerAddressesOutput::new);
 
         final var aInput = new ListCustomerAddressesInput(aCustomerId, aSearchQuery);
 
-        Mockito.when(addressRepository.addressesByCustomerId(aCustomerId, aSearchQuery)).thenReturn(aPagination);
+        Mockito.when(addressRepository.addressesByCustomerId(aCustomerId, aSearchQuery, null)).thenReturn(aPagination);
 
         final var aOutput = this.listCustomerAddressesUseCase.execute(aInput);
 
         Assertions.assertEquals(aItemsCount, aOutput.metadata().totalItems());
         Assertions.assertEquals(aResult.items(), aOutput.items());
         Assertions.assertEquals(aResult.metadata(), aOutput.metadata());
+        Assertions.assertEquals("next", aOutput.nextCursor());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).addressesByCustomerId(aCustomerId, aSearchQuery);
+        Mockito.verify(addressRepository, Mockito.times(1)).addressesByCustomerId(aCustomerId, aSearchQuery, null);
     }
 
     @Test
@@ -91,20 +92,21 @@ class ListCustomerAddressesUseCaseTest extends UseCaseTest {
         final var aSearchQuery = new SearchQuery(aPage, aPerPage, aTerms, aSort, aDirection);
 
         final var aMetadata = new PaginationMetadata(aPage, aPerPage, aTotalPages, 0);
-        final var aPagination = new Pagination<Address>(aMetadata, List.of());
+        final var aPagination = new CursorPagination<Address>(aMetadata, List.of(), null);
 
         final var aItemsCount = 0;
 
         final var aInput = new ListCustomerAddressesInput(aCustomerId, aSearchQuery);
 
-        Mockito.when(addressRepository.addressesByCustomerId(aCustomerId, aSearchQuery)).thenReturn(aPagination);
+        Mockito.when(addressRepository.addressesByCustomerId(aCustomerId, aSearchQuery, null)).thenReturn(aPagination);
 
         final var aOutput = this.listCustomerAddressesUseCase.execute(aInput);
 
         Assertions.assertEquals(aItemsCount, aOutput.metadata().totalItems());
         Assertions.assertTrue(aOutput.items().isEmpty());
         Assertions.assertEquals(aMetadata, aOutput.metadata());
+        Assertions.assertNull(aOutput.nextCursor());
 
-        Mockito.verify(addressRepository, Mockito.times(1)).addressesByCustomerId(aCustomerId, aSearchQuery);
+        Mockito.verify(addressRepository, Mockito.times(1)).addressesByCustomerId(aCustomerId, aSearchQuery, null);
     }
 }
@@ -46,7 +46,7 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
         final var aAddressId = IdentifierUtils.generateNewUUID();
         final var expectedErrorMessage = NotFoundException.ERROR_MESSAGE.formatted(Address.class.getSimpleName(), "id", aAddressId);
 
-        final var aInput = new UpdateAddressIsDefaultInput(aAddressId, true);
+        final var aInput = new UpdateAddressIsDefaultInput(aAddressId, true, null);
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.empty());
 
@@ -70,7 +70,7 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
 
         final var aIsDefault = true;
 
-        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault);
+        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault, null);
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
 
@@ -95,7 +95,7 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
 
         final var aIsDefault = false;
 
-        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault);
+        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault, null);
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
 
@@ -120,12 +120,10 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
 
         final var aIsDefault = true;
 
-        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault);
+        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault, null);
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
-        Mockito.when(addressRepository.addressByCustomerIdAndIsDefaultTrue(aCustomerId))
-                .thenReturn(Optional.of(Fixture.Addresses.newAddressWithComplement(aCustomerId, true)));
-        Mockito.when(addressRepository.save(Mockito.any())).thenAnswer(returnsFirstArg());
+        Mockito.when(addressRepository.makeDefault(Mockito.any())).thenAnswer(returnsFirstArg());
 
         final var aOutput = Assertions.assertDoesNotThrow(() -> this.updateAddressIsDefaultUseCase.execute(aInput));
 
@@ -134,8 +132,9 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(aIsDefault, aOutput.isDefault());
 
         Mockito.verify(addressRepository, Mockito.times(1)).addressOfId(Mockito.any());
-        Mockito.verify(addressRepository, Mockito.times(1)).addressByCustomerIdAndIsDefaultTrue(aCustomerId);
-        Mockito.verify(addressRepository, Mockito.times(2)).save(Mockito.any());
+        Mockito.verify(addressRepository, Mockito.times(0)).addressByCustomerIdAndIsDefaultTrue(aCustomerId);
+        Mockito.verify(addressRepository, Mockito.times(1)).makeDefault(aAddress);
+        Mockito.verify(addressRepository, Mockito.times(0)).save(Mockito.any());
     }
 
     @Test
@@ -148,7 +147,7 @@ class UpdateAddressIsDefaultUseCaseTest extends UseCaseTest {
 
         final var aIsDefault = false;
 
-        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault);
+        final var aInput = new UpdateAddressIsDefaultInput(aCustomerId.value(), aIsDefault, null);
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
         Mockito.when(addressRepository.save(Mockito.any())).thenAnswer(returnsFirstArg());
@@ -2,6 +2,7 @@ package com.kaua.ecommerce.customer.application.usecases.address.impl;
 
 import com.kaua.ecommerce.customer.application.UseCaseTest;
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
 import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.application.usecases.address.inputs.UpdateAddressInput;
@@ -47,7 +48,7 @@ class UpdateAddressUseCaseTest extends UseCaseTest {
     void givenAnNonExistsAddressId_whenCallUpdateAddress_thenThrowNotFoundException() {
         final var aAddressId = UUID.randomUUID();
 
-        final var aInput = new UpdateAddressInput(aAddressId, null, null, null, null, null, null, null);
+        final var aInput = new UpdateAddressInput(aAddressId, null, null, null, null, null, null, null, null);
 
         final var expectedErrorMessage = NotFoundException.ERROR_MESSAGE
                 .formatted("Address", "id", aAddressId);
@@ -87,7 +88,8 @@ class UpdateAddressUseCaseTest extends UseCaseTest {
                 aComplement,
                 aStreet,
                 aDistrict,
-                aCountry
+                aCountry,
+                null
         );
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
@@ -134,7 +136,8 @@ class UpdateAddressUseCaseTest extends UseCaseTest {
                 aComplement,
                 aStreet,
                 aDistrict,
-                aCountry
+                aCountry,
+                null
         );
 
         Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
@@ -163,4 +166,28 @@ class UpdateAddressUseCaseTest extends UseCaseTest {
                         && Objects.equals(aCountry, cmd.getCountry())
         ));
     }
+
+    @Test
+    void givenAStaleExpectedVersion_whenCallUpdateAddress_thenThrowVersionMismatchWithoutSaving() {
+        final var aAddress = Fixture.Addresses.newAddressWithComplement(
+                new CustomerId(IdentifierUtils.generateNewUUID()),
+                false
+        );
+        final var aAddressId = aAddress.getId().value();
+
+        final var expectedErrorMessage = "Address with id %s does not match the expected version, it was updated by another user"
+                .formatted(aAddressId);
+
+        final var aInput = new UpdateAddressInput(aAddressId, "Home", null, null, null, null, null, null, aAddress.getVersion() + 1);
+
+        Mockito.when(addressRepository.addressOfId(Mockito.any())).thenReturn(Optional.of(aAddress));
+
+        final var aException = Assertions.assertThrows(VersionMismatchException.class,
+                () -> this.updateAddressUseCase.execute(aInput));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+
+        Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(addressGateway);
+    }
 }
@@ -6,6 +6,7 @@ import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.domain.Fixture;
 import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.domain.person.Telephone;
 import com.kaua.ecommerce.lib.domain.exceptions.NotFoundException;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import org.junit.jupiter.api.Assertions;
@@ -39,11 +40,15 @@ class GetCustomerByUserIdUseCaseTest extends UseCaseTest {
 
         Mockito.when(customerRepository.customerOfUserId(aUserId))
                 .thenReturn(Optional.of(aCustomer));
-        Mockito.when(telephoneGateway.formatToLocal(aCustomer.getTelephone().get().value()))
-                .thenReturn(new TelephoneGateway.PhoneNumberInformation(
-                        aPhoneNumberFormatted,
-                        aCountryCode,
-                        aRegionCode
+        Mockito.when(telephoneGateway.analyze(aCustomer.getTelephone().get().value()))
+                .thenReturn(new TelephoneGateway.PhoneNumberAnalysis(
+                        true,
+                        aCustomer.getTelephone().get().value(),
+                        new TelephoneGateway.PhoneNumberInformation(
+                                aPhoneNumberFormatted,
+                                aCountryCode,
+                                aRegionCode
+                        )
                 ));
 
         final var aOutput = Assertions.assertDoesNotThrow(() -> this.getCustomerByUserIdUseCase.execute(aUserId));
@@ -64,7 +69,27 @@ class GetCustomerByUserIdUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(aCustomer.getVersion(), aOutput.version());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfUserId(aUserId);
-        Mockito.verify(telephoneGateway, Mockito.times(1)).formatToLocal(aCustomer.getTelephone().get().value());
+        Mockito.verify(telephoneGateway, Mockito.times(1)).analyze(aCustomer.getTelephone().get().value());
+    }
+
+    @Test
+    void givenACustomerWithStoredPhoneFormats_whenCallGetCustomerByUserId_thenShouldNotCallTelephoneGateway() {
+        final var aCustomer = Fixture.Customers.newCustomer();
+        aCustomer.updateTelephone(new Telephone("+5511987654321", "(11) 98765-4321", "+55", "BR"));
+
+        final var aUserId = aCustomer.getUserId();
+
+        Mockito.when(customerRepository.customerOfUserId(aUserId))
+                .thenReturn(Optional.of(aCustomer));
+
+        final var aOutput = Assertions.assertDoesNotThrow(() -> this.getCustomerByUserIdUseCase.execute(aUserId));
+
+        Assertions.assertEquals("(11) 98765-4321", aOutput.telephone().phoneNumber());
+        Assertions.assertEquals("+55", aOutput.telephone().countryCode());
+        Assertions.assertEquals("BR", aOutput.telephone().regionCode());
+
+        Mockito.verify(customerRepository, Mockito.times(1)).customerOfUserId(aUserId);
+        Mockito.verifyNoInteractions(telephoneGateway);
     }
 
     @Test
@@ -91,7 +116,7 @@ class GetCustomerByUserIdUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(aCustomer.getVersion(), aOutput.version());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfUserId(aUserId);
-        Mockito.verify(telephoneGateway, Mockito.never()).formatToLocal(Mockito.any());
+        Mockito.verify(telephoneGateway, Mockito.never()).analyze(Mockito.any());
     }
 
     @Test
@@ -120,6 +145,6 @@ class GetCustomerByUserIdUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfUserId(aUserId);
-        Mockito.verify(telephoneGateway, Mockito.never()).formatToLocal(Mockito.anyString());
+        Mockito.verify(telephoneGateway, Mockito.never()).analyze(Mockito.anyString());
     }
 }
@@ -36,7 +36,7 @@ class UpdateCustomerDocumentUseCaseTest extends UseCaseTest {
         final var aDocumentNumber = "443.032.340-28";
         final var aDocumentType = "CPF";
 
-        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType);
+        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType, null);
 
         Mockito.when(customerRepository.existsByDocument(Mockito.anyString()))
                 .thenReturn(false);
@@ -70,7 +70,7 @@ class UpdateCustomerDocumentUseCaseTest extends UseCaseTest {
 
         final var expectedErrorMessage = "Document already exists";
 
-        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType);
+        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType, null);
 
         Mockito.when(customerRepository.existsByDocument(Mockito.anyString()))
                 .thenReturn(true);
@@ -95,7 +95,7 @@ class UpdateCustomerDocumentUseCaseTest extends UseCaseTest {
         final var expectedErrorMessage = "Customer with id %s was not found"
                 .formatted(aCustomerId.value().toString());
 
-        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType);
+        final var aInput = new UpdateCustomerDocumentInput(aCustomerId.value(), aDocumentNumber, aDocumentType, null);
 
         Mockito.when(customerRepository.existsByDocument(Mockito.anyString()))
                 .thenReturn(false);
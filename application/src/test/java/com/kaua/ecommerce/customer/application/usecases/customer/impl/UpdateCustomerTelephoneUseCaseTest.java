@@ -2,6 +2,7 @@ package com.kaua.ecommerce.customer.application.usecases.customer.impl;
 
 import com.kaua.ecommerce.customer.application.UseCaseTest;
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.application.usecases.customer.inputs.UpdateCustomerTelephoneInput;
@@ -38,26 +39,31 @@ class UpdateCustomerTelephoneUseCaseTest extends UseCaseTest {
 
         final var aCustomerId = aCustomer.getId();
         final var aTelephone = "+5511999999999";
+        final var aLocalTelephone = "(11) 99999-9999";
 
-        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), aTelephone);
+        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), aTelephone, null);
 
         Mockito.when(customerRepository.customerOfId(aCustomerId)).thenReturn(Optional.of(aCustomer));
-        Mockito.when(telephoneGateway.isValid(aTelephone)).thenReturn(true);
-        Mockito.when(telephoneGateway.format(aTelephone)).thenReturn(aTelephone);
+        Mockito.when(telephoneGateway.analyze(aTelephone)).thenReturn(new TelephoneGateway.PhoneNumberAnalysis(
+                true,
+                aTelephone,
+                new TelephoneGateway.PhoneNumberInformation(aLocalTelephone, "+55", "BR")
+        ));
         Mockito.when(customerRepository.save(aCustomer)).thenAnswer(returnsFirstArg());
-        Mockito.when(telephoneGateway.formatToLocal(aTelephone)).thenReturn(new TelephoneGateway.PhoneNumberInformation(aTelephone, "55", "BR"));
 
         final var aOutput = Assertions.assertDoesNotThrow(() -> this.updateCustomerTelephoneUseCase.execute(aInput));
 
         Assertions.assertEquals(aCustomerId.value().toString(), aOutput.customerId());
-        Assertions.assertEquals(aTelephone, aOutput.telephone());
+        Assertions.assertEquals(aLocalTelephone, aOutput.telephone());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfId(aCustomerId);
-        Mockito.verify(telephoneGateway, Mockito.times(1)).isValid(aTelephone);
-        Mockito.verify(telephoneGateway, Mockito.times(1)).format(aTelephone);
+        Mockito.verify(telephoneGateway, Mockito.times(1)).analyze(aTelephone);
         Mockito.verify(customerRepository, Mockito.times(1)).save(argThat(cmd ->
-                Objects.equals(aTelephone, cmd.getTelephone().get().value())));
-        Mockito.verify(telephoneGateway, Mockito.times(1)).formatToLocal(aTelephone);
+                Objects.equals(aTelephone, cmd.getTelephone().get().value())
+                        && Objects.equals(aLocalTelephone, cmd.getTelephone().get().nationalNumber())
+                        && Objects.equals("+55", cmd.getTelephone().get().countryCode())
+                        && Objects.equals("BR", cmd.getTelephone().get().regionCode())));
+        Mockito.verifyNoMoreInteractions(telephoneGateway);
     }
 
     @Test
@@ -69,20 +75,22 @@ class UpdateCustomerTelephoneUseCaseTest extends UseCaseTest {
 
         final var expectedErrorMessage = "Invalid telephone";
 
-        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), aTelephone);
+        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), aTelephone, null);
 
         Mockito.when(customerRepository.customerOfId(aCustomerId)).thenReturn(Optional.of(aCustomer));
-        Mockito.when(telephoneGateway.isValid(aTelephone)).thenReturn(false);
+        Mockito.when(telephoneGateway.analyze(aTelephone)).thenReturn(new TelephoneGateway.PhoneNumberAnalysis(
+                false,
+                aTelephone,
+                new TelephoneGateway.PhoneNumberInformation("(11) 99999-9999", "+55", "BR")
+        ));
 
         final var aException = Assertions.assertThrows(ValidationException.class, () -> this.updateCustomerTelephoneUseCase.execute(aInput));
 
         Assertions.assertEquals(expectedErrorMessage, aException.getErrors().get(0).message());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfId(aCustomerId);
-        Mockito.verify(telephoneGateway, Mockito.times(1)).isValid(aTelephone);
-        Mockito.verify(telephoneGateway, Mockito.never()).format(Mockito.any());
+        Mockito.verify(telephoneGateway, Mockito.times(1)).analyze(aTelephone);
         Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).formatToLocal(Mockito.any());
     }
 
     @Test
@@ -94,10 +102,8 @@ class UpdateCustomerTelephoneUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
         Mockito.verify(customerRepository, Mockito.never()).customerOfId(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).isValid(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).format(Mockito.any());
+        Mockito.verify(telephoneGateway, Mockito.never()).analyze(Mockito.any());
         Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).formatToLocal(Mockito.any());
     }
 
     @Test
@@ -107,7 +113,7 @@ class UpdateCustomerTelephoneUseCaseTest extends UseCaseTest {
         final var expectedErrorMessage = "Customer with id %s was not found"
                 .formatted(aCustomerId.value().toString());
 
-        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), "+5511999999999");
+        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), "+5511999999999", null);
 
         Mockito.when(customerRepository.customerOfId(aCustomerId)).thenReturn(Optional.empty());
 
@@ -116,9 +122,28 @@ class UpdateCustomerTelephoneUseCaseTest extends UseCaseTest {
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
 
         Mockito.verify(customerRepository, Mockito.times(1)).customerOfId(aCustomerId);
-        Mockito.verify(telephoneGateway, Mockito.never()).isValid(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).format(Mockito.any());
+        Mockito.verify(telephoneGateway, Mockito.never()).analyze(Mockito.any());
+        Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void givenAStaleExpectedVersion_whenCallUpdateCustomerTelephone_thenThrowVersionMismatchWithoutSaving() {
+        final var aCustomer = Fixture.Customers.newCustomer();
+        final var aCustomerId = aCustomer.getId();
+
+        final var expectedErrorMessage = "Customer with id %s does not match the expected version, it was updated by another user"
+                .formatted(aCustomerId.value());
+
+        final var aInput = new UpdateCustomerTelephoneInput(aCustomerId.value(), "+5511999999999", aCustomer.getVersion() + 1);
+
+        Mockito.when(customerRepository.customerOfId(aCustomerId)).thenReturn(Optional.of(aCustomer));
+
+        final var aException = Assertions.assertThrows(VersionMismatchException.class,
+                () -> this.updateCustomerTelephoneUseCase.execute(aInput));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+
+        Mockito.verify(telephoneGateway, Mockito.never()).analyze(Mockito.any());
         Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
-        Mockito.verify(telephoneGateway, Mockito.never()).formatToLocal(Mockito.any());
     }
 }
@@ -0,0 +1,17 @@
+package com.kaua.ecommerce.customer.domain.pagination;
+
+import com.kaua.ecommerce.lib.domain.pagination.PaginationMetadata;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPagination<T>(
+        PaginationMetadata metadata,
+        List<T> items,
+        String nextCursor
+) {
+
+    public <R> CursorPagination<R> map(final Function<T, R> mapper) {
+        return new CursorPagination<>(this.metadata, this.items.stream().map(mapper).toList(), this.nextCursor);
+    }
+}
@@ -2,9 +2,23 @@ package com.kaua.ecommerce.customer.domain.person;
 
 import com.kaua.ecommerce.lib.domain.ValueObject;
 
-public record Telephone(String value) implements ValueObject {
+// value em E.164; os formatos derivados sao gravados junto para a leitura nao precisar refazer o parse
+public record Telephone(
+        String value,
+        String nationalNumber,
+        String countryCode,
+        String regionCode
+) implements ValueObject {
 
     public Telephone {
         this.assertArgumentNotEmpty(value, "telephone", "should not be empty");
     }
+
+    public Telephone(final String value) {
+        this(value, null, null, null);
+    }
+
+    public boolean hasLocalFormat() {
+        return nationalNumber != null;
+    }
 }
@@ -14,6 +14,18 @@ class TelephoneTest extends UnitTest {
         final var aTelephone = new Telephone(aNumber);
 
         Assertions.assertEquals(aNumber, aTelephone.value());
+        Assertions.assertFalse(aTelephone.hasLocalFormat());
+    }
+
+    @Test
+    void givenAPhoneNumberWithItsLocalFormat_whenCreateNewTelephone_thenShouldKeepTheDerivedFormats() {
+        final var aTelephone = new Telephone("+5511999999999", "(11) 99999-9999", "+55", "BR");
+
+        Assertions.assertEquals("+5511999999999", aTelephone.value());
+        Assertions.assertEquals("(11) 99999-9999", aTelephone.nationalNumber());
+        Assertions.assertEquals("+55", aTelephone.countryCode());
+        Assertions.assertEquals("BR", aTelephone.regionCode());
+        Assertions.assertTrue(aTelephone.hasLocalFormat());
     }
 
     @Test
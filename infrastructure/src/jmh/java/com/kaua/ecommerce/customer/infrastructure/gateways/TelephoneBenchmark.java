@@ -0,0 +1,75 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway.PhoneNumberInformation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Custo de telefone por request, rode com: ./gradlew :infrastructure:jmh (o profiler gc mostra as alocacoes)
+ *
+ *   PATCH /telephone: legacyUpdate faz 3 parses (isValid, format, formatToLocal), analyzeUpdate faz 1 e cachedUpdate 0 no hit
+ *   GET /me         : legacyRead faz 1 parse, cachedRead 0 no hit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelephoneBenchmark {
+
+    private static final String INPUT = "+55 (11) 98765-4321";
+    private static final String STORED = "+5511987654321";
+
+    private final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+
+    private TelephoneGatewayImpl telephoneGateway;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.telephoneGateway = new TelephoneGatewayImpl(1_000, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void legacyUpdate(final Blackhole blackhole) throws NumberParseException {
+        blackhole.consume(this.phoneNumberUtil.isValidNumber(this.phoneNumberUtil.parse(INPUT, null)));
+        final var aE164 = this.phoneNumberUtil.format(this.phoneNumberUtil.parse(INPUT, null),
+                PhoneNumberUtil.PhoneNumberFormat.E164);
+        blackhole.consume(legacyFormatToLocal(aE164));
+    }
+
+    @Benchmark
+    public void analyzeUpdate(final Blackhole blackhole) {
+        blackhole.consume(this.telephoneGateway.parseAndAnalyze(INPUT));
+    }
+
+    @Benchmark
+    public void cachedUpdate(final Blackhole blackhole) {
+        blackhole.consume(this.telephoneGateway.analyze(INPUT));
+    }
+
+    @Benchmark
+    public void legacyRead(final Blackhole blackhole) throws NumberParseException {
+        blackhole.consume(legacyFormatToLocal(STORED));
+    }
+
+    @Benchmark
+    public void cachedRead(final Blackhole blackhole) {
+        blackhole.consume(this.telephoneGateway.analyze(STORED).local());
+    }
+
+    private PhoneNumberInformation legacyFormatToLocal(final String aPhoneNumber) throws NumberParseException {
+        final var aParsedPhoneNumber = this.phoneNumberUtil.parse(aPhoneNumber, null);
+
+        return new PhoneNumberInformation(
+                this.phoneNumberUtil.format(aParsedPhoneNumber, PhoneNumberUtil.PhoneNumberFormat.NATIONAL),
+                "+" + aParsedPhoneNumber.getCountryCode(),
+                this.phoneNumberUtil.getRegionCodeForNumber(aParsedPhoneNumber)
+        );
+    }
+}
@@ -0,0 +1,211 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.LookupBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Compara leituras de customer por userId uma a uma com as leituras agrupadas pelo LookupBatcher ("= ANY(:ids)").
+ * thinkMicros e a pausa de cada thread entre requisicoes: quanto menor, maior a taxa de chegada.
+ * Os contadores "lookups" e "roundTrips" saem em ops/s, rode com: ./gradlew :infrastructure:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class CustomerLookupBatchingBenchmark {
+
+    private static final int ROWS = 5_000;
+
+    private static final String URL = "jdbc:h2:mem:customer_lookup_batching_benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    private static final String SELECT_ONE = "SELECT * FROM customers WHERE idp_user_id = ?";
+    private static final String SELECT_ANY = "SELECT * FROM customers WHERE idp_user_id = ANY(?)";
+
+    @Param({"false", "true"})
+    public boolean batching;
+
+    @Param({"0", "100", "1000"})
+    public long thinkMicros;
+
+    @Param({"1"})
+    public long windowMillis;
+
+    private Connection setupConnection;
+    private UserId[] userIds;
+    private LookupBatcher<UserId, Customer> batcher;
+
+    // uma conexao por thread, o lote roda na conexao da thread lider
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Connection> connection = ThreadLocal.withInitial(this::openConnection);
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        this.setupConnection = DriverManager.getConnection(URL);
+        try (final var aStatement = this.setupConnection.createStatement()) {
+            aStatement.execute("""
+                    CREATE TABLE customers (
+                        id UUID PRIMARY KEY,
+                        idp_user_id UUID NOT NULL UNIQUE,
+                        email VARCHAR(255) NOT NULL,
+                        first_name VARCHAR(110) NOT NULL,
+                        last_name VARCHAR(110) NOT NULL,
+                        document_number VARCHAR(16),
+                        document_type VARCHAR(5),
+                        created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                        updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                        version BIGINT NOT NULL,
+                        phone_number VARCHAR(36),
+                        phone_national_number VARCHAR(36),
+                        phone_country_code VARCHAR(5),
+                        phone_region_code VARCHAR(3)
+                    )
+                    """);
+        }
+
+        final var aNow = Timestamp.from(Instant.now());
+        this.userIds = new UserId[ROWS];
+
+        try (final var aInsert = this.setupConnection.prepareStatement(
+                "INSERT INTO customers VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                this.userIds[i] = new UserId(UUID.randomUUID());
+
+                aInsert.setObject(1, UUID.randomUUID());
+                aInsert.setObject(2, this.userIds[i].value());
+                aInsert.setString(3, "customer" + i + "@tst.com");
+                aInsert.setString(4, "Customer");
+                aInsert.setString(5, "Number " + i);
+                aInsert.setString(6, "52998224725");
+                aInsert.setString(7, "CPF");
+                aInsert.setTimestamp(8, aNow);
+                aInsert.setTimestamp(9, aNow);
+                aInsert.setLong(10, 1);
+                aInsert.setString(11, "+5511999999999");
+                aInsert.setString(12, "(11) 99999-9999");
+                aInsert.setString(13, "+55");
+                aInsert.setString(14, "BR");
+                aInsert.addBatch();
+            }
+            aInsert.executeBatch();
+        }
+
+        this.batcher = new LookupBatcher<>(
+                BatchingCustomerRepository.LOOKUP_NAME,
+                Duration.ofMillis(this.windowMillis),
+                64,
+                this::customersOfUserIds,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        for (final var aConnection : this.connections) {
+            aConnection.close();
+        }
+        try (final var aStatement = this.setupConnection.createStatement()) {
+            aStatement.execute("DROP ALL OBJECTS");
+        }
+        this.setupConnection.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> customerOfUserId(final RoundTrips roundTrips) throws SQLException {
+        if (this.thinkMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(this.thinkMicros));
+        }
+
+        final var aUserId = this.userIds[ThreadLocalRandom.current().nextInt(ROWS)];
+        roundTrips.lookups++;
+
+        if (this.batching) {
+            return this.batcher.load(aUserId);
+        }
+        return customerOfUserId(aUserId);
+    }
+
+    private Optional<Customer> customerOfUserId(final UserId userId) throws SQLException {
+        RoundTrips.current().roundTrips++;
+        try (final var aSelect = this.connection.get().prepareStatement(SELECT_ONE)) {
+            aSelect.setObject(1, userId.value());
+            try (final var rs = aSelect.executeQuery()) {
+                return rs.next()
+                        ? Optional.of(CustomerJdbcRepository.customerMapper().mapRow(rs))
+                        : Optional.empty();
+            }
+        }
+    }
+
+    private Map<UserId, Customer> customersOfUserIds(final Set<UserId> userIds) {
+        RoundTrips.current().roundTrips++;
+        final var aConnection = this.connection.get();
+        final var aCustomers = new HashMap<UserId, Customer>(userIds.size() * 2);
+
+        try (final var aSelect = aConnection.prepareStatement(SELECT_ANY)) {
+            aSelect.setArray(1, aConnection.createArrayOf("uuid", userIds.stream().map(UserId::value).toArray()));
+            try (final var rs = aSelect.executeQuery()) {
+                while (rs.next()) {
+                    final var aCustomer = CustomerJdbcRepository.customerMapper().mapRow(rs);
+                    aCustomers.put(aCustomer.getUserId(), aCustomer);
+                }
+            }
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return aCustomers;
+    }
+
+    private Connection openConnection() {
+        try {
+            final var aConnection = DriverManager.getConnection(URL);
+            this.connections.add(aConnection);
+            return aConnection;
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // contadores por thread: o lote e contado na thread lider, que e quem vai ao banco
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RoundTrips {
+
+        private static final ThreadLocal<RoundTrips> CURRENT = new ThreadLocal<>();
+
+        public long lookups;
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.lookups = 0;
+            this.roundTrips = 0;
+            CURRENT.set(this);
+        }
+
+        static RoundTrips current() {
+            return CURRENT.get();
+        }
+    }
+}
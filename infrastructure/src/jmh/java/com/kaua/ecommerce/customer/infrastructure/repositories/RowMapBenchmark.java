@@ -0,0 +1,248 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.domain.address.Address;
+import com.kaua.ecommerce.customer.domain.address.AddressId;
+import com.kaua.ecommerce.customer.domain.address.Title;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.domain.person.Document;
+import com.kaua.ecommerce.customer.domain.person.Email;
+import com.kaua.ecommerce.customer.domain.person.Name;
+import com.kaua.ecommerce.customer.domain.person.Telephone;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.RowMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara os mappers por nome (implementacao anterior) com os mappers por indice (ColumnSpec).
+ * Os resultados sao por linha (OperationsPerInvocation), rode com: ./gradlew :infrastructure:jmh
+ * O baseline "iterate" mede apenas o custo de percorrer o ResultSet do H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapBenchmark {
+
+    private static final int ROWS = 500;
+
+    private static final String SELECT_CUSTOMERS = "SELECT * FROM customers";
+    private static final String SELECT_ADDRESSES = "SELECT * FROM addresses";
+
+    private Connection connection;
+    private Statement statement;
+
+    private final RowMap<Customer> legacyCustomerMapper = legacyCustomerMapper();
+    private final RowMap<Address> legacyAddressMapper = legacyAddressMapper();
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:row_map_benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        this.statement = this.connection.createStatement();
+
+        this.statement.execute("""
+                CREATE TABLE customers (
+                    id UUID PRIMARY KEY,
+                    idp_user_id UUID NOT NULL,
+                    email VARCHAR(255) NOT NULL,
+                    first_name VARCHAR(110) NOT NULL,
+                    last_name VARCHAR(110) NOT NULL,
+                    document_number VARCHAR(16),
+                    document_type VARCHAR(5),
+                    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    version BIGINT NOT NULL,
+                    phone_number VARCHAR(36),
+                    phone_national_number VARCHAR(36),
+                    phone_country_code VARCHAR(5),
+                    phone_region_code VARCHAR(3)
+                )
+                """);
+        this.statement.execute("""
+                CREATE TABLE addresses (
+                    id UUID PRIMARY KEY,
+                    customer_id UUID NOT NULL,
+                    title VARCHAR(100) NOT NULL,
+                    zip_code VARCHAR(50) NOT NULL,
+                    number VARCHAR(30) NOT NULL,
+                    street VARCHAR(255) NOT NULL,
+                    city VARCHAR(255) NOT NULL,
+                    district VARCHAR(255) NOT NULL,
+                    country VARCHAR(60) NOT NULL,
+                    state VARCHAR(60) NOT NULL,
+                    complement VARCHAR(255),
+                    is_default BOOLEAN NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    version BIGINT NOT NULL
+                )
+                """);
+
+        final var aNow = Timestamp.from(Instant.now());
+
+        try (final var aCustomerInsert = this.connection.prepareStatement(
+                "INSERT INTO customers VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             final var aAddressInsert = this.connection.prepareStatement(
+                     "INSERT INTO addresses VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                final var aCustomerId = UUID.randomUUID();
+
+                aCustomerInsert.setObject(1, aCustomerId);
+                aCustomerInsert.setObject(2, UUID.randomUUID());
+                aCustomerInsert.setString(3, "customer" + i + "@tst.com");
+                aCustomerInsert.setString(4, "Customer");
+                aCustomerInsert.setString(5, "Number " + i);
+                aCustomerInsert.setString(6, "52998224725");
+                aCustomerInsert.setString(7, "CPF");
+                aCustomerInsert.setTimestamp(8, aNow);
+                aCustomerInsert.setTimestamp(9, aNow);
+                aCustomerInsert.setLong(10, 1);
+                aCustomerInsert.setString(11, "+5511999999999");
+                aCustomerInsert.setString(12, "(11) 99999-9999");
+                aCustomerInsert.setString(13, "+55");
+                aCustomerInsert.setString(14, "BR");
+                aCustomerInsert.addBatch();
+
+                aAddressInsert.setObject(1, UUID.randomUUID());
+                aAddressInsert.setObject(2, aCustomerId);
+                aAddressInsert.setString(3, "Home " + i);
+                aAddressInsert.setString(4, "01001000");
+                aAddressInsert.setString(5, String.valueOf(i));
+                aAddressInsert.setString(6, "Praca da Se");
+                aAddressInsert.setString(7, "Sao Paulo");
+                aAddressInsert.setString(8, "Se");
+                aAddressInsert.setString(9, "BR");
+                aAddressInsert.setString(10, "SP");
+                aAddressInsert.setString(11, "lado impar");
+                aAddressInsert.setBoolean(12, i == 0);
+                aAddressInsert.setTimestamp(13, aNow);
+                aAddressInsert.setTimestamp(14, aNow);
+                aAddressInsert.setLong(15, 1);
+                aAddressInsert.addBatch();
+            }
+            aCustomerInsert.executeBatch();
+            aAddressInsert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.statement.execute("DROP ALL OBJECTS");
+        this.statement.close();
+        this.connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void iterateCustomers(final Blackhole blackhole) throws SQLException {
+        try (final var rs = this.statement.executeQuery(SELECT_CUSTOMERS)) {
+            while (rs.next()) {
+                blackhole.consume(rs.getRow());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byNameCustomers(final Blackhole blackhole) throws SQLException {
+        mapAll(SELECT_CUSTOMERS, this.legacyCustomerMapper, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byIndexCustomers(final Blackhole blackhole) throws SQLException {
+        mapAll(SELECT_CUSTOMERS, CustomerJdbcRepository.customerMapper(), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void iterateAddresses(final Blackhole blackhole) throws SQLException {
+        try (final var rs = this.statement.executeQuery(SELECT_ADDRESSES)) {
+            while (rs.next()) {
+                blackhole.consume(rs.getRow());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byNameAddresses(final Blackhole blackhole) throws SQLException {
+        mapAll(SELECT_ADDRESSES, this.legacyAddressMapper, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byIndexAddresses(final Blackhole blackhole) throws SQLException {
+        mapAll(SELECT_ADDRESSES, AddressJdbcRepository.addressMapper(), blackhole);
+    }
+
+    private <T> void mapAll(final String sql, final RowMap<T> mapper, final Blackhole blackhole) throws SQLException {
+        try (final var rs = this.statement.executeQuery(sql)) {
+            while (rs.next()) {
+                blackhole.consume(mapper.mapRow(rs));
+            }
+        }
+    }
+
+    private static RowMap<Customer> legacyCustomerMapper() {
+        return rs -> {
+            final var aDocumentType = rs.getString("document_type");
+            final var aPhoneNumber = rs.getString("phone_number");
+            return Customer.with(
+                    new CustomerId(UUID.fromString(rs.getString("id"))),
+                    rs.getLong("version"),
+                    new UserId(UUID.fromString(rs.getString("idp_user_id"))),
+                    new Email(rs.getString("email")),
+                    new Name(rs.getString("first_name"), rs.getString("last_name")),
+                    aDocumentType != null ?
+                            Document.create(rs.getString("document_number"), aDocumentType) : null,
+                    aPhoneNumber != null ? new Telephone(aPhoneNumber) : null,
+                    legacyInstant(rs, "created_at"),
+                    legacyInstant(rs, "updated_at")
+            );
+        };
+    }
+
+    private static RowMap<Address> legacyAddressMapper() {
+        return rs -> Address.with(
+                new AddressId(UUID.fromString(rs.getString("id"))),
+                rs.getLong("version"),
+                new Title(rs.getString("title")),
+                new CustomerId(UUID.fromString(rs.getString("customer_id"))),
+                rs.getString("zip_code"),
+                rs.getString("number"),
+                rs.getString("street"),
+                rs.getString("city"),
+                rs.getString("district"),
+                rs.getString("country"),
+                rs.getString("state"),
+                rs.getString("complement"),
+                rs.getBoolean("is_default"),
+                legacyInstant(rs, "created_at"),
+                legacyInstant(rs, "updated_at")
+        );
+    }
+
+    private static Instant legacyInstant(final ResultSet rs, final String column) throws SQLException {
+        final var timestamp = rs.getTimestamp(column);
+
+        if (timestamp == null) {
+            return null;
+        }
+
+        return timestamp.toInstant();
+    }
+}
@@ -0,0 +1,45 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Mensagem de invalidacao: as chaves de um cache que mudaram e a versao gravada.
+ * Quem recebe so descarta entradas com versao menor, entao uma mensagem atrasada nunca apaga um valor mais novo.
+ */
+public record CacheInvalidation(String cache, List<String> keys, long version) {
+
+    // delete nao tem versao seguinte, entao descarta qualquer versao em cache
+    public static final long DELETED = Long.MAX_VALUE;
+
+    private static final String SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = ",";
+
+    public CacheInvalidation {
+        Objects.requireNonNull(cache);
+        keys = List.copyOf(keys);
+    }
+
+    public static CacheInvalidation of(final String cache, final long version, final Object... keys) {
+        return new CacheInvalidation(cache, Arrays.stream(keys).map(String::valueOf).toList(), version);
+    }
+
+    public boolean isStale(final long cachedVersion) {
+        return cachedVersion < this.version;
+    }
+
+    public String encode() {
+        return this.cache + SEPARATOR + this.version + SEPARATOR + String.join(KEY_SEPARATOR, this.keys);
+    }
+
+    public static CacheInvalidation decode(final String payload) {
+        final var aParts = payload.split("\\" + SEPARATOR, 3);
+        if (aParts.length != 3) {
+            throw new IllegalArgumentException("Invalid cache invalidation payload: " + payload);
+        }
+
+        final var aKeys = aParts[2].isEmpty() ? List.<String>of() : List.of(aParts[2].split(KEY_SEPARATOR));
+        return new CacheInvalidation(aParts[0], aKeys, Long.parseLong(aParts[1]));
+    }
+}
@@ -0,0 +1,38 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+public interface CacheInvalidationBus {
+
+    // entregue aos outros nos so se a transacao atual fizer commit
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(String cache, Listener listener);
+
+    static CacheInvalidationBus noop() {
+        return NoopCacheInvalidationBus.INSTANCE;
+    }
+
+    // so os caches deste no, para quando a invalidacao entre nos esta desligada
+    static CacheInvalidationBus local() {
+        return new LocalCacheInvalidationBus();
+    }
+
+    interface Listener {
+
+        void invalidate(CacheInvalidation invalidation);
+
+        // mensagens podem ter sido perdidas (ex: reconexao), o cache local inteiro deixa de ser confiavel
+        void invalidateAll();
+    }
+
+    enum NoopCacheInvalidationBus implements CacheInvalidationBus {
+        INSTANCE;
+
+        @Override
+        public void publish(final CacheInvalidation invalidation) {
+        }
+
+        @Override
+        public void subscribe(final String cache, final Listener listener) {
+        }
+    }
+}
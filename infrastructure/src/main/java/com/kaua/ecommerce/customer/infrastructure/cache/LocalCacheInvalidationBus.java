@@ -0,0 +1,60 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Entrega as invalidacoes aos caches deste no depois do commit da escrita (na hora, sem transacao), nunca em rollback.
+ * E o bus padrao quando a invalidacao entre nos esta desligada, e o PostgresCacheInvalidationBus tambem entrega por aqui:
+ * o no que escreveu descarta suas copias sem depender do NOTIFY voltar.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(final CacheInvalidation invalidation) {
+        Objects.requireNonNull(invalidation);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(invalidation);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(invalidation);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(final String cache, final Listener listener) {
+        this.listeners.computeIfAbsent(cache, it -> new CopyOnWriteArrayList<>()).add(Objects.requireNonNull(listener));
+    }
+
+    void deliver(final CacheInvalidation invalidation) {
+        this.listeners.getOrDefault(invalidation.cache(), List.of()).forEach(it -> {
+            try {
+                it.invalidate(invalidation);
+            } catch (final RuntimeException ex) {
+                log.warn("Cache invalidation listener failed [cache:{}] [reason:{}]", invalidation.cache(), ex.getMessage());
+            }
+        });
+    }
+
+    void invalidateAll() {
+        this.listeners.values().forEach(it -> it.forEach(Listener::invalidateAll));
+    }
+}
@@ -0,0 +1,185 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Objects;
+
+/*
+ * Invalidacao entre nos via LISTEN/NOTIFY do proprio Postgres.
+ * O NOTIFY roda dentro da transacao da escrita, entao so e entregue depois do commit e nunca em rollback.
+ * Cada no mantem uma conexao dedicada em LISTEN numa thread propria; ao reconectar limpa os caches, pois mensagens do intervalo se perderam.
+ * Os caches deste no sao invalidados tambem pelo LocalCacheInvalidationBus, logo apos o commit, sem esperar o NOTIFY voltar.
+ * A conexao do LISTEN vem de um DataSource sem pool (listenDataSource): nao ocupa uma vaga do pool e nunca volta para ele
+ * com auto-commit trocado ou ainda inscrita no canal. Ao parar faz UNLISTEN e fecha a conexao.
+ */
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    public static final String RECEIVED_COUNTER = "cache.invalidation.received";
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final DataSource listenDataSource;
+    private final JdbcOperations jdbcOperations;
+    private final TransactionTemplate transactionTemplate;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final MeterRegistry meterRegistry;
+    private final LocalCacheInvalidationBus local = new LocalCacheInvalidationBus();
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    public PostgresCacheInvalidationBus(
+            final DataSource listenDataSource,
+            final JdbcOperations jdbcOperations,
+            final TransactionTemplate transactionTemplate,
+            final String channel,
+            final Duration pollTimeout,
+            final Duration reconnectDelay,
+            final MeterRegistry meterRegistry
+    ) {
+        this.listenDataSource = Objects.requireNonNull(listenDataSource);
+        this.jdbcOperations = Objects.requireNonNull(jdbcOperations);
+        this.transactionTemplate = Objects.requireNonNull(transactionTemplate);
+        this.channel = Objects.requireNonNull(channel);
+        this.pollTimeout = Objects.requireNonNull(pollTimeout);
+        this.reconnectDelay = Objects.requireNonNull(reconnectDelay);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    @Override
+    public void publish(final CacheInvalidation invalidation) {
+        // REQUIRED: entra na transacao da escrita; sem transacao abre uma so para o NOTIFY
+        this.transactionTemplate.executeWithoutResult(status -> this.jdbcOperations.query(
+                NOTIFY,
+                rs -> {
+                },
+                this.channel,
+                invalidation.encode()
+        ));
+        this.local.publish(invalidation);
+    }
+
+    @Override
+    public void subscribe(final String cache, final Listener listener) {
+        this.local.subscribe(cache, listener);
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        final var aThread = new Thread(this::listen, "cache-invalidation-listener");
+        aThread.setDaemon(true);
+        aThread.start();
+        this.listenerThread = aThread;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        final var aThread = this.listenerThread;
+        if (aThread != null) {
+            aThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void listen() {
+        var aFirstConnection = true;
+
+        while (this.running) {
+            try (final var aConnection = this.listenDataSource.getConnection()) {
+                subscribeChannel(aConnection);
+                log.info("Listening for cache invalidations [channel:{}]", this.channel);
+
+                if (!aFirstConnection) {
+                    invalidateAll();
+                }
+                aFirstConnection = false;
+
+                final var aPgConnection = aConnection.unwrap(PGConnection.class);
+                while (this.running) {
+                    final var aNotifications = aPgConnection.getNotifications((int) this.pollTimeout.toMillis());
+                    if (aNotifications == null) {
+                        continue;
+                    }
+                    for (final var aNotification : aNotifications) {
+                        dispatch(aNotification.getParameter());
+                    }
+                }
+                unsubscribeChannel(aConnection);
+            } catch (final SQLException | RuntimeException ex) {
+                if (!this.running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener failed, reconnecting [channel:{}] [reason:{}]", this.channel, ex.getMessage());
+                aFirstConnection = false;
+                sleep(this.reconnectDelay);
+            }
+        }
+    }
+
+    private void subscribeChannel(final Connection aConnection) throws SQLException {
+        // LISTEN so vale depois do commit, a conexao sem pool ja vem com auto-commit ligado
+        try (final var aStatement = aConnection.createStatement()) {
+            aStatement.execute("LISTEN \"" + this.channel.replace("\"", "\"\"") + "\"");
+        }
+    }
+
+    private void unsubscribeChannel(final Connection aConnection) {
+        try (final var aStatement = aConnection.createStatement()) {
+            aStatement.execute("UNLISTEN *");
+        } catch (final SQLException ex) {
+            log.debug("Failed to unlisten, closing the connection anyway [channel:{}] [reason:{}]", this.channel, ex.getMessage());
+        }
+    }
+
+    void dispatch(final String payload) {
+        final CacheInvalidation aInvalidation;
+        try {
+            aInvalidation = CacheInvalidation.decode(payload);
+        } catch (final RuntimeException ex) {
+            log.warn("Ignoring invalid cache invalidation [payload:{}]", payload);
+            return;
+        }
+
+        Counter.builder(RECEIVED_COUNTER)
+                .description("Cache invalidations received from the database")
+                .tag("cache", aInvalidation.cache())
+                .register(this.meterRegistry)
+                .increment();
+
+        this.local.deliver(aInvalidation);
+    }
+
+    private void invalidateAll() {
+        log.info("Clearing local caches after reconnecting [channel:{}]", this.channel);
+        this.local.invalidateAll();
+    }
+
+    private static void sleep(final Duration aDelay) {
+        try {
+            Thread.sleep(aDelay.toMillis());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
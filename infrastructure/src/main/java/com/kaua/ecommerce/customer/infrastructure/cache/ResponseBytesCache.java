@@ -0,0 +1,150 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kaua.ecommerce.customer.infrastructure.repositories.AddressJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Guarda os bytes JSON ja serializados (e opcionalmente ja comprimidos) das respostas de GET mais quentes.
+ * Cada entrada carrega a ETag da versao que a gerou: so vale se a ETag atual do agregado for a mesma,
+ * entao uma invalidacao perdida nunca devolve uma resposta antiga, so ocupa memoria ate expirar.
+ */
+public class ResponseBytesCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseBytesCache.class);
+
+    public static final String CACHE_NAME = "responses";
+
+    public static final String CUSTOMER = "customer";
+    public static final String ADDRESS = "address";
+    public static final String DEFAULT_ADDRESS = "default_address";
+
+    // chave, headers e o proprio record tambem ocupam memoria, nao so os arrays
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Key, CachedResponse> cache;
+    private final boolean gzip;
+    private final int gzipMinSize;
+
+    public ResponseBytesCache(
+            final long maximumBytes,
+            final Duration ttl,
+            final boolean gzip,
+            final int gzipMinSize,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(Objects.requireNonNull(ttl))
+                .recordStats()
+                .build();
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.cache, CACHE_NAME);
+        Gauge.builder("cache.memory.bytes", this.cache, ResponseBytesCache::weightedSize)
+                .description("Approximate bytes held by the cache")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+
+        subscribe(Objects.requireNonNull(cacheInvalidationBus));
+    }
+
+    // so diz se ha bytes guardados para a chave, a versao deles ainda precisa ser conferida no get
+    public boolean contains(final String type, final Object id) {
+        return this.cache.getIfPresent(new Key(type, id.toString())) != null;
+    }
+
+    public Optional<CachedResponse> get(final String type, final Object id, final String etag) {
+        final var aCached = this.cache.getIfPresent(new Key(type, id.toString()));
+        if (aCached == null || !aCached.etag().equals(etag)) {
+            return Optional.empty();
+        }
+        return Optional.of(aCached);
+    }
+
+    public void put(final String type, final Object id, final String etag, final byte[] json) {
+        final var aGzip = this.gzip && json.length >= this.gzipMinSize ? gzip(json) : null;
+        this.cache.put(new Key(type, id.toString()), new CachedResponse(etag, json, aGzip));
+    }
+
+    private void subscribe(final CacheInvalidationBus cacheInvalidationBus) {
+        cacheInvalidationBus.subscribe(CustomerJdbcRepository.INVALIDATION_CACHE, listener(CUSTOMER));
+        // a chave do customer tambem cobre o endereco default dele
+        cacheInvalidationBus.subscribe(AddressJdbcRepository.INVALIDATION_CACHE, listener(ADDRESS, DEFAULT_ADDRESS));
+    }
+
+    private CacheInvalidationBus.Listener listener(final String... types) {
+        return new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(final CacheInvalidation invalidation) {
+                for (final var aType : types) {
+                    invalidation.keys().forEach(it -> cache.invalidate(new Key(aType, it)));
+                }
+            }
+
+            @Override
+            public void invalidateAll() {
+                log.debug("Clearing serialized responses [types:{}]", (Object) types);
+                cache.asMap().keySet().removeIf(it -> contains(types, it.type()));
+            }
+        };
+    }
+
+    private static boolean contains(final String[] types, final String type) {
+        for (final var aType : types) {
+            if (aType.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double weightedSize(final Cache<Key, CachedResponse> cache) {
+        // as escritas entram no peso so depois da manutencao assincrona do Caffeine
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(it -> it.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static byte[] gzip(final byte[] json) {
+        final var aOutput = new ByteArrayOutputStream(json.length / 2);
+        try (final var aGzip = new GZIPOutputStream(aOutput)) {
+            aGzip.write(json);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return aOutput.toByteArray();
+    }
+
+    private record Key(String type, String id) {
+    }
+
+    public record CachedResponse(String etag, byte[] json, byte[] gzip) {
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD + json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// marca no thread da request que a leitura veio de uma copia antiga, para a resposta avisar o cliente
+public final class StaleRead {
+
+    private static final ThreadLocal<Duration> AGE = new ThreadLocal<>();
+
+    private StaleRead() {}
+
+    public static void mark(final Duration age) {
+        final var aCurrent = AGE.get();
+        if (aCurrent == null || aCurrent.compareTo(age) < 0) {
+            AGE.set(age);
+        }
+    }
+
+    public static Optional<Duration> take() {
+        final var aAge = AGE.get();
+        AGE.remove();
+        return Optional.ofNullable(aAge);
+    }
+
+    public static void clear() {
+        AGE.remove();
+    }
+}
@@ -0,0 +1,213 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/*
+ * Ultima leitura boa de cada chave, usada so quando o banco nao responde: pool esgotado, timeout ou varias leituras
+ * lentas dentro da janela (uma so nao basta). Nesse modo degradado as chaves com copia sao servidas da memoria e
+ * atualizadas em background, sem disputar o pool.
+ * Escritas descartam a copia pelo CacheInvalidationBus apos o commit: neste no sempre (o bus local entrega mesmo com a
+ * invalidacao entre nos desligada), nos outros so com ela ligada. Sem ela outro no pode servir, ate max-stale, uma copia
+ * anterior a uma escrita feita em outro no.
+ */
+public class StaleReadCache<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleReadCache.class);
+
+    private final String name;
+    private final Executor refreshExecutor;
+    private final long slowThresholdNanos;
+    private final int slowReadsToDegrade;
+    private final Duration degradedWindow;
+    private final Cache<String, Entry<V>> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter staleServed;
+
+    private volatile Instant degradedUntil = Instant.MIN;
+
+    // leituras lentas contadas desde slowReadsSince, a contagem recomeca quando a janela passa
+    private final Object slowReadsLock = new Object();
+    private Instant slowReadsSince = Instant.MIN;
+    private int slowReads;
+
+    public StaleReadCache(
+            final String name,
+            final String invalidationCache,
+            final Executor refreshExecutor,
+            final CacheSettings settings,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry
+    ) {
+        this.name = Objects.requireNonNull(name);
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+        this.slowThresholdNanos = settings.slowThreshold().toNanos();
+        if (settings.slowReadsToDegrade() < 1) {
+            throw new IllegalArgumentException("slowReadsToDegrade must be greater than zero");
+        }
+        this.slowReadsToDegrade = settings.slowReadsToDegrade();
+        this.degradedWindow = Objects.requireNonNull(settings.degradedWindow());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.maximumSize())
+                .expireAfterWrite(Objects.requireNonNull(settings.maxStale()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.cache, name);
+        this.staleServed = Counter.builder("cache.stale.served")
+                .description("Reads answered with a stale copy because the database was unavailable")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        Objects.requireNonNull(cacheInvalidationBus).subscribe(Objects.requireNonNull(invalidationCache), new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(final CacheInvalidation invalidation) {
+                cache.invalidateAll(invalidation.keys());
+            }
+
+            @Override
+            public void invalidateAll() {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    public V get(final String key, final Supplier<V> loader) {
+        final var aEntry = this.cache.getIfPresent(key);
+        if (aEntry != null && isDegraded()) {
+            refreshInBackground(key, loader);
+            return serveStale(key, aEntry);
+        }
+
+        try {
+            return load(key, loader);
+        } catch (final RuntimeException ex) {
+            if (aEntry == null || !isDatabaseUnavailable(ex)) {
+                throw ex;
+            }
+
+            enterDegradedMode(ex.getMessage());
+            refreshInBackground(key, loader);
+            return serveStale(key, aEntry);
+        }
+    }
+
+    public boolean isDegraded() {
+        return InstantUtils.now().isBefore(this.degradedUntil);
+    }
+
+    // a transacao do use case falha ao pegar conexao antes da query, entao a causa vem embrulhada
+    public static boolean isDatabaseUnavailable(final Throwable ex) {
+        var aCause = ex;
+        while (aCause != null) {
+            if (aCause instanceof CannotCreateTransactionException
+                    || aCause instanceof DataAccessResourceFailureException
+                    || aCause instanceof TransientDataAccessException
+                    || aCause instanceof SQLTransientException) {
+                return true;
+            }
+            aCause = aCause.getCause() != aCause ? aCause.getCause() : null;
+        }
+        return false;
+    }
+
+    private V load(final String key, final Supplier<V> loader) {
+        final var aStart = System.nanoTime();
+        final var aValue = loader.get();
+        final var aElapsed = System.nanoTime() - aStart;
+
+        this.cache.put(key, new Entry<>(aValue, InstantUtils.now()));
+
+        if (aElapsed > this.slowThresholdNanos) {
+            final var aSlowReads = countSlowRead();
+            if (aSlowReads >= this.slowReadsToDegrade) {
+                enterDegradedMode("%d slow reads in %s, last of %d ms".formatted(
+                        aSlowReads, this.degradedWindow, Duration.ofNanos(aElapsed).toMillis()));
+            }
+        } else if (this.degradedUntil != Instant.MIN) {
+            this.degradedUntil = Instant.MIN;
+            log.info("Database reads recovered, leaving stale read mode [cache:{}]", this.name);
+        }
+        return aValue;
+    }
+
+    private int countSlowRead() {
+        final var aNow = InstantUtils.now();
+        synchronized (this.slowReadsLock) {
+            if (!aNow.isBefore(this.slowReadsSince.plus(this.degradedWindow))) {
+                this.slowReadsSince = aNow;
+                this.slowReads = 0;
+            }
+            return ++this.slowReads;
+        }
+    }
+
+    private void refreshInBackground(final String key, final Supplier<V> loader) {
+        if (!this.refreshing.add(key)) {
+            return;
+        }
+
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                    log.debug("Stale read refreshed [cache:{}] [key:{}]", this.name, key);
+                } catch (final RuntimeException ex) {
+                    log.debug("Failed to refresh stale read [cache:{}] [key:{}] [reason:{}]", this.name, key, ex.getMessage());
+                } finally {
+                    this.refreshing.remove(key);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            this.refreshing.remove(key);
+            log.debug("Stale read refresh rejected, queue is full [cache:{}] [key:{}]", this.name, key);
+        }
+    }
+
+    private V serveStale(final String key, final Entry<V> aEntry) {
+        final var aAge = Duration.between(aEntry.loadedAt(), InstantUtils.now());
+        StaleRead.mark(aAge);
+        this.staleServed.increment();
+        log.debug("Serving stale read [cache:{}] [key:{}] [age:{}]", this.name, key, aAge);
+        return aEntry.value();
+    }
+
+    private void enterDegradedMode(final String reason) {
+        final var aWasDegraded = isDegraded();
+        this.degradedUntil = InstantUtils.now().plus(this.degradedWindow);
+        if (!aWasDegraded) {
+            log.warn("Database reads degraded, serving stale copies [cache:{}] [window:{}] [reason:{}]", this.name, this.degradedWindow, reason);
+        }
+    }
+
+    private record Entry<V>(V value, Instant loadedAt) {
+    }
+
+    public record CacheSettings(
+            long maximumSize,
+            Duration maxStale,
+            Duration slowThreshold,
+            int slowReadsToDegrade,
+            Duration degradedWindow
+    ) {
+    }
+}
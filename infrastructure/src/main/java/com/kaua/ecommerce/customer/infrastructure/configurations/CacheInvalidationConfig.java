@@ -0,0 +1,52 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.cache.PostgresCacheInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            final DataSourceProperties dataSourceProperties,
+            final JdbcOperations jdbcOperations,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry,
+            @Value("${cache.invalidation.enabled:false}") final boolean enabled,
+            @Value("${cache.invalidation.channel:cache_invalidation}") final String channel,
+            @Value("${cache.invalidation.poll-timeout:1s}") final Duration pollTimeout,
+            @Value("${cache.invalidation.reconnect-delay:5s}") final Duration reconnectDelay
+    ) {
+        if (!enabled) {
+            return CacheInvalidationBus.local();
+        }
+
+        // conexao do LISTEN fora do pool: fica presa enquanto o no estiver de pe
+        final var aListenDataSource = new DriverManagerDataSource(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+
+        return new PostgresCacheInvalidationBus(
+                aListenDataSource,
+                jdbcOperations,
+                new TransactionTemplate(transactionManager),
+                channel,
+                pollTimeout,
+                reconnectDelay,
+                meterRegistry
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.infrastructure.utils.GatewayExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class GatewayExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayExecutorConfig.class);
+
+    // os bulkheads do resilience4j continuam limitando as chamadas simultaneas a cada servico remoto
+    @Bean(destroyMethod = "shutdown")
+    public GatewayExecutor gatewayExecutor(
+            @Value("${gateway-executor.max-threads:64}") final int maxThreads
+    ) {
+        final var aGatewayExecutor = GatewayExecutor.create(maxThreads);
+        log.info("Gateway executor created [maxThreads:{}]", maxThreads);
+        return aGatewayExecutor;
+    }
+}
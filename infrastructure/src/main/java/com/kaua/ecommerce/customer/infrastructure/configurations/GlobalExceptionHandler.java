@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.infrastructure.configurations;
 
 import com.kaua.ecommerce.customer.application.exceptions.UseCaseInputCannotBeNullException;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.infrastructure.utils.ApiError;
 import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
 import com.kaua.ecommerce.lib.domain.exceptions.InternalErrorException;
@@ -9,10 +10,12 @@ import com.kaua.ecommerce.lib.domain.exceptions.ValidationException;
 import com.kaua.ecommerce.lib.infrastructure.exceptions.ConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -48,9 +51,20 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(ConflictException.class)
-    public ResponseEntity<ApiError> handleConflictException(final ConflictException ex) {
+    public ResponseEntity<ApiError> handleConflictException(final ConflictException ex, final WebRequest request) {
         log.debug("Handling conflict exception: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.CONFLICT)
+        // com If-Match a escrita concorrente e a pre-condicao do cliente que falhou
+        final var aStatus = request.getHeader(HttpHeaders.IF_MATCH) == null
+                ? HttpStatus.CONFLICT
+                : HttpStatus.PRECONDITION_FAILED;
+        return ResponseEntity.status(aStatus)
+                .body(ApiError.from(ex.getMessage()));
+    }
+
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<ApiError> handleVersionMismatchException(final VersionMismatchException ex) {
+        log.debug("Handling version mismatch exception: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
                 .body(ApiError.from(ex.getMessage()));
     }
 
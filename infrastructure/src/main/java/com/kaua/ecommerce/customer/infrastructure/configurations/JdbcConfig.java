@@ -1,16 +1,40 @@
 package com.kaua.ecommerce.customer.infrastructure.configurations;
 
 import com.kaua.ecommerce.customer.infrastructure.jdbc.DatabaseClient;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.InstrumentedDatabaseClient;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcClientAdapter;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaDatabase;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaLagMonitor;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.RoutingDatabaseClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.simple.JdbcClient;
 
+import java.time.Duration;
+
 @Configuration(proxyBeanMethods = false)
 public class JdbcConfig {
 
     @Bean
-    public DatabaseClient databaseClient(final JdbcClient jdbcClient) {
-        return new JdbcClientAdapter(jdbcClient);
+    public DatabaseClient databaseClient(
+            final JdbcClient jdbcClient,
+            final JdbcOperations jdbcOperations,
+            final MeterRegistry meterRegistry,
+            @Value("${database.slow-query-threshold:200ms}") final Duration slowQueryThreshold,
+            final ObjectProvider<ReplicaDatabase> replicaDatabase,
+            final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor
+    ) {
+        final DatabaseClient aPrimary = new JdbcClientAdapter(jdbcClient, jdbcOperations);
+        final var aReplica = replicaDatabase.getIfAvailable();
+
+        final var aDatabaseClient = aReplica == null
+                ? aPrimary
+                : new RoutingDatabaseClient(aPrimary, aReplica.databaseClient(), replicaLagMonitor.getObject(), meterRegistry);
+
+        return new InstrumentedDatabaseClient(aDatabaseClient, meterRegistry, slowQueryThreshold);
     }
 }
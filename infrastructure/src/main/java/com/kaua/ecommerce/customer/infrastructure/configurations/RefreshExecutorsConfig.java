@@ -0,0 +1,14 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.infrastructure.utils.RefreshExecutors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class RefreshExecutorsConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RefreshExecutors refreshExecutors() {
+        return new RefreshExecutors();
+    }
+}
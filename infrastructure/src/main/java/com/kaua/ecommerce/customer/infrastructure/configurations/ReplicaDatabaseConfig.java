@@ -0,0 +1,43 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaDatabase;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "database.replica", name = "enabled", havingValue = "true")
+public class ReplicaDatabaseConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "database.replica.hikari")
+    public HikariConfig replicaHikariConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public ReplicaDatabase replicaDatabase(final HikariConfig replicaHikariConfig) {
+        return new ReplicaDatabase(new HikariDataSource(replicaHikariConfig));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            final ReplicaDatabase replicaDatabase,
+            @Value("${database.replica.lag-query:}") final String lagQuery,
+            @Value("${database.replica.max-lag:2s}") final Duration maxLag
+    ) {
+        return new ReplicaLagMonitor(
+                replicaDatabase.jdbcOperations(),
+                replicaDatabase.dataSource(),
+                lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRES_LAG_QUERY : lagQuery,
+                maxLag
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class ResponseCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.responses", name = "enabled", havingValue = "true")
+    public ResponseBytesCache responseBytesCache(
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            @Value("${cache.responses.maximum-memory:32MB}") final DataSize maximumMemory,
+            @Value("${cache.responses.ttl:10m}") final Duration ttl,
+            @Value("${cache.responses.gzip:true}") final boolean gzip,
+            @Value("${cache.responses.gzip-min-size:1KB}") final DataSize gzipMinSize
+    ) {
+        return new ResponseBytesCache(
+                maximumMemory.toBytes(),
+                ttl,
+                gzip,
+                (int) gzipMinSize.toBytes(),
+                cacheInvalidationBus,
+                meterRegistry
+        );
+    }
+}
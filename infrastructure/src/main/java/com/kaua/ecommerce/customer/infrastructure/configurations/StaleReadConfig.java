@@ -0,0 +1,99 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.application.usecases.address.GetAddressByIdUseCase;
+import com.kaua.ecommerce.customer.application.usecases.address.GetDefaultAddressByCustomerIdUseCase;
+import com.kaua.ecommerce.customer.application.usecases.customer.GetCustomerByUserIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleReadCache;
+import com.kaua.ecommerce.customer.infrastructure.repositories.AddressJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetAddressByIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetCustomerByUserIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetDefaultAddressByCustomerIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.utils.RefreshExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/*
+ * Decora os use cases de leitura com copia stale-if-error. Os decorators ficam fora da transacao do use case
+ * (ver UseCaseTransactionConfig), senao a falha ao pegar conexao do pool aconteceria antes deles.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cache.stale-reads", name = "enabled", havingValue = "true")
+public class StaleReadConfig {
+
+    @Bean
+    @Primary
+    public GetCustomerByUserIdUseCase staleIfErrorGetCustomerByUserIdUseCase(
+            @Qualifier("getCustomerByUserIdUseCase") final GetCustomerByUserIdUseCase getCustomerByUserIdUseCase,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            final StaleReadCache.CacheSettings staleReadSettings,
+            final RefreshExecutors refreshExecutors
+    ) {
+        return new StaleIfErrorGetCustomerByUserIdUseCase(getCustomerByUserIdUseCase, new StaleReadCache<>(
+                "stale_customers",
+                CustomerJdbcRepository.INVALIDATION_CACHE,
+                refreshExecutors.create("stale-customer-refresh-"),
+                staleReadSettings,
+                cacheInvalidationBus,
+                meterRegistry
+        ));
+    }
+
+    @Bean
+    @Primary
+    public GetAddressByIdUseCase staleIfErrorGetAddressByIdUseCase(
+            @Qualifier("getAddressByIdUseCase") final GetAddressByIdUseCase getAddressByIdUseCase,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            final StaleReadCache.CacheSettings staleReadSettings,
+            final RefreshExecutors refreshExecutors
+    ) {
+        return new StaleIfErrorGetAddressByIdUseCase(getAddressByIdUseCase, new StaleReadCache<>(
+                "stale_addresses",
+                AddressJdbcRepository.INVALIDATION_CACHE,
+                refreshExecutors.create("stale-address-refresh-"),
+                staleReadSettings,
+                cacheInvalidationBus,
+                meterRegistry
+        ));
+    }
+
+    @Bean
+    @Primary
+    public GetDefaultAddressByCustomerIdUseCase staleIfErrorGetDefaultAddressByCustomerIdUseCase(
+            @Qualifier("getDefaultAddressByCustomerIdUseCase") final GetDefaultAddressByCustomerIdUseCase getDefaultAddressByCustomerIdUseCase,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            final StaleReadCache.CacheSettings staleReadSettings,
+            final RefreshExecutors refreshExecutors
+    ) {
+        return new StaleIfErrorGetDefaultAddressByCustomerIdUseCase(getDefaultAddressByCustomerIdUseCase, new StaleReadCache<>(
+                "stale_default_addresses",
+                AddressJdbcRepository.INVALIDATION_CACHE,
+                refreshExecutors.create("stale-default-address-refresh-"),
+                staleReadSettings,
+                cacheInvalidationBus,
+                meterRegistry
+        ));
+    }
+
+    @Bean
+    public StaleReadCache.CacheSettings staleReadSettings(
+            @Value("${cache.stale-reads.maximum-size:10000}") final long maximumSize,
+            @Value("${cache.stale-reads.max-stale:1m}") final Duration maxStale,
+            @Value("${cache.stale-reads.slow-threshold:500ms}") final Duration slowThreshold,
+            @Value("${cache.stale-reads.slow-reads-to-degrade:5}") final int slowReadsToDegrade,
+            @Value("${cache.stale-reads.degraded-window:5s}") final Duration degradedWindow
+    ) {
+        return new StaleReadCache.CacheSettings(maximumSize, maxStale, slowThreshold, slowReadsToDegrade, degradedWindow);
+    }
+}
@@ -0,0 +1,63 @@
+package com.kaua.ecommerce.customer.infrastructure.configurations;
+
+import com.kaua.ecommerce.customer.application.usecases.address.CreateCustomerAddressUseCase;
+import com.kaua.ecommerce.customer.application.usecases.address.UpdateAddressUseCase;
+import com.kaua.ecommerce.customer.application.usecases.customer.CreateIdpUserUseCase;
+import com.kaua.ecommerce.customer.application.usecases.customer.DeleteIdpUserUseCase;
+import com.kaua.ecommerce.customer.application.usecases.customer.GetCustomerByUserIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaDatabase;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ReplicaLagMonitor;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.UseCaseTransactionInterceptor;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetAddressByIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetCustomerByUserIdUseCase;
+import com.kaua.ecommerce.customer.infrastructure.usecases.StaleIfErrorGetDefaultAddressByCustomerIdUseCase;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+@Configuration(proxyBeanMethods = false)
+public class UseCaseTransactionConfig {
+
+    // chamam servicos remotos (api de CEP, auth server), nao devem segurar conexao do pool durante o HTTP
+    private static final Set<Class<?>> NON_TRANSACTIONAL_USE_CASES = Set.of(
+            CreateCustomerAddressUseCase.class,
+            UpdateAddressUseCase.class,
+            CreateIdpUserUseCase.class,
+            DeleteIdpUserUseCase.class,
+            // uma leitura so: sem transacao espera o lote do BatchingCustomerRepository sem segurar conexao
+            GetCustomerByUserIdUseCase.class,
+            // decorators que servem copia antiga quando a transacao do use case decorado nao consegue conexao
+            StaleIfErrorGetCustomerByUserIdUseCase.class,
+            StaleIfErrorGetAddressByIdUseCase.class,
+            StaleIfErrorGetDefaultAddressByCustomerIdUseCase.class
+    );
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static UseCaseTransactionInterceptor useCaseTransactionInterceptor(
+            final ObjectProvider<ReplicaDatabase> replicaDatabase,
+            final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor
+    ) {
+        return new UseCaseTransactionInterceptor(NON_TRANSACTIONAL_USE_CASES, replicaDatabase, replicaLagMonitor);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor useCaseTransactionAdvisor(final UseCaseTransactionInterceptor useCaseTransactionInterceptor) {
+        final var aPointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(final Method method, final Class<?> targetClass) {
+                return useCaseTransactionInterceptor.isTransactional(method, targetClass);
+            }
+        };
+        return new DefaultPointcutAdvisor(aPointcut, useCaseTransactionInterceptor);
+    }
+}
@@ -4,12 +4,100 @@ import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
 import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.application.usecases.address.*;
 import com.kaua.ecommerce.customer.application.usecases.address.impl.*;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.gateways.AddressGatewayImpl;
+import com.kaua.ecommerce.customer.infrastructure.gateways.CachedAddressGateway;
+import com.kaua.ecommerce.customer.infrastructure.gateways.CepIndexAddressGateway;
+import com.kaua.ecommerce.customer.infrastructure.gateways.SingleFlightAddressGateway;
+import com.kaua.ecommerce.customer.infrastructure.gateways.cepindex.CepIndex;
+import com.kaua.ecommerce.customer.infrastructure.repositories.AddressJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CachedAddressRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.utils.RefreshExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration(proxyBeanMethods = false)
 public class AddressUseCaseConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(AddressUseCaseConfig.class);
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "cache.addresses", name = "enabled", havingValue = "true")
+    public AddressRepository cachedAddressRepository(
+            final AddressJdbcRepository addressJdbcRepository,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            @Value("${cache.addresses.maximum-size:10000}") final long maximumSize,
+            @Value("${cache.addresses.ttl:5m}") final Duration ttl,
+            @Value("${database.replica.enabled:false}") final boolean replicaEnabled,
+            @Value("${database.replica.max-lag:2s}") final Duration replicaMaxLag
+    ) {
+        // sem replica as leituras ja vem do primary, nao ha atraso a esperar depois de uma eviction
+        final var aReplicaLag = replicaEnabled ? replicaMaxLag : Duration.ZERO;
+        return new CachedAddressRepository(addressJdbcRepository, maximumSize, ttl, aReplicaLag, cacheInvalidationBus, meterRegistry);
+    }
+
+    // indice local de CEP -> cache de CEP (quando ligado) -> chamadas simultaneas por CEP agrupadas -> servico de CEP
+    @Bean
+    @Primary
+    public AddressGateway addressGateway(
+            final SingleFlightAddressGateway singleFlightAddressGateway,
+            final ObjectProvider<CachedAddressGateway> cachedAddressGateway,
+            final MeterRegistry meterRegistry,
+            @Value("${address.cep-index.path:}") final String cepIndexPath
+    ) throws IOException {
+        final AddressGateway aRemote = cachedAddressGateway.getIfAvailable(() -> singleFlightAddressGateway);
+        if (cepIndexPath.isBlank()) {
+            return aRemote;
+        }
+
+        final var aIndex = CepIndex.open(Path.of(cepIndexPath));
+        log.info("CEP index loaded [path:{}] [version:{}] [entries:{}]", cepIndexPath, aIndex.datasetVersion(), aIndex.size());
+        return new CepIndexAddressGateway(aIndex, aRemote, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlightAddressGateway singleFlightAddressGateway(
+            final AddressGatewayImpl addressGatewayImpl,
+            final MeterRegistry meterRegistry
+    ) {
+        return new SingleFlightAddressGateway(addressGatewayImpl, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.zip-codes", name = "enabled", havingValue = "true")
+    public CachedAddressGateway cachedAddressGateway(
+            final SingleFlightAddressGateway singleFlightAddressGateway,
+            final ZipCodeJdbcRepository zipCodeJdbcRepository,
+            final MeterRegistry meterRegistry,
+            @Value("${cache.zip-codes.maximum-size:50000}") final long maximumSize,
+            @Value("${cache.zip-codes.memory-ttl:1h}") final Duration memoryTtl,
+            @Value("${cache.zip-codes.ttl:30d}") final Duration ttl,
+            @Value("${cache.zip-codes.negative-ttl:1h}") final Duration negativeTtl,
+            final RefreshExecutors refreshExecutors
+    ) {
+        return new CachedAddressGateway(
+                singleFlightAddressGateway,
+                zipCodeJdbcRepository,
+                refreshExecutors.create("zip-code-refresh-"),
+                new CachedAddressGateway.CacheSettings(maximumSize, memoryTtl, ttl, negativeTtl),
+                meterRegistry
+        );
+    }
+
     @Bean
     public CreateCustomerAddressUseCase createCustomerAddressUseCase(
             final AddressRepository addressRepository,
@@ -5,12 +5,53 @@ import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.application.usecases.customer.*;
 import com.kaua.ecommerce.customer.application.usecases.customer.impl.*;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.repositories.BatchingCustomerRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CachedCustomerRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 @Configuration(proxyBeanMethods = false)
 public class CustomerUseCaseConfig {
 
+    // cache de customers (quando ligado) -> leituras simultaneas por userId agrupadas (quando ligado) -> banco
+    @Bean
+    @Primary
+    public CustomerRepository customerRepository(
+            final CustomerJdbcRepository customerJdbcRepository,
+            final ObjectProvider<BatchingCustomerRepository> batchingCustomerRepository,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry,
+            @Value("${cache.customers.enabled:false}") final boolean cacheEnabled,
+            @Value("${cache.customers.maximum-size:10000}") final long maximumSize,
+            @Value("${cache.customers.ttl:5m}") final Duration ttl
+    ) {
+        final CustomerRepository aDatabase = batchingCustomerRepository.getIfAvailable(() -> customerJdbcRepository);
+        if (!cacheEnabled) {
+            return aDatabase;
+        }
+        return new CachedCustomerRepository(aDatabase, maximumSize, ttl, cacheInvalidationBus, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "database.lookup-batching", name = "enabled", havingValue = "true")
+    public BatchingCustomerRepository batchingCustomerRepository(
+            final CustomerJdbcRepository customerJdbcRepository,
+            final MeterRegistry meterRegistry,
+            @Value("${database.lookup-batching.window:2ms}") final Duration window,
+            @Value("${database.lookup-batching.max-batch-size:64}") final int maxBatchSize
+    ) {
+        return new BatchingCustomerRepository(customerJdbcRepository, window, maxBatchSize, meterRegistry);
+    }
+
     @Bean
     public CreateCustomerUseCase createCustomerUseCase(final CustomerRepository customerRepository) {
         return new DefaultCreateCustomerUseCase(customerRepository);
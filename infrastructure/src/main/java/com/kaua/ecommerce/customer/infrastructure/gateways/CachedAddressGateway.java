@@ -0,0 +1,164 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository.ZipCodeEntry;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * Cache de CEP em dois niveis: LRU em memoria na frente da tabela zip_codes, e o servico de CEP so quando nenhum dos dois tem o CEP.
+ * CEP encontrado e vencido e devolvido na hora e atualizado em background; 404 vencido e consultado de novo.
+ */
+public class CachedAddressGateway implements AddressGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedAddressGateway.class);
+
+    public static final String CACHE_NAME = "zip_codes";
+
+    private static final int ZIP_CODE_LENGTH = 8;
+
+    private final AddressGateway delegate;
+    private final ZipCodeJdbcRepository zipCodeRepository;
+    private final Executor refreshExecutor;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Cache<String, ZipCodeEntry> memory;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CachedAddressGateway(
+            final AddressGateway delegate,
+            final ZipCodeJdbcRepository zipCodeRepository,
+            final Executor refreshExecutor,
+            final CacheSettings settings,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.zipCodeRepository = Objects.requireNonNull(zipCodeRepository);
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+        this.ttl = Objects.requireNonNull(settings.ttl());
+        this.negativeTtl = Objects.requireNonNull(settings.negativeTtl());
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(settings.maximumSize())
+                .expireAfterWrite(Objects.requireNonNull(settings.memoryTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.memory, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<GetAddressByZipCodeResponse> getAddressByZipCode(final String zipCode) {
+        final var aKey = keyOf(zipCode);
+        if (aKey == null) {
+            return this.delegate.getAddressByZipCode(zipCode);
+        }
+
+        final var aEntry = cachedEntry(aKey);
+        if (aEntry == null) {
+            return fetch(aKey, null).response();
+        }
+
+        if (!isStale(aEntry)) {
+            return aEntry.response();
+        }
+
+        if (aEntry.isFound()) {
+            refreshInBackground(aEntry);
+            return aEntry.response();
+        }
+
+        return fetch(aKey, aEntry).response();
+    }
+
+    private ZipCodeEntry cachedEntry(final String aKey) {
+        final var aMemoryEntry = this.memory.getIfPresent(aKey);
+        if (aMemoryEntry != null) {
+            return aMemoryEntry;
+        }
+
+        final var aStoredEntry = this.zipCodeRepository.zipCodeOf(aKey).orElse(null);
+        if (aStoredEntry != null) {
+            this.memory.put(aKey, aStoredEntry);
+        }
+        return aStoredEntry;
+    }
+
+    private ZipCodeEntry fetch(final String aKey, final ZipCodeEntry aStaleEntry) {
+        final ZipCodeEntry aEntry;
+        try {
+            aEntry = new ZipCodeEntry(aKey, this.delegate.getAddressByZipCode(aKey).orElse(null), InstantUtils.now());
+        } catch (final RuntimeException ex) {
+            if (aStaleEntry == null) {
+                throw ex;
+            }
+            log.warn("Zip code service failed, serving stale entry [zipCode:{}] [reason:{}]", aKey, ex.getMessage());
+            return aStaleEntry;
+        }
+
+        this.memory.put(aKey, aEntry);
+        try {
+            this.zipCodeRepository.save(aEntry);
+        } catch (final RuntimeException ex) {
+            // a consulta ja deu certo, falhar em gravar o cache nao derruba quem pediu o CEP
+            log.warn("Failed to persist zip code [zipCode:{}] [reason:{}]", aKey, ex.getMessage());
+        }
+        return aEntry;
+    }
+
+    private void refreshInBackground(final ZipCodeEntry aStaleEntry) {
+        final var aKey = aStaleEntry.zipCode();
+        if (!this.refreshing.add(aKey)) {
+            return;
+        }
+
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    // um 404 no refresh nao apaga um CEP que ja foi encontrado, so renova o fetched_at
+                    final var aAddress = this.delegate.getAddressByZipCode(aKey).orElse(aStaleEntry.address());
+                    final var aEntry = new ZipCodeEntry(aKey, aAddress, InstantUtils.now());
+
+                    this.memory.put(aKey, aEntry);
+                    this.zipCodeRepository.save(aEntry);
+                    log.debug("Zip code refreshed [zipCode:{}]", aKey);
+                } catch (final RuntimeException ex) {
+                    log.warn("Failed to refresh zip code [zipCode:{}] [reason:{}]", aKey, ex.getMessage());
+                } finally {
+                    this.refreshing.remove(aKey);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            this.refreshing.remove(aKey);
+            log.debug("Zip code refresh rejected, queue is full [zipCode:{}]", aKey);
+        }
+    }
+
+    private boolean isStale(final ZipCodeEntry aEntry) {
+        final var aTtl = aEntry.isFound() ? this.ttl : this.negativeTtl;
+        return aEntry.fetchedAt().plus(aTtl).isBefore(InstantUtils.now());
+    }
+
+    private static String keyOf(final String zipCode) {
+        if (zipCode == null) {
+            return null;
+        }
+        final var aDigits = zipCode.replaceAll("\\D", "");
+        return aDigits.length() == ZIP_CODE_LENGTH ? aDigits : null;
+    }
+
+    public record CacheSettings(long maximumSize, Duration memoryTtl, Duration ttl, Duration negativeTtl) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import com.kaua.ecommerce.customer.infrastructure.gateways.cepindex.CepIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Responde CEP pelo indice local (dataset versionado). So CEPs fora do dataset vao para o gateway de fallback.
+ */
+public class CepIndexAddressGateway implements AddressGateway {
+
+    public static final String LOOKUP_COUNTER = "cep_index.lookups";
+
+    private static final int ZIP_CODE_LENGTH = 8;
+
+    private final CepIndex index;
+    private final AddressGateway fallback;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CepIndexAddressGateway(
+            final CepIndex index,
+            final AddressGateway fallback,
+            final MeterRegistry meterRegistry
+    ) {
+        this.index = Objects.requireNonNull(index);
+        this.fallback = Objects.requireNonNull(fallback);
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    @Override
+    public Optional<GetAddressByZipCodeResponse> getAddressByZipCode(final String zipCode) {
+        final var aDigits = zipCode == null ? "" : zipCode.replaceAll("\\D", "");
+        if (aDigits.length() != ZIP_CODE_LENGTH) {
+            return this.fallback.getAddressByZipCode(zipCode);
+        }
+
+        final var aAddress = this.index.find(Integer.parseInt(aDigits));
+        if (aAddress.isPresent()) {
+            this.hits.increment();
+            return aAddress;
+        }
+
+        this.misses.increment();
+        return this.fallback.getAddressByZipCode(aDigits);
+    }
+
+    private Counter lookupCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder(LOOKUP_COUNTER)
+                .description("Zip code lookups answered by the local CEP index")
+                .tag("outcome", outcome)
+                .tag("dataset", String.valueOf(this.index.datasetVersion()))
+                .register(Objects.requireNonNull(meterRegistry));
+    }
+}
@@ -0,0 +1,77 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.kaua.ecommerce.customer.application.AsyncUseCases;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Chamadas simultaneas para o mesmo CEP compartilham uma unica chamada ao servico de CEP: a primeira vai ao delegate
+ * e as demais esperam o mesmo resultado ou a mesma excecao. So um permit do bulkhead e uma chamada na janela do
+ * circuit breaker por CEP. Nada fica guardado depois que a chamada termina, cache e papel do CachedAddressGateway.
+ */
+public class SingleFlightAddressGateway implements AddressGateway {
+
+    public static final String CALLS_COUNTER = "gateway.calls";
+    public static final String IN_FLIGHT_GAUGE = "gateway.calls.in_flight";
+
+    private static final String GATEWAY = "address";
+
+    private final AddressGateway delegate;
+    private final Map<String, CompletableFuture<Optional<GetAddressByZipCodeResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlightAddressGateway(final AddressGateway delegate, final MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.upstreamCalls = callsCounter(Objects.requireNonNull(meterRegistry), "upstream");
+        this.coalescedCalls = callsCounter(meterRegistry, "coalesced");
+        Gauge.builder(IN_FLIGHT_GAUGE, this.inFlight, Map::size)
+                .description("Distinct upstream calls currently in flight")
+                .tag("gateway", GATEWAY)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<GetAddressByZipCodeResponse> getAddressByZipCode(final String zipCode) {
+        if (zipCode == null) {
+            return this.delegate.getAddressByZipCode(null);
+        }
+
+        final var aCall = new CompletableFuture<Optional<GetAddressByZipCodeResponse>>();
+        final var aInFlight = this.inFlight.putIfAbsent(zipCode, aCall);
+
+        if (aInFlight != null) {
+            this.coalescedCalls.increment();
+            return AsyncUseCases.join(aInFlight);
+        }
+
+        this.upstreamCalls.increment();
+        try {
+            final var aResponse = this.delegate.getAddressByZipCode(zipCode);
+            aCall.complete(aResponse);
+            return aResponse;
+        } catch (final RuntimeException | Error ex) {
+            aCall.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // quem ja pegou a chamada continua esperando por ela, as proximas vao ao delegate de novo
+            this.inFlight.remove(zipCode, aCall);
+        }
+    }
+
+    private static Counter callsCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder(CALLS_COUNTER)
+                .description("Gateway calls sent upstream or coalesced into a call already in flight")
+                .tag("gateway", GATEWAY)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,60 +1,93 @@
 package com.kaua.ecommerce.customer.infrastructure.gateways;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.lib.domain.exceptions.ValidationException;
 import com.kaua.ecommerce.lib.domain.validation.Error;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+import java.util.regex.Pattern;
+
 @Component
 public class TelephoneGatewayImpl implements TelephoneGateway {
 
+    public static final String CACHE_NAME = "phone_numbers";
+
+    // pontuacao que o libphonenumber ignora no parse, removida para "+55 (11) 9..." e "+55119..." dividirem a mesma entrada
+    private static final Pattern IGNORED_PUNCTUATION = Pattern.compile("[\\s()\\-]");
+
     private final PhoneNumberUtil phoneNumberUtil;
+    private final Cache<String, PhoneNumberAnalysis> analyses;
 
-    public TelephoneGatewayImpl() {
+    public TelephoneGatewayImpl(
+            @Value("${cache.phone-numbers.maximum-size:10000}") final long maximumSize,
+            final MeterRegistry meterRegistry
+    ) {
         this.phoneNumberUtil = PhoneNumberUtil.getInstance();
+        this.analyses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.analyses, CACHE_NAME);
     }
 
     @Override
     public boolean isValid(final String aPhoneNumber) {
-        try {
-            final var aParsedPhoneNumber = this.phoneNumberUtil.parse(aPhoneNumber, null);
-
-            return this.phoneNumberUtil.isValidNumber(aParsedPhoneNumber);
-        } catch (final NumberParseException e) {
-            return false;
-        }
+        return analyze(aPhoneNumber).valid();
     }
 
     @Override
     public String format(final String aPhoneNumber) {
-        try {
-            final var aParsedPhoneNumber = this.phoneNumberUtil.parse(aPhoneNumber, null);
-
-            return this.phoneNumberUtil.format(aParsedPhoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
-        } catch (final NumberParseException e) {
-            throw ValidationException.with(new Error("Invalid telephone or telephone format"));
-        }
+        return parsedOrThrow(analyze(aPhoneNumber)).e164();
     }
 
     @Override
     public PhoneNumberInformation formatToLocal(final String aPhoneNumber) {
+        return parsedOrThrow(analyze(aPhoneNumber)).local();
+    }
+
+    @Override
+    public PhoneNumberAnalysis analyze(final String aPhoneNumber) {
+        if (aPhoneNumber == null) {
+            return PhoneNumberAnalysis.unparseable();
+        }
+        return this.analyses.get(IGNORED_PUNCTUATION.matcher(aPhoneNumber).replaceAll(""), this::parseAndAnalyze);
+    }
+
+    PhoneNumberAnalysis parseAndAnalyze(final String aPhoneNumber) {
         try {
             final var aParsedPhoneNumber = this.phoneNumberUtil.parse(aPhoneNumber, null);
 
-            final var aNationalPhoneNumber =  this.phoneNumberUtil.format(aParsedPhoneNumber,
+            final var aNationalPhoneNumber = this.phoneNumberUtil.format(aParsedPhoneNumber,
                     PhoneNumberUtil.PhoneNumberFormat.NATIONAL);
 
             final var aRegionCode = this.phoneNumberUtil.getRegionCodeForNumber(aParsedPhoneNumber);
 
-            return new PhoneNumberInformation(
-                    aNationalPhoneNumber,
-                    "+" + aParsedPhoneNumber.getCountryCode(),
-                    aRegionCode
+            return new PhoneNumberAnalysis(
+                    this.phoneNumberUtil.isValidNumber(aParsedPhoneNumber),
+                    this.phoneNumberUtil.format(aParsedPhoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164),
+                    new PhoneNumberInformation(
+                            aNationalPhoneNumber,
+                            "+" + aParsedPhoneNumber.getCountryCode(),
+                            aRegionCode
+                    )
             );
         } catch (final NumberParseException e) {
+            return PhoneNumberAnalysis.unparseable();
+        }
+    }
+
+    private static PhoneNumberAnalysis parsedOrThrow(final PhoneNumberAnalysis aAnalysis) {
+        if (!aAnalysis.parsed()) {
             throw ValidationException.with(new Error("Invalid telephone or telephone format"));
         }
+        return aAnalysis;
     }
 }
@@ -0,0 +1,122 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways.cepindex;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Indice de CEP somente leitura, mapeado em memoria. Formato (big endian):
+ *
+ *   header  : magic (int) | formato (int) | versao do dataset (long) | quantidade (int) | inicio dos registros (int)
+ *   entradas: quantidade x [cep (int) | offset do registro (int)], ordenadas por cep
+ *   registros: cidade | logradouro | bairro | uf, cada um como tamanho (unsigned short) + bytes UTF-8
+ *
+ * A busca binaria le direto do mapeamento, so o registro encontrado vira objeto no heap.
+ */
+public final class CepIndex {
+
+    static final int MAGIC = 0x43455049; // "CEPI"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final long datasetVersion;
+    private final int size;
+    private final int recordsOffset;
+
+    private CepIndex(final ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("File is not a CEP index");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported CEP index format %d".formatted(buffer.getInt(4)));
+        }
+
+        this.datasetVersion = buffer.getLong(8);
+        this.size = buffer.getInt(16);
+        this.recordsOffset = buffer.getInt(20);
+
+        if (this.size < 0 || this.recordsOffset != HEADER_SIZE + (long) this.size * ENTRY_SIZE
+                || this.recordsOffset > buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupted CEP index header");
+        }
+    }
+
+    public static CepIndex open(final Path path) throws IOException {
+        try (final var aChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (aChannel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("CEP index is larger than 2GB");
+            }
+            // o mapeamento continua valido depois de fechar o canal
+            return new CepIndex(aChannel.map(FileChannel.MapMode.READ_ONLY, 0, aChannel.size()));
+        }
+    }
+
+    static CepIndex of(final ByteBuffer buffer) {
+        return new CepIndex(buffer);
+    }
+
+    public Optional<GetAddressByZipCodeResponse> find(final int cep) {
+        var aLow = 0;
+        var aHigh = this.size - 1;
+
+        while (aLow <= aHigh) {
+            final var aMiddle = (aLow + aHigh) >>> 1;
+            final var aPosition = HEADER_SIZE + aMiddle * ENTRY_SIZE;
+            final var aCep = this.buffer.getInt(aPosition);
+
+            if (aCep < cep) {
+                aLow = aMiddle + 1;
+            } else if (aCep > cep) {
+                aHigh = aMiddle - 1;
+            } else {
+                return Optional.of(recordAt(cep, this.recordsOffset + this.buffer.getInt(aPosition + 4)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public long datasetVersion() {
+        return datasetVersion;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private GetAddressByZipCodeResponse recordAt(final int cep, final int aOffset) {
+        var aPosition = aOffset;
+
+        final var aCity = stringAt(aPosition);
+        aPosition += 2 + Short.toUnsignedInt(this.buffer.getShort(aPosition));
+        final var aStreet = stringAt(aPosition);
+        aPosition += 2 + Short.toUnsignedInt(this.buffer.getShort(aPosition));
+        final var aDistrict = stringAt(aPosition);
+        aPosition += 2 + Short.toUnsignedInt(this.buffer.getShort(aPosition));
+        final var aState = stringAt(aPosition);
+
+        return new GetAddressByZipCodeResponse(formatted(cep), aCity, aStreet, aDistrict, aState);
+    }
+
+    private String stringAt(final int aPosition) {
+        final var aBytes = new byte[Short.toUnsignedInt(this.buffer.getShort(aPosition))];
+        this.buffer.get(aPosition + 2, aBytes);
+        return new String(aBytes, StandardCharsets.UTF_8);
+    }
+
+    // mesmo formato devolvido pelo servico de CEP (00000-000)
+    private static String formatted(final int cep) {
+        final var aDigits = "%08d".formatted(cep);
+        return aDigits.substring(0, 5) + "-" + aDigits.substring(5);
+    }
+}
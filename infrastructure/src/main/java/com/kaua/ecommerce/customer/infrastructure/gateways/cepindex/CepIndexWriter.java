@@ -0,0 +1,121 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways.cepindex;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Gera o indice de CEP a partir de um CSV separado por ';' com cabecalho:
+ *
+ *   cep;logradouro;bairro;cidade;uf
+ *
+ * Uso: ./gradlew :infrastructure:buildCepIndex -Pcsv=ceps.csv -Poutput=cep-index.bin -PdatasetVersion=20261001
+ */
+public final class CepIndexWriter {
+
+    private static final String SEPARATOR = ";";
+    private static final int COLUMNS = 5;
+
+    private CepIndexWriter() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: CepIndexWriter <csv> <output> <dataset-version>");
+            System.exit(1);
+        }
+
+        final var aOutput = Path.of(args[1]);
+        final int aEntries;
+        try (final var aReader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            aEntries = write(aReader, aOutput, Long.parseLong(args[2]));
+        }
+
+        System.out.printf("CEP index written [output:%s] [version:%s] [entries:%d]%n", aOutput, args[2], aEntries);
+    }
+
+    public static int write(final BufferedReader csv, final Path output, final long datasetVersion) throws IOException {
+        final var aRecords = read(csv);
+
+        final var aRecordsBytes = new ByteArrayOutputStream();
+        final var aRecordsOut = new DataOutputStream(aRecordsBytes);
+        final var aOffsets = new int[aRecords.size()];
+
+        var aIndex = 0;
+        for (final var aRecord : aRecords.values()) {
+            aOffsets[aIndex++] = aRecordsOut.size();
+            for (final var aValue : aRecord) {
+                writeString(aRecordsOut, aValue);
+            }
+        }
+
+        final var aTemporary = Files.createTempFile(output.toAbsolutePath().getParent(), "cep-index", ".tmp");
+        try (final var aOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(aTemporary)))) {
+            aOut.writeInt(CepIndex.MAGIC);
+            aOut.writeInt(CepIndex.FORMAT_VERSION);
+            aOut.writeLong(datasetVersion);
+            aOut.writeInt(aRecords.size());
+            aOut.writeInt(CepIndex.HEADER_SIZE + aRecords.size() * CepIndex.ENTRY_SIZE);
+
+            aIndex = 0;
+            for (final var aCep : aRecords.keySet()) {
+                aOut.writeInt(aCep);
+                aOut.writeInt(aOffsets[aIndex++]);
+            }
+            aRecordsBytes.writeTo(aOut);
+        }
+
+        // quem le o indice nunca enxerga um arquivo pela metade
+        Files.move(aTemporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return aRecords.size();
+    }
+
+    private static Map<Integer, String[]> read(final BufferedReader csv) throws IOException {
+        final var aRecords = new TreeMap<Integer, String[]>();
+
+        // primeira linha e o cabecalho
+        var aLine = csv.readLine();
+        var aLineNumber = 1;
+
+        while ((aLine = csv.readLine()) != null) {
+            aLineNumber++;
+            if (aLine.isBlank()) {
+                continue;
+            }
+
+            final var aColumns = aLine.split(SEPARATOR, -1);
+            if (aColumns.length != COLUMNS) {
+                throw new IllegalArgumentException("Expected %d columns at line %d".formatted(COLUMNS, aLineNumber));
+            }
+
+            final var aDigits = aColumns[0].replaceAll("\\D", "");
+            if (aDigits.length() != 8) {
+                throw new IllegalArgumentException("Invalid CEP '%s' at line %d".formatted(aColumns[0], aLineNumber));
+            }
+
+            // mesma ordem lida pelo CepIndex: cidade, logradouro, bairro, uf
+            final var aRecord = new String[]{aColumns[3].trim(), aColumns[1].trim(), aColumns[2].trim(), aColumns[4].trim()};
+            if (aRecords.put(Integer.parseInt(aDigits), aRecord) != null) {
+                throw new IllegalArgumentException("Duplicated CEP %s at line %d".formatted(aDigits, aLineNumber));
+            }
+        }
+        return aRecords;
+    }
+
+    private static void writeString(final DataOutputStream aOut, final String aValue) throws IOException {
+        final var aBytes = aValue.getBytes(StandardCharsets.UTF_8);
+        if (aBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long for the CEP index: %s".formatted(aValue));
+        }
+        aOut.writeShort(aBytes.length);
+        aOut.write(aBytes);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class ColumnSpec {
+
+    private final List<String> names = new ArrayList<>();
+
+    public Column column(final String name) {
+        Objects.requireNonNull(name, "column name should not be null");
+        this.names.add(name);
+        return new Column(this.names.size() - 1, name);
+    }
+
+    public <T> RowMap<T> mapper(final OrdinalRowMap<T> mapper) {
+        return new IndexedRowMap<>(this.names.toArray(String[]::new), mapper);
+    }
+
+    public record Column(int slot, String name) {
+    }
+
+    @FunctionalInterface
+    public interface OrdinalRowMap<T> {
+
+        T mapRow(ResultSet rs, ColumnIndexes columns) throws SQLException;
+    }
+
+    public static final class ColumnIndexes {
+
+        private final int[] indexes;
+
+        private ColumnIndexes(final int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        public int of(final Column column) {
+            return this.indexes[column.slot()];
+        }
+    }
+
+    private static final class IndexedRowMap<T> implements RowMap<T> {
+
+        private final String[] names;
+        private final OrdinalRowMap<T> target;
+
+        private ResultSet resolvedFor;
+        private ColumnIndexes columns;
+
+        private IndexedRowMap(final String[] names, final OrdinalRowMap<T> target) {
+            this.names = names;
+            this.target = Objects.requireNonNull(target);
+        }
+
+        @Override
+        public T mapRow(final ResultSet rs) throws SQLException {
+            if (rs != this.resolvedFor) {
+                final var aIndexes = new int[this.names.length];
+                for (int i = 0; i < this.names.length; i++) {
+                    aIndexes[i] = rs.findColumn(this.names[i]);
+                }
+                this.columns = new ColumnIndexes(aIndexes);
+                this.resolvedFor = rs;
+            }
+
+            return this.target.mapRow(rs, this.columns);
+        }
+    }
+}
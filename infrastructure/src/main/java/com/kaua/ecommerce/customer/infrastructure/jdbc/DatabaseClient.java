@@ -1,20 +1,27 @@
 package com.kaua.ecommerce.customer.infrastructure.jdbc;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DatabaseClient {
 
-    <T> Optional<T> queryOne(String sql, Map<String, Object> params, RowMap<T> mapper);
+    <T> Optional<T> queryOne(SqlParams params, RowMap<T> mapper);
 
-    <T> List<T> query(String sql, RowMap<T> mapper);
+    <T> List<T> query(SqlStatement statement, RowMap<T> mapper);
 
-    <T> List<T> query(String sql, Map<String, Object> params, RowMap<T> mapper);
+    <T> List<T> query(SqlParams params, RowMap<T> mapper);
 
-    int count(String sql, Map<String, Object> params);
+    <T> Stream<T> stream(SqlParams params, int fetchSize, RowMap<T> mapper);
 
-    int update(String sql, Map<String, Object> params);
+    int count(SqlParams params);
 
-    Number insert(String sql, Map<String, Object> params);
+    int update(SqlParams params);
+
+    // linhas alteradas com as colunas pedidas, pelas generated keys do driver (RETURNING no postgres)
+    <T> List<T> updateReturning(SqlParams params, RowMap<T> mapper, String... columns);
+
+    int[] batchUpdate(SqlStatement statement, List<SqlParams> params);
+
+    Number insert(SqlParams params);
 }
@@ -0,0 +1,214 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class InstrumentedDatabaseClient implements DatabaseClient {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedDatabaseClient.class);
+
+    public static final String STATEMENT_TIMER = "db.statement";
+    public static final String STATEMENT_ROWS = "db.statement.rows";
+
+    private static final String STATEMENT_TAG = "statement";
+    private static final String OPERATION_TAG = "operation";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String STREAM_OPERATION = "stream";
+
+    private final DatabaseClient delegate;
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    public InstrumentedDatabaseClient(
+            final DatabaseClient delegate,
+            final MeterRegistry meterRegistry,
+            final Duration slowQueryThreshold
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.slowQueryThreshold = Objects.requireNonNull(slowQueryThreshold);
+    }
+
+    @Override
+    public <T> Optional<T> queryOne(final SqlParams params, final RowMap<T> mapper) {
+        return record(params.statement(), "queryOne", () -> this.delegate.queryOne(params, mapper),
+                it -> it.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public <T> List<T> query(final SqlStatement statement, final RowMap<T> mapper) {
+        return record(statement, "query", () -> this.delegate.query(statement, mapper), List::size);
+    }
+
+    @Override
+    public <T> List<T> query(final SqlParams params, final RowMap<T> mapper) {
+        return record(params.statement(), "query", () -> this.delegate.query(params, mapper), List::size);
+    }
+
+    @Override
+    public <T> Stream<T> stream(final SqlParams params, final int fetchSize, final RowMap<T> mapper) {
+        final var aStatement = params.statement();
+        final var aStart = System.nanoTime();
+        final var aRows = new LongAdder();
+
+        final Stream<T> aStream;
+        try {
+            aStream = this.delegate.stream(params, fetchSize, mapper);
+        } catch (final RuntimeException ex) {
+            timer(aStatement, STREAM_OPERATION, "error").record(System.nanoTime() - aStart, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+
+        // o stream e lazy, entao o tempo e as linhas so sao registrados quando o chamador fecha o stream
+        final var aTracked = new TrackedSpliterator<>(aStream.spliterator(), aRows);
+        return StreamSupport.stream(aTracked, false)
+                .onClose(aStream::close)
+                .onClose(() -> {
+                    final var aElapsed = System.nanoTime() - aStart;
+                    // uma falha no meio da iteracao (conexao, driver, mapper) tambem conta como erro
+                    final var aOutcome = aTracked.failed ? "error" : "success";
+                    timer(aStatement, STREAM_OPERATION, aOutcome).record(aElapsed, TimeUnit.NANOSECONDS);
+                    rows(aStatement, STREAM_OPERATION).record(aRows.sum());
+
+                    if (aElapsed >= this.slowQueryThreshold.toNanos()) {
+                        log.warn("Slow statement [statement:{}] [operation:{}] [outcome:{}] [elapsedMs:{}] [rows:{}]",
+                                aStatement.name(), STREAM_OPERATION, aOutcome, Duration.ofNanos(aElapsed).toMillis(), aRows.sum());
+                    }
+                });
+    }
+
+    @Override
+    public int count(final SqlParams params) {
+        return record(params.statement(), "count", () -> this.delegate.count(params), it -> 1);
+    }
+
+    @Override
+    public int update(final SqlParams params) {
+        return record(params.statement(), "update", () -> this.delegate.update(params), it -> it);
+    }
+
+    @Override
+    public <T> List<T> updateReturning(final SqlParams params, final RowMap<T> mapper, final String... columns) {
+        return record(params.statement(), "updateReturning", () -> this.delegate.updateReturning(params, mapper, columns),
+                List::size);
+    }
+
+    @Override
+    public int[] batchUpdate(final SqlStatement statement, final List<SqlParams> params) {
+        return record(statement, "batchUpdate", () -> this.delegate.batchUpdate(statement, params),
+                JdbcUtils::affectedRows);
+    }
+
+    @Override
+    public Number insert(final SqlParams params) {
+        return record(params.statement(), "insert", () -> this.delegate.insert(params), it -> 1);
+    }
+
+    private <R> R record(
+            final SqlStatement statement,
+            final String operation,
+            final Supplier<R> call,
+            final ToIntFunction<R> rowCounter
+    ) {
+        final var aStart = System.nanoTime();
+        var aOutcome = "error";
+        var aRows = 0;
+
+        try {
+            final var aResult = call.get();
+            aRows = rowCounter.applyAsInt(aResult);
+            aOutcome = "success";
+            rows(statement, operation).record(aRows);
+            return aResult;
+        } finally {
+            final var aElapsed = System.nanoTime() - aStart;
+            timer(statement, operation, aOutcome).record(aElapsed, TimeUnit.NANOSECONDS);
+
+            if (aElapsed >= this.slowQueryThreshold.toNanos()) {
+                log.warn("Slow statement [statement:{}] [operation:{}] [outcome:{}] [elapsedMs:{}] [rows:{}]",
+                        statement.name(), operation, aOutcome, Duration.ofNanos(aElapsed).toMillis(), aRows);
+            }
+        }
+    }
+
+    private Timer timer(final SqlStatement statement, final String operation, final String outcome) {
+        return Timer.builder(STATEMENT_TIMER)
+                .description("Latency of a named SQL statement")
+                .tag(STATEMENT_TAG, statement.name())
+                .tag(OPERATION_TAG, operation)
+                .tag(OUTCOME_TAG, outcome)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+    }
+
+    private DistributionSummary rows(final SqlStatement statement, final String operation) {
+        return DistributionSummary.builder(STATEMENT_ROWS)
+                .description("Rows mapped or affected by a named SQL statement")
+                .tag(STATEMENT_TAG, statement.name())
+                .tag(OPERATION_TAG, operation)
+                .register(this.meterRegistry);
+    }
+
+    private static final class TrackedSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> delegate;
+        private final LongAdder rows;
+        private volatile boolean failed;
+
+        private TrackedSpliterator(final Spliterator<T> delegate, final LongAdder rows) {
+            this.delegate = delegate;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final var aInAction = new boolean[1];
+            try {
+                return this.delegate.tryAdvance(it -> {
+                    this.rows.increment();
+                    aInAction[0] = true;
+                    action.accept(it);
+                    aInAction[0] = false;
+                });
+            } catch (final RuntimeException | Error ex) {
+                // falha do codigo de quem consome o stream nao e falha do statement
+                if (!aInAction[0]) {
+                    this.failed = true;
+                }
+                throw ex;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            // o ResultSet e sequencial
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return this.delegate.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+}
@@ -1,63 +1,89 @@
 package com.kaua.ecommerce.customer.infrastructure.jdbc;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class JdbcClientAdapter implements DatabaseClient {
 
     private final JdbcClient jdbcClient;
+    private final JdbcOperations jdbcOperations;
 
-    public JdbcClientAdapter(final JdbcClient jdbcClient) {
+    public JdbcClientAdapter(final JdbcClient jdbcClient, final JdbcOperations jdbcOperations) {
         this.jdbcClient = Objects.requireNonNull(jdbcClient);
+        this.jdbcOperations = Objects.requireNonNull(jdbcOperations);
     }
 
     @Override
-    public <T> Optional<T> queryOne(final String sql, final Map<String, Object> params, final RowMap<T> mapper) {
+    public <T> Optional<T> queryOne(final SqlParams params, final RowMap<T> mapper) {
         return this.jdbcClient
-                .sql(sql)
-                .params(params)
+                .sql(params.statement().positionalSql())
+                .params(params.toPositionalArgs())
                 .query(new RowMapAdapter<>(mapper))
                 .optional();
     }
 
     @Override
-    public <T> List<T> query(final String sql, final RowMap<T> mapper) {
+    public <T> List<T> query(final SqlStatement statement, final RowMap<T> mapper) {
         return this.jdbcClient
-                .sql(sql)
+                .sql(statement.positionalSql())
                 .query(new RowMapAdapter<>(mapper))
                 .list();
     }
 
     @Override
-    public <T> List<T> query(final String sql, final Map<String, Object> params, final RowMap<T> mapper) {
+    public <T> List<T> query(final SqlParams params, final RowMap<T> mapper) {
         return this.jdbcClient
-                .sql(sql)
-                .params(params)
+                .sql(params.statement().positionalSql())
+                .params(params.toPositionalArgs())
                 .query(new RowMapAdapter<>(mapper))
                 .list();
     }
 
     @Override
-    public int count(final String sql, final Map<String, Object> params) {
+    public <T> Stream<T> stream(final SqlParams params, final int fetchSize, final RowMap<T> mapper) {
+        final var aArgs = params.toPositionalArgs();
+
+        final PreparedStatementCreator aCreator = connection -> {
+            final var aStatement = connection.prepareStatement(
+                    params.statement().positionalSql(),
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            aStatement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(aArgs).setValues(aStatement);
+            return aStatement;
+        };
+
+        return this.jdbcOperations.queryForStream(aCreator, new RowMapAdapter<>(mapper));
+    }
+
+    @Override
+    public int count(final SqlParams params) {
         return this.jdbcClient
-                .sql(sql)
-                .params(params)
+                .sql(params.statement().positionalSql())
+                .params(params.toPositionalArgs())
                 .query((rs, rowNum) -> rs.getInt(1))
                 .single();
     }
 
     @Override
-    public int update(final String sql, final Map<String, Object> params) {
+    public int update(final SqlParams params) {
         try {
             return this.jdbcClient
-                    .sql(sql)
-                    .params(params)
+                    .sql(params.statement().positionalSql())
+                    .params(params.toPositionalArgs())
                     .update();
         } catch (final DataIntegrityViolationException ex) {
             throw ex;
@@ -65,10 +91,46 @@ public class JdbcClientAdapter implements DatabaseClient {
     }
 
     @Override
-    public Number insert(final String sql, final Map<String, Object> params) {
+    public <T> List<T> updateReturning(final SqlParams params, final RowMap<T> mapper, final String... columns) {
+        final var aArgs = params.toPositionalArgs();
+
+        final PreparedStatementCreator aCreator = connection -> {
+            final var aStatement = connection.prepareStatement(params.statement().positionalSql(), columns);
+            new ArgumentPreparedStatementSetter(aArgs).setValues(aStatement);
+            return aStatement;
+        };
+
+        final PreparedStatementCallback<List<T>> aCallback = statement -> {
+            statement.executeUpdate();
+            try (final var rs = statement.getGeneratedKeys()) {
+                final var aRows = new ArrayList<T>();
+                while (rs.next()) {
+                    aRows.add(mapper.mapRow(rs));
+                }
+                return aRows;
+            }
+        };
+
+        return this.jdbcOperations.execute(aCreator, aCallback);
+    }
+
+    @Override
+    public int[] batchUpdate(final SqlStatement statement, final List<SqlParams> params) {
+        final var aBatch = params.stream()
+                .map(SqlParams::toPositionalArgs)
+                .toList();
+
+        return this.jdbcOperations.batchUpdate(statement.positionalSql(), aBatch);
+    }
+
+    @Override
+    public Number insert(final SqlParams params) {
         try {
             final var aHolder = new GeneratedKeyHolder();
-            this.jdbcClient.sql(sql).params(params).update(aHolder);
+            this.jdbcClient
+                    .sql(params.statement().positionalSql())
+                    .params(params.toPositionalArgs())
+                    .update(aHolder);
             return aHolder.getKey();
         } catch (final DataIntegrityViolationException ex) {
             throw ex;
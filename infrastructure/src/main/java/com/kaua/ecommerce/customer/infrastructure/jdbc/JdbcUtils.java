@@ -1,8 +1,16 @@
 package com.kaua.ecommerce.customer.infrastructure.jdbc;
 
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.UUID;
 
 public final class JdbcUtils {
 
@@ -13,12 +21,62 @@ public final class JdbcUtils {
             return null;
         }
 
-        var timestamp = rs.getTimestamp(prop);
+        final var aDateTime = rs.getObject(prop, OffsetDateTime.class);
+
+        if (aDateTime == null) {
+            return null;
+        }
+
+        return aDateTime.toInstant();
+    }
+
+    public static Instant getInstant(final ResultSet rs, final int index) throws SQLException {
+        final var aDateTime = rs.getObject(index, OffsetDateTime.class);
+
+        if (aDateTime == null) {
+            return null;
+        }
+
+        return aDateTime.toInstant();
+    }
+
+    public static UUID getUUID(final ResultSet rs, final int index) throws SQLException {
+        return rs.getObject(index, UUID.class);
+    }
 
-        if (timestamp == null) {
+    public static OffsetDateTime toOffsetDateTime(final Instant instant) {
+        if (instant == null) {
             return null;
         }
 
-        return timestamp.toInstant();
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    public static int affectedRows(final int[] batchCounts) {
+        var aRows = 0;
+        for (final var aCount : batchCounts) {
+            aRows += Math.max(aCount, 0);
+        }
+        return aRows;
+    }
+
+    public static boolean allRowsAffected(final int[] batchCounts) {
+        for (final var aCount : batchCounts) {
+            if (aCount == 0 || aCount == Statement.EXECUTE_FAILED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // um unico parametro array para "= ANY(:ids)", o texto da consulta nao muda com a quantidade de ids
+    public static AbstractSqlTypeValue uuidArray(final Collection<UUID> ids) {
+        final var aIds = ids.toArray(new UUID[0]);
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(final Connection con, final int sqlType, final String typeName) throws SQLException {
+                return con.createArrayOf("uuid", aIds);
+            }
+        };
     }
 }
@@ -0,0 +1,120 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.application.AsyncUseCases;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*
+ * Agrupa leituras por chave que chegam ao mesmo tempo em uma unica consulta, no estilo DataLoader.
+ * Quem encontra o lote fechado abre um novo e vira o lider: espera a janela (ou o lote encher), fecha o lote e roda
+ * o loader na propria thread com todas as chaves distintas. Os demais so esperam o resultado da sua chave.
+ * Nenhuma thread extra: com o lote vazio o custo e a janela de espera do lider.
+ */
+public class LookupBatcher<K, V> {
+
+    public static final String BATCH_SIZE_SUMMARY = "db.lookups.batch.size";
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final DistributionSummary batchSize;
+
+    // protege so o lote aberto, o loader roda sempre fora dele
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<K, V> open;
+
+    public LookupBatcher(
+            final String name,
+            final Duration window,
+            final int maxBatchSize,
+            final Function<Set<K>, Map<K, V>> loader,
+            final MeterRegistry meterRegistry
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than zero");
+        }
+        this.windowNanos = Objects.requireNonNull(window).toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.loader = Objects.requireNonNull(loader);
+        // count e o numero de consultas ao banco, total e o numero de chaves distintas consultadas
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+                .description("Distinct keys loaded per database round trip")
+                .tag("lookup", Objects.requireNonNull(name))
+                .register(Objects.requireNonNull(meterRegistry));
+    }
+
+    public Optional<V> load(final K key) {
+        Objects.requireNonNull(key);
+
+        final Batch<K, V> aBatch;
+        final CompletableFuture<Optional<V>> aResult;
+        final boolean aLeader;
+
+        this.lock.lock();
+        try {
+            aLeader = this.open == null;
+            if (aLeader) {
+                this.open = new Batch<>();
+            }
+            aBatch = this.open;
+            aResult = aBatch.results.computeIfAbsent(key, it -> new CompletableFuture<>());
+
+            if (aBatch.results.size() >= this.maxBatchSize) {
+                this.open = null;
+                aBatch.full.countDown();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (aLeader) {
+            dispatch(aBatch);
+        }
+        return AsyncUseCases.join(aResult);
+    }
+
+    private void dispatch(final Batch<K, V> batch) {
+        try {
+            batch.full.await(this.windowNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException ex) {
+            // quem esta no lote continua esperando, entao o lote sai agora mesmo assim
+            Thread.currentThread().interrupt();
+        }
+
+        this.lock.lock();
+        try {
+            if (this.open == batch) {
+                this.open = null;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        // fechado, o lote nao muda mais
+        this.batchSize.record(batch.results.size());
+        try {
+            final var aLoaded = this.loader.apply(Collections.unmodifiableSet(batch.results.keySet()));
+            batch.results.forEach((key, result) -> result.complete(Optional.ofNullable(aLoaded.get(key))));
+        } catch (final RuntimeException | Error ex) {
+            batch.results.values().forEach(it -> it.completeExceptionally(ex));
+        }
+    }
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<Optional<V>>> results = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+}
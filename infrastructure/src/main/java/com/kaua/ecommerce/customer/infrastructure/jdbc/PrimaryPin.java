@@ -0,0 +1,53 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/*
+ * Fixa as leituras no primary depois de uma escrita. O pin vive no request quando existe um, senao na transacao
+ * corrente, e some junto com eles: threads reaproveitadas (pools de gateway, scheduler, refresh do cache de CEP)
+ * nunca herdam o pin de um trabalho anterior. Escrita fora de request e de transacao nao fixa nada.
+ */
+public final class PrimaryPin {
+
+    private static final String ATTRIBUTE = PrimaryPin.class.getName() + ".PINNED";
+
+    private PrimaryPin() {}
+
+    public static void pin() {
+        final var aRequest = RequestContextHolder.getRequestAttributes();
+        if (aRequest != null) {
+            aRequest.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(ATTRIBUTE)) {
+            TransactionSynchronizationManager.bindResource(ATTRIBUTE, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ATTRIBUTE);
+                }
+            });
+        }
+    }
+
+    public static boolean isPinned() {
+        final var aRequest = RequestContextHolder.getRequestAttributes();
+        if (aRequest != null && aRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        return TransactionSynchronizationManager.hasResource(ATTRIBUTE);
+    }
+
+    public static void clear() {
+        final var aRequest = RequestContextHolder.getRequestAttributes();
+        if (aRequest != null) {
+            aRequest.removeAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(ATTRIBUTE);
+    }
+}
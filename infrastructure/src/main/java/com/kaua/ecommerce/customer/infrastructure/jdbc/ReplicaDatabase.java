@@ -0,0 +1,48 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Objects;
+
+/*
+ * Nao expoe um bean DataSource (nem TransactionManager) de proposito, senao o auto-configure do datasource primary deixa de ser aplicado.
+ */
+public class ReplicaDatabase implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcClient jdbcClient;
+    private final DataSourceTransactionManager transactionManager;
+
+    public ReplicaDatabase(final HikariDataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcClient = JdbcClient.create(this.jdbcTemplate);
+        this.transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    public DatabaseClient databaseClient() {
+        return new JdbcClientAdapter(this.jdbcClient, this.jdbcTemplate);
+    }
+
+    public HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    public JdbcOperations jdbcOperations() {
+        return jdbcTemplate;
+    }
+
+    public DataSourceTransactionManager transactionManager() {
+        return transactionManager;
+    }
+
+    @Override
+    public void close() {
+        this.dataSource.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Objects;
+
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // pg_last_xact_replay_timestamp fica parado quando o primary nao recebe escrita, por isso compara os LSNs antes
+    public static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0)
+            END
+            """;
+
+    private final JdbcOperations replicaJdbcOperations;
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean lagAcceptable = true;
+
+    public ReplicaLagMonitor(
+            final JdbcOperations replicaJdbcOperations,
+            final DataSource replicaDataSource,
+            final String lagQuery,
+            final Duration maxLag
+    ) {
+        this.replicaJdbcOperations = Objects.requireNonNull(replicaJdbcOperations);
+        this.replicaDataSource = Objects.requireNonNull(replicaDataSource);
+        this.lagQuery = Objects.requireNonNull(lagQuery);
+        this.maxLag = Objects.requireNonNull(maxLag);
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try {
+            final var aLagSeconds = this.replicaJdbcOperations.queryForObject(this.lagQuery, Double.class);
+            final var aLag = Duration.ofMillis(aLagSeconds == null ? 0 : (long) (aLagSeconds * 1000));
+            final var aAcceptable = aLag.compareTo(this.maxLag) <= 0;
+
+            if (aAcceptable != this.lagAcceptable) {
+                log.warn("Replica lag state changed [acceptable:{}] [lagMs:{}] [maxLagMs:{}]",
+                        aAcceptable, aLag.toMillis(), this.maxLag.toMillis());
+            }
+
+            this.lagAcceptable = aAcceptable;
+        } catch (final DataAccessException ex) {
+            log.warn("Replica lag check failed, reads will use the primary [reason:{}]", ex.getMessage());
+            this.lagAcceptable = false;
+        }
+    }
+
+    public boolean isHealthy() {
+        return this.lagAcceptable && !isPoolSaturated();
+    }
+
+    private boolean isPoolSaturated() {
+        if (this.replicaDataSource instanceof HikariDataSource aHikari && aHikari.getHikariPoolMXBean() != null) {
+            return aHikari.getHikariPoolMXBean().getThreadsAwaitingConnection() > 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class RoutingDatabaseClient implements DatabaseClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingDatabaseClient.class);
+
+    public static final String ROUTE_COUNTER = "db.statement.route";
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DatabaseClient primary;
+    private final DatabaseClient replica;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final MeterRegistry meterRegistry;
+
+    public RoutingDatabaseClient(
+            final DatabaseClient primary,
+            final DatabaseClient replica,
+            final ReplicaLagMonitor replicaLagMonitor,
+            final MeterRegistry meterRegistry
+    ) {
+        this.primary = Objects.requireNonNull(primary);
+        this.replica = Objects.requireNonNull(replica);
+        this.replicaLagMonitor = Objects.requireNonNull(replicaLagMonitor);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    @Override
+    public <T> Optional<T> queryOne(final SqlParams params, final RowMap<T> mapper) {
+        return read(params.statement(), it -> it.queryOne(params, mapper));
+    }
+
+    @Override
+    public <T> List<T> query(final SqlStatement statement, final RowMap<T> mapper) {
+        return read(statement, it -> it.query(statement, mapper));
+    }
+
+    @Override
+    public <T> List<T> query(final SqlParams params, final RowMap<T> mapper) {
+        return read(params.statement(), it -> it.query(params, mapper));
+    }
+
+    @Override
+    public <T> Stream<T> stream(final SqlParams params, final int fetchSize, final RowMap<T> mapper) {
+        return read(params.statement(), it -> it.stream(params, fetchSize, mapper));
+    }
+
+    @Override
+    public int count(final SqlParams params) {
+        return read(params.statement(), it -> it.count(params));
+    }
+
+    @Override
+    public int update(final SqlParams params) {
+        return write(it -> it.update(params));
+    }
+
+    @Override
+    public <T> List<T> updateReturning(final SqlParams params, final RowMap<T> mapper, final String... columns) {
+        return write(it -> it.updateReturning(params, mapper, columns));
+    }
+
+    @Override
+    public int[] batchUpdate(final SqlStatement statement, final List<SqlParams> params) {
+        return write(it -> it.batchUpdate(statement, params));
+    }
+
+    @Override
+    public Number insert(final SqlParams params) {
+        return write(it -> it.insert(params));
+    }
+
+    private <R> R read(final SqlStatement statement, final Function<DatabaseClient, R> call) {
+        final var aPrimaryReason = primaryReason();
+
+        if (aPrimaryReason != null) {
+            route(PRIMARY, aPrimaryReason).increment();
+            return call.apply(this.primary);
+        }
+
+        try {
+            final var aResult = call.apply(this.replica);
+            route(REPLICA, "read").increment();
+            return aResult;
+        } catch (final CannotGetJdbcConnectionException ex) {
+            log.warn("Replica connection unavailable, falling back to primary [statement:{}] [reason:{}]",
+                    statement.name(), ex.getMessage());
+            route(PRIMARY, "replica_unavailable").increment();
+            return call.apply(this.primary);
+        }
+    }
+
+    private <R> R write(final Function<DatabaseClient, R> call) {
+        // depois de escrever, o restante do request le do primary para enxergar a propria escrita
+        PrimaryPin.pin();
+        route(PRIMARY, "write").increment();
+        return call.apply(this.primary);
+    }
+
+    private String primaryReason() {
+        if (PrimaryPin.isPinned()) {
+            return "pinned";
+        }
+        // transacoes read-only (use cases de leitura) podem continuar na replica
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return "transaction";
+        }
+        if (!this.replicaLagMonitor.isHealthy()) {
+            return "replica_unhealthy";
+        }
+        return null;
+    }
+
+    private Counter route(final String target, final String reason) {
+        return Counter.builder(ROUTE_COUNTER)
+                .description("Statements routed to the primary or the replica database")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(this.meterRegistry);
+    }
+}
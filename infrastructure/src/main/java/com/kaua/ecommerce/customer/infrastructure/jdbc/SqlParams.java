@@ -0,0 +1,29 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+public final class SqlParams {
+
+    private final SqlStatement statement;
+    private final Object[] values;
+
+    SqlParams(final SqlStatement statement, final Object[] values) {
+        this.statement = statement;
+        this.values = values;
+    }
+
+    public SqlParams set(final String parameter, final Object value) {
+        this.values[this.statement.slotOf(parameter)] = value;
+        return this;
+    }
+
+    public SqlStatement statement() {
+        return statement;
+    }
+
+    public Object get(final String parameter) {
+        return this.values[this.statement.slotOf(parameter)];
+    }
+
+    public Object[] toPositionalArgs() {
+        return this.statement.toPositionalArgs(this.values);
+    }
+}
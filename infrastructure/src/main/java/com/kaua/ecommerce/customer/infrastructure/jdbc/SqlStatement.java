@@ -0,0 +1,162 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * SQL com parametros nomeados (:name) convertido uma unica vez para SQL posicional (?).
+ * Cada nome distinto ocupa um slot, os valores sao passados em um array de slots (SqlParams) em vez de um Map.
+ */
+public final class SqlStatement {
+
+    private static final Map<String, SqlStatement> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String sql;
+    private final String positionalSql;
+    private final String[] slots;
+    private final int[] occurrences;
+    private final boolean slotOrdered;
+
+    private SqlStatement(final String name, final String sql) {
+        this.name = Objects.requireNonNull(name, "statement name should not be null");
+        this.sql = Objects.requireNonNull(sql, "statement sql should not be null");
+
+        final var aSlots = new ArrayList<String>();
+        final var aOccurrences = new ArrayList<Integer>();
+        this.positionalSql = parse(sql, aSlots, aOccurrences);
+        this.slots = aSlots.toArray(String[]::new);
+        this.occurrences = aOccurrences.stream().mapToInt(Integer::intValue).toArray();
+        this.slotOrdered = isSlotOrdered(this.occurrences, this.slots.length);
+    }
+
+    public static SqlStatement of(final String name, final String sql) {
+        final var aStatement = REGISTRY.computeIfAbsent(name, it -> new SqlStatement(it, sql));
+
+        if (!aStatement.sql.equals(sql)) {
+            throw new IllegalStateException("Statement name already registered with another sql: " + name);
+        }
+
+        return aStatement;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public String positionalSql() {
+        return positionalSql;
+    }
+
+    public List<String> parameterNames() {
+        return List.of(slots);
+    }
+
+    public int slotOf(final String parameter) {
+        for (int i = 0; i < this.slots.length; i++) {
+            if (this.slots[i].equals(parameter)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Parameter " + parameter + " is not declared by statement " + this.name);
+    }
+
+    public SqlParams params() {
+        return new SqlParams(this, new Object[this.slots.length]);
+    }
+
+    public SqlParams with(final Object... values) {
+        if (values.length != this.slots.length) {
+            throw new IllegalArgumentException("Statement " + this.name + " expects " + this.slots.length
+                    + " parameters but received " + values.length);
+        }
+        return new SqlParams(this, values);
+    }
+
+    Object[] toPositionalArgs(final Object[] slotValues) {
+        if (this.slotOrdered) {
+            return slotValues;
+        }
+
+        final var aArgs = new Object[this.occurrences.length];
+        for (int i = 0; i < this.occurrences.length; i++) {
+            aArgs[i] = slotValues[this.occurrences[i]];
+        }
+        return aArgs;
+    }
+
+    private static boolean isSlotOrdered(final int[] occurrences, final int slotCount) {
+        if (occurrences.length != slotCount) {
+            return false;
+        }
+        for (int i = 0; i < occurrences.length; i++) {
+            if (occurrences[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String parse(final String sql, final List<String> slots, final List<Integer> occurrences) {
+        final var aPositional = new StringBuilder(sql.length());
+        var aInLiteral = false;
+        var i = 0;
+
+        while (i < sql.length()) {
+            final var c = sql.charAt(i);
+
+            if (c == '\'') {
+                aInLiteral = !aInLiteral;
+            }
+
+            if (aInLiteral || c != ':') {
+                aPositional.append(c);
+                i++;
+                continue;
+            }
+
+            // cast do postgres (::uuid) nao e parametro
+            if (i + 1 < sql.length() && sql.charAt(i + 1) == ':') {
+                aPositional.append("::");
+                i += 2;
+                continue;
+            }
+
+            var aEnd = i + 1;
+            while (aEnd < sql.length() && Character.isJavaIdentifierPart(sql.charAt(aEnd))) {
+                aEnd++;
+            }
+
+            if (aEnd == i + 1) {
+                aPositional.append(c);
+                i++;
+                continue;
+            }
+
+            final var aParameter = sql.substring(i + 1, aEnd);
+            var aSlot = slots.indexOf(aParameter);
+            if (aSlot < 0) {
+                slots.add(aParameter);
+                aSlot = slots.size() - 1;
+            }
+
+            occurrences.add(aSlot);
+            aPositional.append('?');
+            i = aEnd;
+        }
+
+        return aPositional.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
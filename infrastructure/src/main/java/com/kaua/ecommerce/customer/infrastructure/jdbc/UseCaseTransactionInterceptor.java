@@ -0,0 +1,86 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.application.ReadOnlyUseCase;
+import com.kaua.ecommerce.customer.application.UnitUseCase;
+import com.kaua.ecommerce.customer.application.UseCase;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ * Abre uma unica transacao (e portanto uma unica conexao do pool) por execucao de use case.
+ * Use cases read-only rodam em transacao read-only na replica quando ela esta saudavel.
+ */
+public class UseCaseTransactionInterceptor extends TransactionInterceptor {
+
+    public static final String REPLICA_TRANSACTION_MANAGER = "replica";
+
+    private static final String EXECUTE_METHOD = "execute";
+
+    private final Set<Class<?>> nonTransactionalUseCases;
+    private final ObjectProvider<ReplicaDatabase> replicaDatabase;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public UseCaseTransactionInterceptor(
+            final Set<Class<?>> nonTransactionalUseCases,
+            final ObjectProvider<ReplicaDatabase> replicaDatabase,
+            final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor
+    ) {
+        this.nonTransactionalUseCases = Objects.requireNonNull(nonTransactionalUseCases);
+        this.replicaDatabase = Objects.requireNonNull(replicaDatabase);
+        this.replicaLagMonitor = Objects.requireNonNull(replicaLagMonitor);
+        setTransactionAttributeSource(this::transactionAttributeOf);
+    }
+
+    public boolean isTransactional(final Method method, @Nullable final Class<?> targetClass) {
+        if (targetClass == null || !EXECUTE_METHOD.equals(method.getName()) || method.getParameterCount() != 1) {
+            return false;
+        }
+        if (!UseCase.class.isAssignableFrom(targetClass) && !UnitUseCase.class.isAssignableFrom(targetClass)) {
+            return false;
+        }
+        return this.nonTransactionalUseCases.stream().noneMatch(it -> it.isAssignableFrom(targetClass));
+    }
+
+    @Override
+    protected TransactionManager determineTransactionManager(@Nullable final TransactionAttribute txAttr) {
+        if (txAttr != null && REPLICA_TRANSACTION_MANAGER.equals(txAttr.getQualifier())) {
+            return this.replicaDatabase.getObject().transactionManager();
+        }
+        return super.determineTransactionManager(txAttr);
+    }
+
+    private TransactionAttribute transactionAttributeOf(final Method method, @Nullable final Class<?> targetClass) {
+        if (!isTransactional(method, targetClass)) {
+            return null;
+        }
+
+        final var aAttribute = new RuleBasedTransactionAttribute();
+        aAttribute.setName(targetClass.getSimpleName());
+        aAttribute.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        if (ReadOnlyUseCase.class.isAssignableFrom(targetClass)) {
+            aAttribute.setReadOnly(true);
+            if (isReplicaAvailable()) {
+                aAttribute.setQualifier(REPLICA_TRANSACTION_MANAGER);
+            }
+        }
+        return aAttribute;
+    }
+
+    private boolean isReplicaAvailable() {
+        if (PrimaryPin.isPinned()) {
+            return false;
+        }
+        final var aMonitor = this.replicaLagMonitor.getIfAvailable();
+        return aMonitor != null && aMonitor.isHealthy();
+    }
+}
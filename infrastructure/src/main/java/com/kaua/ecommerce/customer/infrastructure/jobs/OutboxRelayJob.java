@@ -0,0 +1,138 @@
+package com.kaua.ecommerce.customer.infrastructure.jobs;
+
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxHandler;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxMessage;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Drena o outbox em lotes: compensacoes do sign up e eventos de customer.
+ * Cada lote e reservado por um lease curto, entao varias instancias drenam em paralelo sem pegar a mesma mensagem;
+ * uma instancia que cair no meio so atrasa o lote ate o lease vencer.
+ * Falha reagenda com backoff exponencial; depois de max-attempts a mensagem fica na tabela para analise.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jobs.outbox-relay", name = "enabled", havingValue = "true")
+public class OutboxRelayJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayJob.class);
+
+    private static final String PROCESSED_COUNTER = "outbox.messages.processed";
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final OutboxJdbcRepository outboxRepository;
+    private final Map<String, OutboxHandler> handlers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final MeterRegistry meterRegistry;
+
+    public OutboxRelayJob(
+            final OutboxJdbcRepository outboxRepository,
+            final List<OutboxHandler> handlers,
+            final MeterRegistry meterRegistry,
+            @Value("${jobs.outbox-relay.batch-size:100}") final int batchSize,
+            @Value("${jobs.outbox-relay.max-attempts:10}") final int maxAttempts,
+            @Value("${jobs.outbox-relay.lease:1m}") final Duration lease
+    ) {
+        this.outboxRepository = Objects.requireNonNull(outboxRepository);
+        this.handlers = handlersByType(handlers);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Objects.requireNonNull(lease);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${jobs.outbox-relay.delay-millis:1000}",
+            initialDelayString = "${jobs.outbox-relay.initial-delay-millis:10000}",
+            timeUnit = TimeUnit.MILLISECONDS
+    )
+    public void relay() {
+        while (true) {
+            final var aBatch = this.outboxRepository.claim(
+                    this.batchSize,
+                    this.maxAttempts,
+                    InstantUtils.now().plus(this.lease)
+            );
+            aBatch.forEach(this::process);
+
+            if (aBatch.size() < this.batchSize) {
+                break;
+            }
+        }
+    }
+
+    private void process(final OutboxMessage aMessage) {
+        final var aHandler = this.handlers.get(aMessage.type());
+        if (aHandler == null) {
+            fail(aMessage, "No handler for outbox message type " + aMessage.type());
+            return;
+        }
+
+        try {
+            aHandler.handle(aMessage);
+        } catch (final RuntimeException ex) {
+            fail(aMessage, ex.getMessage());
+            return;
+        }
+
+        this.outboxRepository.delete(aMessage.id());
+        counter(aMessage.type(), "processed").increment();
+    }
+
+    private void fail(final OutboxMessage aMessage, final String aReason) {
+        final var aAttempts = aMessage.attempts() + 1;
+
+        if (aAttempts >= this.maxAttempts) {
+            log.error("Outbox message exhausted its attempts and was parked [id:{}] [type:{}] [aggregateId:{}] [reason:{}]",
+                    aMessage.id(), aMessage.type(), aMessage.aggregateId(), aReason);
+            counter(aMessage.type(), "parked").increment();
+        } else {
+            log.warn("Outbox message failed, rescheduling [id:{}] [type:{}] [aggregateId:{}] [attempts:{}] [reason:{}]",
+                    aMessage.id(), aMessage.type(), aMessage.aggregateId(), aAttempts, aReason);
+            counter(aMessage.type(), "failed").increment();
+        }
+
+        this.outboxRepository.reschedule(aMessage.id(), aAttempts, InstantUtils.now().plus(backoffOf(aAttempts)), aReason);
+    }
+
+    private Counter counter(final String aType, final String aOutcome) {
+        return Counter.builder(PROCESSED_COUNTER)
+                .description("Outbox messages handled by the relay")
+                .tag("type", aType)
+                .tag("outcome", aOutcome)
+                .register(this.meterRegistry);
+    }
+
+    private static Duration backoffOf(final int aAttempts) {
+        final var aBackoff = Duration.ofSeconds(1L << Math.min(aAttempts, 20));
+        return aBackoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : aBackoff;
+    }
+
+    private static Map<String, OutboxHandler> handlersByType(final List<OutboxHandler> handlers) {
+        final var aHandlers = new HashMap<String, OutboxHandler>();
+        handlers.forEach(handler -> handler.types().forEach(type -> {
+            if (aHandlers.putIfAbsent(type, handler) != null) {
+                throw new IllegalStateException("More than one outbox handler for type " + type);
+            }
+        }));
+        return Map.copyOf(aHandlers);
+    }
+}
@@ -0,0 +1,82 @@
+package com.kaua.ecommerce.customer.infrastructure.jobs;
+
+import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository.CustomerPhoneNumber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Preenche phone_national_number, phone_country_code e phone_region_code dos telefones gravados antes da V5.
+ * Percorre por id em lotes, cada lote e um UPDATE em batch na sua propria transacao, entao rodar em mais de uma instancia so repete trabalho.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jobs.phone-number-backfill", name = "enabled", havingValue = "true")
+public class PhoneNumberFormatsBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PhoneNumberFormatsBackfillJob.class);
+
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final TelephoneGateway telephoneGateway;
+    private final int batchSize;
+
+    public PhoneNumberFormatsBackfillJob(
+            final CustomerJdbcRepository customerJdbcRepository,
+            final TelephoneGateway telephoneGateway,
+            @Value("${jobs.phone-number-backfill.batch-size:500}") final int batchSize
+    ) {
+        this.customerJdbcRepository = Objects.requireNonNull(customerJdbcRepository);
+        this.telephoneGateway = Objects.requireNonNull(telephoneGateway);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${jobs.phone-number-backfill.delay-minutes:60}",
+            initialDelayString = "${jobs.phone-number-backfill.initial-delay-minutes:5}",
+            timeUnit = TimeUnit.MINUTES
+    )
+    public void backfill() {
+        log.info("Backfilling phone number formats [batchSize:{}]", this.batchSize);
+
+        CustomerId aAfterId = null;
+        var aUpdated = 0;
+        var aUnparseable = 0;
+
+        while (true) {
+            final var aBatch = this.customerJdbcRepository.phoneNumbersWithoutFormats(aAfterId, this.batchSize);
+            if (aBatch.isEmpty()) {
+                break;
+            }
+
+            final var aFormatted = new ArrayList<CustomerPhoneNumber>(aBatch.size());
+            for (final var aPhoneNumber : aBatch) {
+                final var aAnalysis = this.telephoneGateway.analyze(aPhoneNumber.telephone().value());
+
+                if (aAnalysis.parsed()) {
+                    aFormatted.add(new CustomerPhoneNumber(aPhoneNumber.customerId(), aAnalysis.toTelephone()));
+                } else {
+                    aUnparseable++;
+                    log.warn("Phone number can't be parsed, skipping [customerId:{}]", aPhoneNumber.customerId().value());
+                }
+            }
+
+            aUpdated += this.customerJdbcRepository.savePhoneFormats(aFormatted);
+            aAfterId = aBatch.get(aBatch.size() - 1).customerId();
+
+            if (aBatch.size() < this.batchSize) {
+                break;
+            }
+        }
+
+        log.info("Phone number formats backfilled [updated:{}] [unparseable:{}]", aUpdated, aUnparseable);
+    }
+}
@@ -1,12 +1,17 @@
 package com.kaua.ecommerce.customer.infrastructure.mediator;
 
+import com.kaua.ecommerce.customer.application.AsyncUseCases;
 import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
 import com.kaua.ecommerce.customer.application.usecases.customer.CreateCustomerUseCase;
 import com.kaua.ecommerce.customer.application.usecases.customer.CreateIdpUserUseCase;
 import com.kaua.ecommerce.customer.application.usecases.customer.DeleteIdpUserUseCase;
 import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.outbox.DeleteIdpUserOutboxHandler;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.SignUpRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.SignUpResponse;
+import com.kaua.ecommerce.customer.infrastructure.utils.GatewayExecutor;
+import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
 import com.kaua.ecommerce.lib.domain.exceptions.InternalErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,17 +30,23 @@ public class SignUpMediator {
     private final CreateCustomerUseCase createCustomerUseCase;
     private final CreateIdpUserUseCase createIdpUserUseCase;
     private final DeleteIdpUserUseCase deleteIdpUserUseCase;
+    private final OutboxJdbcRepository outboxRepository;
+    private final GatewayExecutor gatewayExecutor;
 
     public SignUpMediator(
             final CustomerRepository customerRepository,
             final CreateCustomerUseCase createCustomerUseCase,
             final CreateIdpUserUseCase createIdpUserUseCase,
-            final DeleteIdpUserUseCase deleteIdpUserUseCase
+            final DeleteIdpUserUseCase deleteIdpUserUseCase,
+            final OutboxJdbcRepository outboxRepository,
+            final GatewayExecutor gatewayExecutor
     ) {
         this.customerRepository = Objects.requireNonNull(customerRepository);
         this.createCustomerUseCase = Objects.requireNonNull(createCustomerUseCase);
         this.createIdpUserUseCase = Objects.requireNonNull(createIdpUserUseCase);
         this.deleteIdpUserUseCase = Objects.requireNonNull(deleteIdpUserUseCase);
+        this.outboxRepository = Objects.requireNonNull(outboxRepository);
+        this.gatewayExecutor = Objects.requireNonNull(gatewayExecutor);
     }
 
     public SignUpResponse signUp(final SignUpRequest req) {
@@ -47,7 +58,32 @@ public class SignUpMediator {
     }
 
     private Function<SignUpRequest, SignUpRequest> createIdpUser() {
-        return req -> req.with(this.createIdpUserUseCase.execute(req.toCreateIdpUserInput()));
+        return req -> {
+            // o usuario do IdP e criado no executor enquanto o email e verificado no banco
+            final var aIdpUser = AsyncUseCases.execute(
+                    this.createIdpUserUseCase,
+                    req.toCreateIdpUserInput(),
+                    this.gatewayExecutor.executor()
+            );
+            final var aEmailAlreadyExists = emailAlreadyExists(req.email());
+            final var aWithIdpUser = req.with(AsyncUseCases.join(aIdpUser));
+
+            if (aEmailAlreadyExists) {
+                handleCompensation(aWithIdpUser);
+                throw DomainException.with("Email already exists");
+            }
+            return aWithIdpUser;
+        };
+    }
+
+    private boolean emailAlreadyExists(final String email) {
+        try {
+            return this.customerRepository.existsByEmail(email);
+        } catch (final RuntimeException ex) {
+            // sem a verificacao antecipada quem decide e o create customer, e a falha dele ja e compensada
+            log.warn("Failed to check email before creating customer [reason:{}]", ex.getMessage());
+            return false;
+        }
     }
 
     private Function<SignUpRequest, SignUpResponse> createCustomer() {
@@ -61,7 +97,24 @@ public class SignUpMediator {
         };
     }
 
+    /*
+     * A compensacao vai para o outbox e o OutboxRelayJob remove o usuario do IdP com retry, fora do request.
+     * A escrita do customer falhou, entao a mensagem e gravada na sua propria transacao. So se o outbox tambem
+     * falhar (banco fora) a compensacao e feita aqui mesmo, como antes.
+     */
     private void handleCompensation(final SignUpRequest req) {
+        try {
+            this.outboxRepository.append(OutboxJdbcRepository.Entry.of(
+                    DeleteIdpUserOutboxHandler.TYPE,
+                    req.idpUserId(),
+                    req.idpUserId()
+            ));
+            log.info("Compensation for failed creation of customer scheduled [userId:{}]", req.idpUserId());
+            return;
+        } catch (final RuntimeException ex) {
+            log.warn("Failed to schedule compensation, deleting idp user now [userId:{}] [reason:{}]", req.idpUserId(), ex.getMessage());
+        }
+
         log.info("Compensating for failed creation of customer deleting idp user [userId:{}]", req.idpUserId());
         try {
             this.deleteIdpUserUseCase.execute(new UserId(UUID.fromString(req.idpUserId())));
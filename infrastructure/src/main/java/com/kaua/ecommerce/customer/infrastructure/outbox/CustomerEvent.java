@@ -0,0 +1,35 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+
+import java.time.Instant;
+
+public record CustomerEvent(
+        @JsonProperty("type") String type,
+        @JsonProperty("customer_id") String customerId,
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("email") String email,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("version") long version,
+        @JsonProperty("occurred_at") Instant occurredAt
+) {
+
+    public static final String CREATED = "customer.created";
+    public static final String UPDATED = "customer.updated";
+
+    // chamado depois do incrementVersion, entao a versao 1 e sempre a criacao
+    public static CustomerEvent of(final Customer customer) {
+        return new CustomerEvent(
+                customer.getVersion() == 1 ? CREATED : UPDATED,
+                customer.getId().value().toString(),
+                customer.getUserId().value().toString(),
+                customer.getEmail().value(),
+                customer.getName().firstName(),
+                customer.getName().lastName(),
+                customer.getVersion(),
+                customer.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import com.kaua.ecommerce.customer.infrastructure.configurations.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ * O servico ainda nao tem broker: os eventos saem como eventos do spring, ja fora da transacao que os gravou.
+ * Um listener de CustomerEvent e o ponto para ligar Kafka/Rabbit; se ele falhar a mensagem volta para o outbox.
+ */
+@Component
+public class CustomerEventOutboxHandler implements OutboxHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerEventOutboxHandler.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public CustomerEventOutboxHandler(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+    }
+
+    @Override
+    public Set<String> types() {
+        return Set.of(CustomerEvent.CREATED, CustomerEvent.UPDATED);
+    }
+
+    @Override
+    public void handle(final OutboxMessage message) {
+        final var aEvent = Json.readValue(message.payload(), CustomerEvent.class);
+        this.applicationEventPublisher.publishEvent(aEvent);
+        log.debug("Customer event published [type:{}] [customerId:{}] [version:{}]", aEvent.type(), aEvent.customerId(), aEvent.version());
+    }
+}
@@ -0,0 +1,44 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import com.kaua.ecommerce.customer.application.usecases.customer.DeleteIdpUserUseCase;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.lib.domain.exceptions.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+// compensacao do sign up: remove do IdP o usuario de um customer que nao chegou a ser gravado
+@Component
+public class DeleteIdpUserOutboxHandler implements OutboxHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DeleteIdpUserOutboxHandler.class);
+
+    public static final String TYPE = "idp_user.delete";
+
+    private final DeleteIdpUserUseCase deleteIdpUserUseCase;
+
+    public DeleteIdpUserOutboxHandler(final DeleteIdpUserUseCase deleteIdpUserUseCase) {
+        this.deleteIdpUserUseCase = Objects.requireNonNull(deleteIdpUserUseCase);
+    }
+
+    @Override
+    public Set<String> types() {
+        return Set.of(TYPE);
+    }
+
+    @Override
+    public void handle(final OutboxMessage message) {
+        final var aUserId = message.aggregateId();
+        try {
+            this.deleteIdpUserUseCase.execute(new UserId(UUID.fromString(aUserId)));
+            log.info("Compensated for failed creation of customer deleting idp user [userId:{}]", aUserId);
+        } catch (final NotFoundException ex) {
+            // entrega repetida: o usuario ja foi removido numa tentativa anterior
+            log.info("Idp user already deleted [userId:{}]", aUserId);
+        }
+    }
+}
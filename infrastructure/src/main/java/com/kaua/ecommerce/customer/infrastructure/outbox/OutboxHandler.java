@@ -0,0 +1,14 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import java.util.Set;
+
+/*
+ * Processa as mensagens de um ou mais tipos do outbox. Pode ser chamado mais de uma vez para a mesma mensagem
+ * (lease vencido, falha depois do efeito), entao precisa ser idempotente.
+ */
+public interface OutboxHandler {
+
+    Set<String> types();
+
+    void handle(OutboxMessage message);
+}
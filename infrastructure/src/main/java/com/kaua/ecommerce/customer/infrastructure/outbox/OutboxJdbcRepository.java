@@ -0,0 +1,156 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import com.kaua.ecommerce.customer.infrastructure.configurations.json.Json;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ColumnSpec;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.DatabaseClient;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcUtils;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.RowMap;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlParams;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlStatement;
+import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/*
+ * Tabela outbox: mensagens gravadas na mesma transacao da escrita que as originou e drenadas pelo OutboxRelayJob.
+ * O claim trava o lote com FOR UPDATE SKIP LOCKED so para empurrar o available_at (lease) e ja faz commit,
+ * assim varios nos drenam em paralelo sem segurar conexao durante as chamadas remotas dos handlers.
+ */
+@Repository
+public class OutboxJdbcRepository {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 255;
+
+    private static final ColumnSpec COLUMNS = new ColumnSpec();
+    private static final ColumnSpec.Column ID = COLUMNS.column("id");
+    private static final ColumnSpec.Column TYPE = COLUMNS.column("type");
+    private static final ColumnSpec.Column AGGREGATE_ID = COLUMNS.column("aggregate_id");
+    private static final ColumnSpec.Column PAYLOAD = COLUMNS.column("payload");
+    private static final ColumnSpec.Column ATTEMPTS = COLUMNS.column("attempts");
+    private static final ColumnSpec.Column AVAILABLE_AT = COLUMNS.column("available_at");
+    private static final ColumnSpec.Column CREATED_AT = COLUMNS.column("created_at");
+
+    private static final SqlStatement INSERT = SqlStatement.of("outbox.insert", """
+            INSERT INTO outbox (id, type, aggregate_id, payload, attempts, available_at, created_at)
+            VALUES (:id, :type, :aggregateId, :payload, 0, :availableAt, :createdAt)
+            """);
+
+    private static final SqlStatement AVAILABLE = SqlStatement.of("outbox.available", """
+            SELECT *
+            FROM outbox
+            WHERE available_at <= :now AND attempts < :maxAttempts
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """);
+
+    private static final SqlStatement LEASE = SqlStatement.of(
+            "outbox.lease",
+            "UPDATE outbox SET available_at = :leaseUntil WHERE id = :id"
+    );
+
+    private static final SqlStatement DELETE = SqlStatement.of(
+            "outbox.delete",
+            "DELETE FROM outbox WHERE id = :id"
+    );
+
+    private static final SqlStatement RESCHEDULE = SqlStatement.of("outbox.reschedule", """
+            UPDATE outbox
+            SET attempts = :attempts, last_error = :lastError, available_at = :availableAt
+            WHERE id = :id
+            """);
+
+    private final DatabaseClient databaseClient;
+
+    public OutboxJdbcRepository(final DatabaseClient databaseClient) {
+        this.databaseClient = Objects.requireNonNull(databaseClient);
+    }
+
+    // entra na transacao de quem chama: a mensagem so existe se a escrita que a originou fizer commit
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void append(final Entry entry) {
+        this.databaseClient.update(toParams(entry, InstantUtils.now()));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void appendAll(final List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final var aNow = InstantUtils.now();
+        this.databaseClient.batchUpdate(INSERT, entries.stream().map(it -> toParams(it, aNow)).toList());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<OutboxMessage> claim(final int limit, final int maxAttempts, final Instant leaseUntil) {
+        final var aParams = AVAILABLE.params()
+                .set("now", JdbcUtils.toOffsetDateTime(InstantUtils.now()))
+                .set("maxAttempts", maxAttempts)
+                .set("limit", limit);
+
+        final var aMessages = this.databaseClient.query(aParams, outboxMapper());
+        if (aMessages.isEmpty()) {
+            return aMessages;
+        }
+
+        this.databaseClient.batchUpdate(LEASE, aMessages.stream()
+                .map(it -> LEASE.params()
+                        .set("id", it.id())
+                        .set("leaseUntil", JdbcUtils.toOffsetDateTime(leaseUntil)))
+                .toList());
+        return aMessages;
+    }
+
+    // o relay chama fora de transacao: com auto-commit desligado, sem ela o pool desfaz a escrita ao devolver a conexao
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void delete(final UUID id) {
+        this.databaseClient.update(DELETE.with(id));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void reschedule(final UUID id, final int attempts, final Instant availableAt, final String lastError) {
+        this.databaseClient.update(RESCHEDULE.params()
+                .set("id", id)
+                .set("attempts", attempts)
+                .set("lastError", StringUtils.abbreviate(lastError, LAST_ERROR_MAX_LENGTH))
+                .set("availableAt", JdbcUtils.toOffsetDateTime(availableAt)));
+    }
+
+    private static SqlParams toParams(final Entry entry, final Instant now) {
+        return INSERT.params()
+                .set("id", IdentifierUtils.generateNewUUID())
+                .set("type", entry.type())
+                .set("aggregateId", entry.aggregateId())
+                .set("payload", entry.payload())
+                .set("availableAt", JdbcUtils.toOffsetDateTime(now))
+                .set("createdAt", JdbcUtils.toOffsetDateTime(now));
+    }
+
+    private static RowMap<OutboxMessage> outboxMapper() {
+        return COLUMNS.mapper((rs, columns) -> new OutboxMessage(
+                JdbcUtils.getUUID(rs, columns.of(ID)),
+                rs.getString(columns.of(TYPE)),
+                rs.getString(columns.of(AGGREGATE_ID)),
+                rs.getString(columns.of(PAYLOAD)),
+                rs.getInt(columns.of(ATTEMPTS)),
+                JdbcUtils.getInstant(rs, columns.of(AVAILABLE_AT)),
+                JdbcUtils.getInstant(rs, columns.of(CREATED_AT))
+        ));
+    }
+
+    public record Entry(String type, String aggregateId, String payload) {
+
+        public static Entry of(final String type, final Object aggregateId, final Object payload) {
+            return new Entry(type, aggregateId.toString(), Json.writeValueAsString(payload));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record OutboxMessage(
+        UUID id,
+        String type,
+        String aggregateId,
+        String payload,
+        int attempts,
+        Instant availableAt,
+        Instant createdAt
+) {
+}
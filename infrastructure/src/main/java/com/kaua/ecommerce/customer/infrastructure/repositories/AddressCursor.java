@@ -0,0 +1,111 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.domain.address.Address;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcUtils;
+import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/*
+ * Cursor opaco da listagem de enderecos: coluna de ordenacao, direcao, id (desempate) e valor da coluna.
+ */
+record AddressCursor(String sort, Sort.Direction direction, UUID id, String value) {
+
+    static final String DEFAULT_SORT = "title";
+
+    private static final String SEPARATOR = "\n";
+
+    private static final Map<String, Function<Address, String>> SORT_VALUES = Map.of(
+            "title", it -> it.getTitle().value(),
+            "created_at", it -> it.getCreatedAt().toString(),
+            "updated_at", it -> it.getUpdatedAt().toString()
+    );
+
+    private static final Map<String, Function<Address, Instant>> INSTANT_VALUES = Map.of(
+            "created_at", Address::getCreatedAt,
+            "updated_at", Address::getUpdatedAt
+    );
+
+    static Set<String> sortColumns() {
+        return SORT_VALUES.keySet();
+    }
+
+    static String sortColumnOf(final String sort) {
+        return sort != null && SORT_VALUES.containsKey(sort) ? sort : DEFAULT_SORT;
+    }
+
+    // keyset nao tem numero de pagina: com cursor a resposta leva page 0 e quem navega e o proximo cursor
+    static int pageOf(final AddressCursor cursor, final int page) {
+        return cursor == null ? page : 0;
+    }
+
+    static AddressCursor after(final Address aAddress, final String sort, final Sort.Direction direction) {
+        return new AddressCursor(sort, direction, aAddress.getId().value(), SORT_VALUES.get(sort).apply(aAddress));
+    }
+
+    static AddressCursor decode(final String cursor, final String sort, final Sort.Direction direction) {
+        final String[] aParts;
+        try {
+            aParts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (final IllegalArgumentException ex) {
+            throw DomainException.with("Invalid cursor");
+        }
+
+        if (aParts.length != 4 || !aParts[0].equals(sort) || !aParts[1].equals(direction.name())) {
+            throw DomainException.with("Invalid cursor for the requested sort and direction");
+        }
+
+        try {
+            final var aCursor = new AddressCursor(aParts[0], direction, UUID.fromString(aParts[2]), aParts[3]);
+            aCursor.boundValue();
+            return aCursor;
+        } catch (final IllegalArgumentException | DateTimeParseException ex) {
+            throw DomainException.with("Invalid cursor");
+        }
+    }
+
+    // mesma ordem do ORDER BY coluna, id; o uuid como texto segue a ordem de bytes do postgres.
+    // so colunas de data: titulo depende da collation do banco e e ordenado sempre por la
+    static Comparator<Address> orderOf(final String sort, final Sort.Direction direction) {
+        final var aOrder = Comparator.comparing(instantValueOf(sort))
+                .thenComparing(it -> it.getId().value().toString());
+        return direction.isAscending() ? aOrder : aOrder.reversed();
+    }
+
+    // equivalente em memoria do keyset (coluna, id) > (:cursorValue, :cursorId)
+    boolean precedes(final Address aAddress) {
+        var aCompare = Instant.parse(this.value).compareTo(instantValueOf(this.sort).apply(aAddress));
+        if (aCompare == 0) {
+            aCompare = this.id.toString().compareTo(aAddress.getId().value().toString());
+        }
+        return this.direction.isAscending() ? aCompare < 0 : aCompare > 0;
+    }
+
+    String encode() {
+        final var aRaw = String.join(SEPARATOR, this.sort, this.direction.name(), this.id.toString(), this.value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(aRaw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Object boundValue() {
+        return DEFAULT_SORT.equals(this.sort)
+                ? this.value
+                : JdbcUtils.toOffsetDateTime(Instant.parse(this.value));
+    }
+
+    private static Function<Address, Instant> instantValueOf(final String sort) {
+        final var aValue = INSTANT_VALUES.get(sort);
+        if (aValue == null) {
+            throw new IllegalArgumentException("Sort %s has no in-memory order".formatted(sort));
+        }
+        return aValue;
+    }
+}
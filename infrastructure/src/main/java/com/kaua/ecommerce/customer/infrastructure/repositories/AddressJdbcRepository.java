@@ -5,10 +5,15 @@ import com.kaua.ecommerce.customer.domain.address.Address;
 import com.kaua.ecommerce.customer.domain.address.AddressId;
 import com.kaua.ecommerce.customer.domain.address.Title;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ColumnSpec;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.DatabaseClient;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcUtils;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.RowMap;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlParams;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlStatement;
 import com.kaua.ecommerce.lib.domain.pagination.PaginationMetadata;
 import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 import com.kaua.ecommerce.lib.infrastructure.exceptions.ConflictException;
@@ -20,7 +25,6 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
 import java.util.*;
 
 @Repository
@@ -28,12 +32,137 @@ public class AddressJdbcRepository implements AddressRepository {
 
     private static final Logger log = LoggerFactory.getLogger(AddressJdbcRepository.class);
 
+    public static final String INVALIDATION_CACHE = "addresses";
+
     private static final String CUSTOMER_COLUMN = "customerId";
 
+    private static final ColumnSpec COLUMNS = new ColumnSpec();
+    private static final ColumnSpec.Column ID = COLUMNS.column("id");
+    private static final ColumnSpec.Column VERSION = COLUMNS.column("version");
+    private static final ColumnSpec.Column TITLE = COLUMNS.column("title");
+    private static final ColumnSpec.Column CUSTOMER_ID = COLUMNS.column("customer_id");
+    private static final ColumnSpec.Column ZIP_CODE = COLUMNS.column("zip_code");
+    private static final ColumnSpec.Column NUMBER = COLUMNS.column("number");
+    private static final ColumnSpec.Column STREET = COLUMNS.column("street");
+    private static final ColumnSpec.Column CITY = COLUMNS.column("city");
+    private static final ColumnSpec.Column DISTRICT = COLUMNS.column("district");
+    private static final ColumnSpec.Column COUNTRY = COLUMNS.column("country");
+    private static final ColumnSpec.Column STATE = COLUMNS.column("state");
+    private static final ColumnSpec.Column COMPLEMENT = COLUMNS.column("complement");
+    private static final ColumnSpec.Column IS_DEFAULT = COLUMNS.column("is_default");
+    private static final ColumnSpec.Column CREATED_AT = COLUMNS.column("created_at");
+    private static final ColumnSpec.Column UPDATED_AT = COLUMNS.column("updated_at");
+
+    private static final SqlStatement ADDRESS_OF_ID = SqlStatement.of(
+            "addresses.addressOfId",
+            "SELECT * FROM addresses WHERE id = :id"
+    );
+
+    private static final SqlStatement DEFAULT_ADDRESS_OF_CUSTOMER = SqlStatement.of(
+            "addresses.addressByCustomerIdAndIsDefaultTrue",
+            "SELECT * FROM addresses WHERE customer_id = :customerId AND is_default = true"
+    );
+
+    private static final SqlStatement ADDRESSES_OF_CUSTOMER = SqlStatement.of(
+            "addresses.addressesOfCustomer",
+            "SELECT * FROM addresses WHERE customer_id = :customerId"
+    );
+
+    private static final SqlStatement VERSION_OF_ID = SqlStatement.of(
+            "addresses.versionOfId",
+            "SELECT version FROM addresses WHERE id = :id"
+    );
+
+    private static final SqlStatement DEFAULT_ADDRESS_VERSION_OF_CUSTOMER = SqlStatement.of(
+            "addresses.defaultAddressVersionOfCustomer",
+            "SELECT id, version FROM addresses WHERE customer_id = :customerId AND is_default = true"
+    );
+
+    private static final SqlStatement COUNT_BY_CUSTOMER = SqlStatement.of(
+            "addresses.countByCustomerId",
+            "SELECT COUNT(*) FROM addresses WHERE customer_id = :customerId"
+    );
+
+    private static final SqlStatement EXISTS_DEFAULT_BY_CUSTOMER = SqlStatement.of(
+            "addresses.existsByCustomerIdAndIsDefaultTrue",
+            "SELECT COUNT(*) FROM addresses WHERE customer_id = :customerId AND is_default = true"
+    );
+
+    private static final SqlStatement SUMMARY_OF_CUSTOMER = SqlStatement.of(
+            "addresses.addressSummaryOfCustomer",
+            "SELECT COUNT(*), COALESCE(SUM(CASE WHEN is_default THEN 1 ELSE 0 END), 0) FROM addresses WHERE customer_id = :customerId"
+    );
+
+    private static final SqlStatement CUSTOMER_OF_ADDRESS = SqlStatement.of(
+            "addresses.customerOfAddress",
+            "SELECT customer_id FROM addresses WHERE id = :id"
+    );
+
+    private static final SqlStatement DELETE = SqlStatement.of(
+            "addresses.delete",
+            "DELETE FROM addresses WHERE id = :id"
+    );
+
+    private static final SqlStatement INSERT = SqlStatement.of("addresses.insert", """
+            INSERT INTO addresses (id, version, title, customer_id, zip_code, number, street, city, district, country, state, complement, is_default, created_at, updated_at)
+            VALUES (:id, (:version + 1), :title, :customerId, :zipCode, :number, :street, :city, :district, :country, :state, :complement, :isDefault, :createdAt, :updatedAt)
+            """);
+
+    private static final SqlStatement UPDATE = SqlStatement.of("addresses.update", """
+            UPDATE addresses
+            SET
+                version = :version + 1,
+                title = :title,
+                customer_id = :customerId,
+                zip_code = :zipCode,
+                number = :number,
+                street = :street,
+                city = :city,
+                district = :district,
+                country = :country,
+                state = :state,
+                complement = :complement,
+                is_default = :isDefault,
+                updated_at = :updatedAt
+            WHERE id = :id AND version = :version
+            """);
+
+    // serializa escritas concorrentes do mesmo customer, senao duas transacoes podem passar pela mesma checagem
+    private static final SqlStatement LOCK_CUSTOMER = SqlStatement.of(
+            "addresses.lockCustomer",
+            "SELECT id FROM customers WHERE id = :customerId FOR UPDATE"
+    );
+
+    private static final SqlStatement INSERT_IF_ALLOWED = SqlStatement.of("addresses.insertIfAllowed", """
+            INSERT INTO addresses (id, version, title, customer_id, zip_code, number, street, city, district, country, state, complement, is_default, created_at, updated_at)
+            SELECT CAST(:id AS UUID), (:version + 1), CAST(:title AS VARCHAR), CAST(:customerId AS UUID), CAST(:zipCode AS VARCHAR),
+                CAST(:number AS VARCHAR), CAST(:street AS VARCHAR), CAST(:city AS VARCHAR), CAST(:district AS VARCHAR),
+                CAST(:country AS VARCHAR), CAST(:state AS VARCHAR), CAST(:complement AS VARCHAR), CAST(:isDefault AS BOOLEAN),
+                CAST(:createdAt AS TIMESTAMP WITH TIME ZONE), CAST(:updatedAt AS TIMESTAMP WITH TIME ZONE)
+            WHERE (SELECT COUNT(*) FROM addresses WHERE customer_id = :customerId) < :maxAddresses
+            AND (:isDefault = false OR NOT EXISTS (SELECT 1 FROM addresses WHERE customer_id = :customerId AND is_default = true))
+            """);
+
+    private static final SqlStatement MAKE_DEFAULT = SqlStatement.of("addresses.makeDefault", """
+            UPDATE addresses
+            SET
+                version = version + 1,
+                is_default = (id = :id),
+                updated_at = :updatedAt
+            WHERE customer_id = :customerId
+            AND (id = :id OR is_default = true)
+            AND EXISTS (SELECT 1 FROM addresses a WHERE a.id = :id AND a.customer_id = :customerId AND a.version = :version)
+            """);
+
+    // coluna x direcao x primeira pagina/depois do cursor (3 x 2 x 2), montados uma vez e nao a cada busca
+    private static final Map<String, SqlStatement[]> PAGE_STATEMENTS = pageStatements();
+
     private final DatabaseClient databaseClient;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
-    public AddressJdbcRepository(final DatabaseClient databaseClient) {
+    public AddressJdbcRepository(final DatabaseClient databaseClient, final CacheInvalidationBus cacheInvalidationBus) {
         this.databaseClient = Objects.requireNonNull(databaseClient);
+        this.cacheInvalidationBus = Objects.requireNonNull(cacheInvalidationBus);
     }
 
     @Override
@@ -50,152 +179,347 @@ public class AddressJdbcRepository implements AddressRepository {
         }
 
         aAddress.incrementVersion();
+        publishInvalidation(aAddress.getId(), aAddress.getCustomerId(), aAddress.getVersion());
+        return aAddress;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<Address> saveAll(final List<Address> aAddresses) {
+        if (aAddresses.isEmpty()) {
+            return aAddresses;
+        }
+
+        // updates antes dos inserts, assim um default desmarcado no mesmo lote nunca convive com o novo default
+        final var aToUpdate = aAddresses.stream().filter(it -> it.getVersion() > 0).toList();
+        final var aToCreate = aAddresses.stream().filter(it -> it.getVersion() == 0).toList();
+
+        log.debug("Saving addresses in batch [toCreate:{}] [toUpdate:{}]", aToCreate.size(), aToUpdate.size());
+
+        if (!aToUpdate.isEmpty()) {
+            final var aCounts = this.databaseClient.batchUpdate(UPDATE, aToUpdate.stream().map(it -> toParams(UPDATE, it)).toList());
+
+            if (!JdbcUtils.allRowsAffected(aCounts)) {
+                throw ConflictException.with("Address version does not match, address was updated by another user");
+            }
+        }
+
+        if (!aToCreate.isEmpty()) {
+            this.databaseClient.batchUpdate(INSERT, aToCreate.stream().map(it -> toParams(INSERT, it)).toList());
+        }
+
+        aAddresses.forEach(Address::incrementVersion);
+        aAddresses.forEach(it -> publishInvalidation(it.getId(), it.getCustomerId(), it.getVersion()));
+
+        log.info("Addresses saved in batch [toCreate:{}] [toUpdate:{}]", aToCreate.size(), aToUpdate.size());
+        return aAddresses;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public CreateAddressOutcome createIfAllowed(final Address aAddress, final int maxAddresses) {
+        lockCustomer(aAddress.getCustomerId());
+
+        final var aParams = toParams(INSERT_IF_ALLOWED, aAddress).set("maxAddresses", maxAddresses);
+
+        if (this.databaseClient.update(aParams) == 1) {
+            aAddress.incrementVersion();
+            publishInvalidation(aAddress.getId(), aAddress.getCustomerId(), aAddress.getVersion());
+            log.info("Address created: {}", aAddress);
+            return CreateAddressOutcome.CREATED;
+        }
+
+        // so no caminho de rejeicao, para devolver o mesmo motivo da checagem antiga
+        final var aOutcome = countByCustomerId(aAddress.getCustomerId()) >= maxAddresses
+                ? CreateAddressOutcome.LIMIT_REACHED
+                : CreateAddressOutcome.DEFAULT_ALREADY_EXISTS;
+
+        log.debug("Address not created [customerId:{}] [outcome:{}]", aAddress.getCustomerId().value(), aOutcome);
+        return aOutcome;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public Address makeDefault(final Address aAddress) {
+        lockCustomer(aAddress.getCustomerId());
+
+        final var aParams = MAKE_DEFAULT.params()
+                .set("id", aAddress.getId().value())
+                .set(CUSTOMER_COLUMN, aAddress.getCustomerId().value())
+                .set("version", aAddress.getVersion())
+                .set("updatedAt", JdbcUtils.toOffsetDateTime(aAddress.getUpdatedAt()));
+
+        // o proprio UPDATE devolve id e versao nova de cada linha alterada (o alvo e o default anterior)
+        final var aChanged = this.databaseClient.updateReturning(
+                aParams,
+                rs -> new AddressVersion(new AddressId(JdbcUtils.getUUID(rs, 1)), rs.getLong(2)),
+                "id", "version"
+        );
+
+        if (aChanged.isEmpty()) {
+            throw ConflictException.with("Address version does not match, address was updated by another user");
+        }
+
+        aAddress.incrementVersion();
+        aChanged.forEach(it -> publishInvalidation(it.addressId(), aAddress.getCustomerId(), it.version()));
+        log.info("Address marked as default: {}", aAddress);
         return aAddress;
     }
 
     @Override
     public Optional<Address> addressOfId(final AddressId aAddressId) {
-        final var aSql = "SELECT * FROM addresses WHERE id = :id";
-        return this.databaseClient.queryOne(aSql, Map.of("id", aAddressId.value()), addressMapper());
+        return this.databaseClient.queryOne(ADDRESS_OF_ID.with(aAddressId.value()), addressMapper());
     }
 
     @Override
     public Optional<Address> addressByCustomerIdAndIsDefaultTrue(final CustomerId aCustomerId) {
-        final var aSql = "SELECT * FROM addresses WHERE customer_id = :customerId AND is_default = true";
-        return this.databaseClient.queryOne(aSql, Map.of(CUSTOMER_COLUMN, aCustomerId.value()), addressMapper());
+        return this.databaseClient.queryOne(DEFAULT_ADDRESS_OF_CUSTOMER.with(aCustomerId.value()), addressMapper());
+    }
+
+    @Override
+    public List<Address> addressesOfCustomer(final CustomerId aCustomerId) {
+        return this.databaseClient.query(ADDRESSES_OF_CUSTOMER.with(aCustomerId.value()), addressMapper());
+    }
+
+    @Override
+    public Optional<Long> versionOfId(final AddressId aAddressId) {
+        return this.databaseClient.queryOne(VERSION_OF_ID.with(aAddressId.value()), rs -> rs.getLong(1));
+    }
+
+    @Override
+    public Optional<AddressVersion> defaultAddressVersionOfCustomer(final CustomerId aCustomerId) {
+        return this.databaseClient.queryOne(
+                DEFAULT_ADDRESS_VERSION_OF_CUSTOMER.with(aCustomerId.value()),
+                rs -> new AddressVersion(new AddressId(JdbcUtils.getUUID(rs, 1)), rs.getLong(2))
+        );
     }
 
     @Override
     public int countByCustomerId(final CustomerId aCustomerId) {
-        final var aSql = "SELECT COUNT(*) FROM addresses WHERE customer_id = :customerId";
-        return this.databaseClient.count(aSql, Map.of(CUSTOMER_COLUMN, aCustomerId.value()));
+        return this.databaseClient.count(COUNT_BY_CUSTOMER.with(aCustomerId.value()));
     }
 
     @Override
     public boolean existsByCustomerIdAndIsDefaultTrue(final CustomerId aCustomerId) {
-        final var aSql = "SELECT COUNT(*) FROM addresses WHERE customer_id = :customerId AND is_default = true";
-        return this.databaseClient.count(aSql, Map.of(CUSTOMER_COLUMN, aCustomerId.value())) > 0;
+        return this.databaseClient.count(EXISTS_DEFAULT_BY_CUSTOMER.with(aCustomerId.value())) > 0;
+    }
+
+    @Override
+    public AddressSummary addressSummaryOfCustomer(final CustomerId aCustomerId) {
+        return this.databaseClient.queryOne(
+                SUMMARY_OF_CUSTOMER.with(aCustomerId.value()),
+                rs -> new AddressSummary(rs.getInt(1), rs.getInt(2) > 0)
+        ).orElseThrow();
     }
 
     @Override
-    public Pagination<Address> addressesByCustomerId(
+    public CursorPagination<Address> addressesByCustomerId(
             final CustomerId customerId,
-            final SearchQuery searchQuery
+            final SearchQuery searchQuery,
+            final String cursor
     ) {
-        final var aSqlRetrieve = """
-                SELECT * FROM addresses
-                WHERE customer_id = :customerId
-                AND (:terms IS NULL OR LOWER(title) LIKE LOWER(:terms))
-                ORDER BY
-                CASE WHEN :sort IN ('title', 'created_at', 'updated_at') THEN :sort ELSE title END
-                """ + Sort.Direction.fromString(searchQuery.direction()).name() + """
-                 LIMIT :limit OFFSET (:offset)
-                """;
+        final var aSort = AddressCursor.sortColumnOf(searchQuery.sort());
+        final var aDirection = Sort.Direction.fromOptionalString(searchQuery.direction()).orElse(Sort.Direction.ASC);
+        final var aCursor = StringUtils.isNotEmpty(cursor) ? AddressCursor.decode(cursor, aSort, aDirection) : null;
+        final var aPerPage = searchQuery.perPage();
 
         // Example: page = 1, perPage = 10, offset = 0 or page = 2, perPage = 10, offset = 10, offset speak to db where to start
-        final var aOffset = Math.max(0, (searchQuery.page() - 1) * searchQuery.perPage());
+        // com cursor a pagina comeca logo depois dele, page e ignorado
+        final var aOffset = aCursor == null ? Math.max(0, (searchQuery.page() - 1) * aPerPage) : 0;
         final var aTerms = StringUtils.isNotEmpty(searchQuery.terms())
-                ? "%" + searchQuery.terms() + "%"
+                ? "%" + escapeLike(searchQuery.terms()) + "%"
                 : null;
 
-        final Map<String, Object> aParams = new HashMap<>();
-        aParams.put(CUSTOMER_COLUMN, customerId.value());
-        aParams.put("terms", aTerms);
-        aParams.put("sort", searchQuery.sort());
-        aParams.put("limit", searchQuery.perPage());
-        aParams.put("offset", aOffset);
+        final var aStatement = pageStatement(aSort, aDirection, aCursor != null);
+        final var aParams = aStatement.params()
+                .set(CUSTOMER_COLUMN, customerId.value())
+                .set("terms", aTerms)
+                .set("limit", aPerPage + 1)
+                .set("offset", aOffset);
+
+        if (aCursor != null) {
+            aParams.set("cursorValue", aCursor.boundValue()).set("cursorId", aCursor.id());
+        }
 
-        final var aItems = this.databaseClient.query(aSqlRetrieve, aParams, addressMapper());
+        final var aAddressMapper = addressMapper();
+        // total vem em toda linha; sem itens na pagina volta uma unica linha com page.* nulo
+        final var aRows = this.databaseClient.query(aParams, rs -> new PageRow(
+                rs.getInt(1),
+                rs.getObject(2) == null ? null : aAddressMapper.mapRow(rs)
+        ));
+
+        final var aTotalItems = aRows.isEmpty() ? 0 : aRows.get(0).totalItems();
+        final var aFound = aRows.stream()
+                .map(PageRow::address)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // buscamos perPage + 1 so para saber se existe proxima pagina
+        final var aHasNext = aPerPage > 0 && aFound.size() > aPerPage;
+        final var aItems = aHasNext ? aFound.subList(0, aPerPage) : aFound;
+        final var aNextCursor = aHasNext
+                ? AddressCursor.after(aItems.get(aItems.size() - 1), aSort, aDirection).encode()
+                : null;
 
-        final var aTotalPages = (int) Math.ceil((double) aItems.size() / searchQuery.perPage());
+        final var aTotalPages = aPerPage > 0 ? (int) Math.ceil((double) aTotalItems / aPerPage) : 0;
 
         final var aMetadata = new PaginationMetadata(
-                searchQuery.page(),
-                searchQuery.perPage(),
+                AddressCursor.pageOf(aCursor, searchQuery.page()),
+                aPerPage,
                 aTotalPages,
-                aItems.size()
+                aTotalItems
         );
 
-        return new Pagination<>(aMetadata, aItems);
+        return new CursorPagination<>(aMetadata, aItems, aNextCursor);
     }
 
     @Override
+    @Transactional(propagation = Propagation.REQUIRED)
     public void delete(final AddressId addressId) {
-        final var aSql = "DELETE FROM addresses WHERE id = :id";
-        this.databaseClient.update(aSql, Map.of("id", addressId.value()));
+        final var aCustomerId = this.databaseClient.queryOne(
+                CUSTOMER_OF_ADDRESS.with(addressId.value()),
+                rs -> new CustomerId(JdbcUtils.getUUID(rs, 1))
+        );
+
+        if (this.databaseClient.update(DELETE.with(addressId.value())) > 0) {
+            aCustomerId.ifPresent(it -> publishInvalidation(addressId, it, CacheInvalidation.DELETED));
+        }
+    }
+
+    private void publishInvalidation(final AddressId aAddressId, final CustomerId aCustomerId, final long aVersion) {
+        this.cacheInvalidationBus.publish(CacheInvalidation.of(
+                INVALIDATION_CACHE,
+                aVersion,
+                aAddressId.value(),
+                aCustomerId.value()
+        ));
+    }
+
+    private record PageRow(int totalItems, Address address) {
+    }
+
+    private void lockCustomer(final CustomerId aCustomerId) {
+        this.databaseClient.query(LOCK_CUSTOMER.with(aCustomerId.value()), rs -> rs.getObject(1));
     }
 
     private void create(final Address aAddress) {
-        final var aSql = """
-                INSERT INTO addresses (id, version, title, customer_id, zip_code, number, street, city, district, country, state, complement, is_default, created_at, updated_at)
-                VALUES (:id, (:version + 1), :title, :customerId, :zipCode, :number, :street, :city, :district, :country, :state, :complement, :isDefault, :createdAt, :updatedAt)
-                """;
-        executeUpdate(aSql, aAddress);
+        executeUpdate(INSERT, aAddress);
     }
 
     private void update(final Address aAddress) {
-        final var aSql = """
-                UPDATE addresses
-                SET
-                    version = :version + 1,
-                    title = :title,
-                    customer_id = :customerId,
-                    zip_code = :zipCode,
-                    number = :number,
-                    street = :street,
-                    city = :city,
-                    district = :district,
-                    country = :country,
-                    state = :state,
-                    complement = :complement,
-                    is_default = :isDefault,
-                    updated_at = :updatedAt
-                WHERE id = :id AND version = :version
-                """;
-
-        if (executeUpdate(aSql, aAddress) == 0) {
+        if (executeUpdate(UPDATE, aAddress) == 0) {
             throw ConflictException.with("Address version does not match, address was updated by another user");
         }
     }
 
-    private int executeUpdate(final String sql, final Address aAddress) {
-        final var aParams = new HashMap<String, Object>();
-        aParams.put("id", aAddress.getId().value());
-        aParams.put("version", aAddress.getVersion());
-        aParams.put("title", aAddress.getTitle().value());
-        aParams.put(CUSTOMER_COLUMN, aAddress.getCustomerId().value());
-        aParams.put("zipCode", aAddress.getZipCode());
-        aParams.put("number", aAddress.getNumber());
-        aParams.put("street", aAddress.getStreet());
-        aParams.put("city", aAddress.getCity());
-        aParams.put("district", aAddress.getDistrict());
-        aParams.put("country", aAddress.getCountry());
-        aParams.put("state", aAddress.getState());
-        aParams.put("complement", aAddress.getComplement().orElse(null));
-        aParams.put("isDefault", aAddress.isDefault());
-        aParams.put("createdAt", Timestamp.from(aAddress.getCreatedAt()));
-        aParams.put("updatedAt", Timestamp.from(aAddress.getUpdatedAt()));
-
-        return this.databaseClient.update(sql, aParams);
-    }
-
-    private RowMap<Address> addressMapper() {
-        return rs -> Address.with(
-                new AddressId(UUID.fromString(rs.getString("id"))),
-                rs.getLong("version"),
-                new Title(rs.getString("title")),
-                new CustomerId(UUID.fromString(rs.getString("customer_id"))),
-                rs.getString("zip_code"),
-                rs.getString("number"),
-                rs.getString("street"),
-                rs.getString("city"),
-                rs.getString("district"),
-                rs.getString("country"),
-                rs.getString("state"),
-                rs.getString("complement"),
-                rs.getBoolean("is_default"),
-                JdbcUtils.getInstant(rs, "created_at"),
-                JdbcUtils.getInstant(rs, "updated_at")
-        );
+    private int executeUpdate(final SqlStatement statement, final Address aAddress) {
+        return this.databaseClient.update(toParams(statement, aAddress));
+    }
+
+    private SqlParams toParams(final SqlStatement statement, final Address aAddress) {
+        final var aParams = statement.params()
+                .set("id", aAddress.getId().value())
+                .set("version", aAddress.getVersion())
+                .set("title", aAddress.getTitle().value())
+                .set(CUSTOMER_COLUMN, aAddress.getCustomerId().value())
+                .set("zipCode", aAddress.getZipCode())
+                .set("number", aAddress.getNumber())
+                .set("street", aAddress.getStreet())
+                .set("city", aAddress.getCity())
+                .set("district", aAddress.getDistrict())
+                .set("country", aAddress.getCountry())
+                .set("state", aAddress.getState())
+                .set("complement", aAddress.getComplement().orElse(null))
+                .set("isDefault", aAddress.isDefault())
+                .set("updatedAt", JdbcUtils.toOffsetDateTime(aAddress.getUpdatedAt()));
+
+        if (statement == INSERT || statement == INSERT_IF_ALLOWED) {
+            aParams.set("createdAt", JdbcUtils.toOffsetDateTime(aAddress.getCreatedAt()));
+        }
+
+        return aParams;
+    }
+
+    // % e _ digitados pelo usuario sao texto, nao curinga
+    static String escapeLike(final String terms) {
+        return terms.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static SqlStatement pageStatement(
+            final String sortColumn,
+            final Sort.Direction direction,
+            final boolean afterCursor
+    ) {
+        return PAGE_STATEMENTS.get(sortColumn)[pageSlot(direction, afterCursor)];
+    }
+
+    private static int pageSlot(final Sort.Direction direction, final boolean afterCursor) {
+        return direction.ordinal() * 2 + (afterCursor ? 1 : 0);
+    }
+
+    private static Map<String, SqlStatement[]> pageStatements() {
+        final var aStatements = new HashMap<String, SqlStatement[]>();
+        for (final var aSort : AddressCursor.sortColumns()) {
+            final var aBySlot = new SqlStatement[Sort.Direction.values().length * 2];
+            for (final var aDirection : Sort.Direction.values()) {
+                aBySlot[pageSlot(aDirection, false)] = buildPageStatement(aSort, aDirection, false);
+                aBySlot[pageSlot(aDirection, true)] = buildPageStatement(aSort, aDirection, true);
+            }
+            aStatements.put(aSort, aBySlot);
+        }
+        return Map.copyOf(aStatements);
+    }
+
+    private static SqlStatement buildPageStatement(
+            final String sortColumn,
+            final Sort.Direction direction,
+            final boolean afterCursor
+    ) {
+        final var aOrder = direction.name();
+        final var aKeyset = afterCursor
+                ? "AND (%s, id) %s (:cursorValue, :cursorId)".formatted(sortColumn, direction.isAscending() ? ">" : "<")
+                : "";
+        final var aName = "addresses.addressesByCustomerId.%s.%s.%s"
+                .formatted(sortColumn, aOrder.toLowerCase(), afterCursor ? "afterCursor" : "firstPage");
+
+        return SqlStatement.of(aName, """
+                WITH filtered AS (
+                    SELECT * FROM addresses
+                    WHERE customer_id = :customerId
+                    AND (:terms IS NULL OR LOWER(title) LIKE LOWER(:terms) ESCAPE '\\')
+                ),
+                total AS (
+                    SELECT COUNT(*) AS total_items FROM filtered
+                ),
+                page AS (
+                    SELECT * FROM filtered
+                    WHERE 1 = 1 %s
+                    ORDER BY %s %s, id %s
+                    LIMIT :limit OFFSET :offset
+                )
+                SELECT total.total_items, page.*
+                FROM total LEFT JOIN page ON 1 = 1
+                ORDER BY page.%s %s, page.id %s
+                """.formatted(aKeyset, sortColumn, aOrder, aOrder, aOrder, sortColumn, aOrder, aOrder));
+    }
+
+    static RowMap<Address> addressMapper() {
+        return COLUMNS.mapper((rs, columns) -> Address.with(
+                new AddressId(JdbcUtils.getUUID(rs, columns.of(ID))),
+                rs.getLong(columns.of(VERSION)),
+                new Title(rs.getString(columns.of(TITLE))),
+                new CustomerId(JdbcUtils.getUUID(rs, columns.of(CUSTOMER_ID))),
+                rs.getString(columns.of(ZIP_CODE)),
+                rs.getString(columns.of(NUMBER)),
+                rs.getString(columns.of(STREET)),
+                rs.getString(columns.of(CITY)),
+                rs.getString(columns.of(DISTRICT)),
+                rs.getString(columns.of(COUNTRY)),
+                rs.getString(columns.of(STATE)),
+                rs.getString(columns.of(COMPLEMENT)),
+                rs.getBoolean(columns.of(IS_DEFAULT)),
+                JdbcUtils.getInstant(rs, columns.of(CREATED_AT)),
+                JdbcUtils.getInstant(rs, columns.of(UPDATED_AT))
+        ));
     }
 }
@@ -0,0 +1,92 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.LookupBatcher;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.PrimaryPin;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Leituras de customer por userId que chegam juntas viram uma unica consulta "idp_user_id = ANY(:ids)".
+ * So agrupa fora de transacao e sem o primary fixado: o lote roda na thread do lider, fora da transacao e da
+ * conexao de quem espera, e segue o roteamento do lider (replica quando saudavel). O resto vai direto ao delegate.
+ */
+public class BatchingCustomerRepository implements CustomerRepository {
+
+    public static final String LOOKUP_NAME = "customers.customerOfUserId";
+
+    private final CustomerJdbcRepository delegate;
+    private final LookupBatcher<UserId, Customer> customersOfUserId;
+
+    public BatchingCustomerRepository(
+            final CustomerJdbcRepository delegate,
+            final Duration window,
+            final int maxBatchSize,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.customersOfUserId = new LookupBatcher<>(LOOKUP_NAME, window, maxBatchSize, userIds -> {
+            final var aCustomers = new HashMap<UserId, Customer>(userIds.size() * 2);
+            this.delegate.customersOfUserIds(userIds).forEach(it -> aCustomers.put(it.getUserId(), it));
+            return aCustomers;
+        }, meterRegistry);
+    }
+
+    @Override
+    public CustomerId nextId() {
+        return this.delegate.nextId();
+    }
+
+    @Override
+    public boolean existsByEmail(final String email) {
+        return this.delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByDocument(final String documentNumber) {
+        return this.delegate.existsByDocument(documentNumber);
+    }
+
+    @Override
+    public Customer save(final Customer customer) {
+        return this.delegate.save(customer);
+    }
+
+    @Override
+    public List<Customer> saveAll(final List<Customer> customers) {
+        return this.delegate.saveAll(customers);
+    }
+
+    @Override
+    public Optional<Customer> customerOfId(final CustomerId customerId) {
+        return this.delegate.customerOfId(customerId);
+    }
+
+    @Override
+    public Optional<Customer> customerOfUserId(final UserId userId) {
+        if (userId == null || TransactionSynchronizationManager.isActualTransactionActive() || PrimaryPin.isPinned()) {
+            return this.delegate.customerOfUserId(userId);
+        }
+        // chaves repetidas no mesmo lote recebem a mesma instancia, e Customer e mutavel
+        return this.customersOfUserId.load(userId).map(CachedCustomerRepository::copyOf);
+    }
+
+    @Override
+    public Optional<Long> versionOfId(final CustomerId customerId) {
+        return this.delegate.versionOfId(customerId);
+    }
+
+    @Override
+    public Optional<Long> versionOfUserId(final UserId userId) {
+        return this.delegate.versionOfUserId(userId);
+    }
+}
@@ -0,0 +1,332 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
+import com.kaua.ecommerce.customer.domain.address.Address;
+import com.kaua.ecommerce.customer.domain.address.AddressId;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.PrimaryPin;
+import com.kaua.ecommerce.lib.domain.pagination.PaginationMetadata;
+import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Guarda o conjunto inteiro de enderecos de cada customer (no maximo 5) como uma unica entrada.
+ * Listagem, endereco default, contagem e existencia de default saem da memoria, com filtro, ordem e paginacao aqui.
+ * Toda escrita descarta o conjunto do customer antes e depois do commit; outros nos descartam pelo CacheInvalidationBus.
+ * Uma carga so entra no cache se nenhuma eviction do customer aconteceu durante ela nem dentro do atraso maximo da
+ * replica antes dela: quem carregou o conjunto antigo (ou de uma replica atrasada) nao o devolve depois da eviction.
+ */
+public class CachedAddressRepository implements AddressRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedAddressRepository.class);
+
+    public static final String CACHE_NAME = "customer_addresses";
+
+    // evictions sao marcadas por faixa de customers, colisao so faz uma carga deixar de entrar no cache
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final AddressRepository delegate;
+    private final Cache<CustomerId, List<Address>> cache;
+    private final long replicaLagNanos;
+    private final AtomicLongArray evictedAt = new AtomicLongArray(EVICTION_STRIPES);
+
+    public CachedAddressRepository(
+            final AddressRepository delegate,
+            final long maximumSize,
+            final Duration ttl,
+            final Duration replicaLag,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Objects.requireNonNull(ttl))
+                .recordStats()
+                .build();
+        this.replicaLagNanos = Objects.requireNonNull(replicaLag).toNanos();
+        markEvicted(System.nanoTime() - this.replicaLagNanos - 1);
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.cache, CACHE_NAME);
+        subscribe(Objects.requireNonNull(cacheInvalidationBus));
+    }
+
+    @Override
+    public Address save(final Address address) {
+        evict(address.getCustomerId());
+        final var aSaved = this.delegate.save(address);
+        evictAfterCommit(address.getCustomerId());
+        return aSaved;
+    }
+
+    @Override
+    public List<Address> saveAll(final List<Address> addresses) {
+        final var aCustomerIds = addresses.stream().map(Address::getCustomerId).distinct().toList();
+        aCustomerIds.forEach(this::evict);
+        final var aSaved = this.delegate.saveAll(addresses);
+        aCustomerIds.forEach(this::evictAfterCommit);
+        return aSaved;
+    }
+
+    @Override
+    public CreateAddressOutcome createIfAllowed(final Address address, final int maxAddresses) {
+        // limite e default continuam sendo decididos no insert, um conjunto atrasado nao pode recusar um endereco
+        evict(address.getCustomerId());
+        final var aOutcome = this.delegate.createIfAllowed(address, maxAddresses);
+        evictAfterCommit(address.getCustomerId());
+        return aOutcome;
+    }
+
+    @Override
+    public Address makeDefault(final Address address) {
+        evict(address.getCustomerId());
+        final var aSaved = this.delegate.makeDefault(address);
+        evictAfterCommit(address.getCustomerId());
+        return aSaved;
+    }
+
+    @Override
+    public void delete(final AddressId addressId) {
+        // o customer do endereco so e conhecido pelos conjuntos em cache, e so eles precisam ser descartados
+        final var aCustomerIds = this.cache.asMap().entrySet().stream()
+                .filter(it -> it.getValue().stream().anyMatch(address -> address.getId().equals(addressId)))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        aCustomerIds.forEach(this::evict);
+        this.delegate.delete(addressId);
+        aCustomerIds.forEach(this::evictAfterCommit);
+    }
+
+    @Override
+    public Optional<Address> addressOfId(final AddressId addressId) {
+        return this.delegate.addressOfId(addressId);
+    }
+
+    @Override
+    public Optional<Long> versionOfId(final AddressId addressId) {
+        return this.delegate.versionOfId(addressId);
+    }
+
+    @Override
+    public Optional<Address> addressByCustomerIdAndIsDefaultTrue(final CustomerId customerId) {
+        if (isReadWriteTransaction()) {
+            return this.delegate.addressByCustomerIdAndIsDefaultTrue(customerId);
+        }
+        return defaultOf(addressesOf(customerId)).map(CachedAddressRepository::copyOf);
+    }
+
+    @Override
+    public List<Address> addressesOfCustomer(final CustomerId customerId) {
+        if (isReadWriteTransaction()) {
+            return this.delegate.addressesOfCustomer(customerId);
+        }
+        return addressesOf(customerId).stream().map(CachedAddressRepository::copyOf).toList();
+    }
+
+    @Override
+    public Optional<AddressVersion> defaultAddressVersionOfCustomer(final CustomerId customerId) {
+        // com o primary fixado por uma escrita no request a versao tambem nao pode vir do cache
+        if (isReadWriteTransaction() || PrimaryPin.isPinned()) {
+            return this.delegate.defaultAddressVersionOfCustomer(customerId);
+        }
+        return defaultOf(addressesOf(customerId)).map(it -> new AddressVersion(it.getId(), it.getVersion()));
+    }
+
+    @Override
+    public int countByCustomerId(final CustomerId customerId) {
+        if (isReadWriteTransaction()) {
+            return this.delegate.countByCustomerId(customerId);
+        }
+        return addressesOf(customerId).size();
+    }
+
+    @Override
+    public boolean existsByCustomerIdAndIsDefaultTrue(final CustomerId customerId) {
+        if (isReadWriteTransaction()) {
+            return this.delegate.existsByCustomerIdAndIsDefaultTrue(customerId);
+        }
+        return defaultOf(addressesOf(customerId)).isPresent();
+    }
+
+    // nunca do conjunto em cache: um conjunto atrasado nao pode recusar um endereco novo
+    @Override
+    public AddressSummary addressSummaryOfCustomer(final CustomerId customerId) {
+        return this.delegate.addressSummaryOfCustomer(customerId);
+    }
+
+    @Override
+    public CursorPagination<Address> addressesByCustomerId(
+            final CustomerId customerId,
+            final SearchQuery searchQuery,
+            final String cursor
+    ) {
+        final var aSort = AddressCursor.sortColumnOf(searchQuery.sort());
+
+        // ordem e filtro por titulo seguem a collation e o LIKE do banco, que a memoria nao reproduz
+        if (isReadWriteTransaction()
+                || AddressCursor.DEFAULT_SORT.equals(aSort)
+                || StringUtils.isNotEmpty(searchQuery.terms())) {
+            return this.delegate.addressesByCustomerId(customerId, searchQuery, cursor);
+        }
+
+        final var aDirection = Sort.Direction.fromOptionalString(searchQuery.direction()).orElse(Sort.Direction.ASC);
+        final var aCursor = StringUtils.isNotEmpty(cursor) ? AddressCursor.decode(cursor, aSort, aDirection) : null;
+        final var aPerPage = searchQuery.perPage();
+        final var aOffset = aCursor == null ? Math.max(0, (searchQuery.page() - 1) * aPerPage) : 0;
+
+        final var aAddresses = addressesOf(customerId);
+
+        // mesma regra da consulta: total conta todos os enderecos, a pagina comeca depois do cursor ou no offset
+        final var aFound = aAddresses.stream()
+                .filter(it -> aCursor == null || aCursor.precedes(it))
+                .sorted(AddressCursor.orderOf(aSort, aDirection))
+                .skip(aOffset)
+                .limit(aPerPage + 1L)
+                .map(CachedAddressRepository::copyOf)
+                .toList();
+
+        final var aHasNext = aPerPage > 0 && aFound.size() > aPerPage;
+        final var aItems = aHasNext ? aFound.subList(0, aPerPage) : aFound;
+        final var aNextCursor = aHasNext
+                ? AddressCursor.after(aItems.get(aItems.size() - 1), aSort, aDirection).encode()
+                : null;
+
+        final var aTotalItems = aAddresses.size();
+        final var aTotalPages = aPerPage > 0 ? (int) Math.ceil((double) aTotalItems / aPerPage) : 0;
+
+        final var aMetadata = new PaginationMetadata(
+                AddressCursor.pageOf(aCursor, searchQuery.page()),
+                aPerPage,
+                aTotalPages,
+                aTotalItems
+        );
+
+        return new CursorPagination<>(aMetadata, aItems, aNextCursor);
+    }
+
+    private List<Address> addressesOf(final CustomerId customerId) {
+        final var aCached = this.cache.getIfPresent(customerId);
+        if (aCached != null) {
+            return aCached;
+        }
+
+        final var aLoadStart = System.nanoTime();
+        final var aLoaded = this.delegate.addressesOfCustomer(customerId).stream()
+                .map(CachedAddressRepository::copyOf)
+                .toList();
+
+        if (isCacheable(customerId, aLoadStart)) {
+            this.cache.put(customerId, aLoaded);
+            // uma eviction entre a checagem e o put ainda derruba a carga
+            if (!isCacheable(customerId, aLoadStart)) {
+                this.cache.asMap().remove(customerId, aLoaded);
+            }
+        }
+        return aLoaded;
+    }
+
+    private boolean isCacheable(final CustomerId customerId, final long loadStart) {
+        return loadStart - this.evictedAt.get(stripeOf(customerId)) > this.replicaLagNanos;
+    }
+
+    private void evictAfterCommit(final CustomerId customerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(customerId);
+            return;
+        }
+
+        // uma leitura concorrente pode ter recarregado o conjunto antigo antes do commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                evict(customerId);
+            }
+        });
+    }
+
+    private void evict(final CustomerId customerId) {
+        log.debug("Evicting customer addresses from cache [customerId:{}]", customerId.value());
+        this.evictedAt.set(stripeOf(customerId), System.nanoTime());
+        this.cache.invalidate(customerId);
+    }
+
+    private void evictAll() {
+        markEvicted(System.nanoTime());
+        this.cache.invalidateAll();
+    }
+
+    private void markEvicted(final long evictedAt) {
+        for (int i = 0; i < EVICTION_STRIPES; i++) {
+            this.evictedAt.set(i, evictedAt);
+        }
+    }
+
+    private static int stripeOf(final CustomerId customerId) {
+        return Math.floorMod(customerId.hashCode(), EVICTION_STRIPES);
+    }
+
+    private void subscribe(final CacheInvalidationBus cacheInvalidationBus) {
+        cacheInvalidationBus.subscribe(AddressJdbcRepository.INVALIDATION_CACHE, new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(final CacheInvalidation invalidation) {
+                // a versao e de um endereco so, o conjunto inteiro e recarregado na proxima leitura
+                evict(new CustomerId(UUID.fromString(invalidation.keys().get(1))));
+            }
+
+            @Override
+            public void invalidateAll() {
+                evictAll();
+            }
+        });
+    }
+
+    private static Optional<Address> defaultOf(final List<Address> addresses) {
+        return addresses.stream().filter(Address::isDefault).findFirst();
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // Address e mutavel, quem recebe do cache nunca pode alterar o conjunto guardado
+    private static Address copyOf(final Address address) {
+        return Address.with(
+                address.getId(),
+                address.getVersion(),
+                address.getTitle(),
+                address.getCustomerId(),
+                address.getZipCode(),
+                address.getNumber(),
+                address.getStreet(),
+                address.getCity(),
+                address.getDistrict(),
+                address.getCountry(),
+                address.getState(),
+                address.getComplement().orElse(null),
+                address.isDefault(),
+                address.getCreatedAt(),
+                address.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,208 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.PrimaryPin;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/*
+ * Guarda snapshots (copias) do Customer chaveados por CustomerId e por UserId.
+ * Um snapshot so substitui outro de versao igual ou maior, e escritas so publicam depois do commit.
+ * Escritas de outros nos chegam pelo CacheInvalidationBus e so descartam snapshots de versao menor.
+ */
+public class CachedCustomerRepository implements CustomerRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedCustomerRepository.class);
+
+    public static final String CACHE_NAME = "customers";
+
+    private final CustomerRepository delegate;
+    private final Cache<Object, Customer> cache;
+
+    public CachedCustomerRepository(
+            final CustomerRepository delegate,
+            final long maximumSize,
+            final Duration ttl,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Objects.requireNonNull(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), this.cache, CACHE_NAME);
+        subscribe(Objects.requireNonNull(cacheInvalidationBus));
+    }
+
+    @Override
+    public CustomerId nextId() {
+        return this.delegate.nextId();
+    }
+
+    @Override
+    public boolean existsByEmail(final String email) {
+        return this.delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByDocument(final String documentNumber) {
+        return this.delegate.existsByDocument(documentNumber);
+    }
+
+    @Override
+    public Customer save(final Customer customer) {
+        evict(customer);
+        final var aSaved = this.delegate.save(customer);
+        publishAfterCommit(List.of(aSaved));
+        return aSaved;
+    }
+
+    @Override
+    public List<Customer> saveAll(final List<Customer> customers) {
+        customers.forEach(this::evict);
+        final var aSaved = this.delegate.saveAll(customers);
+        publishAfterCommit(aSaved);
+        return aSaved;
+    }
+
+    @Override
+    public Optional<Customer> customerOfId(final CustomerId customerId) {
+        return cached(customerId, () -> this.delegate.customerOfId(customerId));
+    }
+
+    @Override
+    public Optional<Customer> customerOfUserId(final UserId userId) {
+        return cached(userId, () -> this.delegate.customerOfUserId(userId));
+    }
+
+    @Override
+    public Optional<Long> versionOfId(final CustomerId customerId) {
+        return cachedVersion(customerId, () -> this.delegate.versionOfId(customerId));
+    }
+
+    @Override
+    public Optional<Long> versionOfUserId(final UserId userId) {
+        return cachedVersion(userId, () -> this.delegate.versionOfUserId(userId));
+    }
+
+    private Optional<Long> cachedVersion(final Object key, final Supplier<Optional<Long>> probe) {
+        // com o primary fixado por uma escrita no request a versao tambem nao pode vir de um snapshot
+        if (!isReadWriteTransaction() && !PrimaryPin.isPinned()) {
+            final var aCached = this.cache.getIfPresent(key);
+            if (aCached != null) {
+                return Optional.of(aCached.getVersion());
+            }
+        }
+        return probe.get();
+    }
+
+    private Optional<Customer> cached(final Object key, final Supplier<Optional<Customer>> loader) {
+        // dentro de uma transacao de escrita le sempre do banco, senao um snapshot atrasado vira conflito de versao no save
+        if (!isReadWriteTransaction()) {
+            final var aCached = this.cache.getIfPresent(key);
+            if (aCached != null) {
+                return Optional.of(copyOf(aCached));
+            }
+        }
+
+        final var aLoaded = loader.get();
+        aLoaded.ifPresent(this::put);
+        return aLoaded;
+    }
+
+    private void publishAfterCommit(final List<Customer> customers) {
+        final var aSnapshots = customers.stream().map(CachedCustomerRepository::copyOf).toList();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aSnapshots.forEach(this::put);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == STATUS_COMMITTED) {
+                    aSnapshots.forEach(CachedCustomerRepository.this::put);
+                } else {
+                    aSnapshots.forEach(CachedCustomerRepository.this::evict);
+                }
+            }
+        });
+    }
+
+    private void put(final Customer customer) {
+        final var aSnapshot = copyOf(customer);
+        this.cache.asMap().merge(customer.getId(), aSnapshot, CachedCustomerRepository::newest);
+        this.cache.asMap().merge(customer.getUserId(), aSnapshot, CachedCustomerRepository::newest);
+    }
+
+    private void evict(final Customer customer) {
+        log.debug("Evicting customer from cache [customerId:{}] [version:{}]", customer.getId().value(), customer.getVersion());
+        this.cache.invalidate(customer.getId());
+        this.cache.invalidate(customer.getUserId());
+    }
+
+    private void subscribe(final CacheInvalidationBus cacheInvalidationBus) {
+        cacheInvalidationBus.subscribe(CustomerJdbcRepository.INVALIDATION_CACHE, new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(final CacheInvalidation invalidation) {
+                final var aKeys = invalidation.keys();
+                evictOlderThan(new CustomerId(UUID.fromString(aKeys.get(0))), invalidation);
+                evictOlderThan(new UserId(UUID.fromString(aKeys.get(1))), invalidation);
+            }
+
+            @Override
+            public void invalidateAll() {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    private void evictOlderThan(final Object key, final CacheInvalidation invalidation) {
+        this.cache.asMap().computeIfPresent(key, (k, cached) -> invalidation.isStale(cached.getVersion()) ? null : cached);
+    }
+
+    private static Customer newest(final Customer current, final Customer candidate) {
+        return candidate.getVersion() >= current.getVersion() ? candidate : current;
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // Customer e mutavel, quem recebe do cache nunca pode alterar o snapshot guardado
+    static Customer copyOf(final Customer customer) {
+        return Customer.with(
+                customer.getId(),
+                customer.getVersion(),
+                customer.getUserId(),
+                customer.getEmail(),
+                customer.getName(),
+                customer.getDocument().orElse(null),
+                customer.getTelephone().orElse(null),
+                customer.getCreatedAt(),
+                customer.getUpdatedAt()
+        );
+    }
+}
@@ -8,9 +8,16 @@ import com.kaua.ecommerce.customer.domain.person.Document;
 import com.kaua.ecommerce.customer.domain.person.Email;
 import com.kaua.ecommerce.customer.domain.person.Name;
 import com.kaua.ecommerce.customer.domain.person.Telephone;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ColumnSpec;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.DatabaseClient;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcUtils;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.RowMap;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlParams;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlStatement;
+import com.kaua.ecommerce.customer.infrastructure.outbox.CustomerEvent;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import com.kaua.ecommerce.lib.infrastructure.exceptions.ConflictException;
 import org.slf4j.Logger;
@@ -19,7 +26,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
+import java.sql.Statement;
 import java.util.*;
 
 @Repository
@@ -27,12 +34,116 @@ public class CustomerJdbcRepository implements CustomerRepository {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerJdbcRepository.class);
 
+    public static final String INVALIDATION_CACHE = "customers";
+
     private static final String EMAIL_COLUMN = "email";
 
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private static final ColumnSpec COLUMNS = new ColumnSpec();
+    private static final ColumnSpec.Column ID = COLUMNS.column("id");
+    private static final ColumnSpec.Column VERSION = COLUMNS.column("version");
+    private static final ColumnSpec.Column IDP_USER_ID = COLUMNS.column("idp_user_id");
+    private static final ColumnSpec.Column EMAIL = COLUMNS.column(EMAIL_COLUMN);
+    private static final ColumnSpec.Column FIRST_NAME = COLUMNS.column("first_name");
+    private static final ColumnSpec.Column LAST_NAME = COLUMNS.column("last_name");
+    private static final ColumnSpec.Column DOCUMENT_NUMBER = COLUMNS.column("document_number");
+    private static final ColumnSpec.Column DOCUMENT_TYPE = COLUMNS.column("document_type");
+    private static final ColumnSpec.Column PHONE_NUMBER = COLUMNS.column("phone_number");
+    private static final ColumnSpec.Column PHONE_NATIONAL_NUMBER = COLUMNS.column("phone_national_number");
+    private static final ColumnSpec.Column PHONE_COUNTRY_CODE = COLUMNS.column("phone_country_code");
+    private static final ColumnSpec.Column PHONE_REGION_CODE = COLUMNS.column("phone_region_code");
+    private static final ColumnSpec.Column CREATED_AT = COLUMNS.column("created_at");
+    private static final ColumnSpec.Column UPDATED_AT = COLUMNS.column("updated_at");
+
+    private static final SqlStatement EXISTS_BY_EMAIL = SqlStatement.of(
+            "customers.existsByEmail",
+            "SELECT COUNT(*) FROM customers WHERE email = :email"
+    );
+
+    private static final SqlStatement EXISTS_BY_DOCUMENT = SqlStatement.of(
+            "customers.existsByDocument",
+            "SELECT COUNT(*) FROM customers WHERE document_number = :documentNumber"
+    );
+
+    private static final SqlStatement CUSTOMER_OF_ID = SqlStatement.of(
+            "customers.customerOfId",
+            "SELECT * FROM customers WHERE id = :id"
+    );
+
+    private static final SqlStatement CUSTOMER_OF_USER_ID = SqlStatement.of(
+            "customers.customerOfUserId",
+            "SELECT * FROM customers WHERE idp_user_id = :idpUserId"
+    );
+
+    private static final SqlStatement CUSTOMERS_OF_USER_IDS = SqlStatement.of(
+            "customers.customersOfUserIds",
+            "SELECT * FROM customers WHERE idp_user_id = ANY(:idpUserIds)"
+    );
+
+    private static final SqlStatement VERSION_OF_ID = SqlStatement.of(
+            "customers.versionOfId",
+            "SELECT version FROM customers WHERE id = :id"
+    );
+
+    private static final SqlStatement VERSION_OF_USER_ID = SqlStatement.of(
+            "customers.versionOfUserId",
+            "SELECT version FROM customers WHERE idp_user_id = :idpUserId"
+    );
+
+    private static final SqlStatement INSERT = SqlStatement.of("customers.insert", """
+            INSERT INTO customers (id, version, idp_user_id, email, first_name, last_name, document_number, document_type, phone_number, phone_national_number, phone_country_code, phone_region_code, created_at, updated_at)
+            VALUES (:id, (:version + 1), :idpUserId, :email, :firstName, :lastName, :documentNumber, :documentType, :phoneNumber, :phoneNationalNumber, :phoneCountryCode, :phoneRegionCode, :createdAt, :updatedAt)
+            """);
+
+    private static final SqlStatement UPDATE = SqlStatement.of("customers.update", """
+            UPDATE customers
+            SET
+                version = :version + 1,
+                idp_user_id = :idpUserId,
+                email = :email,
+                first_name = :firstName,
+                last_name = :lastName,
+                document_number = :documentNumber,
+                document_type = :documentType,
+                phone_number = :phoneNumber,
+                phone_national_number = :phoneNationalNumber,
+                phone_country_code = :phoneCountryCode,
+                phone_region_code = :phoneRegionCode,
+                updated_at = :updatedAt
+            WHERE id = :id AND version = :version
+            """);
+
+    private static final SqlStatement PHONE_NUMBERS_WITHOUT_FORMATS = SqlStatement.of("customers.phoneNumbersWithoutFormats", """
+            SELECT id, phone_number
+            FROM customers
+            WHERE phone_number IS NOT NULL AND phone_national_number IS NULL AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            """);
+
+    // sem incrementar a versao: sao so formatos derivados do phone_number, que e conferido para nao sobrescrever uma troca concorrente
+    private static final SqlStatement UPDATE_PHONE_FORMATS = SqlStatement.of("customers.updatePhoneFormats", """
+            UPDATE customers
+            SET
+                phone_national_number = :phoneNationalNumber,
+                phone_country_code = :phoneCountryCode,
+                phone_region_code = :phoneRegionCode
+            WHERE id = :id AND phone_number = :phoneNumber
+            """);
+
     private final DatabaseClient databaseClient;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OutboxJdbcRepository outboxRepository;
 
-    public CustomerJdbcRepository(final DatabaseClient databaseClient) {
+    public CustomerJdbcRepository(
+            final DatabaseClient databaseClient,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final OutboxJdbcRepository outboxRepository
+    ) {
         this.databaseClient = Objects.requireNonNull(databaseClient);
+        this.cacheInvalidationBus = Objects.requireNonNull(cacheInvalidationBus);
+        this.outboxRepository = Objects.requireNonNull(outboxRepository);
     }
 
     @Override
@@ -42,14 +153,12 @@ public class CustomerJdbcRepository implements CustomerRepository {
 
     @Override
     public boolean existsByEmail(final String email) {
-        final var aSql = "SELECT COUNT(*) FROM customers WHERE email = :email";
-        return this.databaseClient.count(aSql, Map.of(EMAIL_COLUMN, email)) > 0;
+        return this.databaseClient.count(EXISTS_BY_EMAIL.with(email)) > 0;
     }
 
     @Override
     public boolean existsByDocument(final String documentNumber) {
-        final var aSql = "SELECT COUNT(*) FROM customers WHERE document_number = :documentNumber";
-        return this.databaseClient.count(aSql, Map.of("documentNumber", documentNumber)) > 0;
+        return this.databaseClient.count(EXISTS_BY_DOCUMENT.with(documentNumber)) > 0;
     }
 
     @Override
@@ -67,83 +176,177 @@ public class CustomerJdbcRepository implements CustomerRepository {
 
         // in this part, increment version, or search in database again on update or on return of save method or keep the object with old version in memory
         aCustomer.incrementVersion();
+        // mesma transacao do insert/update: o evento so existe se a escrita fizer commit
+        this.outboxRepository.append(eventOf(aCustomer));
+        publishInvalidation(aCustomer);
         return aCustomer;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<Customer> saveAll(final List<Customer> aCustomers) {
+        if (aCustomers.isEmpty()) {
+            return aCustomers;
+        }
+
+        final var aToUpdate = aCustomers.stream().filter(it -> it.getVersion() > 0).toList();
+        final var aToCreate = aCustomers.stream().filter(it -> it.getVersion() == 0).toList();
+
+        log.debug("Saving customers in batch [toCreate:{}] [toUpdate:{}]", aToCreate.size(), aToUpdate.size());
+
+        if (!aToUpdate.isEmpty()) {
+            final var aCounts = this.databaseClient.batchUpdate(UPDATE, aToUpdate.stream().map(it -> toParams(UPDATE, it)).toList());
+
+            if (!JdbcUtils.allRowsAffected(aCounts)) {
+                throw ConflictException.with("Customer version does not match, customer was updated by another user");
+            }
+        }
+
+        if (!aToCreate.isEmpty()) {
+            this.databaseClient.batchUpdate(INSERT, aToCreate.stream().map(it -> toParams(INSERT, it)).toList());
+        }
+
+        aCustomers.forEach(Customer::incrementVersion);
+        this.outboxRepository.appendAll(aCustomers.stream().map(CustomerJdbcRepository::eventOf).toList());
+        aCustomers.forEach(this::publishInvalidation);
+
+        log.info("Customers saved in batch [toCreate:{}] [toUpdate:{}]", aToCreate.size(), aToUpdate.size());
+        return aCustomers;
+    }
+
     @Override
     public Optional<Customer> customerOfId(final CustomerId customerId) {
-        final var aSql = "SELECT * FROM customers WHERE id = :id";
-        return this.databaseClient.queryOne(aSql, Map.of("id", customerId.value().toString()), customerMapper());
+        return this.databaseClient.queryOne(CUSTOMER_OF_ID.with(customerId.value()), customerMapper());
     }
 
     @Override
     public Optional<Customer> customerOfUserId(final UserId userId) {
-        final var aSql = "SELECT * FROM customers WHERE idp_user_id = :idpUserId";
-        return this.databaseClient.queryOne(aSql, Map.of("idpUserId", userId.value().toString()), customerMapper());
+        return this.databaseClient.queryOne(CUSTOMER_OF_USER_ID.with(userId.value()), customerMapper());
+    }
+
+    public List<Customer> customersOfUserIds(final Collection<UserId> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        final var aIds = userIds.stream().map(UserId::value).toList();
+        return this.databaseClient.query(CUSTOMERS_OF_USER_IDS.with(JdbcUtils.uuidArray(aIds)), customerMapper());
+    }
+
+    @Override
+    public Optional<Long> versionOfId(final CustomerId customerId) {
+        return this.databaseClient.queryOne(VERSION_OF_ID.with(customerId.value()), rs -> rs.getLong(1));
+    }
+
+    @Override
+    public Optional<Long> versionOfUserId(final UserId userId) {
+        return this.databaseClient.queryOne(VERSION_OF_USER_ID.with(userId.value()), rs -> rs.getLong(1));
+    }
+
+    public List<CustomerPhoneNumber> phoneNumbersWithoutFormats(final CustomerId afterId, final int limit) {
+        final var aParams = PHONE_NUMBERS_WITHOUT_FORMATS.params()
+                .set("afterId", afterId == null ? FIRST_ID : afterId.value())
+                .set("limit", limit);
+
+        return this.databaseClient.query(aParams, rs -> new CustomerPhoneNumber(
+                new CustomerId(JdbcUtils.getUUID(rs, 1)),
+                new Telephone(rs.getString(2))
+        ));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public int savePhoneFormats(final List<CustomerPhoneNumber> aPhoneNumbers) {
+        if (aPhoneNumbers.isEmpty()) {
+            return 0;
+        }
+
+        final var aCounts = this.databaseClient.batchUpdate(UPDATE_PHONE_FORMATS, aPhoneNumbers.stream()
+                .map(it -> UPDATE_PHONE_FORMATS.params()
+                        .set("id", it.customerId().value())
+                        .set("phoneNumber", it.telephone().value())
+                        .set("phoneNationalNumber", it.telephone().nationalNumber())
+                        .set("phoneCountryCode", it.telephone().countryCode())
+                        .set("phoneRegionCode", it.telephone().regionCode()))
+                .toList());
+
+        return (int) Arrays.stream(aCounts).filter(it -> it > 0 || it == Statement.SUCCESS_NO_INFO).count();
+    }
+
+    private void publishInvalidation(final Customer aCustomer) {
+        this.cacheInvalidationBus.publish(CacheInvalidation.of(
+                INVALIDATION_CACHE,
+                aCustomer.getVersion(),
+                aCustomer.getId().value(),
+                aCustomer.getUserId().value()
+        ));
+    }
+
+    private static OutboxJdbcRepository.Entry eventOf(final Customer aCustomer) {
+        final var aEvent = CustomerEvent.of(aCustomer);
+        return OutboxJdbcRepository.Entry.of(aEvent.type(), aEvent.customerId(), aEvent);
     }
 
     private void create(final Customer aCustomer) {
-        final var aSql = """
-                INSERT INTO customers (id, version, idp_user_id, email, first_name, last_name, document_number, document_type, phone_number, created_at, updated_at)
-                VALUES (:id, (:version + 1), :idpUserId, :email, :firstName, :lastName, :documentNumber, :documentType, :phoneNumber, :createdAt, :updatedAt)
-                """;
-        executeUpdate(aSql, aCustomer);
+        executeUpdate(INSERT, aCustomer);
     }
 
     private void update(final Customer aCustomer) {
-        final var aSql = """
-                UPDATE customers
-                SET
-                    version = :version + 1,
-                    idp_user_id = :idpUserId,
-                    email = :email,
-                    first_name = :firstName,
-                    last_name = :lastName,
-                    document_number = :documentNumber,
-                    document_type = :documentType,
-                    phone_number = :phoneNumber,
-                    updated_at = :updatedAt
-                WHERE id = :id AND version = :version
-                """;
-
-        if (executeUpdate(aSql, aCustomer) == 0) {
+        if (executeUpdate(UPDATE, aCustomer) == 0) {
             throw ConflictException.with("Customer version does not match, customer was updated by another user");
         }
     }
 
-    private int executeUpdate(final String sql, final Customer aCustomer) {
-        final var aParams = new HashMap<String, Object>();
-        aParams.put("id", aCustomer.getId().value());
-        aParams.put("version", aCustomer.getVersion());
-        aParams.put("idpUserId", aCustomer.getUserId().value());
-        aParams.put(EMAIL_COLUMN, aCustomer.getEmail().value());
-        aParams.put("firstName", aCustomer.getName().firstName());
-        aParams.put("lastName", aCustomer.getName().lastName());
-        aParams.put("documentNumber", aCustomer.getDocument().map(Document::value).orElse(null));
-        aParams.put("documentType", aCustomer.getDocument().map(Document::type).orElse(null));
-        aParams.put("phoneNumber", aCustomer.getTelephone().map(Telephone::value).orElse(null));
-        aParams.put("createdAt", Timestamp.from(aCustomer.getCreatedAt()));
-        aParams.put("updatedAt", Timestamp.from(aCustomer.getUpdatedAt()));
+    private int executeUpdate(final SqlStatement statement, final Customer aCustomer) {
+        return this.databaseClient.update(toParams(statement, aCustomer));
+    }
+
+    private SqlParams toParams(final SqlStatement statement, final Customer aCustomer) {
+        final var aParams = statement.params()
+                .set("id", aCustomer.getId().value())
+                .set("version", aCustomer.getVersion())
+                .set("idpUserId", aCustomer.getUserId().value())
+                .set(EMAIL_COLUMN, aCustomer.getEmail().value())
+                .set("firstName", aCustomer.getName().firstName())
+                .set("lastName", aCustomer.getName().lastName())
+                .set("documentNumber", aCustomer.getDocument().map(Document::value).orElse(null))
+                .set("documentType", aCustomer.getDocument().map(Document::type).orElse(null))
+                .set("phoneNumber", aCustomer.getTelephone().map(Telephone::value).orElse(null))
+                .set("phoneNationalNumber", aCustomer.getTelephone().map(Telephone::nationalNumber).orElse(null))
+                .set("phoneCountryCode", aCustomer.getTelephone().map(Telephone::countryCode).orElse(null))
+                .set("phoneRegionCode", aCustomer.getTelephone().map(Telephone::regionCode).orElse(null))
+                .set("updatedAt", JdbcUtils.toOffsetDateTime(aCustomer.getUpdatedAt()));
 
-        return this.databaseClient.update(sql, aParams);
+        if (statement == INSERT) {
+            aParams.set("createdAt", JdbcUtils.toOffsetDateTime(aCustomer.getCreatedAt()));
+        }
+
+        return aParams;
     }
 
-    private RowMap<Customer> customerMapper() {
-        return rs -> {
-            final var aDocumentType = rs.getString("document_type");
-            final var aPhoneNumber = rs.getString("phone_number");
+    static RowMap<Customer> customerMapper() {
+        return COLUMNS.mapper((rs, columns) -> {
+            final var aDocumentType = rs.getString(columns.of(DOCUMENT_TYPE));
+            final var aPhoneNumber = rs.getString(columns.of(PHONE_NUMBER));
             return Customer.with(
-                    new CustomerId(UUID.fromString(rs.getString("id"))),
-                    rs.getLong("version"),
-                    new UserId(UUID.fromString(rs.getString("idp_user_id"))),
-                    new Email(rs.getString(EMAIL_COLUMN)),
-                    new Name(rs.getString("first_name"), rs.getString("last_name")),
+                    new CustomerId(JdbcUtils.getUUID(rs, columns.of(ID))),
+                    rs.getLong(columns.of(VERSION)),
+                    new UserId(JdbcUtils.getUUID(rs, columns.of(IDP_USER_ID))),
+                    new Email(rs.getString(columns.of(EMAIL))),
+                    new Name(rs.getString(columns.of(FIRST_NAME)), rs.getString(columns.of(LAST_NAME))),
                     aDocumentType != null ?
-                            Document.create(rs.getString("document_number"), aDocumentType) : null,
-                    aPhoneNumber != null ? new Telephone(aPhoneNumber) : null,
-                    JdbcUtils.getInstant(rs, "created_at"),
-                    JdbcUtils.getInstant(rs, "updated_at")
+                            Document.create(rs.getString(columns.of(DOCUMENT_NUMBER)), aDocumentType) : null,
+                    aPhoneNumber != null ? new Telephone(
+                            aPhoneNumber,
+                            rs.getString(columns.of(PHONE_NATIONAL_NUMBER)),
+                            rs.getString(columns.of(PHONE_COUNTRY_CODE)),
+                            rs.getString(columns.of(PHONE_REGION_CODE))
+                    ) : null,
+                    JdbcUtils.getInstant(rs, columns.of(CREATED_AT)),
+                    JdbcUtils.getInstant(rs, columns.of(UPDATED_AT))
             );
-        };
+        });
+    }
+
+    public record CustomerPhoneNumber(CustomerId customerId, Telephone telephone) {
     }
 }
@@ -0,0 +1,111 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.ColumnSpec;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.DatabaseClient;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcUtils;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.RowMap;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlParams;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.SqlStatement;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class ZipCodeJdbcRepository {
+
+    private static final ColumnSpec COLUMNS = new ColumnSpec();
+    private static final ColumnSpec.Column ZIP_CODE = COLUMNS.column("zip_code");
+    private static final ColumnSpec.Column FOUND = COLUMNS.column("found");
+    private static final ColumnSpec.Column CITY = COLUMNS.column("city");
+    private static final ColumnSpec.Column STREET = COLUMNS.column("street");
+    private static final ColumnSpec.Column DISTRICT = COLUMNS.column("district");
+    private static final ColumnSpec.Column STATE = COLUMNS.column("state");
+    private static final ColumnSpec.Column FETCHED_AT = COLUMNS.column("fetched_at");
+
+    private static final SqlStatement ZIP_CODE_OF = SqlStatement.of(
+            "zipCodes.zipCodeOf",
+            "SELECT * FROM zip_codes WHERE zip_code = :zipCode"
+    );
+
+    private static final SqlStatement UPDATE = SqlStatement.of("zipCodes.update", """
+            UPDATE zip_codes
+            SET found = :found, city = :city, street = :street, district = :district, state = :state, fetched_at = :fetchedAt
+            WHERE zip_code = :zipCode
+            """);
+
+    // ON CONFLICT DO NOTHING: outra instancia pode ter inserido o mesmo CEP entre o UPDATE e o INSERT
+    private static final SqlStatement INSERT = SqlStatement.of("zipCodes.insert", """
+            INSERT INTO zip_codes (zip_code, found, city, street, district, state, fetched_at)
+            VALUES (:zipCode, :found, :city, :street, :district, :state, :fetchedAt)
+            ON CONFLICT DO NOTHING
+            """);
+
+    private final DatabaseClient databaseClient;
+
+    public ZipCodeJdbcRepository(final DatabaseClient databaseClient) {
+        this.databaseClient = Objects.requireNonNull(databaseClient);
+    }
+
+    public Optional<ZipCodeEntry> zipCodeOf(final String aZipCode) {
+        return this.databaseClient.queryOne(ZIP_CODE_OF.with(aZipCode), zipCodeMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void save(final ZipCodeEntry aEntry) {
+        if (this.databaseClient.update(toParams(UPDATE, aEntry)) == 0) {
+            this.databaseClient.update(toParams(INSERT, aEntry));
+        }
+    }
+
+    private static SqlParams toParams(final SqlStatement statement, final ZipCodeEntry aEntry) {
+        final var aAddress = aEntry.address();
+        return statement.params()
+                .set("zipCode", aEntry.zipCode())
+                .set("found", aAddress != null)
+                .set("city", aAddress != null ? aAddress.city() : null)
+                .set("street", aAddress != null ? aAddress.street() : null)
+                .set("district", aAddress != null ? aAddress.district() : null)
+                .set("state", aAddress != null ? aAddress.state() : null)
+                .set("fetchedAt", JdbcUtils.toOffsetDateTime(aEntry.fetchedAt()));
+    }
+
+    private static RowMap<ZipCodeEntry> zipCodeMapper() {
+        return COLUMNS.mapper((rs, columns) -> {
+            final var aZipCode = rs.getString(columns.of(ZIP_CODE));
+            final var aAddress = rs.getBoolean(columns.of(FOUND))
+                    ? new GetAddressByZipCodeResponse(
+                            formatted(aZipCode),
+                            rs.getString(columns.of(CITY)),
+                            rs.getString(columns.of(STREET)),
+                            rs.getString(columns.of(DISTRICT)),
+                            rs.getString(columns.of(STATE))
+                    )
+                    : null;
+            return new ZipCodeEntry(aZipCode, aAddress, JdbcUtils.getInstant(rs, columns.of(FETCHED_AT)));
+        });
+    }
+
+    // mesmo formato devolvido pelo servico de CEP (00000-000), a chave fica so com os digitos
+    private static String formatted(final String aZipCode) {
+        return aZipCode.length() == 8 ? aZipCode.substring(0, 5) + "-" + aZipCode.substring(5) : aZipCode;
+    }
+
+    /*
+     * address nulo significa que o servico de CEP respondeu 404 (cache negativo).
+     */
+    public record ZipCodeEntry(String zipCode, GetAddressByZipCodeResponse address, Instant fetchedAt) {
+
+        public Optional<GetAddressByZipCodeResponse> response() {
+            return Optional.ofNullable(this.address);
+        }
+
+        public boolean isFound() {
+            return this.address != null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.kaua.ecommerce.customer.infrastructure.rest;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.CreateCustomerAddressOutput;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.UpdateAddressIsDefaultOutput;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.UpdateAddressOutput;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
 import com.kaua.ecommerce.customer.infrastructure.configurations.authentication.EcommerceUser;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.address.CreateCustomerAddressRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.address.UpdateAddressIsDefaultRequest;
@@ -10,11 +11,13 @@ import com.kaua.ecommerce.customer.infrastructure.rest.req.address.UpdateAddress
 import com.kaua.ecommerce.customer.infrastructure.rest.res.GetAddressByIdResponse;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.GetDefaultAddressByCustomerIdResponse;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.ListCustomerAddressesResponse;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -51,10 +54,13 @@ public interface AddressRestApi {
             @ApiResponse(responseCode = "200", description = "Address successfully updated"),
             @ApiResponse(responseCode = "400", description = "A validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Address was not found by identifier"),
+            @ApiResponse(responseCode = "409", description = "Address was updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Address version does not match the If-Match header"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     ResponseEntity<UpdateAddressIsDefaultOutput> updateAddressIsDefault(
             @PathVariable String addressId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateAddressIsDefaultRequest request
     );
 
@@ -68,10 +74,13 @@ public interface AddressRestApi {
             @ApiResponse(responseCode = "200", description = "Address successfully updated"),
             @ApiResponse(responseCode = "400", description = "A validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Address was not found by identifier"),
+            @ApiResponse(responseCode = "409", description = "Address was updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Address version does not match the If-Match header"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     ResponseEntity<UpdateAddressOutput> updateAddress(
             @PathVariable String addressId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateAddressRequest request
     );
 
@@ -81,12 +90,17 @@ public interface AddressRestApi {
     )
     @Operation(summary = "Get the address by identifier for authenticated customer")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Address successfully found"),
+            @ApiResponse(responseCode = "200", description = "Address successfully found", content = @Content(
+                    schema = @Schema(implementation = GetAddressByIdResponse.class)
+            )),
+            @ApiResponse(responseCode = "304", description = "Address was not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Address was not found by identifier"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    ResponseEntity<GetAddressByIdResponse> getAddressById(
-            @PathVariable String addressId
+    ResponseEntity<byte[]> getAddressById(
+            @PathVariable String addressId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     );
 
     @GetMapping(
@@ -95,12 +109,17 @@ public interface AddressRestApi {
     )
     @Operation(summary = "Get the default address by customer identifier for authenticated customer")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Address successfully found"),
+            @ApiResponse(responseCode = "200", description = "Address successfully found", content = @Content(
+                    schema = @Schema(implementation = GetDefaultAddressByCustomerIdResponse.class)
+            )),
+            @ApiResponse(responseCode = "304", description = "Address was not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Address was not found by customer identifier"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    ResponseEntity<GetDefaultAddressByCustomerIdResponse> getDefaultAddressByCustomerId(
-            @AuthenticationPrincipal EcommerceUser user
+    ResponseEntity<byte[]> getDefaultAddressByCustomerId(
+            @AuthenticationPrincipal EcommerceUser user,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     );
 
     @GetMapping(
@@ -111,13 +130,14 @@ public interface AddressRestApi {
             @ApiResponse(responseCode = "200", description = "Addresses successfully found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    Pagination<ListCustomerAddressesResponse> listCustomerAddresses(
+    CursorPagination<ListCustomerAddressesResponse> listCustomerAddresses(
             @AuthenticationPrincipal EcommerceUser user,
             @RequestParam(name = "search", required = false, defaultValue = "") String search,
             @RequestParam(name = "page", required = false, defaultValue = "0") int page,
             @RequestParam(name = "perPage", required = false, defaultValue = "10") int perPage,
             @RequestParam(name = "sort", required = false, defaultValue = "title") String sort,
-            @RequestParam(name = "direction", required = false, defaultValue = "asc") String direction
+            @RequestParam(name = "direction", required = false, defaultValue = "asc") String direction,
+            @RequestParam(name = "cursor", required = false) String cursor
     );
 
     @DeleteMapping(
@@ -9,9 +9,12 @@ import com.kaua.ecommerce.customer.infrastructure.rest.req.UpdateCustomerTelepho
 import com.kaua.ecommerce.customer.infrastructure.rest.res.GetCustomerByIdentifierResponse;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.SignUpResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,12 +44,19 @@ public interface CustomerRestApi {
     )
     @Operation(summary = "Get the authenticated customer")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Customer found"),
+            @ApiResponse(responseCode = "200", description = "Customer found", content = @Content(
+                    schema = @Schema(implementation = GetCustomerByIdentifierResponse.class)
+            )),
+            @ApiResponse(responseCode = "304", description = "Customer was not modified since the given ETag"),
             @ApiResponse(responseCode = "400", description = "A input validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    ResponseEntity<GetCustomerByIdentifierResponse> getMe(@AuthenticationPrincipal final EcommerceUser principal);
+    ResponseEntity<byte[]> getMe(
+            @AuthenticationPrincipal final EcommerceUser principal,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding
+    );
 
     @GetMapping(
             value = "/users/{userId}",
@@ -54,12 +64,19 @@ public interface CustomerRestApi {
     )
     @Operation(summary = "Get a customer by user id")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Customer found"),
+            @ApiResponse(responseCode = "200", description = "Customer found", content = @Content(
+                    schema = @Schema(implementation = GetCustomerByIdentifierResponse.class)
+            )),
+            @ApiResponse(responseCode = "304", description = "Customer was not modified since the given ETag"),
             @ApiResponse(responseCode = "400", description = "A input validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    ResponseEntity<GetCustomerByIdentifierResponse> getByIdentifier(@PathVariable final String userId);
+    ResponseEntity<byte[]> getByIdentifier(
+            @PathVariable final String userId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding
+    );
 
     @PatchMapping(
             value = "/document",
@@ -71,11 +88,14 @@ public interface CustomerRestApi {
             @ApiResponse(responseCode = "200", description = "Customer document updated successfully"),
             @ApiResponse(responseCode = "400", description = "A validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer was updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Customer version does not match the If-Match header"),
             @ApiResponse(responseCode = "422", description = "A business rule was violated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     ResponseEntity<UpdateCustomerDocumentOutput> updateDocument(
             @AuthenticationPrincipal final EcommerceUser principal,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateCustomerDocumentRequest request
     );
 
@@ -89,11 +109,14 @@ public interface CustomerRestApi {
             @ApiResponse(responseCode = "200", description = "Customer telephone updated successfully"),
             @ApiResponse(responseCode = "400", description = "A validation error was observed"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer was updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Customer version does not match the If-Match header"),
             @ApiResponse(responseCode = "422", description = "A business rule was violated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     ResponseEntity<UpdateCustomerTelephoneOutput> updateTelephone(
             @AuthenticationPrincipal final EcommerceUser principal,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateCustomerTelephoneRequest request
     );
 }
@@ -0,0 +1,43 @@
+package com.kaua.ecommerce.customer.infrastructure.rest;
+
+import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
+import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
+import com.kaua.ecommerce.customer.domain.address.AddressId;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Le so a coluna version dos agregados para responder If-None-Match
+ * sem carregar a linha inteira nem serializar a resposta.
+ */
+@Component
+public class EntityTagProbe {
+
+    private final CustomerRepository customerRepository;
+    private final AddressRepository addressRepository;
+
+    public EntityTagProbe(
+            final CustomerRepository customerRepository,
+            final AddressRepository addressRepository
+    ) {
+        this.customerRepository = Objects.requireNonNull(customerRepository);
+        this.addressRepository = Objects.requireNonNull(addressRepository);
+    }
+
+    public Optional<String> customerOfUserId(final UserId userId) {
+        return this.customerRepository.versionOfUserId(userId).map(it -> EntityTags.of(userId.value(), it));
+    }
+
+    public Optional<String> addressOfId(final AddressId addressId) {
+        return this.addressRepository.versionOfId(addressId).map(it -> EntityTags.of(addressId.value(), it));
+    }
+
+    public Optional<String> defaultAddressOfCustomer(final CustomerId customerId) {
+        return this.addressRepository.defaultAddressVersionOfCustomer(customerId)
+                .map(it -> EntityTags.of(it.addressId().value(), it.version()));
+    }
+}
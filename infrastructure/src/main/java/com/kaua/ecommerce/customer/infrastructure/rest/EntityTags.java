@@ -0,0 +1,84 @@
+package com.kaua.ecommerce.customer.infrastructure.rest;
+
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+ * Toda tag tem o formato "<id>.<versao>", com o id pelo qual o recurso e lido e escrito (endereco: addressId,
+ * customer: userId). O id na tag evita que o endereco default responda 304 quando outro endereco com a mesma
+ * versao vira o default, e faz a tag de qualquer GET servir de If-Match no PATCH do mesmo recurso.
+ */
+public final class EntityTags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    private EntityTags() {}
+
+    public static String of(final Object id, final long version) {
+        return "\"%s.%d\"".formatted(id, version);
+    }
+
+    public static <T> Optional<ResponseEntity<T>> notModified(
+            final String ifNoneMatch,
+            final Supplier<Optional<String>> probe
+    ) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return Optional.empty();
+        }
+
+        return probe.get()
+                .filter(it -> matches(ifNoneMatch, it))
+                .map(it -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(it).<T>build());
+    }
+
+    // versao que o If-Match exige do recurso, o use case compara com a linha que vai gravar; null quando nao ha condicao
+    public static Long expectedVersion(final String ifMatch, final Class<?> aggregate, final Object id) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        final var aPrefix = QUOTE + id + ".";
+        for (final var aCandidate : ifMatch.split(",")) {
+            final var aTag = aCandidate.trim();
+
+            if (ANY.equals(aTag)) {
+                return null;
+            }
+            // If-Match usa comparacao forte, uma tag fraca nunca confere
+            if (!aTag.startsWith(aPrefix) || !aTag.endsWith(QUOTE) || aTag.length() <= aPrefix.length() + 1) {
+                continue;
+            }
+            try {
+                return Long.parseLong(aTag.substring(aPrefix.length(), aTag.length() - 1));
+            } catch (final NumberFormatException ex) {
+                // tag de outro formato, nunca confere
+            }
+        }
+
+        throw new VersionMismatchException(aggregate.getSimpleName(), id);
+    }
+
+    static boolean matches(final String ifNoneMatch, final String etag) {
+        for (final var aCandidate : ifNoneMatch.split(",")) {
+            var aTag = aCandidate.trim();
+
+            if (ANY.equals(aTag)) {
+                return true;
+            }
+            // If-None-Match usa comparacao fraca
+            if (aTag.startsWith(WEAK_PREFIX)) {
+                aTag = aTag.substring(WEAK_PREFIX.length());
+            }
+            if (aTag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+package com.kaua.ecommerce.customer.infrastructure.rest;
+
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleRead;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleReadCache;
+import com.kaua.ecommerce.customer.infrastructure.configurations.json.Json;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public final class JsonResponses {
+
+    private static final String GZIP = "gzip";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private JsonResponses() {}
+
+    /*
+     * GET condicional: com If-None-Match ou com bytes da chave no cache de respostas, consulta so a versao antes.
+     * Se a ETag atual bate responde 304, se os bytes daquela versao estao em cache devolve sem Jackson nem use case.
+     * Sem nenhum dos dois a consulta de versao seria uma ida ao banco a mais, entao carrega direto e a ETag vem do que foi carregado.
+     * Copia antiga servida pelo use case com o banco indisponivel sai com Age e Warning e nao entra no cache de respostas.
+     */
+    public static ResponseEntity<byte[]> get(
+            final ResponseBytesCache cache,
+            final String type,
+            final Object id,
+            final String ifNoneMatch,
+            final String acceptEncoding,
+            final Supplier<Optional<String>> probe,
+            final Supplier<Body> loader
+    ) {
+        final var aConditional = ifNoneMatch != null && !ifNoneMatch.isBlank();
+        if (aConditional || (cache != null && cache.contains(type, id))) {
+            final var aCurrentTag = currentTag(probe);
+
+            if (aCurrentTag.isPresent()) {
+                final var aNotModified = EntityTags.<byte[]>notModified(ifNoneMatch, () -> aCurrentTag);
+                if (aNotModified.isPresent()) {
+                    return aNotModified.get();
+                }
+
+                final var aCached = cache != null ? cache.get(type, id, aCurrentTag.get()) : Optional.<ResponseBytesCache.CachedResponse>empty();
+                if (aCached.isPresent()) {
+                    return ok(aCached.get(), acceptEncoding);
+                }
+            }
+        }
+
+        StaleRead.clear();
+        final var aBody = loader.get();
+        final var aStaleAge = StaleRead.take();
+        final var aJson = Json.writeValueAsBytes(aBody.value());
+
+        if (aStaleAge.isPresent()) {
+            return stale(aBody.etag(), aJson, aStaleAge.get());
+        }
+
+        if (cache != null) {
+            cache.put(type, id, aBody.etag(), aJson);
+        }
+        return ok(aBody.etag(), aJson);
+    }
+
+    // com o pool esgotado a consulta de versao tambem falha, entao quem decide e o use case (que pode servir copia antiga)
+    private static Optional<String> currentTag(final Supplier<Optional<String>> probe) {
+        try {
+            return probe.get();
+        } catch (final RuntimeException ex) {
+            if (!StaleReadCache.isDatabaseUnavailable(ex)) {
+                throw ex;
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static ResponseEntity<byte[]> stale(final String etag, final byte[] json, final Duration age) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AGE, String.valueOf(age.toSeconds()))
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .body(json);
+    }
+
+    public static ResponseEntity<byte[]> ok(final String etag, final byte[] json) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    // com Content-Encoding ja preenchido o Undertow nao comprime de novo
+    public static ResponseEntity<byte[]> ok(final ResponseBytesCache.CachedResponse cached, final String acceptEncoding) {
+        if (!cached.hasGzip() || acceptEncoding == null || !acceptEncoding.contains(GZIP)) {
+            return ok(cached.etag(), cached.json());
+        }
+
+        return ResponseEntity.ok()
+                .eTag(cached.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(cached.gzip());
+    }
+
+    public record Body(String etag, Object value) {
+    }
+}
@@ -8,20 +8,26 @@ import com.kaua.ecommerce.customer.application.usecases.address.inputs.UpdateAdd
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.CreateCustomerAddressOutput;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.UpdateAddressIsDefaultOutput;
 import com.kaua.ecommerce.customer.application.usecases.address.outputs.UpdateAddressOutput;
+import com.kaua.ecommerce.customer.domain.address.Address;
 import com.kaua.ecommerce.customer.domain.address.AddressId;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
 import com.kaua.ecommerce.customer.infrastructure.configurations.authentication.EcommerceUser;
 import com.kaua.ecommerce.customer.infrastructure.rest.AddressRestApi;
+import com.kaua.ecommerce.customer.infrastructure.rest.EntityTagProbe;
+import com.kaua.ecommerce.customer.infrastructure.rest.EntityTags;
+import com.kaua.ecommerce.customer.infrastructure.rest.JsonResponses;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.address.CreateCustomerAddressRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.address.UpdateAddressIsDefaultRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.address.UpdateAddressRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.GetAddressByIdResponse;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.GetDefaultAddressByCustomerIdResponse;
 import com.kaua.ecommerce.customer.infrastructure.rest.res.ListCustomerAddressesResponse;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
 import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -41,6 +47,8 @@ public class AddressRestController implements AddressRestApi {
     private final GetDefaultAddressByCustomerIdUseCase getDefaultAddressByCustomerIdUseCase;
     private final ListCustomerAddressesUseCase listCustomerAddressesUseCase;
     private final DeleteAddressByIdUseCase deleteAddressByIdUseCase;
+    private final EntityTagProbe entityTagProbe;
+    private final ObjectProvider<ResponseBytesCache> responseBytesCache;
 
     public AddressRestController(
             final CreateCustomerAddressUseCase createCustomerAddressUseCase,
@@ -49,7 +57,9 @@ public class AddressRestController implements AddressRestApi {
             final GetAddressByIdUseCase getAddressByIdUseCase,
             final GetDefaultAddressByCustomerIdUseCase getDefaultAddressByCustomerIdUseCase,
             final ListCustomerAddressesUseCase listCustomerAddressesUseCase,
-            final DeleteAddressByIdUseCase deleteAddressByIdUseCase
+            final DeleteAddressByIdUseCase deleteAddressByIdUseCase,
+            final EntityTagProbe entityTagProbe,
+            final ObjectProvider<ResponseBytesCache> responseBytesCache
     ) {
         this.createCustomerAddressUseCase = Objects.requireNonNull(createCustomerAddressUseCase);
         this.updateAddressIsDefaultUseCase = Objects.requireNonNull(updateAddressIsDefaultUseCase);
@@ -58,6 +68,8 @@ public class AddressRestController implements AddressRestApi {
         this.getDefaultAddressByCustomerIdUseCase = Objects.requireNonNull(getDefaultAddressByCustomerIdUseCase);
         this.listCustomerAddressesUseCase = Objects.requireNonNull(listCustomerAddressesUseCase);
         this.deleteAddressByIdUseCase = Objects.requireNonNull(deleteAddressByIdUseCase);
+        this.entityTagProbe = Objects.requireNonNull(entityTagProbe);
+        this.responseBytesCache = Objects.requireNonNull(responseBytesCache);
     }
 
     @Override
@@ -89,13 +101,17 @@ public class AddressRestController implements AddressRestApi {
     @Override
     public ResponseEntity<UpdateAddressIsDefaultOutput> updateAddressIsDefault(
             final String addressId,
+            final String ifMatch,
             final UpdateAddressIsDefaultRequest request
     ) {
         log.debug("Received a request to update the default address: {}", addressId);
 
+        final var aAddressId = UUID.fromString(addressId);
+
         final var aInput = new UpdateAddressIsDefaultInput(
-                UUID.fromString(addressId),
-                request.isDefault()
+                aAddressId,
+                request.isDefault(),
+                EntityTags.expectedVersion(ifMatch, Address.class, aAddressId)
         );
 
         final var aOutput = this.updateAddressIsDefaultUseCase.execute(aInput);
@@ -107,19 +123,23 @@ public class AddressRestController implements AddressRestApi {
     @Override
     public ResponseEntity<UpdateAddressOutput> updateAddress(
             final String addressId,
+            final String ifMatch,
             final UpdateAddressRequest request
     ) {
         log.debug("Received a request to update the address: {}", addressId);
 
+        final var aAddressId = UUID.fromString(addressId);
+
         final var aInput = new UpdateAddressInput(
-                UUID.fromString(addressId),
+                aAddressId,
                 request.title(),
                 request.zipCode(),
                 request.number(),
                 request.complement(),
                 request.street(),
                 request.district(),
-                request.country()
+                request.country(),
+                EntityTags.expectedVersion(ifMatch, Address.class, aAddressId)
         );
 
         final var aOutput = this.updateAddressUseCase.execute(aInput);
@@ -129,42 +149,75 @@ public class AddressRestController implements AddressRestApi {
     }
 
     @Override
-    public ResponseEntity<GetAddressByIdResponse> getAddressById(final String addressId) {
+    public ResponseEntity<byte[]> getAddressById(
+            final String addressId,
+            final String ifNoneMatch,
+            final String acceptEncoding
+    ) {
         log.debug("Received a request to get the address by id: {}", addressId);
 
         final var aAddressId = new AddressId(UUID.fromString(addressId));
-        final var aOutput = this.getAddressByIdUseCase.execute(aAddressId);
 
-        return ResponseEntity.ok(new GetAddressByIdResponse(aOutput));
+        return JsonResponses.get(
+                this.responseBytesCache.getIfAvailable(),
+                ResponseBytesCache.ADDRESS,
+                aAddressId.value(),
+                ifNoneMatch,
+                acceptEncoding,
+                () -> this.entityTagProbe.addressOfId(aAddressId),
+                () -> {
+                    final var aOutput = this.getAddressByIdUseCase.execute(aAddressId);
+                    return new JsonResponses.Body(
+                            EntityTags.of(aOutput.id(), aOutput.version()),
+                            new GetAddressByIdResponse(aOutput)
+                    );
+                }
+        );
     }
 
     @Override
-    public ResponseEntity<GetDefaultAddressByCustomerIdResponse> getDefaultAddressByCustomerId(
-            final EcommerceUser user
+    public ResponseEntity<byte[]> getDefaultAddressByCustomerId(
+            final EcommerceUser user,
+            final String ifNoneMatch,
+            final String acceptEncoding
     ) {
         log.debug("Received a request to get the default address by customer id: {}", user.customerId());
 
         final var aCustomerId = new CustomerId(user.customerId());
-        final var aOutput = this.getDefaultAddressByCustomerIdUseCase.execute(aCustomerId);
 
-        return ResponseEntity.ok(new GetDefaultAddressByCustomerIdResponse(aOutput));
+        return JsonResponses.get(
+                this.responseBytesCache.getIfAvailable(),
+                ResponseBytesCache.DEFAULT_ADDRESS,
+                aCustomerId.value(),
+                ifNoneMatch,
+                acceptEncoding,
+                () -> this.entityTagProbe.defaultAddressOfCustomer(aCustomerId),
+                () -> {
+                    final var aOutput = this.getDefaultAddressByCustomerIdUseCase.execute(aCustomerId);
+                    return new JsonResponses.Body(
+                            EntityTags.of(aOutput.id(), aOutput.version()),
+                            new GetDefaultAddressByCustomerIdResponse(aOutput)
+                    );
+                }
+        );
     }
 
     @Override
-    public Pagination<ListCustomerAddressesResponse> listCustomerAddresses(
+    public CursorPagination<ListCustomerAddressesResponse> listCustomerAddresses(
             final EcommerceUser user,
             final String search,
             final int page,
             final int perPage,
             final String sort,
-            final String direction
+            final String direction,
+            final String cursor
     ) {
         log.debug("Received a request to list the addresses by customer id: {}", user.customerId());
 
         final var aCustomerId = new CustomerId(user.customerId());
         final var aSearchQuery = new SearchQuery(page, perPage, search, sort, direction);
 
-        final var aInput = new ListCustomerAddressesInput(aCustomerId, aSearchQuery);
+        final var aInput = new ListCustomerAddressesInput(aCustomerId, aSearchQuery, cursor);
 
         return this.listCustomerAddressesUseCase.execute(aInput)
                 .map(ListCustomerAddressesResponse::new);
@@ -7,10 +7,15 @@ import com.kaua.ecommerce.customer.application.usecases.customer.inputs.UpdateCu
 import com.kaua.ecommerce.customer.application.usecases.customer.inputs.UpdateCustomerTelephoneInput;
 import com.kaua.ecommerce.customer.application.usecases.customer.outputs.UpdateCustomerDocumentOutput;
 import com.kaua.ecommerce.customer.application.usecases.customer.outputs.UpdateCustomerTelephoneOutput;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
 import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
 import com.kaua.ecommerce.customer.infrastructure.configurations.authentication.EcommerceUser;
 import com.kaua.ecommerce.customer.infrastructure.mediator.SignUpMediator;
 import com.kaua.ecommerce.customer.infrastructure.rest.CustomerRestApi;
+import com.kaua.ecommerce.customer.infrastructure.rest.EntityTagProbe;
+import com.kaua.ecommerce.customer.infrastructure.rest.EntityTags;
+import com.kaua.ecommerce.customer.infrastructure.rest.JsonResponses;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.CreateCustomerRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.UpdateCustomerDocumentRequest;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.UpdateCustomerTelephoneRequest;
@@ -18,6 +23,7 @@ import com.kaua.ecommerce.customer.infrastructure.rest.res.GetCustomerByIdentifi
 import com.kaua.ecommerce.customer.infrastructure.rest.res.SignUpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -34,17 +40,23 @@ public class CustomerRestController implements CustomerRestApi {
     private final UpdateCustomerDocumentUseCase updateCustomerDocumentUseCase;
     private final UpdateCustomerTelephoneUseCase updateCustomerTelephoneUseCase;
     private final GetCustomerByUserIdUseCase getCustomerByUserIdUseCase;
+    private final EntityTagProbe entityTagProbe;
+    private final ObjectProvider<ResponseBytesCache> responseBytesCache;
 
     public CustomerRestController(
             final SignUpMediator signUpMediator,
             final UpdateCustomerDocumentUseCase updateCustomerDocumentUseCase,
             final UpdateCustomerTelephoneUseCase updateCustomerTelephoneUseCase,
-            final GetCustomerByUserIdUseCase getCustomerByUserIdUseCase
+            final GetCustomerByUserIdUseCase getCustomerByUserIdUseCase,
+            final EntityTagProbe entityTagProbe,
+            final ObjectProvider<ResponseBytesCache> responseBytesCache
     ) {
         this.signUpMediator = Objects.requireNonNull(signUpMediator);
         this.updateCustomerDocumentUseCase = Objects.requireNonNull(updateCustomerDocumentUseCase);
         this.updateCustomerTelephoneUseCase = Objects.requireNonNull(updateCustomerTelephoneUseCase);
         this.getCustomerByUserIdUseCase = Objects.requireNonNull(getCustomerByUserIdUseCase);
+        this.entityTagProbe = Objects.requireNonNull(entityTagProbe);
+        this.responseBytesCache = Objects.requireNonNull(responseBytesCache);
     }
 
     @Override
@@ -61,30 +73,35 @@ public class CustomerRestController implements CustomerRestApi {
     }
 
     @Override
-    public ResponseEntity<GetCustomerByIdentifierResponse> getMe(final EcommerceUser principal) {
+    public ResponseEntity<byte[]> getMe(
+            final EcommerceUser principal,
+            final String ifNoneMatch,
+            final String acceptEncoding
+    ) {
         log.debug("Received a request to get the authenticated customer: {}", principal);
 
         final var aUserId = new UserId(principal.id());
 
-        final var aOutput = this.getCustomerByUserIdUseCase.execute(aUserId);
-
-        return ResponseEntity.ok(new GetCustomerByIdentifierResponse(aOutput));
+        return getCustomerByUserId(aUserId, ifNoneMatch, acceptEncoding);
     }
 
     @Override
-    public ResponseEntity<GetCustomerByIdentifierResponse> getByIdentifier(final String userId) {
+    public ResponseEntity<byte[]> getByIdentifier(
+            final String userId,
+            final String ifNoneMatch,
+            final String acceptEncoding
+    ) {
         log.debug("Received a request to get a customer by user id: {}", userId);
 
         final var aUserId = new UserId(UUID.fromString(userId));
 
-        final var aOutput = this.getCustomerByUserIdUseCase.execute(aUserId);
-
-        return ResponseEntity.ok(new GetCustomerByIdentifierResponse(aOutput));
+        return getCustomerByUserId(aUserId, ifNoneMatch, acceptEncoding);
     }
 
     @Override
     public ResponseEntity<UpdateCustomerDocumentOutput> updateDocument(
             final EcommerceUser principal,
+            final String ifMatch,
             final UpdateCustomerDocumentRequest request
     ) {
         log.debug("Received a request to update a customer document: {}", request);
@@ -92,7 +109,8 @@ public class CustomerRestController implements CustomerRestApi {
         final var aInput = new UpdateCustomerDocumentInput(
                 principal.customerId(),
                 request.documentNumber(),
-                request.documentType()
+                request.documentType(),
+                EntityTags.expectedVersion(ifMatch, Customer.class, principal.id())
         );
 
         final var aOutput = this.updateCustomerDocumentUseCase.execute(aInput);
@@ -104,13 +122,15 @@ public class CustomerRestController implements CustomerRestApi {
     @Override
     public ResponseEntity<UpdateCustomerTelephoneOutput> updateTelephone(
             final EcommerceUser principal,
+            final String ifMatch,
             final UpdateCustomerTelephoneRequest request
     ) {
         log.debug("Received a request to update a customer telephone: {}", request);
 
         final var aInput = new UpdateCustomerTelephoneInput(
                 principal.customerId(),
-                request.phoneNumber()
+                request.phoneNumber(),
+                EntityTags.expectedVersion(ifMatch, Customer.class, principal.id())
         );
 
         final var aOutput = this.updateCustomerTelephoneUseCase.execute(aInput);
@@ -118,4 +138,26 @@ public class CustomerRestController implements CustomerRestApi {
         log.info("Customer telephone updated: {}", aOutput);
         return ResponseEntity.ok(aOutput);
     }
+
+    private ResponseEntity<byte[]> getCustomerByUserId(
+            final UserId aUserId,
+            final String ifNoneMatch,
+            final String acceptEncoding
+    ) {
+        return JsonResponses.get(
+                this.responseBytesCache.getIfAvailable(),
+                ResponseBytesCache.CUSTOMER,
+                aUserId.value(),
+                ifNoneMatch,
+                acceptEncoding,
+                () -> this.entityTagProbe.customerOfUserId(aUserId),
+                () -> {
+                    final var aOutput = this.getCustomerByUserIdUseCase.execute(aUserId);
+                    return new JsonResponses.Body(
+                            EntityTags.of(aUserId.value(), aOutput.version()),
+                            new GetCustomerByIdentifierResponse(aOutput)
+                    );
+                }
+        );
+    }
 }
@@ -0,0 +1,27 @@
+package com.kaua.ecommerce.customer.infrastructure.usecases;
+
+import com.kaua.ecommerce.customer.application.usecases.address.GetAddressByIdUseCase;
+import com.kaua.ecommerce.customer.application.usecases.address.outputs.GetAddressByIdOutput;
+import com.kaua.ecommerce.customer.domain.address.AddressId;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleReadCache;
+
+import java.util.Objects;
+
+public class StaleIfErrorGetAddressByIdUseCase extends GetAddressByIdUseCase {
+
+    private final GetAddressByIdUseCase delegate;
+    private final StaleReadCache<GetAddressByIdOutput> staleReadCache;
+
+    public StaleIfErrorGetAddressByIdUseCase(
+            final GetAddressByIdUseCase delegate,
+            final StaleReadCache<GetAddressByIdOutput> staleReadCache
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.staleReadCache = Objects.requireNonNull(staleReadCache);
+    }
+
+    @Override
+    public GetAddressByIdOutput execute(final AddressId input) {
+        return this.staleReadCache.get(input.value().toString(), () -> this.delegate.execute(input));
+    }
+}
@@ -0,0 +1,27 @@
+package com.kaua.ecommerce.customer.infrastructure.usecases;
+
+import com.kaua.ecommerce.customer.application.usecases.customer.GetCustomerByUserIdUseCase;
+import com.kaua.ecommerce.customer.application.usecases.customer.outputs.GetCustomerByIdentifierOutput;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleReadCache;
+
+import java.util.Objects;
+
+public class StaleIfErrorGetCustomerByUserIdUseCase extends GetCustomerByUserIdUseCase {
+
+    private final GetCustomerByUserIdUseCase delegate;
+    private final StaleReadCache<GetCustomerByIdentifierOutput> staleReadCache;
+
+    public StaleIfErrorGetCustomerByUserIdUseCase(
+            final GetCustomerByUserIdUseCase delegate,
+            final StaleReadCache<GetCustomerByIdentifierOutput> staleReadCache
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.staleReadCache = Objects.requireNonNull(staleReadCache);
+    }
+
+    @Override
+    public GetCustomerByIdentifierOutput execute(final UserId input) {
+        return this.staleReadCache.get(input.value().toString(), () -> this.delegate.execute(input));
+    }
+}
@@ -0,0 +1,27 @@
+package com.kaua.ecommerce.customer.infrastructure.usecases;
+
+import com.kaua.ecommerce.customer.application.usecases.address.GetDefaultAddressByCustomerIdUseCase;
+import com.kaua.ecommerce.customer.application.usecases.address.outputs.GetDefaultAddressByCustomerIdOutput;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleReadCache;
+
+import java.util.Objects;
+
+public class StaleIfErrorGetDefaultAddressByCustomerIdUseCase extends GetDefaultAddressByCustomerIdUseCase {
+
+    private final GetDefaultAddressByCustomerIdUseCase delegate;
+    private final StaleReadCache<GetDefaultAddressByCustomerIdOutput> staleReadCache;
+
+    public StaleIfErrorGetDefaultAddressByCustomerIdUseCase(
+            final GetDefaultAddressByCustomerIdUseCase delegate,
+            final StaleReadCache<GetDefaultAddressByCustomerIdOutput> staleReadCache
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.staleReadCache = Objects.requireNonNull(staleReadCache);
+    }
+
+    @Override
+    public GetDefaultAddressByCustomerIdOutput execute(final CustomerId input) {
+        return this.staleReadCache.get(input.value().toString(), () -> this.delegate.execute(input));
+    }
+}
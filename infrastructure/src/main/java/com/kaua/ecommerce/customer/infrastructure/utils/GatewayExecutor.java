@@ -0,0 +1,51 @@
+package com.kaua.ecommerce.customer.infrastructure.utils;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Executor dos use cases rodados em paralelo (chamada ao IdP no cadastro), sempre em threads de plataforma.
+ * Nao implementa Executor para nao ser visto como bean Executor e desligar o executor padrao do spring boot.
+ * Com pool cheio a tarefa roda na propria thread de quem chamou, que e exatamente o fluxo sincrono de antes.
+ */
+public final class GatewayExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "gateway-";
+
+    private final ExecutorService executorService;
+
+    private GatewayExecutor(final ExecutorService executorService) {
+        this.executorService = Objects.requireNonNull(executorService);
+    }
+
+    public static GatewayExecutor create(final int maxThreads) {
+        final var aThreadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        aThreadFactory.setDaemon(true);
+
+        final var aPool = new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                60,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                aThreadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        aPool.allowCoreThreadTimeOut(true);
+        return new GatewayExecutor(aPool);
+    }
+
+    public Executor executor() {
+        return this.executorService;
+    }
+
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+}
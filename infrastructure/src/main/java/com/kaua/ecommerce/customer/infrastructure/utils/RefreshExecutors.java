@@ -0,0 +1,35 @@
+package com.kaua.ecommerce.customer.infrastructure.utils;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/*
+ * Cria os executors de refresh em background dos caches e desliga todos junto com o contexto.
+ * Como o GatewayExecutor, nao implementa Executor para nao ser visto como bean Executor e desligar o executor padrao do spring boot.
+ */
+public final class RefreshExecutors {
+
+    private final List<ThreadPoolTaskExecutor> executors = new CopyOnWriteArrayList<>();
+
+    // poucas threads de proposito: o refresh nao pode disputar o pool que ja esta saturado
+    public Executor create(final String threadNamePrefix) {
+        final var aRefreshExecutor = new ThreadPoolTaskExecutor();
+        aRefreshExecutor.setCorePoolSize(1);
+        aRefreshExecutor.setMaxPoolSize(2);
+        aRefreshExecutor.setQueueCapacity(100);
+        aRefreshExecutor.setDaemon(true);
+        aRefreshExecutor.setThreadNamePrefix(threadNamePrefix);
+        aRefreshExecutor.initialize();
+
+        this.executors.add(aRefreshExecutor);
+        return aRefreshExecutor;
+    }
+
+    public void shutdown() {
+        this.executors.forEach(ThreadPoolTaskExecutor::shutdown);
+        this.executors.clear();
+    }
+}
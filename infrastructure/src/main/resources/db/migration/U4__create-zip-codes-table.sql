@@ -0,0 +1 @@
+DROP TABLE zip_codes;
\ No newline at end of file
@@ -0,0 +1,3 @@
+ALTER TABLE customers DROP COLUMN phone_region_code;
+ALTER TABLE customers DROP COLUMN phone_country_code;
+ALTER TABLE customers DROP COLUMN phone_national_number;
@@ -0,0 +1,9 @@
+CREATE TABLE zip_codes (
+    zip_code VARCHAR(8) PRIMARY KEY,
+    found BOOLEAN NOT NULL,
+    city VARCHAR(255),
+    street VARCHAR(255),
+    district VARCHAR(255),
+    state VARCHAR(60),
+    fetched_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
\ No newline at end of file
@@ -0,0 +1,3 @@
+ALTER TABLE customers ADD COLUMN phone_national_number VARCHAR(36);
+ALTER TABLE customers ADD COLUMN phone_country_code VARCHAR(5);
+ALTER TABLE customers ADD COLUMN phone_region_code VARCHAR(3);
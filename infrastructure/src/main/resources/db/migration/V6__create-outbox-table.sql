@@ -0,0 +1,12 @@
+CREATE TABLE outbox (
+    id UUID PRIMARY KEY,
+    type VARCHAR(60) NOT NULL,
+    aggregate_id VARCHAR(36) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(255),
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_outbox_available_at ON outbox (available_at);
\ No newline at end of file
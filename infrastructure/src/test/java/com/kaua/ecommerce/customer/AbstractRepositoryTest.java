@@ -1,12 +1,16 @@
 package com.kaua.ecommerce.customer;
 
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
 import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcClientAdapter;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
 import com.kaua.ecommerce.customer.infrastructure.repositories.AddressJdbcRepository;
 import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.jdbc.JdbcTestUtils;
@@ -18,17 +22,25 @@ public abstract class AbstractRepositoryTest {
 
     private static final String CUSTOMERS_TABLE = "customers";
     private static final String ADDRESSES_TABLE = "addresses";
+    private static final String OUTBOX_TABLE = "outbox";
 
     @Autowired
     private JdbcClient jdbcClient;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private CustomerJdbcRepository customerJdbcRepository;
     private AddressJdbcRepository addressJdbcRepository;
+    private ZipCodeJdbcRepository zipCodeJdbcRepository;
+    private OutboxJdbcRepository outboxJdbcRepository;
 
     @BeforeEach
     void setUp() {
-        this.customerJdbcRepository = new CustomerJdbcRepository(new JdbcClientAdapter(jdbcClient));
-        this.addressJdbcRepository = new AddressJdbcRepository(new JdbcClientAdapter(jdbcClient));
+        this.outboxJdbcRepository = new OutboxJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate));
+        this.customerJdbcRepository = new CustomerJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate), CacheInvalidationBus.noop(), this.outboxJdbcRepository);
+        this.addressJdbcRepository = new AddressJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate), CacheInvalidationBus.noop());
+        this.zipCodeJdbcRepository = new ZipCodeJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate));
     }
 
     protected int countCustomers() {
@@ -39,6 +51,10 @@ public abstract class AbstractRepositoryTest {
         return JdbcTestUtils.countRowsInTable(jdbcClient, ADDRESSES_TABLE);
     }
 
+    protected int countOutboxMessages() {
+        return JdbcTestUtils.countRowsInTable(jdbcClient, OUTBOX_TABLE);
+    }
+
     public CustomerJdbcRepository customerRepository() {
         return customerJdbcRepository;
     }
@@ -46,4 +62,16 @@ public abstract class AbstractRepositoryTest {
     public AddressJdbcRepository addressRepository() {
         return addressJdbcRepository;
     }
+
+    protected AddressJdbcRepository addressRepository(final CacheInvalidationBus cacheInvalidationBus) {
+        return new AddressJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate), cacheInvalidationBus);
+    }
+
+    public ZipCodeJdbcRepository zipCodeRepository() {
+        return zipCodeJdbcRepository;
+    }
+
+    public OutboxJdbcRepository outboxRepository() {
+        return outboxJdbcRepository;
+    }
 }
@@ -0,0 +1,38 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+class CacheInvalidationTest extends UnitTest {
+
+    @Test
+    void givenAnInvalidation_whenEncodeAndDecode_thenReturnTheSameInvalidation() {
+        final var aId = UUID.randomUUID();
+        final var aUserId = UUID.randomUUID();
+        final var aInvalidation = CacheInvalidation.of("customers", 3, aId, aUserId);
+
+        final var aDecoded = CacheInvalidation.decode(aInvalidation.encode());
+
+        Assertions.assertEquals(aInvalidation, aDecoded);
+        Assertions.assertEquals(List.of(aId.toString(), aUserId.toString()), aDecoded.keys());
+    }
+
+    @Test
+    void givenAnInvalidation_whenCallIsStale_thenOnlyOlderVersionsAreStale() {
+        final var aInvalidation = CacheInvalidation.of("customers", 3, UUID.randomUUID());
+
+        Assertions.assertTrue(aInvalidation.isStale(2));
+        Assertions.assertFalse(aInvalidation.isStale(3));
+        Assertions.assertFalse(aInvalidation.isStale(4));
+        Assertions.assertTrue(CacheInvalidation.of("addresses", CacheInvalidation.DELETED, UUID.randomUUID()).isStale(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    void givenAnInvalidPayload_whenCallDecode_thenThrowIllegalArgumentException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("customers"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+class LocalCacheInvalidationBusTest extends UnitTest {
+
+    @Mock
+    private CacheInvalidationBus.Listener listener;
+
+    private final LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+
+    @AfterEach
+    void cleanUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenNoTransaction_whenCallPublish_thenDeliverToTheListenersOfThatCache() {
+        final var aOtherListener = Mockito.mock(CacheInvalidationBus.Listener.class);
+        final var aInvalidation = CacheInvalidation.of("addresses", 2, UUID.randomUUID(), UUID.randomUUID());
+
+        this.bus.subscribe("addresses", listener);
+        this.bus.subscribe("customers", aOtherListener);
+
+        this.bus.publish(aInvalidation);
+
+        Mockito.verify(listener).invalidate(aInvalidation);
+        Mockito.verifyNoInteractions(aOtherListener);
+    }
+
+    @Test
+    void givenATransaction_whenCallPublish_thenDeliverOnlyAfterCommit() {
+        final var aInvalidation = CacheInvalidation.of("addresses", 2, UUID.randomUUID(), UUID.randomUUID());
+        this.bus.subscribe("addresses", listener);
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.bus.publish(aInvalidation);
+
+        Mockito.verifyNoInteractions(listener);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Mockito.verify(listener).invalidate(aInvalidation);
+    }
+
+    @Test
+    void givenATransactionThatRollsBack_whenCallPublish_thenNeverDeliver() {
+        this.bus.subscribe("addresses", listener);
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.bus.publish(CacheInvalidation.of("addresses", 2, UUID.randomUUID(), UUID.randomUUID()));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(it -> it.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        Mockito.verifyNoInteractions(listener);
+    }
+}
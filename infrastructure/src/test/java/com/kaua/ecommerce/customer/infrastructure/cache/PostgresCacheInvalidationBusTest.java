@@ -0,0 +1,123 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+class PostgresCacheInvalidationBusTest extends UnitTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheInvalidationBus.Listener listener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostgresCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.bus = new PostgresCacheInvalidationBus(
+                dataSource,
+                jdbcOperations,
+                transactionTemplate,
+                "cache_invalidation",
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void givenAnInvalidation_whenCallPublish_thenNotifyInsideATransaction() {
+        final var aInvalidation = CacheInvalidation.of("customers", 2, UUID.randomUUID(), UUID.randomUUID());
+
+        Mockito.doAnswer(it -> it.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(Mockito.any());
+        Mockito.doCallRealMethod().when(transactionTemplate).executeWithoutResult(Mockito.any());
+
+        this.bus.publish(aInvalidation);
+
+        Mockito.verify(jdbcOperations).query(
+                Mockito.eq("SELECT pg_notify(?, ?)"),
+                Mockito.any(RowCallbackHandler.class),
+                Mockito.eq("cache_invalidation"),
+                Mockito.eq(aInvalidation.encode())
+        );
+    }
+
+    @Test
+    void givenAPayload_whenDispatch_thenCallOnlyTheListenersOfThatCache() {
+        final var aOtherListener = Mockito.mock(CacheInvalidationBus.Listener.class);
+        final var aInvalidation = CacheInvalidation.of("customers", 2, UUID.randomUUID(), UUID.randomUUID());
+
+        this.bus.subscribe("customers", listener);
+        this.bus.subscribe("addresses", aOtherListener);
+
+        this.bus.dispatch(aInvalidation.encode());
+
+        Mockito.verify(listener).invalidate(aInvalidation);
+        Mockito.verifyNoInteractions(aOtherListener);
+        Assertions.assertEquals(1, this.meterRegistry.get(PostgresCacheInvalidationBus.RECEIVED_COUNTER)
+                .tag("cache", "customers")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void givenAnInvalidPayload_whenDispatch_thenIgnoreIt() {
+        this.bus.subscribe("customers", listener);
+
+        this.bus.dispatch("garbage");
+
+        Mockito.verifyNoInteractions(listener);
+    }
+
+    @Test
+    void givenARunningListener_whenCallStop_thenUnlistenAndCloseTheConnection() throws Exception {
+        final var aConnection = Mockito.mock(Connection.class);
+        final var aPgConnection = Mockito.mock(PGConnection.class);
+        final var aStatement = Mockito.mock(Statement.class);
+
+        Mockito.when(dataSource.getConnection()).thenReturn(aConnection);
+        Mockito.when(aConnection.createStatement()).thenReturn(aStatement);
+        Mockito.when(aConnection.unwrap(PGConnection.class)).thenReturn(aPgConnection);
+        Mockito.when(aPgConnection.getNotifications(Mockito.anyInt())).thenAnswer(it -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            return null;
+        });
+
+        this.bus.start();
+        Mockito.verify(aStatement, Mockito.timeout(5000)).execute("LISTEN \"cache_invalidation\"");
+
+        this.bus.stop();
+
+        Mockito.verify(aStatement, Mockito.timeout(5000)).execute("UNLISTEN *");
+        Mockito.verify(aConnection, Mockito.timeout(5000)).close();
+        Mockito.verify(aConnection, Mockito.never()).setAutoCommit(Mockito.anyBoolean());
+    }
+}
@@ -0,0 +1,108 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+class ResponseBytesCacheTest extends UnitTest {
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Captor
+    private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseBytesCache responseBytesCache;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.responseBytesCache = new ResponseBytesCache(1024 * 1024, Duration.ofMinutes(1), true, 64, this.cacheInvalidationBus, this.meterRegistry);
+    }
+
+    @Test
+    void givenACachedResponse_whenCallGetWithAnotherETag_thenMiss() {
+        final var aId = UUID.randomUUID();
+        final var aJson = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+
+        this.responseBytesCache.put(ResponseBytesCache.ADDRESS, aId, "\"1\"", aJson);
+
+        final var aHit = this.responseBytesCache.get(ResponseBytesCache.ADDRESS, aId, "\"1\"");
+
+        Assertions.assertTrue(aHit.isPresent());
+        Assertions.assertArrayEquals(aJson, aHit.get().json());
+        Assertions.assertFalse(aHit.get().hasGzip());
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.ADDRESS, aId, "\"2\"").isEmpty());
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.DEFAULT_ADDRESS, aId, "\"1\"").isEmpty());
+        Assertions.assertTrue(this.responseBytesCache.contains(ResponseBytesCache.ADDRESS, aId));
+        Assertions.assertFalse(this.responseBytesCache.contains(ResponseBytesCache.DEFAULT_ADDRESS, aId));
+    }
+
+    @Test
+    void givenALargeResponse_whenCallPut_thenStoreItPreGzipped() throws IOException {
+        final var aId = UUID.randomUUID();
+        final var aJson = "{\"title\":\"%s\"}".formatted("a".repeat(500)).getBytes(StandardCharsets.UTF_8);
+
+        this.responseBytesCache.put(ResponseBytesCache.CUSTOMER, aId, "\"1\"", aJson);
+
+        final var aCached = this.responseBytesCache.get(ResponseBytesCache.CUSTOMER, aId, "\"1\"").get();
+
+        Assertions.assertTrue(aCached.hasGzip());
+        try (final var aInput = new GZIPInputStream(new ByteArrayInputStream(aCached.gzip()))) {
+            Assertions.assertArrayEquals(aJson, aInput.readAllBytes());
+        }
+        Assertions.assertTrue(this.meterRegistry.get("cache.memory.bytes")
+                .tag("cache", ResponseBytesCache.CACHE_NAME)
+                .gauge()
+                .value() >= aJson.length);
+    }
+
+    @Test
+    void givenAnAddressInvalidation_whenReceived_thenEvictTheAddressAndTheDefaultOfTheCustomer() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq("addresses"), listenerCaptor.capture());
+
+        final var aAddressId = UUID.randomUUID();
+        final var aCustomerId = UUID.randomUUID();
+        final var aJson = "{}".getBytes(StandardCharsets.UTF_8);
+
+        this.responseBytesCache.put(ResponseBytesCache.ADDRESS, aAddressId, "\"1\"", aJson);
+        this.responseBytesCache.put(ResponseBytesCache.DEFAULT_ADDRESS, aCustomerId, "\"x.1\"", aJson);
+        this.responseBytesCache.put(ResponseBytesCache.CUSTOMER, aCustomerId, "\"1\"", aJson);
+
+        listenerCaptor.getValue().invalidate(CacheInvalidation.of("addresses", 2, aAddressId, aCustomerId));
+
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.ADDRESS, aAddressId, "\"1\"").isEmpty());
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.DEFAULT_ADDRESS, aCustomerId, "\"x.1\"").isEmpty());
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.CUSTOMER, aCustomerId, "\"1\"").isPresent());
+    }
+
+    @Test
+    void givenAReconnection_whenInvalidateAll_thenClearOnlyTheSubscribedTypes() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq("customers"), listenerCaptor.capture());
+
+        final var aId = UUID.randomUUID();
+        final var aJson = "{}".getBytes(StandardCharsets.UTF_8);
+
+        this.responseBytesCache.put(ResponseBytesCache.CUSTOMER, aId, "\"1\"", aJson);
+        this.responseBytesCache.put(ResponseBytesCache.ADDRESS, aId, "\"1\"", aJson);
+
+        listenerCaptor.getValue().invalidateAll();
+
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.CUSTOMER, aId, "\"1\"").isEmpty());
+        Assertions.assertTrue(this.responseBytesCache.get(ResponseBytesCache.ADDRESS, aId, "\"1\"").isPresent());
+    }
+}
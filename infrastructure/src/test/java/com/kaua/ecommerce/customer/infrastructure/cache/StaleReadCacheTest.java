@@ -0,0 +1,164 @@
+package com.kaua.ecommerce.customer.infrastructure.cache;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+class StaleReadCacheTest extends UnitTest {
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private Supplier<String> loader;
+
+    @Captor
+    private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private StaleReadCache<String> staleReadCache;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.staleReadCache = new StaleReadCache<>(
+                "stale_customers",
+                "customers",
+                this.refreshes::add,
+                new StaleReadCache.CacheSettings(100, Duration.ofMinutes(1), Duration.ofSeconds(10), 3, Duration.ofSeconds(5)),
+                this.cacheInvalidationBus,
+                this.meterRegistry
+        );
+    }
+
+    @AfterEach
+    void cleanUp() {
+        StaleRead.clear();
+    }
+
+    @Test
+    void givenAnExhaustedPool_whenACopyExists_thenServeItMarkedAsStaleAndRefreshLater() {
+        final var aKey = UUID.randomUUID().toString();
+        Mockito.when(loader.get())
+                .thenReturn("v1")
+                .thenThrow(new CannotCreateTransactionException("Could not open JDBC Connection",
+                        new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                                new SQLTransientConnectionException("Connection is not available, request timed out after 250ms"))));
+
+        Assertions.assertEquals("v1", this.staleReadCache.get(aKey, loader));
+        Assertions.assertTrue(StaleRead.take().isEmpty());
+
+        Assertions.assertEquals("v1", this.staleReadCache.get(aKey, loader));
+        Assertions.assertTrue(StaleRead.take().isPresent());
+        Assertions.assertTrue(this.staleReadCache.isDegraded());
+        Assertions.assertEquals(1, this.refreshes.size());
+        Assertions.assertEquals(1.0, this.meterRegistry.get("cache.stale.served").tag("cache", "stale_customers").counter().count());
+    }
+
+    @Test
+    void givenDegradedMode_whenGet_thenServeCopyWithoutDatabaseUntilARefreshSucceeds() {
+        final var aKey = UUID.randomUUID().toString();
+        Mockito.when(loader.get())
+                .thenReturn("v1")
+                .thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection"))
+                .thenReturn("v2");
+
+        this.staleReadCache.get(aKey, loader);
+        this.staleReadCache.get(aKey, loader);
+
+        Assertions.assertEquals("v1", this.staleReadCache.get(aKey, loader));
+        Assertions.assertEquals(1, this.refreshes.size());
+        Mockito.verify(loader, Mockito.times(2)).get();
+
+        this.refreshes.get(0).run();
+
+        Assertions.assertFalse(this.staleReadCache.isDegraded());
+        StaleRead.clear();
+        Assertions.assertEquals("v2", this.staleReadCache.get(aKey, loader));
+        Assertions.assertTrue(StaleRead.take().isEmpty());
+    }
+
+    @Test
+    void givenNoCopy_whenThePoolIsExhausted_thenRethrow() {
+        final var aException = new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection");
+        Mockito.when(loader.get()).thenThrow(aException);
+
+        final var aThrown = Assertions.assertThrows(CannotGetJdbcConnectionException.class,
+                () -> this.staleReadCache.get(UUID.randomUUID().toString(), loader));
+
+        Assertions.assertSame(aException, aThrown);
+        Assertions.assertTrue(this.refreshes.isEmpty());
+    }
+
+    @Test
+    void givenANonDatabaseError_whenACopyExists_thenRethrow() {
+        final var aKey = UUID.randomUUID().toString();
+        Mockito.when(loader.get())
+                .thenReturn("v1")
+                .thenThrow(new IllegalStateException("boom"));
+
+        this.staleReadCache.get(aKey, loader);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> this.staleReadCache.get(aKey, loader));
+        Assertions.assertFalse(this.staleReadCache.isDegraded());
+    }
+
+    @Test
+    void givenAnInvalidation_whenThePoolIsExhausted_thenNeverServeTheDiscardedCopy() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq("customers"), listenerCaptor.capture());
+
+        final var aKey = UUID.randomUUID().toString();
+        Mockito.when(loader.get())
+                .thenReturn("v1")
+                .thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection"));
+
+        this.staleReadCache.get(aKey, loader);
+        listenerCaptor.getValue().invalidate(CacheInvalidation.of("customers", 2, UUID.randomUUID(), aKey));
+
+        Assertions.assertThrows(CannotGetJdbcConnectionException.class, () -> this.staleReadCache.get(aKey, loader));
+    }
+
+    @Test
+    void givenSlowReads_whenBelowTheCount_thenStayOutOfDegradedModeUntilTheCountIsReached() {
+        final var aStaleReadCache = new StaleReadCache<String>(
+                "stale_addresses",
+                "addresses",
+                this.refreshes::add,
+                new StaleReadCache.CacheSettings(100, Duration.ofMinutes(1), Duration.ofMillis(1), 3, Duration.ofMinutes(1)),
+                this.cacheInvalidationBus,
+                this.meterRegistry
+        );
+        Mockito.when(loader.get()).thenAnswer(it -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            return "v1";
+        });
+
+        aStaleReadCache.get(UUID.randomUUID().toString(), loader);
+        aStaleReadCache.get(UUID.randomUUID().toString(), loader);
+
+        Assertions.assertFalse(aStaleReadCache.isDegraded());
+
+        aStaleReadCache.get(UUID.randomUUID().toString(), loader);
+
+        Assertions.assertTrue(aStaleReadCache.isDegraded());
+    }
+}
@@ -0,0 +1,112 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository.ZipCodeEntry;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Optional;
+
+class CachedAddressGatewayTest extends UnitTest {
+
+    private static final GetAddressByZipCodeResponse SE = new GetAddressByZipCodeResponse(
+            "01001-000", "São Paulo", "Praça da Sé", "Sé", "SP"
+    );
+
+    @Mock
+    private AddressGateway delegate;
+
+    @Mock
+    private ZipCodeJdbcRepository zipCodeRepository;
+
+    private CachedAddressGateway cachedAddressGateway;
+
+    @BeforeEach
+    void setUp() {
+        this.cachedAddressGateway = new CachedAddressGateway(
+                this.delegate,
+                this.zipCodeRepository,
+                Runnable::run,
+                new CachedAddressGateway.CacheSettings(100, Duration.ofHours(1), Duration.ofDays(30), Duration.ofHours(1)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void givenAnUnknownZipCode_whenCallGetAddressByZipCodeTwice_thenCallTheServiceOnceAndPersist() {
+        Mockito.when(zipCodeRepository.zipCodeOf("01001000")).thenReturn(Optional.empty());
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenReturn(Optional.of(SE));
+
+        Assertions.assertEquals(SE, this.cachedAddressGateway.getAddressByZipCode("01001-000").get());
+        Assertions.assertEquals(SE, this.cachedAddressGateway.getAddressByZipCode("01001000").get());
+
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("01001000");
+        Mockito.verify(zipCodeRepository, Mockito.times(1)).zipCodeOf("01001000");
+        Mockito.verify(zipCodeRepository, Mockito.times(1)).save(Mockito.argThat(it -> it.isFound() && it.zipCode().equals("01001000")));
+    }
+
+    @Test
+    void givenAFailureToPersistTheZipCode_whenCallGetAddressByZipCode_thenReturnTheFetchedAddress() {
+        Mockito.when(zipCodeRepository.zipCodeOf("01001000")).thenReturn(Optional.empty());
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenReturn(Optional.of(SE));
+        Mockito.doThrow(new IllegalStateException("Database unavailable")).when(zipCodeRepository).save(Mockito.any());
+
+        Assertions.assertEquals(SE, this.cachedAddressGateway.getAddressByZipCode("01001000").get());
+        Assertions.assertEquals(SE, this.cachedAddressGateway.getAddressByZipCode("01001000").get());
+
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("01001000");
+    }
+
+    @Test
+    void givenAZipCodeNotFoundByTheService_whenCallGetAddressByZipCodeAgain_thenServeTheNegativeEntry() {
+        Mockito.when(zipCodeRepository.zipCodeOf("99999999")).thenReturn(Optional.empty());
+        Mockito.when(delegate.getAddressByZipCode("99999999")).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(this.cachedAddressGateway.getAddressByZipCode("99999999").isEmpty());
+        Assertions.assertTrue(this.cachedAddressGateway.getAddressByZipCode("99999999").isEmpty());
+
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("99999999");
+        Mockito.verify(zipCodeRepository, Mockito.times(1)).save(Mockito.argThat(it -> !it.isFound()));
+    }
+
+    @Test
+    void givenAStaleStoredZipCode_whenCallGetAddressByZipCode_thenServeItAndRefreshInBackground() {
+        final var aStale = new ZipCodeEntry("01001000", SE, InstantUtils.now().minus(Duration.ofDays(31)));
+
+        Mockito.when(zipCodeRepository.zipCodeOf("01001000")).thenReturn(Optional.of(aStale));
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenThrow(new IllegalStateException("service down"));
+
+        Assertions.assertEquals(SE, this.cachedAddressGateway.getAddressByZipCode("01001000").get());
+
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("01001000");
+        Mockito.verify(zipCodeRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void givenAStaleNegativeEntryAndTheServiceDown_whenCallGetAddressByZipCode_thenServeTheStaleEntry() {
+        final var aStale = new ZipCodeEntry("99999999", null, InstantUtils.now().minus(Duration.ofHours(2)));
+
+        Mockito.when(zipCodeRepository.zipCodeOf("99999999")).thenReturn(Optional.of(aStale));
+        Mockito.when(delegate.getAddressByZipCode("99999999")).thenThrow(new IllegalStateException("service down"));
+
+        Assertions.assertTrue(this.cachedAddressGateway.getAddressByZipCode("99999999").isEmpty());
+    }
+
+    @Test
+    void givenAnInvalidZipCode_whenCallGetAddressByZipCode_thenDelegateWithoutCaching() {
+        Mockito.when(delegate.getAddressByZipCode("123")).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(this.cachedAddressGateway.getAddressByZipCode("123").isEmpty());
+
+        Mockito.verifyNoInteractions(zipCodeRepository);
+    }
+}
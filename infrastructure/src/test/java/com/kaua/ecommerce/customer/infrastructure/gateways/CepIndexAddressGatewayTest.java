@@ -0,0 +1,82 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.infrastructure.gateways.cepindex.CepIndex;
+import com.kaua.ecommerce.customer.infrastructure.gateways.cepindex.CepIndexWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Optional;
+
+class CepIndexAddressGatewayTest extends UnitTest {
+
+    @Mock
+    private AddressGateway fallback;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CepIndexAddressGateway cepIndexAddressGateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final var aOutput = this.directory.resolve("cep-index.bin");
+        CepIndexWriter.write(new BufferedReader(new StringReader("""
+                cep;logradouro;bairro;cidade;uf
+                01001-000;Praça da Sé;Sé;São Paulo;SP
+                """)), aOutput, 1L);
+
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cepIndexAddressGateway = new CepIndexAddressGateway(CepIndex.open(aOutput), this.fallback, this.meterRegistry);
+    }
+
+    @Test
+    void givenACepInTheIndex_whenCallGetAddressByZipCode_thenAnswerWithoutTheFallback() {
+        final var aResponse = this.cepIndexAddressGateway.getAddressByZipCode("01001-000");
+
+        Assertions.assertEquals(
+                new GetAddressByZipCodeResponse("01001-000", "São Paulo", "Praça da Sé", "Sé", "SP"),
+                aResponse.get()
+        );
+        Assertions.assertEquals(1, lookups("hit"));
+
+        Mockito.verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void givenACepMissingFromTheIndex_whenCallGetAddressByZipCode_thenCallTheFallback() {
+        final var aAddress = new GetAddressByZipCodeResponse("20040-002", "Rio de Janeiro", "Avenida Rio Branco", "Centro", "RJ");
+
+        Mockito.when(fallback.getAddressByZipCode("20040002")).thenReturn(Optional.of(aAddress));
+
+        Assertions.assertEquals(aAddress, this.cepIndexAddressGateway.getAddressByZipCode("20040-002").get());
+        Assertions.assertEquals(1, lookups("miss"));
+
+        Mockito.verify(fallback, Mockito.times(1)).getAddressByZipCode("20040002");
+    }
+
+    @Test
+    void givenAnInvalidZipCode_whenCallGetAddressByZipCode_thenCallTheFallbackAsIs() {
+        Mockito.when(fallback.getAddressByZipCode("123")).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(this.cepIndexAddressGateway.getAddressByZipCode("123").isEmpty());
+
+        Mockito.verify(fallback, Mockito.times(1)).getAddressByZipCode("123");
+    }
+
+    private double lookups(final String aOutcome) {
+        return this.meterRegistry.get(CepIndexAddressGateway.LOOKUP_COUNTER).tag("outcome", aOutcome).counter().count();
+    }
+}
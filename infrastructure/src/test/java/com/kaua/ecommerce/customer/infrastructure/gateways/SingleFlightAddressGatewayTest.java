@@ -0,0 +1,115 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class SingleFlightAddressGatewayTest extends UnitTest {
+
+    private static final GetAddressByZipCodeResponse SE = new GetAddressByZipCodeResponse(
+            "01001-000", "São Paulo", "Praça da Sé", "Sé", "SP"
+    );
+
+    @Mock
+    private AddressGateway delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightAddressGateway singleFlightAddressGateway;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.singleFlightAddressGateway = new SingleFlightAddressGateway(this.delegate, this.meterRegistry);
+        this.callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.callers.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentCallsForTheSameZipCode_whenOneIsInFlight_thenShareTheUpstreamResponse() throws Exception {
+        final var aRelease = new CountDownLatch(1);
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenAnswer(it -> {
+            aRelease.await();
+            return Optional.of(SE);
+        });
+
+        final var aLeader = this.callers.submit(() -> this.singleFlightAddressGateway.getAddressByZipCode("01001000"));
+        awaitCalls("upstream", 1);
+        final var aFollower = this.callers.submit(() -> this.singleFlightAddressGateway.getAddressByZipCode("01001000"));
+        awaitCalls("coalesced", 1);
+        aRelease.countDown();
+
+        Assertions.assertEquals(SE, aLeader.get(5, TimeUnit.SECONDS).get());
+        Assertions.assertEquals(SE, aFollower.get(5, TimeUnit.SECONDS).get());
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("01001000");
+    }
+
+    @Test
+    void givenConcurrentCallsForTheSameZipCode_whenTheUpstreamFails_thenEveryCallerReceivesTheError() throws Exception {
+        final var aRelease = new CountDownLatch(1);
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenAnswer(it -> {
+            aRelease.await();
+            throw new IllegalStateException("Zip code service unavailable");
+        });
+
+        final var aLeader = this.callers.submit(() -> this.singleFlightAddressGateway.getAddressByZipCode("01001000"));
+        awaitCalls("upstream", 1);
+        final var aFollower = this.callers.submit(() -> this.singleFlightAddressGateway.getAddressByZipCode("01001000"));
+        awaitCalls("coalesced", 1);
+        aRelease.countDown();
+
+        final var aLeaderError = Assertions.assertThrows(ExecutionException.class, () -> aLeader.get(5, TimeUnit.SECONDS));
+        final var aFollowerError = Assertions.assertThrows(ExecutionException.class, () -> aFollower.get(5, TimeUnit.SECONDS));
+
+        Assertions.assertInstanceOf(IllegalStateException.class, aLeaderError.getCause());
+        Assertions.assertInstanceOf(IllegalStateException.class, aFollowerError.getCause());
+        Mockito.verify(delegate, Mockito.times(1)).getAddressByZipCode("01001000");
+    }
+
+    @Test
+    void givenSequentialCalls_whenTheFirstHasFinished_thenCallUpstreamAgain() {
+        Mockito.when(delegate.getAddressByZipCode("01001000")).thenReturn(Optional.of(SE));
+
+        this.singleFlightAddressGateway.getAddressByZipCode("01001000");
+        this.singleFlightAddressGateway.getAddressByZipCode("01001000");
+
+        Mockito.verify(delegate, Mockito.times(2)).getAddressByZipCode("01001000");
+        Assertions.assertEquals(0, callsOf("coalesced"));
+        Assertions.assertEquals(0, this.meterRegistry.get(SingleFlightAddressGateway.IN_FLIGHT_GAUGE).gauge().value());
+    }
+
+    private void awaitCalls(final String aOutcome, final int aExpected) throws InterruptedException {
+        final var aDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (callsOf(aOutcome) < aExpected) {
+            if (System.nanoTime() > aDeadline) {
+                Assertions.fail("Timed out waiting for " + aOutcome + " calls");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double callsOf(final String aOutcome) {
+        return this.meterRegistry.get(SingleFlightAddressGateway.CALLS_COUNTER)
+                .tag("outcome", aOutcome)
+                .counter()
+                .count();
+    }
+}
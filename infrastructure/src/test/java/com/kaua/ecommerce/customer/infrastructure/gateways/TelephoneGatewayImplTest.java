@@ -100,4 +100,40 @@ class TelephoneGatewayImplTest {
 
         Assertions.assertEquals(expectedErrorMessage, aException.getErrors().get(0).message());
     }
+
+    @Test
+    void givenAValidPhoneNumber_whenCallAnalyze_thenShouldReturnEveryFormatFromASingleParse() {
+        final var aPhoneNumber = "+55 (11) 98765-4321";
+
+        final var aResult = this.telephoneGateway.analyze(aPhoneNumber);
+
+        Assertions.assertTrue(aResult.valid());
+        Assertions.assertEquals("+5511987654321", aResult.e164());
+        Assertions.assertEquals("(11) 98765-4321", aResult.local().phoneNumber());
+        Assertions.assertEquals("+55", aResult.local().countryCode());
+        Assertions.assertEquals("BR", aResult.local().regionCode());
+    }
+
+    @Test
+    void givenTheSameNumberWithDifferentPunctuation_whenCallAnalyze_thenShouldReuseTheCachedAnalysis() {
+        final var aFirst = this.telephoneGateway.analyze("+55 (21) 98765-4321");
+        final var aSecond = this.telephoneGateway.analyze("+5521987654321");
+
+        Assertions.assertSame(aFirst, aSecond);
+    }
+
+    @Test
+    void givenAnInvalidPhoneNumber_whenCallAnalyze_thenShouldReturnUnparseable() {
+        final var aResult = this.telephoneGateway.analyze("invalid-phone-number");
+
+        Assertions.assertFalse(aResult.valid());
+        Assertions.assertFalse(aResult.parsed());
+        Assertions.assertNull(aResult.e164());
+        Assertions.assertNull(aResult.local());
+    }
+
+    @Test
+    void givenANullPhoneNumber_whenCallAnalyze_thenShouldReturnUnparseable() {
+        Assertions.assertFalse(this.telephoneGateway.analyze(null).parsed());
+    }
 }
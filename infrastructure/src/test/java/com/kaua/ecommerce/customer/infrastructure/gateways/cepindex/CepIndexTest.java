@@ -0,0 +1,82 @@
+package com.kaua.ecommerce.customer.infrastructure.gateways.cepindex;
+
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class CepIndexTest extends UnitTest {
+
+    private static final String CSV = """
+            cep;logradouro;bairro;cidade;uf
+            20040-002;Avenida Rio Branco;Centro;Rio de Janeiro;RJ
+            01001-000;Praça da Sé;Sé;São Paulo;SP
+            69900000;;;Rio Branco;AC
+            """;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenACsv_whenWriteAndOpenTheIndex_thenFindEveryCep() throws IOException {
+        final var aIndex = writeAndOpen(CSV, 20261001L);
+
+        Assertions.assertEquals(20261001L, aIndex.datasetVersion());
+        Assertions.assertEquals(3, aIndex.size());
+        Assertions.assertEquals(
+                new GetAddressByZipCodeResponse("01001-000", "São Paulo", "Praça da Sé", "Sé", "SP"),
+                aIndex.find(1001000).get()
+        );
+        Assertions.assertEquals(
+                new GetAddressByZipCodeResponse("20040-002", "Rio de Janeiro", "Avenida Rio Branco", "Centro", "RJ"),
+                aIndex.find(20040002).get()
+        );
+        Assertions.assertEquals(
+                new GetAddressByZipCodeResponse("69900-000", "Rio Branco", "", "", "AC"),
+                aIndex.find(69900000).get()
+        );
+    }
+
+    @Test
+    void givenAnIndex_whenFindAnUnknownCep_thenReturnEmpty() throws IOException {
+        final var aIndex = writeAndOpen(CSV, 1L);
+
+        Assertions.assertTrue(aIndex.find(0).isEmpty());
+        Assertions.assertTrue(aIndex.find(1001001).isEmpty());
+        Assertions.assertTrue(aIndex.find(99999999).isEmpty());
+    }
+
+    @Test
+    void givenACsvWithADuplicatedCep_whenWrite_thenThrowIllegalArgumentException() {
+        final var aCsv = CSV + "01001000;Outra;Sé;São Paulo;SP\n";
+
+        final var aException = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> writeAndOpen(aCsv, 1L)
+        );
+
+        Assertions.assertEquals("Duplicated CEP 01001000 at line 5", aException.getMessage());
+    }
+
+    @Test
+    void givenAFileThatIsNotAnIndex_whenOpen_thenThrowIllegalArgumentException() throws IOException {
+        final var aFile = Files.writeString(this.directory.resolve("not-an-index.bin"), CSV);
+
+        final var aException = Assertions.assertThrows(IllegalArgumentException.class, () -> CepIndex.open(aFile));
+
+        Assertions.assertEquals("File is not a CEP index", aException.getMessage());
+    }
+
+    private CepIndex writeAndOpen(final String aCsv, final long aVersion) throws IOException {
+        final var aOutput = this.directory.resolve("cep-index.bin");
+        CepIndexWriter.write(new BufferedReader(new StringReader(aCsv)), aOutput, aVersion);
+        return CepIndex.open(aOutput);
+    }
+}
@@ -0,0 +1,105 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(OutputCaptureExtension.class)
+class InstrumentedDatabaseClientTest extends UnitTest {
+
+    private static final SqlStatement SELECT_NAMES = SqlStatement.of(
+            "instrumented.selectNames",
+            "SELECT name FROM events WHERE kind = :kind"
+    );
+
+    @Mock
+    private DatabaseClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenASuccessfulQuery_whenCallQuery_thenRecordTheTimerAndTheRows() {
+        final var aParams = SELECT_NAMES.with("created");
+        Mockito.when(delegate.query(Mockito.eq(aParams), Mockito.<RowMap<String>>any())).thenReturn(List.of("a", "b", "c"));
+
+        final var aClient = new InstrumentedDatabaseClient(this.delegate, this.meterRegistry, Duration.ofMinutes(1));
+
+        Assertions.assertEquals(3, aClient.query(aParams, rs -> rs.getString(1)).size());
+
+        final var aTimer = this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("statement", "instrumented.selectNames")
+                .tag("operation", "query")
+                .tag("outcome", "success")
+                .timer();
+        final var aRows = this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_ROWS)
+                .tag("statement", "instrumented.selectNames")
+                .tag("operation", "query")
+                .summary();
+
+        Assertions.assertEquals(1, aTimer.count());
+        Assertions.assertEquals(1, aRows.count());
+        Assertions.assertEquals(3, aRows.totalAmount());
+    }
+
+    @Test
+    void givenAFailingQuery_whenCallQuery_thenRecordTheErrorOutcomeWithoutRows() {
+        final var aParams = SELECT_NAMES.with("created");
+        Mockito.when(delegate.query(Mockito.eq(aParams), Mockito.<RowMap<String>>any()))
+                .thenThrow(new IllegalStateException("connection closed"));
+
+        final var aClient = new InstrumentedDatabaseClient(this.delegate, this.meterRegistry, Duration.ofMinutes(1));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> aClient.query(aParams, rs -> rs.getString(1)));
+
+        Assertions.assertEquals(1, this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("statement", "instrumented.selectNames")
+                .tag("outcome", "error")
+                .timer()
+                .count());
+        Assertions.assertNull(this.meterRegistry.find(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("outcome", "success")
+                .timer());
+        Assertions.assertNull(this.meterRegistry.find(InstrumentedDatabaseClient.STATEMENT_ROWS).summary());
+    }
+
+    @Test
+    void givenAStatementOverTheThreshold_whenCallQuery_thenLogTheSlowStatement(final CapturedOutput output) {
+        final var aParams = SELECT_NAMES.with("created");
+        Mockito.when(delegate.query(Mockito.eq(aParams), Mockito.<RowMap<String>>any())).thenReturn(List.of("a"));
+
+        final var aClient = new InstrumentedDatabaseClient(this.delegate, this.meterRegistry, Duration.ZERO);
+
+        aClient.query(aParams, rs -> rs.getString(1));
+
+        Assertions.assertTrue(output.getOut().contains(
+                "Slow statement [statement:instrumented.selectNames] [operation:query] [outcome:success]"));
+        Assertions.assertTrue(output.getOut().contains("[rows:1]"));
+    }
+
+    @Test
+    void givenAStatementUnderTheThreshold_whenCallQuery_thenDoNotLog(final CapturedOutput output) {
+        final var aParams = SELECT_NAMES.with("created");
+        Mockito.when(delegate.query(Mockito.eq(aParams), Mockito.<RowMap<String>>any())).thenReturn(List.of("a"));
+
+        final var aClient = new InstrumentedDatabaseClient(this.delegate, this.meterRegistry, Duration.ofMinutes(1));
+
+        aClient.query(aParams, rs -> rs.getString(1));
+
+        Assertions.assertFalse(output.getOut().contains("Slow statement [statement:instrumented.selectNames]"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class LookupBatcherTest extends UnitTest {
+
+    // longa o bastante para que so o lote cheio dispare a consulta nos testes concorrentes
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(30);
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Set<String>> loads;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.loads = new CopyOnWriteArrayList<>();
+        this.callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.callers.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentLoads_whenTheBatchIsFull_thenLoadEveryKeyInOneCall() throws Exception {
+        final var aBatcher = batcher(LONG_WINDOW, 3, this::upperCase);
+
+        final var aFirst = this.callers.submit(() -> aBatcher.load("a"));
+        final var aSecond = this.callers.submit(() -> aBatcher.load("b"));
+        final var aThird = this.callers.submit(() -> aBatcher.load("c"));
+
+        Assertions.assertEquals(Optional.of("A"), aFirst.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Optional.of("B"), aSecond.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Optional.of("C"), aThird.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(Set.of("a", "b", "c")), this.loads);
+        Assertions.assertEquals(1, batchSize().count());
+        Assertions.assertEquals(3, batchSize().totalAmount());
+    }
+
+    @Test
+    void givenConcurrentLoadsOfTheSameKey_whenBatched_thenLoadTheKeyOnce() throws Exception {
+        // chaves repetidas nao enchem o lote, entao quem fecha e a janela
+        final var aBatcher = batcher(Duration.ofMillis(500), 64, this::upperCase);
+
+        final var aFirst = this.callers.submit(() -> aBatcher.load("a"));
+        final var aSecond = this.callers.submit(() -> aBatcher.load("a"));
+        final var aThird = this.callers.submit(() -> aBatcher.load("b"));
+
+        Assertions.assertEquals(Optional.of("A"), aFirst.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Optional.of("A"), aSecond.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Optional.of("B"), aThird.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(Set.of("a", "b")), this.loads);
+    }
+
+    @Test
+    void givenConcurrentLoads_whenTheLoaderFails_thenEveryCallerReceivesTheError() {
+        final var aBatcher = batcher(LONG_WINDOW, 2, keys -> {
+            throw new IllegalStateException("Database unavailable");
+        });
+
+        final var aFirst = this.callers.submit(() -> aBatcher.load("a"));
+        final var aSecond = this.callers.submit(() -> aBatcher.load("b"));
+
+        final var aFirstError = Assertions.assertThrows(ExecutionException.class, () -> aFirst.get(5, TimeUnit.SECONDS));
+        final var aSecondError = Assertions.assertThrows(ExecutionException.class, () -> aSecond.get(5, TimeUnit.SECONDS));
+
+        Assertions.assertInstanceOf(IllegalStateException.class, aFirstError.getCause());
+        Assertions.assertInstanceOf(IllegalStateException.class, aSecondError.getCause());
+    }
+
+    @Test
+    void givenASingleLoad_whenTheWindowExpires_thenLoadAloneAndReturnEmptyForAMissingKey() {
+        final var aBatcher = batcher(Duration.ofMillis(1), 64, keys -> Map.of());
+
+        Assertions.assertTrue(aBatcher.load("a").isEmpty());
+        Assertions.assertEquals(List.of(Set.of("a")), this.loads);
+        Assertions.assertEquals(1, batchSize().count());
+    }
+
+    private LookupBatcher<String, String> batcher(
+            final Duration aWindow,
+            final int aMaxBatchSize,
+            final Function<Set<String>, Map<String, String>> aLoader
+    ) {
+        return new LookupBatcher<>("test", aWindow, aMaxBatchSize, keys -> {
+            this.loads.add(Set.copyOf(keys));
+            return aLoader.apply(keys);
+        }, this.meterRegistry);
+    }
+
+    private Map<String, String> upperCase(final Set<String> aKeys) {
+        return aKeys.stream().collect(Collectors.toMap(Function.identity(), String::toUpperCase));
+    }
+
+    private DistributionSummary batchSize() {
+        return this.meterRegistry.get(LookupBatcher.BATCH_SIZE_SUMMARY).tag("lookup", "test").summary();
+    }
+}
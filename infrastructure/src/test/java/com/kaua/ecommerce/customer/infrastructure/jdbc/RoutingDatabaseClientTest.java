@@ -0,0 +1,170 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+class RoutingDatabaseClientTest extends UnitTest {
+
+    private static final SqlStatement WHO_AM_I = SqlStatement.of("routing.whoAmI", "SELECT name FROM node");
+    private static final SqlStatement INSERT_EVENT = SqlStatement.of(
+            "routing.insertEvent",
+            "INSERT INTO events (name) VALUES (:name)"
+    );
+
+    private DriverManagerDataSource primaryDataSource;
+    private DriverManagerDataSource replicaDataSource;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        this.primaryDataSource = createDatabase("routing_primary", "primary");
+        this.replicaDataSource = createDatabase("routing_replica", "replica");
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(this.primaryDataSource).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(this.replicaDataSource).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void givenAHealthyReplica_whenCallQuery_thenReadFromReplica() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 0");
+
+        Assertions.assertEquals("replica", whoAmI(aClient));
+    }
+
+    @Test
+    void givenARequestThatWrote_whenCallQuery_thenReadFromPrimaryUntilTheRequestEnds() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 0");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        aClient.update(INSERT_EVENT.with("created"));
+
+        Assertions.assertTrue(PrimaryPin.isPinned());
+        Assertions.assertEquals("primary", whoAmI(aClient));
+
+        RequestContextHolder.resetRequestAttributes();
+
+        Assertions.assertFalse(PrimaryPin.isPinned());
+        Assertions.assertEquals("replica", whoAmI(aClient));
+    }
+
+    @Test
+    void givenAWriteOutsideARequest_whenTheTransactionEnds_thenTheThreadIsNotPinned() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 0");
+        final var aTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.primaryDataSource));
+
+        final var aPinnedInside = aTransactionTemplate.execute(status -> {
+            aClient.update(INSERT_EVENT.with("created"));
+            return PrimaryPin.isPinned();
+        });
+
+        Assertions.assertEquals(Boolean.TRUE, aPinnedInside);
+        Assertions.assertFalse(PrimaryPin.isPinned());
+        Assertions.assertEquals("replica", whoAmI(aClient));
+
+        // sem request e sem transacao (autocommit) a escrita nao deixa nada na thread
+        aClient.update(INSERT_EVENT.with("created"));
+
+        Assertions.assertFalse(PrimaryPin.isPinned());
+    }
+
+    @Test
+    void givenAReplicaWithLagAboveLimit_whenCallQuery_thenReadFromPrimary() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 10");
+
+        Assertions.assertEquals("primary", whoAmI(aClient));
+    }
+
+    @Test
+    void givenAnUnreachableReplica_whenCallQuery_thenFallbackToPrimary() {
+        final var aUnreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable");
+        final var aMonitor = new ReplicaLagMonitor(
+                new JdbcTemplate(this.replicaDataSource),
+                aUnreachable,
+                "SELECT 0",
+                Duration.ofSeconds(1)
+        );
+        final var aClient = new RoutingDatabaseClient(
+                adapter(this.primaryDataSource),
+                adapter(aUnreachable),
+                aMonitor,
+                this.meterRegistry
+        );
+
+        Assertions.assertEquals("primary", whoAmI(aClient));
+        Assertions.assertEquals(1, this.meterRegistry.get(RoutingDatabaseClient.ROUTE_COUNTER)
+                .tag("reason", "replica_unavailable")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void givenAnActiveTransaction_whenCallQuery_thenReadFromPrimary() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 0");
+        final var aTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.primaryDataSource));
+
+        final var aActualResponse = aTransactionTemplate.execute(status -> whoAmI(aClient));
+
+        Assertions.assertEquals("primary", aActualResponse);
+    }
+
+    @Test
+    void givenAnActiveReadOnlyTransaction_whenCallQuery_thenReadFromReplica() {
+        final var aClient = routingClient(this.replicaDataSource, "SELECT 0");
+        final var aTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.replicaDataSource));
+        aTransactionTemplate.setReadOnly(true);
+
+        final var aActualResponse = aTransactionTemplate.execute(status -> whoAmI(aClient));
+
+        Assertions.assertEquals("replica", aActualResponse);
+    }
+
+    private RoutingDatabaseClient routingClient(final DataSource replica, final String lagQuery) {
+        final var aMonitor = new ReplicaLagMonitor(
+                new JdbcTemplate(replica),
+                replica,
+                lagQuery,
+                Duration.ofSeconds(1)
+        );
+        aMonitor.check();
+
+        return new RoutingDatabaseClient(adapter(this.primaryDataSource), adapter(replica), aMonitor, this.meterRegistry);
+    }
+
+    private static String whoAmI(final DatabaseClient client) {
+        return client.query(WHO_AM_I, rs -> rs.getString(1)).get(0);
+    }
+
+    private static DatabaseClient adapter(final DataSource dataSource) {
+        final var aTemplate = new JdbcTemplate(dataSource);
+        return new JdbcClientAdapter(JdbcClient.create(aTemplate), aTemplate);
+    }
+
+    private static DriverManagerDataSource createDatabase(final String name, final String node) {
+        final var aDataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        final var aJdbc = new JdbcTemplate(aDataSource);
+        aJdbc.execute("CREATE TABLE node (name VARCHAR(20) NOT NULL)");
+        aJdbc.execute("CREATE TABLE events (name VARCHAR(20) NOT NULL)");
+        aJdbc.update("INSERT INTO node (name) VALUES (?)", node);
+        return aDataSource;
+    }
+}
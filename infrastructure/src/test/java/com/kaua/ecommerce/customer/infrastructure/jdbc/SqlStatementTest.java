@@ -0,0 +1,64 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class SqlStatementTest extends UnitTest {
+
+    @Test
+    void givenANamedSql_whenCallOf_thenParseToPositionalSqlWithSlots() {
+        final var aStatement = SqlStatement.of(
+                "tests.positional",
+                "SELECT * FROM customers WHERE id = :id AND version = :version"
+        );
+
+        Assertions.assertEquals("SELECT * FROM customers WHERE id = ? AND version = ?", aStatement.positionalSql());
+        Assertions.assertEquals(List.of("id", "version"), aStatement.parameterNames());
+        Assertions.assertArrayEquals(new Object[]{"a", 1L}, aStatement.with("a", 1L).toPositionalArgs());
+    }
+
+    @Test
+    void givenARepeatedParameter_whenBind_thenExpandToEveryOccurrence() {
+        final var aStatement = SqlStatement.of(
+                "tests.repeated",
+                "SELECT * FROM addresses WHERE (:terms IS NULL OR title LIKE :terms) AND customer_id = :customerId"
+        );
+
+        final var aArgs = aStatement.params()
+                .set("customerId", "c1")
+                .set("terms", "%home%")
+                .toPositionalArgs();
+
+        Assertions.assertEquals(List.of("terms", "customerId"), aStatement.parameterNames());
+        Assertions.assertArrayEquals(new Object[]{"%home%", "%home%", "c1"}, aArgs);
+    }
+
+    @Test
+    void givenLiteralsAndCasts_whenCallOf_thenKeepThemUntouched() {
+        final var aStatement = SqlStatement.of(
+                "tests.literals",
+                "SELECT ':notParam', id::text FROM customers WHERE email = :email"
+        );
+
+        Assertions.assertEquals("SELECT ':notParam', id::text FROM customers WHERE email = ?", aStatement.positionalSql());
+        Assertions.assertEquals(List.of("email"), aStatement.parameterNames());
+    }
+
+    @Test
+    void givenAnAlreadyRegisteredNameWithAnotherSql_whenCallOf_thenThrowIllegalStateException() {
+        SqlStatement.of("tests.duplicated", "SELECT 1");
+
+        Assertions.assertSame(SqlStatement.of("tests.duplicated", "SELECT 1"), SqlStatement.of("tests.duplicated", "SELECT 1"));
+        Assertions.assertThrows(IllegalStateException.class, () -> SqlStatement.of("tests.duplicated", "SELECT 2"));
+    }
+
+    @Test
+    void givenAnUndeclaredParameter_whenCallSet_thenThrowIllegalArgumentException() {
+        final var aParams = SqlStatement.of("tests.undeclared", "DELETE FROM addresses WHERE id = :id").params();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> aParams.set("customerId", "c1"));
+    }
+}
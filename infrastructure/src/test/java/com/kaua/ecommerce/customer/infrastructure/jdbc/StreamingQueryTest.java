@@ -0,0 +1,112 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StreamingQueryTest extends UnitTest {
+
+    private static final int ROWS = 1_000;
+
+    private static final SqlStatement NUMBERS_FROM = SqlStatement.of(
+            "streaming.numbersFrom",
+            "SELECT value FROM numbers WHERE value >= :from ORDER BY value"
+    );
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:streaming;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        this.jdbcTemplate.execute("CREATE TABLE numbers (value INT NOT NULL)");
+        this.jdbcTemplate.execute("INSERT INTO numbers SELECT X FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.databaseClient = new InstrumentedDatabaseClient(
+                new JdbcClientAdapter(JdbcClient.create(this.jdbcTemplate), this.jdbcTemplate),
+                this.meterRegistry,
+                Duration.ofSeconds(10)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void givenAFetchSize_whenCallStream_thenMapRowsLazilyWithTheExistingRowMap() {
+        final var aMapped = new AtomicInteger();
+        final RowMap<Integer> aMapper = rs -> {
+            aMapped.incrementAndGet();
+            return rs.getInt(1);
+        };
+
+        try (final var aStream = this.databaseClient.stream(NUMBERS_FROM.with(1), 100, aMapper)) {
+            Assertions.assertEquals(0, aMapped.get());
+
+            final var aFirstTen = aStream.limit(10).toList();
+
+            Assertions.assertEquals(10, aFirstTen.size());
+            Assertions.assertEquals(1, aFirstTen.get(0));
+            Assertions.assertEquals(10, aMapped.get());
+        }
+    }
+
+    @Test
+    void givenAStream_whenClose_thenRecordRowsAndLatency() {
+        try (final var aStream = this.databaseClient.stream(NUMBERS_FROM.with(501), 100, rs -> rs.getInt(1))) {
+            Assertions.assertEquals(500, aStream.count());
+        }
+
+        final var aRows = this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_ROWS)
+                .tag("statement", NUMBERS_FROM.name())
+                .tag("operation", "stream")
+                .summary();
+        final var aTimer = this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("statement", NUMBERS_FROM.name())
+                .tag("operation", "stream")
+                .tag("outcome", "success")
+                .timer();
+
+        Assertions.assertEquals(500, aRows.totalAmount());
+        Assertions.assertEquals(1, aTimer.count());
+    }
+
+    @Test
+    void givenAFailurePartwayThrough_whenClose_thenRecordTheStreamAsError() {
+        final RowMap<Integer> aMapper = rs -> {
+            if (rs.getInt(1) == 3) {
+                throw new IllegalStateException("Row could not be mapped");
+            }
+            return rs.getInt(1);
+        };
+
+        try (final var aStream = this.databaseClient.stream(NUMBERS_FROM.with(1), 100, aMapper)) {
+            Assertions.assertThrows(IllegalStateException.class, aStream::count);
+        }
+
+        final var aTimer = this.meterRegistry.get(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("statement", NUMBERS_FROM.name())
+                .tag("operation", "stream")
+                .tag("outcome", "error")
+                .timer();
+
+        Assertions.assertEquals(1, aTimer.count());
+        Assertions.assertTrue(this.meterRegistry.find(InstrumentedDatabaseClient.STATEMENT_TIMER)
+                .tag("outcome", "success")
+                .timers()
+                .isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+package com.kaua.ecommerce.customer.infrastructure.jdbc;
+
+import com.kaua.ecommerce.customer.application.ReadOnlyUseCase;
+import com.kaua.ecommerce.customer.application.UnitUseCase;
+import com.kaua.ecommerce.customer.application.UseCase;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+class UseCaseTransactionInterceptorTest extends UnitTest {
+
+    private UseCaseTransactionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        final var aBeanFactory = new StaticListableBeanFactory();
+        this.interceptor = new UseCaseTransactionInterceptor(
+                Set.of(RemoteUseCase.class),
+                aBeanFactory.getBeanProvider(ReplicaDatabase.class),
+                aBeanFactory.getBeanProvider(ReplicaLagMonitor.class)
+        );
+        this.interceptor.setTransactionManager(new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:use_case_tx;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")));
+    }
+
+    @Test
+    void givenAWriteUseCase_whenCallExecute_thenRunInsideAReadWriteTransaction() {
+        final var aActualResponse = proxy(new WriteUseCase()).execute("input");
+
+        Assertions.assertEquals("active:true readOnly:false", aActualResponse);
+        Assertions.assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Test
+    void givenAReadOnlyUseCase_whenCallExecute_thenRunInsideAReadOnlyTransaction() {
+        final var aActualResponse = proxy(new ReadUseCase()).execute("input");
+
+        Assertions.assertEquals("active:true readOnly:true", aActualResponse);
+    }
+
+    @Test
+    void givenAUseCaseThatCallsRemoteServices_whenCallExecute_thenRunWithoutTransaction() {
+        final var aUseCase = new RemoteUseCase();
+
+        proxy(aUseCase).execute("input");
+
+        Assertions.assertEquals("active:false readOnly:false", aUseCase.state);
+    }
+
+    @Test
+    void givenAFailingUseCase_whenCallExecute_thenRollbackAndRethrow() {
+        final var aUseCase = proxy(new FailingUseCase());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> aUseCase.execute("input"));
+        Assertions.assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(final T target) {
+        final var aFactory = new ProxyFactory(target);
+        aFactory.setProxyTargetClass(true);
+        aFactory.addAdvice(this.interceptor);
+        return (T) aFactory.getProxy();
+    }
+
+    private static String transactionState() {
+        return "active:%s readOnly:%s".formatted(
+                TransactionSynchronizationManager.isActualTransactionActive(),
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        );
+    }
+
+    static class WriteUseCase extends UseCase<String, String> {
+        @Override
+        public String execute(final String input) {
+            return transactionState();
+        }
+    }
+
+    static class ReadUseCase extends UseCase<String, String> implements ReadOnlyUseCase {
+        @Override
+        public String execute(final String input) {
+            return transactionState();
+        }
+    }
+
+    static class RemoteUseCase extends UnitUseCase<String> {
+        private String state;
+
+        @Override
+        public void execute(final String input) {
+            this.state = transactionState();
+        }
+    }
+
+    static class FailingUseCase extends UnitUseCase<String> {
+        @Override
+        public void execute(final String input) {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.kaua.ecommerce.customer.infrastructure.jobs;
+
+import com.kaua.ecommerce.customer.AbstractRepositoryTest;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.JdbcClientAdapter;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxHandler;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+// sem transacao de teste: o relay precisa fazer commit de verdade, com o auto-commit desligado do pool
+@Import(OutboxRelayJobRepositoryTest.OutboxConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayJobRepositoryTest extends AbstractRepositoryTest {
+
+    private static final String TYPE = "test.type";
+
+    @Autowired
+    private OutboxJdbcRepository transactionalOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(this.transactionManager)
+                .executeWithoutResult(it -> JdbcTestUtils.deleteFromTables(this.jdbcTemplate, "outbox"));
+    }
+
+    @Test
+    void givenHandledAndFailedMessages_whenCallRelay_thenCommitTheDeleteAndTheReschedule() {
+        this.transactionalOutboxRepository.append(OutboxJdbcRepository.Entry.of(TYPE, "1", "payload-1"));
+        this.transactionalOutboxRepository.append(OutboxJdbcRepository.Entry.of("unknown.type", "2", "payload-2"));
+
+        final var aOutboxRelayJob = new OutboxRelayJob(
+                this.transactionalOutboxRepository,
+                List.of(new TestHandler()),
+                new SimpleMeterRegistry(),
+                10,
+                3,
+                Duration.ofMinutes(1)
+        );
+
+        aOutboxRelayJob.relay();
+
+        Assertions.assertEquals(1, countOutboxMessages());
+        Assertions.assertEquals(1, this.jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox WHERE aggregate_id = '2'", Integer.class));
+    }
+
+    @TestConfiguration
+    static class OutboxConfig {
+
+        // bean do contexto para passar pelo proxy transacional, como em producao
+        @Bean
+        OutboxJdbcRepository transactionalOutboxRepository(final JdbcClient jdbcClient, final JdbcTemplate jdbcTemplate) {
+            return new OutboxJdbcRepository(new JdbcClientAdapter(jdbcClient, jdbcTemplate));
+        }
+    }
+
+    private static class TestHandler implements OutboxHandler {
+
+        @Override
+        public Set<String> types() {
+            return Set.of(TYPE);
+        }
+
+        @Override
+        public void handle(final OutboxMessage message) {
+        }
+    }
+}
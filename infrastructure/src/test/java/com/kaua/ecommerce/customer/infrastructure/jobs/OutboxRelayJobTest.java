@@ -0,0 +1,101 @@
+package com.kaua.ecommerce.customer.infrastructure.jobs;
+
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxHandler;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxMessage;
+import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+class OutboxRelayJobTest extends UnitTest {
+
+    private static final String TYPE = "test.type";
+
+    @Mock
+    private OutboxJdbcRepository outboxRepository;
+
+    @Mock
+    private OutboxHandler outboxHandler;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelayJob outboxRelayJob;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(outboxHandler.types()).thenReturn(Set.of(TYPE));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.outboxRelayJob = new OutboxRelayJob(outboxRepository, List.of(outboxHandler), meterRegistry, 2, 3, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void givenAFullBatchAndAPartialOne_whenCallRelay_thenHandleAndDeleteEveryMessage() {
+        final var aFirst = messageOf(TYPE, 0);
+        final var aSecond = messageOf(TYPE, 0);
+        final var aThird = messageOf(TYPE, 0);
+
+        Mockito.when(outboxRepository.claim(Mockito.eq(2), Mockito.eq(3), Mockito.any()))
+                .thenReturn(List.of(aFirst, aSecond))
+                .thenReturn(List.of(aThird));
+
+        this.outboxRelayJob.relay();
+
+        Mockito.verify(outboxHandler).handle(aFirst);
+        Mockito.verify(outboxHandler).handle(aSecond);
+        Mockito.verify(outboxHandler).handle(aThird);
+        Mockito.verify(outboxRepository).delete(aFirst.id());
+        Mockito.verify(outboxRepository).delete(aSecond.id());
+        Mockito.verify(outboxRepository).delete(aThird.id());
+        Mockito.verify(outboxRepository, Mockito.times(2)).claim(Mockito.eq(2), Mockito.eq(3), Mockito.any());
+        Assertions.assertEquals(3, this.meterRegistry.get("outbox.messages.processed")
+                .tag("outcome", "processed")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void givenAFailingHandler_whenCallRelay_thenRescheduleWithTheNextAttempt() {
+        final var aMessage = messageOf(TYPE, 1);
+
+        Mockito.when(outboxRepository.claim(Mockito.eq(2), Mockito.eq(3), Mockito.any())).thenReturn(List.of(aMessage));
+        Mockito.doThrow(new RuntimeException("Auth server unavailable")).when(outboxHandler).handle(aMessage);
+
+        this.outboxRelayJob.relay();
+
+        Mockito.verify(outboxRepository).reschedule(Mockito.eq(aMessage.id()), Mockito.eq(2), Mockito.any(), Mockito.eq("Auth server unavailable"));
+        Mockito.verify(outboxRepository, Mockito.never()).delete(Mockito.any());
+    }
+
+    @Test
+    void givenAMessageWithoutHandler_whenCallRelay_thenRescheduleInsteadOfDropping() {
+        final var aMessage = messageOf("unknown.type", 0);
+
+        Mockito.when(outboxRepository.claim(Mockito.eq(2), Mockito.eq(3), Mockito.any())).thenReturn(List.of(aMessage));
+
+        this.outboxRelayJob.relay();
+
+        Mockito.verify(outboxRepository).reschedule(Mockito.eq(aMessage.id()), Mockito.eq(1), Mockito.any(), Mockito.anyString());
+        Mockito.verify(outboxHandler, Mockito.never()).handle(Mockito.any());
+    }
+
+    private static OutboxMessage messageOf(final String aType, final int aAttempts) {
+        return new OutboxMessage(
+                IdentifierUtils.generateNewUUID(),
+                aType,
+                IdentifierUtils.generateNewUUID().toString(),
+                "{}",
+                aAttempts,
+                InstantUtils.now(),
+                InstantUtils.now()
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.kaua.ecommerce.customer.infrastructure.jobs;
+
+import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.person.Telephone;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository;
+import com.kaua.ecommerce.customer.infrastructure.repositories.CustomerJdbcRepository.CustomerPhoneNumber;
+import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class PhoneNumberFormatsBackfillJobTest extends UnitTest {
+
+    @Mock
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Mock
+    private TelephoneGateway telephoneGateway;
+
+    private PhoneNumberFormatsBackfillJob phoneNumberFormatsBackfillJob;
+
+    @BeforeEach
+    void setUp() {
+        this.phoneNumberFormatsBackfillJob = new PhoneNumberFormatsBackfillJob(customerJdbcRepository, telephoneGateway, 2);
+    }
+
+    @Test
+    void givenTelephonesWithoutFormats_whenCallBackfill_thenSaveTheFormatsBatchByBatch() {
+        final var aFirst = new CustomerPhoneNumber(new CustomerId(IdentifierUtils.generateNewUUID()), new Telephone("+5511999999999"));
+        final var aSecond = new CustomerPhoneNumber(new CustomerId(IdentifierUtils.generateNewUUID()), new Telephone("invalid"));
+        final var aThird = new CustomerPhoneNumber(new CustomerId(IdentifierUtils.generateNewUUID()), new Telephone("+5511988888888"));
+
+        Mockito.when(customerJdbcRepository.phoneNumbersWithoutFormats(null, 2)).thenReturn(List.of(aFirst, aSecond));
+        Mockito.when(customerJdbcRepository.phoneNumbersWithoutFormats(aSecond.customerId(), 2)).thenReturn(List.of(aThird));
+        Mockito.when(telephoneGateway.analyze("+5511999999999")).thenReturn(analysis("+5511999999999", "(11) 99999-9999"));
+        Mockito.when(telephoneGateway.analyze("invalid")).thenReturn(TelephoneGateway.PhoneNumberAnalysis.unparseable());
+        Mockito.when(telephoneGateway.analyze("+5511988888888")).thenReturn(analysis("+5511988888888", "(11) 98888-8888"));
+
+        this.phoneNumberFormatsBackfillJob.backfill();
+
+        Mockito.verify(customerJdbcRepository).savePhoneFormats(List.of(new CustomerPhoneNumber(
+                aFirst.customerId(),
+                new Telephone("+5511999999999", "(11) 99999-9999", "+55", "BR")
+        )));
+        Mockito.verify(customerJdbcRepository).savePhoneFormats(List.of(new CustomerPhoneNumber(
+                aThird.customerId(),
+                new Telephone("+5511988888888", "(11) 98888-8888", "+55", "BR")
+        )));
+        Mockito.verify(customerJdbcRepository, Mockito.times(2)).phoneNumbersWithoutFormats(Mockito.any(), Mockito.eq(2));
+    }
+
+    @Test
+    void givenNoTelephonesWithoutFormats_whenCallBackfill_thenDoNothing() {
+        Mockito.when(customerJdbcRepository.phoneNumbersWithoutFormats(null, 2)).thenReturn(List.of());
+
+        this.phoneNumberFormatsBackfillJob.backfill();
+
+        Mockito.verify(customerJdbcRepository, Mockito.never()).savePhoneFormats(Mockito.any());
+        Mockito.verifyNoInteractions(telephoneGateway);
+    }
+
+    private static TelephoneGateway.PhoneNumberAnalysis analysis(final String aE164, final String aNational) {
+        return new TelephoneGateway.PhoneNumberAnalysis(
+                true,
+                aE164,
+                new TelephoneGateway.PhoneNumberInformation(aNational, "+55", "BR")
+        );
+    }
+}
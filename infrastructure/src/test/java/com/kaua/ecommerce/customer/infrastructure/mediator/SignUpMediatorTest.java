@@ -10,10 +10,15 @@ import com.kaua.ecommerce.customer.application.usecases.customer.outputs.CreateI
 import com.kaua.ecommerce.customer.domain.UnitTest;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
 import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.infrastructure.outbox.DeleteIdpUserOutboxHandler;
+import com.kaua.ecommerce.customer.infrastructure.outbox.OutboxJdbcRepository;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.SignUpRequest;
+import com.kaua.ecommerce.customer.infrastructure.utils.GatewayExecutor;
+import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
 import com.kaua.ecommerce.lib.domain.exceptions.InternalErrorException;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
@@ -21,6 +26,8 @@ import static org.mockito.ArgumentMatchers.any;
 
 class SignUpMediatorTest extends UnitTest {
 
+    private static final GatewayExecutor GATEWAY_EXECUTOR = GatewayExecutor.create(2);
+
     @Mock
     private CustomerRepository customerRepository;
 
@@ -33,12 +40,29 @@ class SignUpMediatorTest extends UnitTest {
     @Mock
     private DeleteIdpUserUseCase deleteIdpUserUseCase;
 
-    @InjectMocks
+    @Mock
+    private OutboxJdbcRepository outboxRepository;
+
     private SignUpMediator signUpMediator;
 
     @Captor
     private ArgumentCaptor<CreateCustomerInput> createCustomerInputCaptor;
 
+    @Captor
+    private ArgumentCaptor<OutboxJdbcRepository.Entry> outboxEntryCaptor;
+
+    @BeforeEach
+    void setUp() {
+        this.signUpMediator = new SignUpMediator(
+                customerRepository,
+                createCustomerUseCase,
+                createIdpUserUseCase,
+                deleteIdpUserUseCase,
+                outboxRepository,
+                GATEWAY_EXECUTOR
+        );
+    }
+
     @Test
     void givenAValidRequest_whenSignUpSuccessfully_thenShouldReturnUserIdAndCustomerId() {
         Assertions.assertNotNull(customerRepository);
@@ -77,7 +101,7 @@ class SignUpMediatorTest extends UnitTest {
     }
 
     @Test
-    void givenAValidRequestButCreateCustomerFails_whenCallSignUp_thenShouldDeleteIdpUser() {
+    void givenAValidRequestButCreateCustomerFails_whenCallSignUp_thenShouldScheduleIdpUserDeletion() {
         Assertions.assertNotNull(customerRepository);
 
         final var aFirstName = "John";
@@ -97,7 +121,6 @@ class SignUpMediatorTest extends UnitTest {
                 .thenAnswer(t -> new CreateIdpUserOutput(expectedUserId));
         Mockito.when(createCustomerUseCase.execute(any()))
                 .thenThrow(new RuntimeException("Failed to create customer"));
-        Mockito.doNothing().when(deleteIdpUserUseCase).execute(expectedUserId);
 
         final var aException = Assertions.assertThrows(InternalErrorException.class,
                 () -> this.signUpMediator.signUp(aRequest));
@@ -106,11 +129,17 @@ class SignUpMediatorTest extends UnitTest {
 
         Mockito.verify(createIdpUserUseCase, Mockito.times(1)).execute(any());
         Mockito.verify(createCustomerUseCase, Mockito.times(1)).execute(any());
-        Mockito.verify(deleteIdpUserUseCase, Mockito.times(1)).execute(expectedUserId);
+        Mockito.verify(outboxRepository, Mockito.times(1)).append(outboxEntryCaptor.capture());
+        Mockito.verify(deleteIdpUserUseCase, Mockito.never()).execute(Mockito.any());
+
+        final var aEntry = outboxEntryCaptor.getValue();
+
+        Assertions.assertEquals(DeleteIdpUserOutboxHandler.TYPE, aEntry.type());
+        Assertions.assertEquals(expectedUserId.value().toString(), aEntry.aggregateId());
     }
 
     @Test
-    void givenAValidRequestButCreateCustomerFailsAndDeleteIdpUserFails_whenCallSignUp_thenShouldThrowException() {
+    void givenAValidRequestButCreateCustomerFailsAndOutboxAndDeleteIdpUserFail_whenCallSignUp_thenShouldThrowException() {
         Assertions.assertNotNull(customerRepository);
 
         final var aFirstName = "John";
@@ -130,6 +159,8 @@ class SignUpMediatorTest extends UnitTest {
                 .thenAnswer(t -> new CreateIdpUserOutput(expectedUserId));
         Mockito.when(createCustomerUseCase.execute(any()))
                 .thenThrow(new RuntimeException("Failed to create customer"));
+        Mockito.doThrow(new RuntimeException("Failed to append outbox message"))
+                .when(outboxRepository).append(any());
         Mockito.doThrow(new RuntimeException("Failed to delete idp user"))
                 .when(deleteIdpUserUseCase).execute(expectedUserId);
 
@@ -142,4 +173,30 @@ class SignUpMediatorTest extends UnitTest {
         Mockito.verify(createCustomerUseCase, Mockito.times(1)).execute(any());
         Mockito.verify(deleteIdpUserUseCase, Mockito.times(1)).execute(expectedUserId);
     }
+
+    @Test
+    void givenAnEmailAlreadyInUse_whenCallSignUp_thenShouldScheduleIdpUserDeletionAndNotCreateCustomer() {
+        final var aEmail = "testes@tess.com";
+
+        final var expectedUserId = new UserId(IdentifierUtils.generateNewUUID());
+        final var expectedCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var expectedErrorMessage = "Email already exists";
+
+        final var aRequest = new SignUpRequest("John", "Doe", aEmail, "123456Ab*");
+
+        Mockito.when(customerRepository.nextId()).thenReturn(expectedCustomerId);
+        Mockito.when(customerRepository.existsByEmail(aEmail)).thenReturn(true);
+        Mockito.when(createIdpUserUseCase.execute(any()))
+                .thenAnswer(t -> new CreateIdpUserOutput(expectedUserId));
+
+        final var aException = Assertions.assertThrows(DomainException.class,
+                () -> this.signUpMediator.signUp(aRequest));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+
+        Mockito.verify(createIdpUserUseCase, Mockito.times(1)).execute(any());
+        Mockito.verify(outboxRepository, Mockito.times(1)).append(any());
+        Mockito.verify(createCustomerUseCase, Mockito.never()).execute(any());
+    }
 }
@@ -0,0 +1,77 @@
+package com.kaua.ecommerce.customer.infrastructure.outbox;
+
+import com.kaua.ecommerce.customer.AbstractRepositoryTest;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.domain.customer.idp.UserId;
+import com.kaua.ecommerce.customer.domain.person.Email;
+import com.kaua.ecommerce.customer.domain.person.Name;
+import com.kaua.ecommerce.customer.infrastructure.configurations.json.Json;
+import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class OutboxJdbcRepositoryTest extends AbstractRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Test
+    void givenANewCustomer_whenCallSave_thenACreatedEventIsWrittenWithTheCustomer() {
+        final var aCustomer = Customer.newCustomer(
+                customerRepository().nextId(),
+                new UserId(IdentifierUtils.generateNewUUID()),
+                new Email("testes.tess@teste.com"),
+                new Name("Test", "Test")
+        );
+
+        this.customerRepository().save(aCustomer);
+
+        Assertions.assertEquals(1, countOutboxMessages());
+
+        final var aMessage = this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60)).get(0);
+        final var aEvent = Json.readValue(aMessage.payload(), CustomerEvent.class);
+
+        Assertions.assertEquals(CustomerEvent.CREATED, aMessage.type());
+        Assertions.assertEquals(aCustomer.getId().value().toString(), aMessage.aggregateId());
+        Assertions.assertEquals(CustomerEvent.CREATED, aEvent.type());
+        Assertions.assertEquals(aCustomer.getUserId().value().toString(), aEvent.userId());
+        Assertions.assertEquals(1, aEvent.version());
+    }
+
+    @Test
+    void givenAvailableMessages_whenCallClaim_thenLeaseThemUntilTheLeaseExpires() {
+        this.outboxRepository().append(OutboxJdbcRepository.Entry.of("test.type", "1", "payload-1"));
+        this.outboxRepository().append(OutboxJdbcRepository.Entry.of("test.type", "2", "payload-2"));
+
+        final var aFirstClaim = this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60));
+        final var aSecondClaim = this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60));
+
+        Assertions.assertEquals(2, aFirstClaim.size());
+        Assertions.assertTrue(aSecondClaim.isEmpty());
+
+        // lease ja vencido: outra instancia pode pegar a mensagem de novo
+        this.outboxRepository().reschedule(aFirstClaim.get(0).id(), 0, InstantUtils.now().minus(Duration.ofSeconds(1)), null);
+
+        final var aReclaimed = this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60));
+
+        Assertions.assertEquals(1, aReclaimed.size());
+        Assertions.assertEquals(aFirstClaim.get(0).id(), aReclaimed.get(0).id());
+    }
+
+    @Test
+    void givenAMessageThatExhaustedItsAttempts_whenCallClaim_thenKeepItParked() {
+        this.outboxRepository().append(OutboxJdbcRepository.Entry.of("test.type", "1", "payload"));
+
+        final var aMessage = this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60)).get(0);
+        this.outboxRepository().reschedule(aMessage.id(), MAX_ATTEMPTS, InstantUtils.now().minusSeconds(1), "failed");
+
+        Assertions.assertTrue(this.outboxRepository().claim(10, MAX_ATTEMPTS, InstantUtils.now().plusSeconds(60)).isEmpty());
+        Assertions.assertEquals(1, countOutboxMessages());
+
+        this.outboxRepository().delete(aMessage.id());
+
+        Assertions.assertEquals(0, countOutboxMessages());
+    }
+}
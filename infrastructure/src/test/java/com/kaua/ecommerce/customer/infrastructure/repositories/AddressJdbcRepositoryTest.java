@@ -1,16 +1,25 @@
 package com.kaua.ecommerce.customer.infrastructure.repositories;
 
 import com.kaua.ecommerce.customer.AbstractRepositoryTest;
+import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
 import com.kaua.ecommerce.customer.domain.Fixture;
 import com.kaua.ecommerce.customer.domain.address.Address;
 import com.kaua.ecommerce.customer.domain.address.Title;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.lib.domain.exceptions.DomainException;
 import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import com.kaua.ecommerce.lib.infrastructure.exceptions.ConflictException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
 
     @Test
@@ -140,6 +149,21 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertFalse(aActualResponse);
     }
 
+    @Test
+    void givenACustomerWithAddresses_whenCallAddressSummaryOfCustomer_thenReturnCountAndDefaultInOneRead() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+
+        final var aSummary = this.addressRepository().addressSummaryOfCustomer(aCustomerId);
+        final var aEmptySummary = this.addressRepository()
+                .addressSummaryOfCustomer(new CustomerId(IdentifierUtils.generateNewUUID()));
+
+        Assertions.assertEquals(new AddressRepository.AddressSummary(2, true), aSummary);
+        Assertions.assertEquals(new AddressRepository.AddressSummary(0, false), aEmptySummary);
+    }
+
     @Test
     void givenAValidAddressId_whenCallAddressOfId_thenReturnAddress() {
         Assertions.assertEquals(0, countAddresses());
@@ -212,6 +236,36 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(aAddress.getUpdatedAt(), aActualResponse.get().getUpdatedAt());
     }
 
+    @Test
+    void givenAValidCustomerId_whenCallVersionProbes_thenReturnIdAndVersionOnly() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+        final var aOther = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+
+        Assertions.assertEquals(Optional.of(1L), this.addressRepository().versionOfId(aOther.getId()));
+        Assertions.assertEquals(
+                Optional.of(new AddressRepository.AddressVersion(aDefault.getId(), 1L)),
+                this.addressRepository().defaultAddressVersionOfCustomer(aCustomerId)
+        );
+        Assertions.assertTrue(this.addressRepository().defaultAddressVersionOfCustomer(new CustomerId(IdentifierUtils.generateNewUUID())).isEmpty());
+    }
+
+    @Test
+    void givenAValidCustomerId_whenCallAddressesOfCustomer_thenReturnOnlyItsAddresses() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aHome = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", true));
+        final var aWork = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Work", false));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(new CustomerId(IdentifierUtils.generateNewUUID()), true));
+
+        final var aActualResponse = this.addressRepository().addressesOfCustomer(aCustomerId);
+
+        Assertions.assertEquals(3, countAddresses());
+        Assertions.assertEquals(2, aActualResponse.size());
+        Assertions.assertTrue(aActualResponse.stream().map(Address::getId).toList().containsAll(List.of(aHome.getId(), aWork.getId())));
+    }
+
     @Test
     void givenAValidAddressToUpdate_whenCallSave_thenAddressIsUpdated() {
         Assertions.assertEquals(0, countAddresses());
@@ -277,6 +331,177 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
     }
 
+    @Test
+    void givenAValidNewAndUpdatedAddresses_whenCallSaveAll_thenAllAddressesArePersisted() {
+        Assertions.assertEquals(0, countAddresses());
+
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aOldDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(
+                aCustomerId,
+                true
+        ));
+        final var aNewAddressOne = Fixture.Addresses.newAddressWithComplement(aCustomerId, false);
+        final var aNewAddressTwo = Fixture.Addresses.newAddressWithComplement(aCustomerId, false);
+
+        final var aActualResponse = this.addressRepository().saveAll(List.of(
+                aOldDefault.updateIsDefault(false),
+                aNewAddressOne,
+                aNewAddressTwo
+        ));
+
+        Assertions.assertEquals(3, countAddresses());
+        Assertions.assertEquals(3, aActualResponse.size());
+        Assertions.assertEquals(2, aOldDefault.getVersion());
+        Assertions.assertEquals(1, aNewAddressOne.getVersion());
+        Assertions.assertEquals(1, aNewAddressTwo.getVersion());
+        Assertions.assertFalse(this.addressRepository().existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+        Assertions.assertEquals(2, this.addressRepository().addressOfId(aOldDefault.getId()).get().getVersion());
+    }
+
+    @Test
+    void givenAnAddressWithStaleVersion_whenCallSaveAll_thenThrowConflictException() {
+        Assertions.assertEquals(0, countAddresses());
+
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aAddressOne = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(
+                aCustomerId,
+                true
+        ));
+        final var aAddressTwo = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(
+                aCustomerId,
+                false
+        ));
+
+        final var expectedErrorMessage = "Address version does not match, address was updated by another user";
+
+        aAddressTwo.setVersion(5);
+
+        final var aAddresses = List.of(aAddressOne.updateIsDefault(false), aAddressTwo.updateIsDefault(true));
+        final var aAddressRepository = addressRepository();
+        final var aException = Assertions.assertThrows(ConflictException.class,
+                () -> aAddressRepository.saveAll(aAddresses));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+    }
+
+    @Test
+    void givenACustomerBelowTheLimit_whenCallCreateIfAllowed_thenAddressIsPersisted() {
+        Assertions.assertEquals(0, countAddresses());
+
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aAddress = Fixture.Addresses.newAddressWithComplement(aCustomerId, true);
+
+        final var aActualResponse = this.addressRepository().createIfAllowed(aAddress, 5);
+
+        Assertions.assertEquals(AddressRepository.CreateAddressOutcome.CREATED, aActualResponse);
+        Assertions.assertEquals(1, countAddresses());
+        Assertions.assertEquals(1, aAddress.getVersion());
+        Assertions.assertTrue(this.addressRepository().existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+    }
+
+    @Test
+    void givenACustomerAtTheLimit_whenCallCreateIfAllowed_thenReturnLimitReached() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+
+        final var aAddress = Fixture.Addresses.newAddressWithComplement(aCustomerId, false);
+
+        final var aActualResponse = this.addressRepository().createIfAllowed(aAddress, 2);
+
+        Assertions.assertEquals(AddressRepository.CreateAddressOutcome.LIMIT_REACHED, aActualResponse);
+        Assertions.assertEquals(2, countAddresses());
+        Assertions.assertEquals(0, aAddress.getVersion());
+    }
+
+    @Test
+    void givenACustomerWithDefaultAddress_whenCallCreateIfAllowedWithDefault_thenReturnDefaultAlreadyExists() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+
+        final var aActualResponse = this.addressRepository()
+                .createIfAllowed(Fixture.Addresses.newAddressWithComplement(aCustomerId, true), 5);
+
+        Assertions.assertEquals(AddressRepository.CreateAddressOutcome.DEFAULT_ALREADY_EXISTS, aActualResponse);
+        Assertions.assertEquals(1, countAddresses());
+    }
+
+    @Test
+    void givenANonDefaultAddress_whenCallMakeDefault_thenSwapDefaultInOneStatement() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aOldDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+        final var aAddress = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+        final var aOtherCustomerDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(
+                new CustomerId(IdentifierUtils.generateNewUUID()),
+                true
+        ));
+
+        final var aActualResponse = this.addressRepository().makeDefault(aAddress.updateIsDefault(true));
+
+        Assertions.assertEquals(2, aActualResponse.getVersion());
+
+        final var aPersistedOldDefault = this.addressRepository().addressOfId(aOldDefault.getId()).get();
+        final var aPersistedAddress = this.addressRepository().addressOfId(aAddress.getId()).get();
+        final var aPersistedOtherCustomerDefault = this.addressRepository().addressOfId(aOtherCustomerDefault.getId()).get();
+
+        Assertions.assertFalse(aPersistedOldDefault.isDefault());
+        Assertions.assertEquals(2, aPersistedOldDefault.getVersion());
+        Assertions.assertTrue(aPersistedAddress.isDefault());
+        Assertions.assertEquals(2, aPersistedAddress.getVersion());
+        Assertions.assertTrue(aPersistedOtherCustomerDefault.isDefault());
+        Assertions.assertEquals(1, aPersistedOtherCustomerDefault.getVersion());
+    }
+
+    @Test
+    void givenANonDefaultAddress_whenCallMakeDefault_thenPublishAnInvalidationForEveryChangedAddress() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aOldDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+        final var aAddress = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+
+        final var aPublished = new ArrayList<CacheInvalidation>();
+        final var aAddressRepository = addressRepository(new CacheInvalidationBus() {
+            @Override
+            public void publish(final CacheInvalidation invalidation) {
+                aPublished.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(final String cache, final Listener listener) {
+            }
+        });
+
+        aAddressRepository.makeDefault(aAddress.updateIsDefault(true));
+
+        Assertions.assertEquals(
+                Set.of(
+                        CacheInvalidation.of(AddressJdbcRepository.INVALIDATION_CACHE, 2, aOldDefault.getId().value(), aCustomerId.value()),
+                        CacheInvalidation.of(AddressJdbcRepository.INVALIDATION_CACHE, 2, aAddress.getId().value(), aCustomerId.value())
+                ),
+                Set.copyOf(aPublished)
+        );
+    }
+
+    @Test
+    void givenAnAddressWithStaleVersion_whenCallMakeDefault_thenThrowConflictAndKeepOldDefault() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aOldDefault = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, true));
+        final var aAddress = this.addressRepository().save(Fixture.Addresses.newAddressWithComplement(aCustomerId, false));
+
+        final var expectedErrorMessage = "Address version does not match, address was updated by another user";
+
+        aAddress.setVersion(5);
+
+        final var aAddressRepository = addressRepository();
+        final var aUpdatedAddress = aAddress.updateIsDefault(true);
+        final var aException = Assertions.assertThrows(ConflictException.class,
+                () -> aAddressRepository.makeDefault(aUpdatedAddress));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+        Assertions.assertTrue(this.addressRepository().addressOfId(aOldDefault.getId()).get().isDefault());
+    }
+
     @Test
     void givenAValidValues_whenCallAddressesByCustomerId_thenReturnPaginatedAddresses() {
         Assertions.assertEquals(0, countAddresses());
@@ -317,7 +542,7 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
 
         Assertions.assertEquals(3, countAddresses());
 
-        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery);
+        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery, null);
 
         Assertions.assertEquals(aTotalPages, aActualResponse.metadata().totalPages());
         Assertions.assertEquals(aTotalItems, aActualResponse.metadata().totalItems());
@@ -351,7 +576,7 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
 
         Assertions.assertEquals(0, countAddresses());
 
-        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery);
+        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery, null);
 
         Assertions.assertEquals(aTotalPages, aActualResponse.metadata().totalPages());
         Assertions.assertEquals(aTotalItems, aActualResponse.metadata().totalItems());
@@ -401,7 +626,7 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
 
         Assertions.assertEquals(3, countAddresses());
 
-        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery);
+        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery, null);
 
         Assertions.assertEquals(aTotalPages, aActualResponse.metadata().totalPages());
         Assertions.assertEquals(aTotalItems, aActualResponse.metadata().totalItems());
@@ -410,6 +635,99 @@ class AddressJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(aAddressOne.getId().value(), aActualResponse.items().get(0).getId().value());
     }
 
+    @Test
+    void givenASecondPage_whenCallAddressesByCustomerId_thenReturnExactTotalsAndRequestedSort() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aAlpha = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Alpha", true));
+        final var aBravo = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Bravo", false));
+        final var aCharlie = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Charlie", false));
+
+        final var aSearchQuery = new SearchQuery(2, 2, "", "title", "desc");
+
+        final var aActualResponse = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery, null);
+
+        Assertions.assertEquals(3, aActualResponse.metadata().totalItems());
+        Assertions.assertEquals(2, aActualResponse.metadata().totalPages());
+        Assertions.assertEquals(1, aActualResponse.items().size());
+        Assertions.assertEquals(aAlpha.getId(), aActualResponse.items().get(0).getId());
+        Assertions.assertNull(aActualResponse.nextCursor());
+
+        final var aFirstPage = this.addressRepository().addressesByCustomerId(
+                aCustomerId,
+                new SearchQuery(1, 2, "", "title", "desc"),
+                null
+        );
+
+        Assertions.assertEquals(List.of(aCharlie.getId(), aBravo.getId()),
+                aFirstPage.items().stream().map(Address::getId).toList());
+        Assertions.assertNotNull(aFirstPage.nextCursor());
+    }
+
+    @Test
+    void givenANextCursor_whenCallAddressesByCustomerId_thenReturnTheRowsAfterTheCursor() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aAlpha = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Alpha", true));
+        final var aBravo = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Bravo", false));
+        final var aCharlie = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Charlie", false));
+
+        final var aSearchQuery = new SearchQuery(1, 2, "", "title", "asc");
+
+        final var aFirstPage = this.addressRepository().addressesByCustomerId(aCustomerId, aSearchQuery, null);
+        final var aSecondPage = this.addressRepository()
+                .addressesByCustomerId(aCustomerId, aSearchQuery, aFirstPage.nextCursor());
+
+        Assertions.assertEquals(List.of(aAlpha.getId(), aBravo.getId()),
+                aFirstPage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(List.of(aCharlie.getId()),
+                aSecondPage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(3, aSecondPage.metadata().totalItems());
+        Assertions.assertEquals(1, aFirstPage.metadata().currentPage());
+        Assertions.assertEquals(0, aSecondPage.metadata().currentPage());
+        Assertions.assertNull(aSecondPage.nextCursor());
+    }
+
+    @Test
+    void givenTermsWithLikeWildcards_whenCallAddressesByCustomerId_thenMatchThemLiterally() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        final var aPercent = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "100% Home", true));
+        final var aUnderscore = this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home_2", false));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "1000 Home", false));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home 2", false));
+
+        final var aPercentPage = this.addressRepository()
+                .addressesByCustomerId(aCustomerId, new SearchQuery(0, 10, "100%", "title", "asc"), null);
+        final var aUnderscorePage = this.addressRepository()
+                .addressesByCustomerId(aCustomerId, new SearchQuery(0, 10, "home_", "title", "asc"), null);
+
+        Assertions.assertEquals(List.of(aPercent.getId()),
+                aPercentPage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(1, aPercentPage.metadata().totalItems());
+        Assertions.assertEquals(List.of(aUnderscore.getId()),
+                aUnderscorePage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(1, aUnderscorePage.metadata().totalItems());
+    }
+
+    @Test
+    void givenACursorOfAnotherSort_whenCallAddressesByCustomerId_thenThrowDomainException() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Alpha", true));
+        this.addressRepository().save(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Bravo", false));
+
+        final var aCursor = this.addressRepository()
+                .addressesByCustomerId(aCustomerId, new SearchQuery(0, 1, "", "title", "asc"), null)
+                .nextCursor();
+
+        final var aAddressRepository = addressRepository();
+        final var aSearchQuery = new SearchQuery(0, 1, "", "created_at", "asc");
+
+        Assertions.assertThrows(DomainException.class,
+                () -> aAddressRepository.addressesByCustomerId(aCustomerId, aSearchQuery, aCursor));
+    }
+
     @Test
     void givenAValidAddressId_whenCallDelete_thenAddressIsDeleted() {
         Assertions.assertEquals(0, countAddresses());
@@ -0,0 +1,216 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.application.repositories.AddressRepository;
+import com.kaua.ecommerce.customer.domain.Fixture;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.domain.address.Address;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.lib.domain.pagination.SearchQuery;
+import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+class CachedAddressRepositoryTest extends UnitTest {
+
+    @Mock
+    private AddressRepository delegate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Captor
+    private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
+    private CachedAddressRepository cachedAddressRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.cachedAddressRepository = new CachedAddressRepository(this.delegate, 100, Duration.ofMinutes(1), Duration.ZERO, this.cacheInvalidationBus, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void givenACachedAddressSet_whenCallCheckoutReads_thenHitTheDatabaseOnce() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", true);
+        final var aWork = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Work", false);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId)).thenReturn(List.of(aHome, aWork));
+
+        final var aDefault = this.cachedAddressRepository.addressByCustomerIdAndIsDefaultTrue(aCustomerId).get();
+
+        Assertions.assertEquals(aHome.getId(), aDefault.getId());
+        Assertions.assertNotSame(aHome, aDefault);
+        Assertions.assertEquals(2, this.cachedAddressRepository.countByCustomerId(aCustomerId));
+        Assertions.assertTrue(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+        Assertions.assertEquals(aHome.getId(), this.cachedAddressRepository.defaultAddressVersionOfCustomer(aCustomerId).get().addressId());
+        Assertions.assertEquals(2, this.cachedAddressRepository
+                .addressesByCustomerId(aCustomerId, new SearchQuery(1, 10, "", "created_at", "asc"), null)
+                .items()
+                .size());
+
+        Mockito.verify(delegate, Mockito.times(1)).addressesOfCustomer(aCustomerId);
+        Mockito.verify(delegate, Mockito.never()).addressByCustomerIdAndIsDefaultTrue(Mockito.any());
+        Mockito.verify(delegate, Mockito.never()).countByCustomerId(Mockito.any());
+        Mockito.verify(delegate, Mockito.never()).addressesByCustomerId(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void givenACachedAddressSet_whenCallAddressesByCustomerIdSortedByDate_thenSortAndPageInMemory() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aNow = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var aOldest = createdAt(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Alpha", true), aNow.minusSeconds(30));
+        final var aMiddle = createdAt(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Bravo", false), aNow.minusSeconds(20));
+        final var aNewest = createdAt(Fixture.Addresses.newAddressWithTitle(aCustomerId, "Charlie", false), aNow.minusSeconds(10));
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId)).thenReturn(List.of(aMiddle, aOldest, aNewest));
+
+        final var aSearchQuery = new SearchQuery(0, 2, "", "created_at", "desc");
+
+        final var aFirstPage = this.cachedAddressRepository.addressesByCustomerId(aCustomerId, aSearchQuery, null);
+        final var aSecondPage = this.cachedAddressRepository.addressesByCustomerId(aCustomerId, aSearchQuery, aFirstPage.nextCursor());
+
+        Assertions.assertEquals(List.of(aNewest.getId(), aMiddle.getId()),
+                aFirstPage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(List.of(aOldest.getId()),
+                aSecondPage.items().stream().map(Address::getId).toList());
+        Assertions.assertEquals(3, aSecondPage.metadata().totalItems());
+        Assertions.assertEquals(2, aSecondPage.metadata().totalPages());
+        Assertions.assertNull(aSecondPage.nextCursor());
+        Mockito.verify(delegate, Mockito.never()).addressesByCustomerId(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void givenATitleSortOrTerms_whenCallAddressesByCustomerId_thenQueryTheDatabase() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aTitleSort = new SearchQuery(0, 2, "", "title", "asc");
+        final var aTerms = new SearchQuery(0, 2, "100%", "created_at", "asc");
+
+        this.cachedAddressRepository.addressesByCustomerId(aCustomerId, aTitleSort, null);
+        this.cachedAddressRepository.addressesByCustomerId(aCustomerId, aTerms, null);
+
+        Mockito.verify(delegate, Mockito.times(1)).addressesByCustomerId(aCustomerId, aTitleSort, null);
+        Mockito.verify(delegate, Mockito.times(1)).addressesByCustomerId(aCustomerId, aTerms, null);
+        Mockito.verify(delegate, Mockito.never()).addressesOfCustomer(Mockito.any());
+    }
+
+    @Test
+    void givenACachedAddressSet_whenCallAddressSummaryOfCustomer_thenReadTheDatabase() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", true);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId)).thenReturn(List.of(aHome));
+        Mockito.when(delegate.addressSummaryOfCustomer(aCustomerId)).thenReturn(new AddressRepository.AddressSummary(0, false));
+
+        Assertions.assertEquals(1, this.cachedAddressRepository.countByCustomerId(aCustomerId));
+        Assertions.assertEquals(new AddressRepository.AddressSummary(0, false),
+                this.cachedAddressRepository.addressSummaryOfCustomer(aCustomerId));
+    }
+
+    @Test
+    void givenACachedAddressSet_whenCallMakeDefault_thenReloadTheSet() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", true);
+        final var aWork = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Work", false);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId))
+                .thenReturn(List.of(aHome, aWork))
+                .thenAnswer(it -> List.of(aHome.updateIsDefault(false), aWork.updateIsDefault(true)));
+        Mockito.when(delegate.makeDefault(aWork)).thenReturn(aWork);
+
+        Assertions.assertEquals(aHome.getId(), this.cachedAddressRepository.addressByCustomerIdAndIsDefaultTrue(aCustomerId).get().getId());
+
+        this.cachedAddressRepository.makeDefault(aWork);
+
+        Assertions.assertEquals(aWork.getId(), this.cachedAddressRepository.addressByCustomerIdAndIsDefaultTrue(aCustomerId).get().getId());
+        Mockito.verify(delegate, Mockito.times(2)).addressesOfCustomer(aCustomerId);
+    }
+
+    @Test
+    void givenACachedAddressSet_whenCallDelete_thenEvictTheSetHoldingTheAddress() {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", true);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId))
+                .thenReturn(List.of(aHome))
+                .thenReturn(List.of());
+
+        Assertions.assertEquals(1, this.cachedAddressRepository.countByCustomerId(aCustomerId));
+
+        this.cachedAddressRepository.delete(aHome.getId());
+
+        Assertions.assertEquals(0, this.cachedAddressRepository.countByCustomerId(aCustomerId));
+        Mockito.verify(delegate, Mockito.times(1)).delete(aHome.getId());
+    }
+
+    @Test
+    void givenAnInvalidationFromAnotherNode_whenReceived_thenEvictTheCustomerSet() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq("addresses"), listenerCaptor.capture());
+
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", false);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId))
+                .thenReturn(List.of(aHome))
+                .thenReturn(List.of(aHome, Fixture.Addresses.newAddressWithTitle(aCustomerId, "Work", true)));
+
+        Assertions.assertFalse(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+
+        listenerCaptor.getValue().invalidate(CacheInvalidation.of("addresses", 1, IdentifierUtils.generateNewUUID(), aCustomerId.value()));
+
+        Assertions.assertTrue(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+    }
+
+    @Test
+    void givenAnInvalidationDuringTheLoad_whenCallAddressesOfCustomer_thenDoNotCacheTheLoadedSet() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq("addresses"), listenerCaptor.capture());
+
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aHome = Fixture.Addresses.newAddressWithTitle(aCustomerId, "Home", false);
+
+        Mockito.when(delegate.addressesOfCustomer(aCustomerId))
+                .thenAnswer(it -> {
+                    listenerCaptor.getValue().invalidate(CacheInvalidation.of("addresses", 1, IdentifierUtils.generateNewUUID(), aCustomerId.value()));
+                    return List.of(aHome);
+                })
+                .thenReturn(List.of(aHome, Fixture.Addresses.newAddressWithTitle(aCustomerId, "Work", true)));
+
+        Assertions.assertFalse(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+        Assertions.assertTrue(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+        Assertions.assertTrue(this.cachedAddressRepository.existsByCustomerIdAndIsDefaultTrue(aCustomerId));
+
+        Mockito.verify(delegate, Mockito.times(2)).addressesOfCustomer(aCustomerId);
+    }
+
+    private static Address createdAt(final Address aAddress, final Instant aCreatedAt) {
+        return Address.with(
+                aAddress.getId(),
+                aAddress.getVersion(),
+                aAddress.getTitle(),
+                aAddress.getCustomerId(),
+                aAddress.getZipCode(),
+                aAddress.getNumber(),
+                aAddress.getStreet(),
+                aAddress.getCity(),
+                aAddress.getDistrict(),
+                aAddress.getCountry(),
+                aAddress.getState(),
+                aAddress.getComplement().orElse(null),
+                aAddress.isDefault(),
+                aCreatedAt,
+                aCreatedAt
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.application.repositories.CustomerRepository;
+import com.kaua.ecommerce.customer.domain.Fixture;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.domain.customer.Customer;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidation;
+import com.kaua.ecommerce.customer.infrastructure.cache.CacheInvalidationBus;
+import com.kaua.ecommerce.customer.infrastructure.jdbc.PrimaryPin;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+class CachedCustomerRepositoryTest extends UnitTest {
+
+    @Mock
+    private CustomerRepository delegate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Captor
+    private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedCustomerRepository cachedCustomerRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cachedCustomerRepository = new CachedCustomerRepository(this.delegate, 100, Duration.ofMinutes(1), this.cacheInvalidationBus, this.meterRegistry);
+    }
+
+    @Test
+    void givenACachedCustomer_whenCallCustomerOfUserIdAndCustomerOfId_thenHitTheDatabaseOnce() {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+
+        Mockito.when(delegate.customerOfUserId(aCustomer.getUserId())).thenReturn(Optional.of(aCustomer));
+
+        this.cachedCustomerRepository.customerOfUserId(aCustomer.getUserId());
+        final var aByUserId = this.cachedCustomerRepository.customerOfUserId(aCustomer.getUserId()).get();
+        final var aById = this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get();
+
+        Assertions.assertEquals(aCustomer.getId(), aByUserId.getId());
+        Assertions.assertEquals(aCustomer.getId(), aById.getId());
+        Assertions.assertNotSame(aCustomer, aByUserId);
+
+        Mockito.verify(delegate, Mockito.times(1)).customerOfUserId(aCustomer.getUserId());
+        Mockito.verify(delegate, Mockito.never()).customerOfId(Mockito.any());
+
+        Assertions.assertEquals(2, this.meterRegistry.get("cache.gets")
+                .tag("cache", CachedCustomerRepository.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void givenASavedCustomer_whenCallCustomerOfId_thenReturnTheNewVersion() {
+        final var aTemplate = Fixture.Customers.newCustomer();
+        final var aCustomer = Customer.with(
+                aTemplate.getId(),
+                1,
+                aTemplate.getUserId(),
+                aTemplate.getEmail(),
+                aTemplate.getName(),
+                null,
+                null,
+                aTemplate.getCreatedAt(),
+                aTemplate.getUpdatedAt()
+        );
+
+        Mockito.when(delegate.customerOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer));
+        Mockito.when(delegate.save(Mockito.any())).thenAnswer(invocation -> {
+            final Customer aSaved = invocation.getArgument(0);
+            aSaved.incrementVersion();
+            return aSaved;
+        });
+
+        final var aLoaded = this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get();
+        this.cachedCustomerRepository.save(aLoaded);
+
+        final var aActualResponse = this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get();
+
+        Assertions.assertEquals(2, aActualResponse.getVersion());
+        Mockito.verify(delegate, Mockito.times(1)).customerOfId(aCustomer.getId());
+    }
+
+    @Test
+    void givenAMutatedCustomerFromCache_whenCallCustomerOfIdAgain_thenReturnTheUntouchedSnapshot() {
+        final var aCustomer = Fixture.Customers.newCustomer();
+        final var aExpectedVersion = aCustomer.getVersion();
+
+        Mockito.when(delegate.customerOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer));
+
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get().incrementVersion();
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get().incrementVersion();
+
+        final var aActualResponse = this.cachedCustomerRepository.customerOfId(aCustomer.getId()).get();
+
+        Assertions.assertEquals(aExpectedVersion, aActualResponse.getVersion());
+    }
+
+    @Test
+    void givenAnInvalidationWithANewerVersion_whenReceived_thenEvictBothKeys() {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+
+        Mockito.when(delegate.customerOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer));
+
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+        listener().invalidate(invalidationOf(aCustomer, aCustomer.getVersion() + 1));
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+        this.cachedCustomerRepository.customerOfUserId(aCustomer.getUserId());
+
+        Mockito.verify(delegate, Mockito.times(2)).customerOfId(aCustomer.getId());
+        Mockito.verify(delegate, Mockito.times(1)).customerOfUserId(aCustomer.getUserId());
+    }
+
+    @Test
+    void givenAnOutOfOrderInvalidation_whenReceived_thenKeepTheNewerSnapshot() {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+
+        Mockito.when(delegate.customerOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer));
+
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+        listener().invalidate(invalidationOf(aCustomer, aCustomer.getVersion()));
+        listener().invalidate(invalidationOf(aCustomer, aCustomer.getVersion() - 1));
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+        this.cachedCustomerRepository.customerOfUserId(aCustomer.getUserId());
+
+        Mockito.verify(delegate, Mockito.times(1)).customerOfId(aCustomer.getId());
+        Mockito.verify(delegate, Mockito.never()).customerOfUserId(Mockito.any());
+    }
+
+    @Test
+    void givenAReconnection_whenInvalidateAll_thenClearTheCache() {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+
+        Mockito.when(delegate.customerOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer));
+
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+        listener().invalidateAll();
+        this.cachedCustomerRepository.customerOfId(aCustomer.getId());
+
+        Mockito.verify(delegate, Mockito.times(2)).customerOfId(aCustomer.getId());
+    }
+
+    private CacheInvalidationBus.Listener listener() {
+        Mockito.verify(cacheInvalidationBus).subscribe(Mockito.eq(CustomerJdbcRepository.INVALIDATION_CACHE), listenerCaptor.capture());
+        return listenerCaptor.getValue();
+    }
+
+    private static CacheInvalidation invalidationOf(final Customer aCustomer, final long aVersion) {
+        return CacheInvalidation.of(
+                CustomerJdbcRepository.INVALIDATION_CACHE,
+                aVersion,
+                aCustomer.getId().value(),
+                aCustomer.getUserId().value()
+        );
+    }
+
+    @Test
+    void givenACachedCustomer_whenCallVersionOfUserId_thenAnswerFromCacheUnlessPinnedToPrimary() {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+
+        Mockito.when(delegate.customerOfUserId(aCustomer.getUserId())).thenReturn(Optional.of(aCustomer));
+        Mockito.when(delegate.versionOfId(aCustomer.getId())).thenReturn(Optional.of(aCustomer.getVersion() + 1));
+
+        this.cachedCustomerRepository.customerOfUserId(aCustomer.getUserId());
+
+        Assertions.assertEquals(Optional.of(aCustomer.getVersion()), this.cachedCustomerRepository.versionOfUserId(aCustomer.getUserId()));
+        Mockito.verify(delegate, Mockito.never()).versionOfUserId(Mockito.any());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            PrimaryPin.pin();
+            Assertions.assertEquals(Optional.of(aCustomer.getVersion() + 1), this.cachedCustomerRepository.versionOfId(aCustomer.getId()));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
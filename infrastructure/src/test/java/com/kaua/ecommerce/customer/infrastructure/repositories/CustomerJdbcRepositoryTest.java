@@ -13,6 +13,11 @@ import com.kaua.ecommerce.lib.infrastructure.exceptions.ConflictException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 class CustomerJdbcRepositoryTest extends AbstractRepositoryTest {
 
     @Test
@@ -151,6 +156,48 @@ class CustomerJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
     }
 
+    @Test
+    void givenAValidNewAndUpdatedCustomers_whenCallSaveAll_thenAllCustomersArePersisted() {
+        Assertions.assertEquals(0, countCustomers());
+
+        final var aSavedCustomer = this.customerRepository().save(Fixture.Customers.newCustomer());
+        final var aNewCustomer = Fixture.Customers.newCustomer();
+        final var aDocument = Document.create("175.105.270-23", "CPF");
+
+        final var aActualResponse = this.customerRepository().saveAll(List.of(
+                aSavedCustomer.updateDocument(aDocument),
+                aNewCustomer
+        ));
+
+        Assertions.assertEquals(2, countCustomers());
+        Assertions.assertEquals(2, aActualResponse.size());
+        Assertions.assertEquals(2, aSavedCustomer.getVersion());
+        Assertions.assertEquals(1, aNewCustomer.getVersion());
+
+        final var aPersistedCustomer = this.customerRepository().customerOfId(aSavedCustomer.getId()).get();
+        Assertions.assertEquals(2, aPersistedCustomer.getVersion());
+        Assertions.assertEquals(aDocument, aPersistedCustomer.getDocument().get());
+        Assertions.assertTrue(this.customerRepository().customerOfId(aNewCustomer.getId()).isPresent());
+    }
+
+    @Test
+    void givenACustomerWithStaleVersion_whenCallSaveAll_thenThrowConflictException() {
+        Assertions.assertEquals(0, countCustomers());
+
+        final var aCustomer = this.customerRepository().save(Fixture.Customers.newCustomer());
+
+        final var expectedErrorMessage = "Customer version does not match, customer was updated by another user";
+
+        aCustomer.setVersion(3);
+
+        final var aCustomers = List.of(aCustomer);
+        final var aCustomerRepository = this.customerRepository();
+        final var aException = Assertions.assertThrows(ConflictException.class,
+                () -> aCustomerRepository.saveAll(aCustomers));
+
+        Assertions.assertEquals(expectedErrorMessage, aException.getMessage());
+    }
+
     @Test
     void givenAValidCustomerId_whenCallCustomerOfId_thenReturnCustomer() {
         Assertions.assertEquals(0, countCustomers());
@@ -177,7 +224,7 @@ class CustomerJdbcRepositoryTest extends AbstractRepositoryTest {
 
         final var aCustomer = Fixture.Customers.newCustomer();
         aCustomer.updateDocument(Document.create("175.105.270-23", "CPF"));
-        aCustomer.updateTelephone(new Telephone("+5511999999999"));
+        aCustomer.updateTelephone(new Telephone("+5511999999999", "(11) 99999-9999", "+55", "BR"));
         this.customerRepository().save(aCustomer);
 
         Assertions.assertEquals(1, countCustomers());
@@ -214,4 +261,78 @@ class CustomerJdbcRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(aCustomer.getCreatedAt(), aActualResponse.getCreatedAt());
         Assertions.assertEquals(aCustomer.getUpdatedAt(), aActualResponse.getUpdatedAt());
     }
+
+    @Test
+    void givenSavedCustomers_whenCallCustomersOfUserIds_thenReturnOnlyTheFoundCustomersInOneQuery() {
+        final var aFirst = Fixture.Customers.newCustomer();
+        final var aSecond = Fixture.Customers.newCustomerWithAllValues();
+        this.customerRepository().saveAll(List.of(aFirst, aSecond));
+
+        final var aMissing = new UserId(IdentifierUtils.generateNewUUID());
+
+        final var aActualResponse = this.customerRepository()
+                .customersOfUserIds(List.of(aFirst.getUserId(), aSecond.getUserId(), aMissing));
+
+        Assertions.assertEquals(2, aActualResponse.size());
+        Assertions.assertEquals(
+                Set.of(aFirst.getUserId(), aSecond.getUserId()),
+                aActualResponse.stream().map(Customer::getUserId).collect(Collectors.toSet())
+        );
+        Assertions.assertTrue(this.customerRepository().customersOfUserIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void givenTelephonesWithoutFormats_whenCallPhoneNumbersWithoutFormatsAndSavePhoneFormats_thenFillOnlyTheFormats() {
+        final var aWithoutFormats = Fixture.Customers.newCustomer();
+        aWithoutFormats.updateTelephone(new Telephone("+5511999999999"));
+        final var aWithFormats = Fixture.Customers.newCustomer();
+        aWithFormats.updateTelephone(new Telephone("+5511988888888", "(11) 98888-8888", "+55", "BR"));
+        final var aWithoutTelephone = Fixture.Customers.newCustomer();
+        this.customerRepository().saveAll(List.of(aWithoutFormats, aWithFormats, aWithoutTelephone));
+
+        final var aPending = this.customerRepository().phoneNumbersWithoutFormats(null, 10);
+
+        Assertions.assertEquals(1, aPending.size());
+        Assertions.assertEquals(aWithoutFormats.getId(), aPending.get(0).customerId());
+        Assertions.assertEquals("+5511999999999", aPending.get(0).telephone().value());
+        Assertions.assertTrue(this.customerRepository().phoneNumbersWithoutFormats(aWithoutFormats.getId(), 10).stream()
+                .noneMatch(it -> it.customerId().equals(aWithoutFormats.getId())));
+
+        final var aUpdated = this.customerRepository().savePhoneFormats(List.of(
+                new CustomerJdbcRepository.CustomerPhoneNumber(
+                        aWithoutFormats.getId(),
+                        new Telephone("+5511999999999", "(11) 99999-9999", "+55", "BR")
+                ),
+                // telefone trocado depois da leitura, nao deve ser sobrescrito
+                new CustomerJdbcRepository.CustomerPhoneNumber(
+                        aWithFormats.getId(),
+                        new Telephone("+5511977777777", "(11) 97777-7777", "+55", "BR")
+                )
+        ));
+
+        Assertions.assertEquals(1, aUpdated);
+        Assertions.assertTrue(this.customerRepository().phoneNumbersWithoutFormats(null, 10).isEmpty());
+
+        final var aActualResponse = this.customerRepository().customerOfId(aWithoutFormats.getId()).get();
+
+        Assertions.assertEquals("(11) 99999-9999", aActualResponse.getTelephone().get().nationalNumber());
+        Assertions.assertEquals(aWithoutFormats.getVersion(), aActualResponse.getVersion());
+        Assertions.assertEquals(
+                "(11) 98888-8888",
+                this.customerRepository().customerOfId(aWithFormats.getId()).get().getTelephone().get().nationalNumber()
+        );
+    }
+
+    @Test
+    void givenASavedCustomer_whenCallVersionProbes_thenReturnOnlyTheCurrentVersion() {
+        final var aCustomer = Fixture.Customers.newCustomer();
+        this.customerRepository().save(aCustomer);
+
+        aCustomer.updateDocument(Document.create("479.993.810-04", "CPF"));
+        this.customerRepository().save(aCustomer);
+
+        Assertions.assertEquals(Optional.of(2L), this.customerRepository().versionOfId(aCustomer.getId()));
+        Assertions.assertEquals(Optional.of(2L), this.customerRepository().versionOfUserId(aCustomer.getUserId()));
+        Assertions.assertTrue(this.customerRepository().versionOfUserId(new UserId(IdentifierUtils.generateNewUUID())).isEmpty());
+    }
 }
@@ -0,0 +1,45 @@
+package com.kaua.ecommerce.customer.infrastructure.repositories;
+
+import com.kaua.ecommerce.customer.AbstractRepositoryTest;
+import com.kaua.ecommerce.customer.application.gateways.AddressGateway.GetAddressByZipCodeResponse;
+import com.kaua.ecommerce.customer.infrastructure.repositories.ZipCodeJdbcRepository.ZipCodeEntry;
+import com.kaua.ecommerce.lib.domain.utils.InstantUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.temporal.ChronoUnit;
+
+class ZipCodeJdbcRepositoryTest extends AbstractRepositoryTest {
+
+    @Test
+    void givenAFoundZipCode_whenCallSave_thenZipCodeIsPersisted() {
+        final var aFetchedAt = InstantUtils.now().truncatedTo(ChronoUnit.MILLIS);
+        final var aAddress = new GetAddressByZipCodeResponse("01001-000", "São Paulo", "Praça da Sé", "Sé", "SP");
+
+        this.zipCodeRepository().save(new ZipCodeEntry("01001000", aAddress, aFetchedAt));
+
+        final var aActualResponse = this.zipCodeRepository().zipCodeOf("01001000").get();
+
+        Assertions.assertTrue(aActualResponse.isFound());
+        Assertions.assertEquals(aAddress, aActualResponse.address());
+        Assertions.assertEquals(aFetchedAt, aActualResponse.fetchedAt());
+    }
+
+    @Test
+    void givenAnExistingZipCode_whenCallSaveAsNotFound_thenReplaceTheEntry() {
+        final var aAddress = new GetAddressByZipCodeResponse("01001-000", "São Paulo", "Praça da Sé", "Sé", "SP");
+
+        this.zipCodeRepository().save(new ZipCodeEntry("01001000", aAddress, InstantUtils.now()));
+        this.zipCodeRepository().save(new ZipCodeEntry("01001000", null, InstantUtils.now()));
+
+        final var aActualResponse = this.zipCodeRepository().zipCodeOf("01001000").get();
+
+        Assertions.assertFalse(aActualResponse.isFound());
+        Assertions.assertTrue(aActualResponse.response().isEmpty());
+    }
+
+    @Test
+    void givenAnUnknownZipCode_whenCallZipCodeOf_thenReturnEmpty() {
+        Assertions.assertTrue(this.zipCodeRepository().zipCodeOf("99999999").isEmpty());
+    }
+}
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.infrastructure.rest;
 
 import com.kaua.ecommerce.customer.ControllerTest;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.usecases.address.*;
 import com.kaua.ecommerce.customer.application.usecases.address.inputs.CreateCustomerAddressInput;
 import com.kaua.ecommerce.customer.application.usecases.address.inputs.UpdateAddressInput;
@@ -9,8 +10,9 @@ import com.kaua.ecommerce.customer.application.usecases.address.outputs.*;
 import com.kaua.ecommerce.customer.domain.Fixture;
 import com.kaua.ecommerce.customer.domain.address.AddressId;
 import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.domain.pagination.CursorPagination;
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
 import com.kaua.ecommerce.customer.infrastructure.rest.controllers.AddressRestController;
-import com.kaua.ecommerce.lib.domain.pagination.Pagination;
 import com.kaua.ecommerce.lib.domain.pagination.PaginationMetadata;
 import com.kaua.ecommerce.lib.domain.utils.IdentifierUtils;
 import org.junit.jupiter.api.Assertions;
@@ -26,6 +28,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.kaua.ecommerce.customer.ApiTest.admin;
@@ -59,6 +62,12 @@ class AddressRestApiTest {
     @MockBean
     private DeleteAddressByIdUseCase deleteAddressByIdUseCase;
 
+    @MockBean
+    private EntityTagProbe entityTagProbe;
+
+    @MockBean
+    private ResponseBytesCache responseBytesCache;
+
     @Captor
     private ArgumentCaptor<CreateCustomerAddressInput> createCustomerAddressInputCaptor;
 
@@ -238,6 +247,7 @@ class AddressRestApiTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("ETag", "\"%s.%d\"".formatted(aAddressId, aAddress.getVersion())))
                 .andExpect(jsonPath("$.id").value(aAddressId))
                 .andExpect(jsonPath("$.title").value(aAddress.getTitle().value()))
                 .andExpect(jsonPath("$.customer_id").value(aAddress.getCustomerId().value().toString()))
@@ -275,6 +285,7 @@ class AddressRestApiTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("ETag", "\"%s.%d\"".formatted(aAddress.getId().value(), aAddress.getVersion())))
                 .andExpect(jsonPath("$.id").value(aAddress.getId().value().toString()))
                 .andExpect(jsonPath("$.title").value(aAddress.getTitle().value()))
                 .andExpect(jsonPath("$.customer_id").value(aAddress.getCustomerId().value().toString()))
@@ -292,6 +303,153 @@ class AddressRestApiTest {
                 .andExpect(jsonPath("$.version").isNotEmpty());
     }
 
+    @Test
+    void givenAMatchingIfNoneMatch_whenCallGetAddressById_thenReturnNotModifiedWithoutLoadingAddress() throws Exception {
+        final var aAddressId = new AddressId(IdentifierUtils.generateNewUUID());
+        final var aETag = "\"%s.3\"".formatted(aAddressId.value());
+
+        Mockito.when(entityTagProbe.addressOfId(aAddressId)).thenReturn(Optional.of(aETag));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/addresses/%s".formatted(aAddressId.value()))
+                .with(admin(IdentifierUtils.generateNewUUID(), UUID.randomUUID()))
+                .header("If-None-Match", aETag)
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", aETag))
+                .andExpect(content().string(""));
+
+        Mockito.verify(getAddressByIdUseCase, Mockito.never()).execute(any());
+    }
+
+    @Test
+    void givenAStaleIfNoneMatch_whenCallGetDefaultAddressByCustomerId_thenReturnAddressWithCurrentETag() throws Exception {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aAddress = Fixture.Addresses.newAddressWithComplement(aCustomerId, true);
+        final var aCurrentETag = "\"%s.%d\"".formatted(aAddress.getId().value(), aAddress.getVersion());
+
+        Mockito.when(entityTagProbe.defaultAddressOfCustomer(aCustomerId)).thenReturn(Optional.of(aCurrentETag));
+        Mockito.when(getDefaultAddressByCustomerIdUseCase.execute(aCustomerId))
+                .thenReturn(new GetDefaultAddressByCustomerIdOutput(aAddress));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/addresses/default")
+                .with(admin(IdentifierUtils.generateNewUUID(), aCustomerId.value()))
+                .header("If-None-Match", "\"%s.%d\"".formatted(IdentifierUtils.generateNewUUID(), aAddress.getVersion()))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", aCurrentETag))
+                .andExpect(jsonPath("$.id").value(aAddress.getId().value().toString()));
+
+        Mockito.verify(getDefaultAddressByCustomerIdUseCase, Mockito.times(1)).execute(aCustomerId);
+    }
+
+    @Test
+    void givenAGzippedCachedResponse_whenCallGetAddressByIdAcceptingGzip_thenWriteCompressedBytes() throws Exception {
+        final var aAddressId = new AddressId(IdentifierUtils.generateNewUUID());
+        final var aETag = "\"%s.2\"".formatted(aAddressId.value());
+        final var aGzip = new byte[]{31, -117, 8, 0};
+
+        Mockito.when(entityTagProbe.addressOfId(aAddressId)).thenReturn(Optional.of(aETag));
+        Mockito.when(responseBytesCache.contains(ResponseBytesCache.ADDRESS, aAddressId.value())).thenReturn(true);
+        Mockito.when(responseBytesCache.get(ResponseBytesCache.ADDRESS, aAddressId.value(), aETag))
+                .thenReturn(Optional.of(new ResponseBytesCache.CachedResponse(aETag, "{}".getBytes(), aGzip)));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/addresses/%s".formatted(aAddressId.value()))
+                .with(admin(IdentifierUtils.generateNewUUID(), UUID.randomUUID()))
+                .header("Accept-Encoding", "gzip, deflate")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", aETag))
+                .andExpect(content().bytes(aGzip));
+
+        Mockito.verify(getAddressByIdUseCase, Mockito.never()).execute(any());
+    }
+
+    @Test
+    void givenAStaleIfMatch_whenCallUpdateAddress_thenReturnPreconditionFailed() throws Exception {
+        final var aAddressId = new AddressId(IdentifierUtils.generateNewUUID());
+        final var expectedErrorMessage = "Address with id %s does not match the expected version, it was updated by another user"
+                .formatted(aAddressId.value());
+
+        Mockito.when(updateAddressUseCase.execute(any()))
+                .thenThrow(new VersionMismatchException("Address", aAddressId.value()));
+
+        var json = """
+                {
+                    "title": "Home",
+                    "zip_code": "12345678",
+                    "number": "123",
+                    "country": "BR"
+                }
+                """;
+
+        final var aRequest = MockMvcRequestBuilders.patch("/v1/addresses/%s".formatted(aAddressId.value()))
+                .with(admin(IdentifierUtils.generateNewUUID(), UUID.randomUUID()))
+                .header("If-Match", "\"%s.1\"".formatted(aAddressId.value()))
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(json);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+
+        Mockito.verify(updateAddressUseCase, Mockito.times(1)).execute(updateAddressInputCaptor.capture());
+
+        Assertions.assertEquals(1L, updateAddressInputCaptor.getValue().expectedVersion());
+    }
+
+    @Test
+    void givenAnIfMatchOfTheDefaultAddressTag_whenCallUpdateAddressIsDefault_thenPassTheVersionToTheUseCase() throws Exception {
+        final var aAddress = Fixture.Addresses.newAddressWithComplement(new CustomerId(IdentifierUtils.generateNewUUID()), true);
+        final var aAddressId = aAddress.getId().value();
+
+        Mockito.when(updateAddressIsDefaultUseCase.execute(any()))
+                .thenReturn(new UpdateAddressIsDefaultOutput(aAddress));
+
+        var json = """
+                {
+                    "is_default": true
+                }
+                """;
+
+        // a tag devolvida pelo GET do endereco default serve de If-Match no PATCH do endereco
+        final var aRequest = MockMvcRequestBuilders.patch("/v1/addresses/%s/default".formatted(aAddressId))
+                .with(admin(IdentifierUtils.generateNewUUID(), aAddress.getCustomerId().value()))
+                .header("If-Match", "\"%s.%d\"".formatted(aAddressId, aAddress.getVersion()))
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(json);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk());
+
+        Mockito.verify(updateAddressIsDefaultUseCase, Mockito.times(1)).execute(updateAddressIsDefaultInputCaptor.capture());
+
+        Assertions.assertEquals(aAddress.getVersion(), updateAddressIsDefaultInputCaptor.getValue().expectedVersion());
+    }
+
     @Test
     void givenAValidValues_whenCallListCustomerAddresses_thenReturnAddressesPaginated() throws Exception {
         final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
@@ -311,7 +469,7 @@ class AddressRestApiTest {
         final var aMetadata = new PaginationMetadata(aPage, aPerPage, aPagesCount, aItemsCount);
 
         Mockito.when(listCustomerAddressesUseCase.execute(any()))
-                .thenReturn(new Pagination<>(aMetadata, aItems));
+                .thenReturn(new CursorPagination<>(aMetadata, aItems, "next-cursor"));
 
         final var aRequest = MockMvcRequestBuilders.get("/v1/addresses")
                 .with(admin(IdentifierUtils.generateNewUUID(), aCustomerId.value()))
@@ -333,6 +491,7 @@ class AddressRestApiTest {
                 .andExpect(jsonPath("$.metadata.per_page").value(aPerPage))
                 .andExpect(jsonPath("$.metadata.total_pages").value(aPagesCount))
                 .andExpect(jsonPath("$.metadata.total_items").value(aItemsCount))
+                .andExpect(jsonPath("$.next_cursor").value("next-cursor"))
                 .andExpect(jsonPath("$.items").isArray())
                 .andExpect(jsonPath("$.items").isNotEmpty())
                 .andExpect(jsonPath("$.items[0].id").value(aAddressOne.getId().value().toString()))
@@ -1,6 +1,7 @@
 package com.kaua.ecommerce.customer.infrastructure.rest;
 
 import com.kaua.ecommerce.customer.ControllerTest;
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
 import com.kaua.ecommerce.customer.application.gateways.TelephoneGateway;
 import com.kaua.ecommerce.customer.application.usecases.customer.GetCustomerByUserIdUseCase;
 import com.kaua.ecommerce.customer.application.usecases.customer.UpdateCustomerDocumentUseCase;
@@ -11,6 +12,9 @@ import com.kaua.ecommerce.customer.application.usecases.customer.outputs.GetCust
 import com.kaua.ecommerce.customer.application.usecases.customer.outputs.UpdateCustomerDocumentOutput;
 import com.kaua.ecommerce.customer.application.usecases.customer.outputs.UpdateCustomerTelephoneOutput;
 import com.kaua.ecommerce.customer.domain.Fixture;
+import com.kaua.ecommerce.customer.domain.customer.CustomerId;
+import com.kaua.ecommerce.customer.infrastructure.cache.ResponseBytesCache;
+import com.kaua.ecommerce.customer.infrastructure.cache.StaleRead;
 import com.kaua.ecommerce.customer.infrastructure.mediator.SignUpMediator;
 import com.kaua.ecommerce.customer.infrastructure.rest.controllers.CustomerRestController;
 import com.kaua.ecommerce.customer.infrastructure.rest.req.SignUpRequest;
@@ -23,16 +27,21 @@ import org.mockito.Captor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.kaua.ecommerce.customer.ApiTest.admin;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ControllerTest(controllers = CustomerRestController.class)
@@ -53,6 +62,12 @@ class CustomerRestApiTest {
     @MockBean
     private GetCustomerByUserIdUseCase getCustomerByUserIdUseCase;
 
+    @MockBean
+    private EntityTagProbe entityTagProbe;
+
+    @MockBean
+    private ResponseBytesCache responseBytesCache;
+
     @Captor
     private ArgumentCaptor<SignUpRequest> signUpRequestCaptor;
 
@@ -289,6 +304,7 @@ class CustomerRestApiTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("ETag", "\"%s.%d\"".formatted(aCustomer.getUserId().value(), aCustomer.getVersion())))
                 .andExpect(jsonPath("$.customer_id").value(aCustomer.getId().value().toString()))
                 .andExpect(jsonPath("$.user_id").value(aCustomer.getUserId().value().toString()))
                 .andExpect(jsonPath("$.first_name").value(aCustomer.getName().firstName()))
@@ -339,4 +355,200 @@ class CustomerRestApiTest {
 
         Mockito.verify(getCustomerByUserIdUseCase, Mockito.times(1)).execute(aCustomer.getUserId());
     }
+
+    @Test
+    void givenAMatchingIfNoneMatch_whenGetMe_thenReturnNotModifiedWithoutLoadingCustomer() throws Exception {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+        final var aETag = "\"%s.%d\"".formatted(aCustomer.getUserId().value(), aCustomer.getVersion());
+
+        Mockito.when(entityTagProbe.customerOfUserId(aCustomer.getUserId())).thenReturn(Optional.of(aETag));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/customers/me")
+                .with(admin(aCustomer.getUserId().value(), aCustomer.getId().value()))
+                .header("If-None-Match", "W/%s".formatted(aETag))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", aETag))
+                .andExpect(content().string(""));
+
+        Mockito.verify(getCustomerByUserIdUseCase, Mockito.never()).execute(any());
+    }
+
+    @Test
+    void givenAStaleIfMatch_whenUpdateDocument_thenReturnPreconditionFailed() throws Exception {
+        final var aUserId = IdentifierUtils.generateNewUUID();
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var expectedErrorMessage = "Customer with id %s does not match the expected version, it was updated by another user"
+                .formatted(aCustomerId.value());
+
+        Mockito.when(updateCustomerDocumentUseCase.execute(any()))
+                .thenThrow(new VersionMismatchException("Customer", aCustomerId.value()));
+
+        var json = """
+                {
+                    "document_number": "123456789",
+                    "document_type": "CPF"
+                }
+                """;
+
+        final var aRequest = MockMvcRequestBuilders.patch("/v1/customers/document")
+                .with(admin(aUserId, aCustomerId.value()))
+                .header("If-Match", "\"%s.4\"".formatted(aUserId))
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(json);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+
+        Mockito.verify(updateCustomerDocumentUseCase, Mockito.times(1))
+                .execute(argThat(it -> Long.valueOf(4).equals(it.expectedVersion())));
+    }
+
+    @Test
+    void givenAnIfMatchOfAnotherCustomer_whenUpdateDocument_thenReturnPreconditionFailedWithoutCallingUseCase() throws Exception {
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+
+        var json = """
+                {
+                    "document_number": "123456789",
+                    "document_type": "CPF"
+                }
+                """;
+
+        final var aRequest = MockMvcRequestBuilders.patch("/v1/customers/document")
+                .with(admin(IdentifierUtils.generateNewUUID(), aCustomerId.value()))
+                .header("If-Match", "\"%s.4\"".formatted(IdentifierUtils.generateNewUUID()))
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(json);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isPreconditionFailed());
+
+        Mockito.verify(updateCustomerDocumentUseCase, Mockito.never()).execute(any());
+    }
+
+    @Test
+    void givenAMatchingIfMatch_whenUpdateTelephone_thenPassTheVersionToTheUseCase() throws Exception {
+        final var aUserId = IdentifierUtils.generateNewUUID();
+        final var aCustomerId = new CustomerId(IdentifierUtils.generateNewUUID());
+        final var aPhoneNumber = "+5511963210978";
+
+        Mockito.when(updateCustomerTelephoneUseCase.execute(any()))
+                .thenReturn(new UpdateCustomerTelephoneOutput(aCustomerId.value().toString(), aPhoneNumber));
+
+        var json = """
+                {
+                    "phone_number": "%s"
+                }
+                """.formatted(aPhoneNumber);
+
+        final var aRequest = MockMvcRequestBuilders.patch("/v1/customers/telephone")
+                .with(admin(aUserId, aCustomerId.value()))
+                .header("If-Match", "\"%s.5\"".formatted(aUserId))
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(json);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.telephone").value(aPhoneNumber));
+
+        Mockito.verify(updateCustomerTelephoneUseCase, Mockito.times(1))
+                .execute(argThat(it -> Long.valueOf(5).equals(it.expectedVersion())));
+    }
+
+    @Test
+    void givenACachedResponseOfTheCurrentVersion_whenGetMe_thenWriteCachedBytesWithoutLoadingCustomer() throws Exception {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+        final var aETag = "\"%s.%d\"".formatted(aCustomer.getUserId().value(), aCustomer.getVersion());
+        final var aJson = "{\"customer_id\":\"%s\"}".formatted(aCustomer.getId().value());
+
+        Mockito.when(entityTagProbe.customerOfUserId(aCustomer.getUserId())).thenReturn(Optional.of(aETag));
+        Mockito.when(responseBytesCache.contains(ResponseBytesCache.CUSTOMER, aCustomer.getUserId().value())).thenReturn(true);
+        Mockito.when(responseBytesCache.get(ResponseBytesCache.CUSTOMER, aCustomer.getUserId().value(), aETag))
+                .thenReturn(Optional.of(new ResponseBytesCache.CachedResponse(aETag, aJson.getBytes(StandardCharsets.UTF_8), null)));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/customers/me")
+                .with(admin(aCustomer.getUserId().value(), aCustomer.getId().value()))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aResponse = this.mvc.perform(aRequest);
+
+        aResponse
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("ETag", aETag))
+                .andExpect(jsonPath("$.customer_id").value(aCustomer.getId().value().toString()));
+
+        Mockito.verify(getCustomerByUserIdUseCase, Mockito.never()).execute(any());
+        Mockito.verify(responseBytesCache, Mockito.never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenAnUncachedCustomer_whenGetByIdentifier_thenLoadOnceAndCacheTheSerializedResponse() throws Exception {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+        final var aETag = "\"%s.%d\"".formatted(aCustomer.getUserId().value(), aCustomer.getVersion());
+
+        Mockito.when(getCustomerByUserIdUseCase.execute(aCustomer.getUserId()))
+                .thenReturn(new GetCustomerByIdentifierOutput(aCustomer, null));
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/customers/users/%s".formatted(aCustomer.getUserId().value()))
+                .with(admin(aCustomer.getUserId().value(), aCustomer.getId().value()))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        final var aBody = this.mvc.perform(aRequest)
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", aETag))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        Mockito.verify(responseBytesCache, Mockito.times(1))
+                .put(ResponseBytesCache.CUSTOMER, aCustomer.getUserId().value(), aETag, aBody);
+        Mockito.verify(entityTagProbe, Mockito.never()).customerOfUserId(any());
+    }
+
+    @Test
+    void givenAnExhaustedPool_whenGetMeServesAStaleCopy_thenReturnItWithStalenessHeaders() throws Exception {
+        final var aCustomer = Fixture.Customers.newCustomerWithAllValues();
+        final var aETag = "\"%s.%d\"".formatted(aCustomer.getUserId().value(), aCustomer.getVersion());
+
+        Mockito.when(entityTagProbe.customerOfUserId(aCustomer.getUserId()))
+                .thenThrow(new DataAccessResourceFailureException("Connection is not available, request timed out after 250ms"));
+        Mockito.when(getCustomerByUserIdUseCase.execute(aCustomer.getUserId())).thenAnswer(it -> {
+            StaleRead.mark(Duration.ofSeconds(12));
+            return new GetCustomerByIdentifierOutput(aCustomer, null);
+        });
+
+        final var aRequest = MockMvcRequestBuilders.get("/v1/customers/me")
+                .with(admin(aCustomer.getUserId().value(), aCustomer.getId().value()))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        this.mvc.perform(aRequest)
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", aETag))
+                .andExpect(header().string("Age", "12"))
+                .andExpect(header().string("Warning", "110 - \"Response is Stale\""))
+                .andExpect(jsonPath("$.customer_id").value(aCustomer.getId().value().toString()));
+
+        Mockito.verify(responseBytesCache, Mockito.never()).put(any(), any(), any(), any());
+    }
 }
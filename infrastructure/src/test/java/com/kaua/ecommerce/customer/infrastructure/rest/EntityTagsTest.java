@@ -0,0 +1,78 @@
+package com.kaua.ecommerce.customer.infrastructure.rest;
+
+import com.kaua.ecommerce.customer.application.exceptions.VersionMismatchException;
+import com.kaua.ecommerce.customer.domain.UnitTest;
+import com.kaua.ecommerce.customer.domain.address.Address;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Optional;
+import java.util.UUID;
+
+class EntityTagsTest extends UnitTest {
+
+    @Test
+    void givenAnIdAndVersion_whenCallOf_thenReturnQuotedTag() {
+        final var aId = UUID.randomUUID();
+
+        Assertions.assertEquals("\"%s.3\"".formatted(aId), EntityTags.of(aId, 3));
+    }
+
+    @Test
+    void givenAnIfNoneMatchList_whenCallMatches_thenAcceptWeakAndAnyTags() {
+        Assertions.assertTrue(EntityTags.matches("\"a.1\", W/\"a.3\"", "\"a.3\""));
+        Assertions.assertTrue(EntityTags.matches("*", "\"a.3\""));
+        Assertions.assertFalse(EntityTags.matches("\"a.2\"", "\"a.3\""));
+    }
+
+    @Test
+    void givenAMatchingIfNoneMatch_whenCallNotModified_thenReturnNotModifiedWithTag() {
+        final var aResponse = EntityTags.<String>notModified("\"a.3\"", () -> Optional.of("\"a.3\""));
+
+        Assertions.assertTrue(aResponse.isPresent());
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, aResponse.get().getStatusCode());
+        Assertions.assertEquals("\"a.3\"", aResponse.get().getHeaders().getETag());
+        Assertions.assertNull(aResponse.get().getBody());
+    }
+
+    @Test
+    void givenNoIfNoneMatch_whenCallNotModified_thenSkipProbe() {
+        final var aResponse = EntityTags.<String>notModified(null, () -> {
+            throw new IllegalStateException("probe should not run");
+        });
+
+        Assertions.assertTrue(aResponse.isEmpty());
+    }
+
+    @Test
+    void givenAnIfMatchOfTheResource_whenCallExpectedVersion_thenReturnItsVersion() {
+        final var aId = UUID.randomUUID();
+
+        Assertions.assertEquals(2L, EntityTags.expectedVersion("\"%s.1\", \"%s.2\"".formatted(UUID.randomUUID(), aId), Address.class, aId));
+    }
+
+    @Test
+    void givenNoIfMatchOrAnyTag_whenCallExpectedVersion_thenReturnNull() {
+        final var aId = UUID.randomUUID();
+
+        Assertions.assertNull(EntityTags.expectedVersion(null, Address.class, aId));
+        Assertions.assertNull(EntityTags.expectedVersion("*", Address.class, aId));
+    }
+
+    @Test
+    void givenAWeakOrForeignIfMatch_whenCallExpectedVersion_thenThrowVersionMismatch() {
+        final var aId = UUID.randomUUID();
+        final var expectedErrorMessage = "Address with id %s does not match the expected version, it was updated by another user"
+                .formatted(aId);
+
+        final var aWeak = Assertions.assertThrows(VersionMismatchException.class,
+                () -> EntityTags.expectedVersion("W/\"%s.2\"".formatted(aId), Address.class, aId));
+        Assertions.assertThrows(VersionMismatchException.class,
+                () -> EntityTags.expectedVersion("\"%s.2\"".formatted(UUID.randomUUID()), Address.class, aId));
+        Assertions.assertThrows(VersionMismatchException.class,
+                () -> EntityTags.expectedVersion("\"2\"", Address.class, aId));
+
+        Assertions.assertEquals(expectedErrorMessage, aWeak.getMessage());
+    }
+}